@@ -1,22 +1,126 @@
 package com.bmc.rag.api.config;
 
+import com.bmc.rag.store.sync.IncrementalSyncService;
+import com.bmc.rag.store.sync.IncrementalSyncService.SyncResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Configuration for scheduled tasks.
  * Enables Spring's @Scheduled annotation processing.
+ *
+ * Incremental sync is scheduled per source type, each on its own interval
+ * ({@code sync.schedule.*}, defaulting to {@code sync.interval}). The scheduler pool has a
+ * thread per source type plus room for the other jobs, so a slow ChangeRequest pull does not
+ * delay incidents. Overlap with manual syncs is prevented by the per-source-type DB lock.
  */
 @Slf4j
 @Configuration
 @EnableScheduling
 @RequiredArgsConstructor
-public class SchedulerConfig {
+public class SchedulerConfig implements SchedulingConfigurer {
 
     private final RateLimitConfig rateLimitConfig;
+    private final IncrementalSyncService incrementalSyncService;
+
+    @Value("${sync.schedule.incident:${sync.interval:900000}}")
+    private long incidentInterval = 900000;
+
+    @Value("${sync.schedule.work-order:${sync.interval:900000}}")
+    private long workOrderInterval = 900000;
+
+    @Value("${sync.schedule.knowledge-article:${sync.interval:900000}}")
+    private long knowledgeArticleInterval = 900000;
+
+    @Value("${sync.schedule.change-request:${sync.interval:900000}}")
+    private long changeRequestInterval = 900000;
+
+    /**
+     * Threads for jobs other than the per-source-type syncs (hard deletes, retention, housekeeping).
+     */
+    @Value("${sync.schedule.extra-threads:2}")
+    private int extraThreads = 2;
+
+    /**
+     * Scheduler shared by all @Scheduled methods and the sync tasks registered below.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(syncSchedules().size() + Math.max(1, extraThreads));
+        scheduler.setThreadNamePrefix("scheduler-");
+        return scheduler;
+    }
+
+    /**
+     * Register one fixed-rate incremental sync per source type. A non-positive interval
+     * disables scheduled sync for that source type.
+     */
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        Map<String, Supplier<SyncResult>> syncs = syncs();
+        syncSchedules().forEach((sourceType, interval) -> {
+            if (interval <= 0) {
+                log.info("Scheduled sync disabled for {}", sourceType);
+                return;
+            }
+            registrar.addFixedRateTask(() -> runScheduledSync(sourceType, syncs.get(sourceType)),
+                Duration.ofMillis(interval));
+            log.info("Scheduled incremental sync for {} every {}s", sourceType, interval / 1000);
+        });
+    }
+
+    /**
+     * Run one source type's incremental sync. Failures are logged so the schedule keeps running.
+     */
+    void runScheduledSync(String sourceType, Supplier<SyncResult> sync) {
+        if (!incrementalSyncService.isRemedyEnabled()) {
+            log.debug("Remedy connection disabled, skipping incremental sync for {}", sourceType);
+            return;
+        }
+        try {
+            SyncResult result = sync.get();
+            if (!result.isSuccess()) {
+                log.warn("Scheduled sync for {} did not complete: {}", sourceType, result.errorMessage());
+            }
+        } catch (Exception e) {
+            log.error("Scheduled sync for {} failed: {}", sourceType, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sync entry points, called through the service proxy so each runs in its own transaction.
+     */
+    Map<String, Supplier<SyncResult>> syncs() {
+        Map<String, Supplier<SyncResult>> syncs = new LinkedHashMap<>();
+        syncs.put("Incident", incrementalSyncService::syncIncidents);
+        syncs.put("WorkOrder", incrementalSyncService::syncWorkOrders);
+        syncs.put("KnowledgeArticle", incrementalSyncService::syncKnowledgeArticles);
+        syncs.put("ChangeRequest", incrementalSyncService::syncChangeRequests);
+        return syncs;
+    }
+
+    Map<String, Long> syncSchedules() {
+        Map<String, Long> schedules = new LinkedHashMap<>();
+        schedules.put("Incident", incidentInterval);
+        schedules.put("WorkOrder", workOrderInterval);
+        schedules.put("KnowledgeArticle", knowledgeArticleInterval);
+        schedules.put("ChangeRequest", changeRequestInterval);
+        return schedules;
+    }
 
     /**
      * Clean up old rate limit buckets every hour to prevent memory leaks.
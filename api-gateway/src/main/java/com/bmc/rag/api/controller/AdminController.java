@@ -1,6 +1,7 @@
 package com.bmc.rag.api.controller;
 
 import com.bmc.rag.store.service.EmbeddingRefreshService;
+import com.bmc.rag.store.service.EmbeddingRefreshService.RefreshProgress;
 import com.bmc.rag.store.service.VectorStoreService;
 import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
@@ -10,6 +11,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -29,50 +32,79 @@ public class AdminController {
     private final VectorStoreService vectorStoreService;
 
     /**
-     * Re-embed all data in the database with real semantic embeddings.
+     * Start re-embedding all data in the database with real semantic embeddings.
      * This fixes dummy data that was inserted with random embeddings.
+     * The run continues in the background; poll {@code GET /reembed/progress}.
      *
-     * @return Status and count of refreshed embeddings
+     * @param resume Continue an earlier run that did not complete (default true)
+     * @return Progress at start, or 409 if a run is already in progress
      */
     @PostMapping("/reembed")
     @RateLimiter(name = "admin", fallbackMethod = "adminRateLimitFallback")
-    public ResponseEntity<Map<String, Object>> reembedAll() {
-        log.info("Admin request: Re-embedding all data");
-
-        long startTime = System.currentTimeMillis();
-        int count = embeddingRefreshService.refreshAllEmbeddings();
-        long duration = System.currentTimeMillis() - startTime;
-
-        log.info("Re-embedding completed: {} records in {}ms", count, duration);
-
-        return ResponseEntity.ok(Map.of(
-            "status", "completed",
-            "count", count,
-            "durationMs", duration
-        ));
+    public ResponseEntity<Map<String, Object>> reembedAll(
+            @RequestParam(defaultValue = "true") boolean resume) {
+        log.info("Admin request: Re-embedding all data (resume={})", resume);
+        return startReembed(null, resume);
     }
 
     /**
-     * Re-embed data for a specific source type.
+     * Start re-embedding data for a specific source type.
      *
      * @param sourceType The source type to re-embed (e.g., "Incident", "KnowledgeArticle")
-     * @return Status and count of refreshed embeddings
+     * @param resume Continue an earlier run that did not complete (default true)
+     * @return Progress at start, or 409 if a run is already in progress
      */
     @PostMapping("/reembed/{sourceType}")
     @RateLimiter(name = "admin", fallbackMethod = "adminRateLimitFallbackWithPath")
-    public ResponseEntity<Map<String, Object>> reembedBySourceType(@PathVariable String sourceType) {
-        log.info("Admin request: Re-embedding data for source type: {}", sourceType);
+    public ResponseEntity<Map<String, Object>> reembedBySourceType(
+            @PathVariable String sourceType,
+            @RequestParam(defaultValue = "true") boolean resume) {
+        log.info("Admin request: Re-embedding data for source type: {} (resume={})", sourceType, resume);
+        return startReembed(sourceType, resume);
+    }
+
+    /**
+     * Progress of the current or most recent re-embedding run.
+     *
+     * @return Run progress, or status "idle" if none has run since startup
+     */
+    @GetMapping("/reembed/progress")
+    @RateLimiter(name = "admin", fallbackMethod = "reembedProgressRateLimitFallback")
+    public ResponseEntity<Map<String, Object>> reembedProgress() {
+        return ResponseEntity.ok(embeddingRefreshService.getProgress()
+            .map(this::toResponse)
+            .orElse(Map.of("status", "idle")));
+    }
 
-        long startTime = System.currentTimeMillis();
-        int count = embeddingRefreshService.refreshEmbeddingsBySourceType(sourceType);
-        long duration = System.currentTimeMillis() - startTime;
+    private ResponseEntity<Map<String, Object>> startReembed(String sourceType, boolean resume) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(toResponse(embeddingRefreshService.start(sourceType, resume)));
+        } catch (IllegalStateException e) {
+            log.warn("Re-embedding not started: {}", e.getMessage());
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("status", "error");
+            body.put("message", e.getMessage());
+            embeddingRefreshService.getProgress().ifPresent(progress -> body.put("progress", toResponse(progress)));
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+        }
+    }
 
-        return ResponseEntity.ok(Map.of(
-            "status", "completed",
-            "sourceType", sourceType,
-            "count", count,
-            "durationMs", duration
-        ));
+    private Map<String, Object> toResponse(RefreshProgress progress) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", progress.getStatus().name().toLowerCase(Locale.ROOT));
+        body.put("scope", progress.getScope());
+        body.put("total", progress.getTotal());
+        body.put("refreshed", progress.getRefreshed());
+        body.put("failed", progress.getFailed());
+        body.put("percentComplete", Math.round(progress.getPercentComplete() * 10) / 10.0);
+        body.put("lastId", progress.getLastId());
+        body.put("startedAt", progress.getStartedAt());
+        body.put("finishedAt", progress.getFinishedAt());
+        if (progress.getError() != null) {
+            body.put("error", progress.getError());
+        }
+        return body;
     }
 
     /**
@@ -91,7 +123,7 @@ public class AdminController {
      * Fallback method when admin rate limit is exceeded.
      */
     @SuppressWarnings("unused")
-    private ResponseEntity<Map<String, Object>> adminRateLimitFallback(RequestNotPermitted ex) {
+    private ResponseEntity<Map<String, Object>> adminRateLimitFallback(boolean resume, RequestNotPermitted ex) {
         log.warn("Rate limit exceeded for admin endpoint");
         return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
             .body(Map.of(
@@ -104,7 +136,8 @@ public class AdminController {
      * Fallback method when admin rate limit is exceeded (with path variable).
      */
     @SuppressWarnings("unused")
-    private ResponseEntity<Map<String, Object>> adminRateLimitFallbackWithPath(String sourceType, RequestNotPermitted ex) {
+    private ResponseEntity<Map<String, Object>> adminRateLimitFallbackWithPath(String sourceType, boolean resume,
+                                                                               RequestNotPermitted ex) {
         log.warn("Rate limit exceeded for admin endpoint (sourceType: {})", sourceType);
         return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
             .body(Map.of(
@@ -114,6 +147,19 @@ public class AdminController {
             ));
     }
 
+    /**
+     * Fallback method when the re-embedding progress rate limit is exceeded.
+     */
+    @SuppressWarnings("unused")
+    private ResponseEntity<Map<String, Object>> reembedProgressRateLimitFallback(RequestNotPermitted ex) {
+        log.warn("Rate limit exceeded for re-embedding progress endpoint");
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .body(Map.of(
+                "status", "error",
+                "message", "Too many requests. Please wait and try again."
+            ));
+    }
+
     /**
      * Fallback method when stats rate limit is exceeded.
      */
@@ -81,6 +81,9 @@ public class IngestionController {
 
         String sourceType = request.getSourceType();
         boolean fullSync = request.isFullSync();
+        boolean bulkLoad = request.isBulkLoad();
+        boolean rebuildIndex = request.isRebuildIndex();
+        boolean resume = request.isResume();
 
         Map<String, Object> response = new HashMap<>();
 
@@ -99,7 +102,7 @@ public class IngestionController {
             final String syncSourceType = sourceType;
             CompletableFuture<SyncResult> future = CompletableFuture.supplyAsync(MdcExecutorService.wrapSupplier(() -> {
                 if (fullSync) {
-                    return syncService.forceFullSync(syncSourceType);
+                    return triggerFullSync(syncSourceType, bulkLoad, rebuildIndex, resume);
                 } else {
                     return triggerSourceSync(syncSourceType);
                 }
@@ -129,7 +132,7 @@ public class IngestionController {
                 final boolean finalFullSync = fullSync;
                 CompletableFuture<SyncResult> future = CompletableFuture.supplyAsync(MdcExecutorService.wrapSupplier(() -> {
                     if (finalFullSync) {
-                        return syncService.forceFullSync(finalType);
+                        return triggerFullSync(finalType, bulkLoad, rebuildIndex, resume);
                     } else {
                         return triggerSourceSync(finalType);
                     }
@@ -252,6 +255,17 @@ public class IngestionController {
         };
     }
 
+    /**
+     * Trigger a full sync for a specific source type. Without bulkLoad the source type is
+     * streamed page by page with checkpoints, so an interrupted run can be resumed.
+     */
+    private SyncResult triggerFullSync(String sourceType, boolean bulkLoad, boolean rebuildIndex, boolean resume) {
+        if (bulkLoad) {
+            return syncService.forceFullSync(sourceType, true, rebuildIndex);
+        }
+        return syncService.streamFullSync(sourceType, resume);
+    }
+
     /**
      * Validate source type.
      */
@@ -5,7 +5,12 @@ import com.bmc.rag.agent.confirmation.PendingAction;
 import com.bmc.rag.agent.security.AgenticRateLimiter;
 import com.bmc.rag.agent.security.InputValidator;
 import com.bmc.rag.api.dto.toolserver.*;
+import com.bmc.rag.connector.config.RemedyConnectionConfig;
 import com.bmc.rag.connector.dto.IncidentCreationRequest;
+import com.bmc.rag.connector.dto.IncidentUpdateRequest;
+import com.bmc.rag.connector.extractor.IncidentExtractor;
+import com.bmc.rag.connector.extractor.IncidentProjection;
+import com.bmc.rag.connector.model.IncidentRecord;
 import com.bmc.rag.store.service.VectorStoreService;
 import com.bmc.rag.store.service.VectorStoreService.SearchResult;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
@@ -27,7 +32,10 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Tool Server Controller for Open WebUI integration.
@@ -61,6 +69,8 @@ public class ToolServerController {
     private final InputValidator inputValidator;
     private final AgenticRateLimiter rateLimiter;
     private final com.bmc.rag.connector.service.WorkLogService workLogService;
+    private final IncidentExtractor incidentExtractor;
+    private final RemedyConnectionConfig remedyConfig;
 
     @Value("${agentic.duplicate-detection.similarity-threshold:0.85}")
     private double duplicateThreshold;
@@ -156,6 +166,9 @@ public class ToolServerController {
     /**
      * Get details of a specific incident.
      *
+     * Served from the indexed copy in the vector store. Only an incident that is not indexed
+     * yet is read from Remedy, with the DETAIL_VIEW projection, and only when Remedy is enabled.
+     *
      * @param incidentId The incident number (e.g., INC000000001)
      * @return Full incident details
      */
@@ -177,14 +190,19 @@ public class ToolServerController {
                 .findFirst()
                 .orElse(null);
 
-            if (exactMatch == null) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(IncidentDetailResponse.notFound(incidentId));
+            if (exactMatch != null) {
+                // Build response from search result metadata
+                return ResponseEntity.ok(buildIncidentDetailFromSearchResult(exactMatch));
             }
 
-            // Build response from search result metadata
-            IncidentDetailResponse response = buildIncidentDetailFromSearchResult(exactMatch);
-            return ResponseEntity.ok(response);
+            // Not indexed yet: read only the fields this response shows from Remedy
+            Optional<IncidentRecord> live = fetchIncidentDetail(incidentId);
+            if (live.isPresent()) {
+                return ResponseEntity.ok(buildIncidentDetailFromRecord(live.get()));
+            }
+
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(IncidentDetailResponse.notFound(incidentId));
 
         } catch (Exception e) {
             log.error("Error getting incident details: {}", e.getMessage(), e);
@@ -763,6 +781,57 @@ public class ToolServerController {
             .build();
     }
 
+    /**
+     * Look up an incident in Remedy with only the detail-view fields.
+     * Returns empty when Remedy is disabled or cannot be reached.
+     */
+    private Optional<IncidentRecord> fetchIncidentDetail(String incidentId) {
+        if (!remedyConfig.isEnabled()) {
+            return Optional.empty();
+        }
+        try {
+            return incidentExtractor.extractByIncidentNumber(incidentId, IncidentProjection.DETAIL_VIEW);
+        } catch (Exception e) {
+            log.warn("Live lookup of incident {} failed: {}", incidentId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Build IncidentDetailResponse from a record read with the DETAIL_VIEW projection.
+     */
+    private IncidentDetailResponse buildIncidentDetailFromRecord(IncidentRecord record) {
+        String categoryPath = record.getCategoryPath();
+        String resolutionCategoryPath = Stream.of(record.getResolutionCategoryTier1(),
+                record.getResolutionCategoryTier2(), record.getResolutionCategoryTier3())
+            .filter(Objects::nonNull)
+            .collect(Collectors.joining(" > "));
+
+        return IncidentDetailResponse.builder()
+            .incidentNumber(record.getIncidentNumber())
+            .summary(record.getSummary())
+            .description(record.getDescription())
+            .resolution(record.getResolution())
+            .status(IncidentUpdateRequest.statusLabel(record.getStatus()))
+            .statusCode(record.getStatus())
+            .impact(record.getImpact())
+            .urgency(record.getUrgency())
+            .priority(record.getPriority())
+            .assignedGroup(record.getAssignedGroup())
+            .assignedTo(record.getAssignedTo())
+            .submitter(record.getSubmitter())
+            .customerFirstName(record.getCustomerFirstName())
+            .customerLastName(record.getCustomerLastName())
+            .customerCompany(record.getCustomerCompany())
+            .categoryPath(categoryPath.isEmpty() ? null : categoryPath)
+            .resolutionCategoryPath(resolutionCategoryPath.isEmpty() ? null : resolutionCategoryPath)
+            .createDate(record.getCreateDate())
+            .lastModifiedDate(record.getLastModifiedDate())
+            .lastModifiedBy(record.getLastModifiedBy())
+            .found(true)
+            .build();
+    }
+
     /**
      * Build KnowledgeDetailResponse from a SearchResult.
      */
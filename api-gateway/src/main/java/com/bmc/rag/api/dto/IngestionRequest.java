@@ -25,4 +25,23 @@ public class IngestionRequest {
      */
     @Builder.Default
     private boolean fullSync = false;
+
+    /**
+     * For a full sync, load chunks via COPY into a staging table and merge them in one statement.
+     */
+    @Builder.Default
+    private boolean bulkLoad = false;
+
+    /**
+     * For a bulk load, drop the HNSW indexes before the merge and rebuild them afterwards.
+     */
+    @Builder.Default
+    private boolean rebuildIndex = false;
+
+    /**
+     * For a full sync without bulkLoad, continue after the checkpoint of an earlier full sync
+     * that did not complete instead of starting over.
+     */
+    @Builder.Default
+    private boolean resume = true;
 }
@@ -15,8 +15,9 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 /**
- * Filter to ensure ARServerUser ThreadLocal connections are properly cleaned up
- * after each HTTP request to prevent connection leaks.
+ * Filter to ensure an ARServerUser connection pinned to the request thread (via
+ * ThreadLocalARContext.getContext()) is returned to the pool after each HTTP request.
+ * Operations run through executeWithRetry return their connection themselves.
  *
  * This filter runs last in the filter chain (lowest precedence) to ensure
  * all request processing is complete before cleanup.
@@ -38,7 +39,7 @@ public class ARContextCleanupFilter extends OncePerRequestFilter {
         try {
             filterChain.doFilter(request, response);
         } finally {
-            // Always cleanup ThreadLocal connection, even if request fails
+            // Always return a pinned connection, even if request fails
             cleanupARContext(request);
         }
     }
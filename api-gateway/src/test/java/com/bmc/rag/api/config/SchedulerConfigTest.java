@@ -1,14 +1,27 @@
 package com.bmc.rag.api.config;
 
+import com.bmc.rag.store.sync.IncrementalSyncService;
+import com.bmc.rag.store.sync.IncrementalSyncService.SyncResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -23,11 +36,14 @@ class SchedulerConfigTest {
     @Mock
     private RateLimitConfig rateLimitConfig;
 
+    @Mock
+    private IncrementalSyncService incrementalSyncService;
+
     private SchedulerConfig schedulerConfig;
 
     @BeforeEach
     void setUp() {
-        schedulerConfig = new SchedulerConfig(rateLimitConfig);
+        schedulerConfig = new SchedulerConfig(rateLimitConfig, incrementalSyncService);
     }
 
     @Test
@@ -50,4 +66,63 @@ class SchedulerConfigTest {
 
         verify(rateLimitConfig).getStatistics();
     }
+
+    @Test
+    @DisplayName("configureTasks_shouldScheduleEachSourceTypeOnItsOwnInterval")
+    void configureTasks_shouldScheduleEachSourceTypeOnItsOwnInterval() {
+        ReflectionTestUtils.setField(schedulerConfig, "incidentInterval", 60_000L);
+        ReflectionTestUtils.setField(schedulerConfig, "knowledgeArticleInterval", 3_600_000L);
+        ReflectionTestUtils.setField(schedulerConfig, "changeRequestInterval", 0L);
+        ScheduledTaskRegistrar registrar = new ScheduledTaskRegistrar();
+
+        schedulerConfig.configureTasks(registrar);
+
+        List<Duration> intervals = registrar.getFixedRateTaskList().stream()
+            .map(IntervalTask::getIntervalDuration)
+            .toList();
+        // ChangeRequest disabled, WorkOrder on the default
+        assertEquals(List.of(Duration.ofMinutes(1), Duration.ofMinutes(15), Duration.ofHours(1)), intervals);
+    }
+
+    @Test
+    @DisplayName("taskScheduler_shouldHaveAThreadPerSourceTypePlusExtra")
+    void taskScheduler_shouldHaveAThreadPerSourceTypePlusExtra() {
+        ThreadPoolTaskScheduler scheduler = schedulerConfig.taskScheduler();
+
+        assertEquals(6, scheduler.getPoolSize());
+    }
+
+    @Test
+    @DisplayName("syncs_shouldCallTheServicePerSourceType")
+    void syncs_shouldCallTheServicePerSourceType() {
+        when(incrementalSyncService.syncKnowledgeArticles()).thenReturn(new SyncResult(3, 9));
+
+        SyncResult result = schedulerConfig.syncs().get("KnowledgeArticle").get();
+
+        assertEquals(3, result.recordsProcessed());
+        verify(incrementalSyncService).syncKnowledgeArticles();
+        verify(incrementalSyncService, never()).syncIncidents();
+    }
+
+    @Test
+    @DisplayName("runScheduledSync_remedyDisabled_shouldSkip")
+    @SuppressWarnings("unchecked")
+    void runScheduledSync_remedyDisabled_shouldSkip() {
+        Supplier<SyncResult> sync = mock(Supplier.class);
+        when(incrementalSyncService.isRemedyEnabled()).thenReturn(false);
+
+        schedulerConfig.runScheduledSync("Incident", sync);
+
+        verify(sync, never()).get();
+    }
+
+    @Test
+    @DisplayName("runScheduledSync_syncThrows_shouldNotPropagate")
+    void runScheduledSync_syncThrows_shouldNotPropagate() {
+        when(incrementalSyncService.isRemedyEnabled()).thenReturn(true);
+
+        assertDoesNotThrow(() -> schedulerConfig.runScheduledSync("ChangeRequest", () -> {
+            throw new IllegalStateException("Remedy timeout");
+        }));
+    }
 }
@@ -3,6 +3,8 @@ package com.bmc.rag.api.controller;
 import com.bmc.rag.api.config.RateLimitConfig;
 import com.bmc.rag.connector.connection.ThreadLocalARContext;
 import com.bmc.rag.store.service.EmbeddingRefreshService;
+import com.bmc.rag.store.service.EmbeddingRefreshService.RefreshProgress;
+import com.bmc.rag.store.service.EmbeddingRefreshService.RefreshStatus;
 import com.bmc.rag.store.service.VectorStoreService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -14,8 +16,11 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.util.Map;
+import java.util.Optional;
 
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -49,31 +54,86 @@ class AdminControllerTest {
     private RateLimitConfig rateLimitConfig;
 
     @Test
-    void reembedAll_successful_returnsCount() throws Exception {
+    void reembedAll_startsRunInBackground_returnsAccepted() throws Exception {
         // Given
-        when(embeddingRefreshService.refreshAllEmbeddings()).thenReturn(150);
+        when(embeddingRefreshService.start(null, true)).thenReturn(progress("ALL", RefreshStatus.RUNNING, 0));
 
         // When & Then
         mockMvc.perform(post("/api/admin/reembed")
                 .contentType(MediaType.APPLICATION_JSON))
-            .andExpect(status().isOk())
-            .andExpect(jsonPath("$.status").value("completed"))
-            .andExpect(jsonPath("$.count").value(150))
-            .andExpect(jsonPath("$.durationMs").exists());
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.status").value("running"))
+            .andExpect(jsonPath("$.scope").value("ALL"))
+            .andExpect(jsonPath("$.total").value(1000));
+    }
+
+    @Test
+    void reembedAll_resumeFalse_startsFromBeginning() throws Exception {
+        // Given
+        when(embeddingRefreshService.start(null, false)).thenReturn(progress("ALL", RefreshStatus.RUNNING, 0));
+
+        // When & Then
+        mockMvc.perform(post("/api/admin/reembed")
+                .param("resume", "false")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isAccepted());
+        verify(embeddingRefreshService).start(null, false);
+    }
+
+    @Test
+    void reembedAll_alreadyRunning_returnsConflictWithProgress() throws Exception {
+        // Given
+        when(embeddingRefreshService.start(null, true))
+            .thenThrow(new IllegalStateException("Re-embedding already running for Incident"));
+        when(embeddingRefreshService.getProgress())
+            .thenReturn(Optional.of(progress("Incident", RefreshStatus.RUNNING, 250)));
+
+        // When & Then
+        mockMvc.perform(post("/api/admin/reembed")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.status").value("error"))
+            .andExpect(jsonPath("$.progress.scope").value("Incident"))
+            .andExpect(jsonPath("$.progress.refreshed").value(250));
     }
 
     @Test
-    void reembedBySourceType_successful_returnsCount() throws Exception {
+    void reembedBySourceType_startsRunForType() throws Exception {
         // Given
-        when(embeddingRefreshService.refreshEmbeddingsBySourceType("Incident")).thenReturn(50);
+        when(embeddingRefreshService.start("Incident", true)).thenReturn(progress("Incident", RefreshStatus.RUNNING, 0));
 
         // When & Then
         mockMvc.perform(post("/api/admin/reembed/Incident")
                 .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.status").value("running"))
+            .andExpect(jsonPath("$.scope").value("Incident"));
+    }
+
+    @Test
+    void reembedProgress_reportsCurrentRun() throws Exception {
+        // Given
+        when(embeddingRefreshService.getProgress())
+            .thenReturn(Optional.of(progress("ALL", RefreshStatus.RUNNING, 250)));
+
+        // When & Then
+        mockMvc.perform(get("/api/admin/reembed/progress"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("running"))
+            .andExpect(jsonPath("$.refreshed").value(250))
+            .andExpect(jsonPath("$.total").value(1000))
+            .andExpect(jsonPath("$.percentComplete").value(25.0));
+    }
+
+    @Test
+    void reembedProgress_noRun_returnsIdle() throws Exception {
+        // Given
+        when(embeddingRefreshService.getProgress()).thenReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/admin/reembed/progress"))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$.status").value("completed"))
-            .andExpect(jsonPath("$.sourceType").value("Incident"))
-            .andExpect(jsonPath("$.count").value(50));
+            .andExpect(jsonPath("$.status").value("idle"));
     }
 
     @Test
@@ -93,4 +153,15 @@ class AdminControllerTest {
             .andExpect(jsonPath("$.workorders").value(50))
             .andExpect(jsonPath("$.total").value(150));
     }
+
+    private static RefreshProgress progress(String scope, RefreshStatus status, long refreshed) {
+        return RefreshProgress.builder()
+            .scope(scope)
+            .status(status)
+            .total(1000)
+            .refreshed(refreshed)
+            .percentComplete(refreshed / 10.0)
+            .startedAt(Instant.parse("2026-01-01T00:00:00Z"))
+            .build();
+    }
 }
@@ -18,7 +18,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -73,6 +73,30 @@ class IngestionControllerTest {
             .andExpect(jsonPath("$.syncType").value("full"));
     }
 
+    @Test
+    void triggerSync_fullSyncWithoutBulkLoad_streamsWithCheckpoints() throws Exception {
+        // Given
+        String requestJson = """
+            {
+                "sourceType": "Incident",
+                "fullSync": true,
+                "resume": false
+            }
+            """;
+        when(syncService.streamFullSync("Incident", false))
+            .thenReturn(new IncrementalSyncService.SyncResult(0, 0));
+
+        // When
+        mockMvc.perform(post("/api/v1/admin/ingestion/trigger")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestJson))
+            .andExpect(status().isAccepted());
+
+        // Then
+        verify(syncService, timeout(1000)).streamFullSync("Incident", false);
+        verify(syncService, never()).forceFullSync(anyString(), anyBoolean(), anyBoolean());
+    }
+
     @Test
     void triggerSync_incrementalSync_returnsAccepted() throws Exception {
         // Given
@@ -5,7 +5,11 @@ import com.bmc.rag.agent.confirmation.PendingAction;
 import com.bmc.rag.agent.security.AgenticRateLimiter;
 import com.bmc.rag.agent.security.InputValidator;
 import com.bmc.rag.api.config.RateLimitConfig;
+import com.bmc.rag.connector.config.RemedyConnectionConfig;
 import com.bmc.rag.connector.connection.ThreadLocalARContext;
+import com.bmc.rag.connector.extractor.IncidentExtractor;
+import com.bmc.rag.connector.extractor.IncidentProjection;
+import com.bmc.rag.connector.model.IncidentRecord;
 import com.bmc.rag.connector.service.WorkLogService;
 import com.bmc.rag.store.service.VectorStoreService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -22,11 +26,12 @@ import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -65,6 +70,12 @@ class ToolServerControllerTest {
     @MockBean
     private ThreadLocalARContext threadLocalARContext;
 
+    @MockBean
+    private IncidentExtractor incidentExtractor;
+
+    @MockBean
+    private RemedyConnectionConfig remedyConfig;
+
     @MockBean
     private RateLimitConfig rateLimitConfig;
 
@@ -146,6 +157,8 @@ class ToolServerControllerTest {
         when(vectorStoreService.searchByType("INC000123", "Incident", 10, 0.0))
             .thenReturn(List.of(result));
 
+        when(remedyConfig.isEnabled()).thenReturn(true);
+
         // When & Then
         mockMvc.perform(get("/tool-server/incidents/INC000123")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -153,6 +166,65 @@ class ToolServerControllerTest {
             .andExpect(jsonPath("$.incidentNumber").value("INC000123"))
             .andExpect(jsonPath("$.summary").value("VPN auth error"))
             .andExpect(jsonPath("$.found").value(true));
+        verify(incidentExtractor, never()).extractByIncidentNumber(anyString(), any());
+    }
+
+    @Test
+    void getIncidentDetails_notIndexed_readsDetailViewFromRemedy() throws Exception {
+        // Given
+        when(remedyConfig.isEnabled()).thenReturn(true);
+        when(vectorStoreService.searchByType("INC000123", "Incident", 10, 0.0))
+            .thenReturn(Collections.emptyList());
+        IncidentRecord record = IncidentRecord.builder()
+            .incidentNumber("INC000123")
+            .summary("VPN auth error")
+            .status(4)
+            .impact(3)
+            .categoryTier1("Network")
+            .categoryTier2("VPN")
+            .build();
+        when(incidentExtractor.extractByIncidentNumber("INC000123", IncidentProjection.DETAIL_VIEW))
+            .thenReturn(Optional.of(record));
+
+        // When & Then
+        mockMvc.perform(get("/tool-server/incidents/INC000123")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.summary").value("VPN auth error"))
+            .andExpect(jsonPath("$.status").value("Resolved"))
+            .andExpect(jsonPath("$.statusCode").value(4))
+            .andExpect(jsonPath("$.categoryPath").value("Network > VPN"))
+            .andExpect(jsonPath("$.found").value(true));
+    }
+
+    @Test
+    void getIncidentDetails_notIndexedAndRemedyUnavailable_returns404() throws Exception {
+        // Given
+        when(remedyConfig.isEnabled()).thenReturn(true);
+        when(vectorStoreService.searchByType(anyString(), anyString(), anyInt(), anyDouble()))
+            .thenReturn(Collections.emptyList());
+        when(incidentExtractor.extractByIncidentNumber(anyString(), any()))
+            .thenThrow(new RuntimeException("Connection refused"));
+
+        // When & Then
+        mockMvc.perform(get("/tool-server/incidents/INC000123")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.found").value(false));
+    }
+
+    @Test
+    void getIncidentDetails_remedyDisabled_doesNotCallRemedy() throws Exception {
+        // Given
+        when(remedyConfig.isEnabled()).thenReturn(false);
+        when(vectorStoreService.searchByType(anyString(), anyString(), anyInt(), anyDouble()))
+            .thenReturn(Collections.emptyList());
+
+        // When & Then
+        mockMvc.perform(get("/tool-server/incidents/INC000123")
+                .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isNotFound());
+        verifyNoInteractions(incidentExtractor);
     }
 
     @Test
@@ -1,27 +1,55 @@
 package com.bmc.rag.agent.cache;
 
-import com.bmc.rag.vectorization.embedding.LocalEmbeddingService;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.bmc.rag.agent.retrieval.SecureContentRetriever.UserContext;
+import com.bmc.rag.store.event.SourceRecordsChangedEvent;
+import com.bmc.rag.store.repository.SemanticCacheIndexRepository;
+import com.bmc.rag.vectorization.embedding.QueryEmbeddingCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 /**
  * Semantic cache service for caching query results based on embedding similarity (P2.2).
- * Uses Redis for distributed caching with cosine similarity matching.
+ * Query embeddings are kept in a pgvector HNSW index ({@link SemanticCacheIndexRepository}),
+ * so a lookup is one indexed nearest-neighbour query plus one Redis GET for the payload.
+ * Redis holds only the cached responses. Entries beyond max-entries are evicted least
+ * recently used first.
+ *
+ * Each node keeps a small in-heap L1 of recent entries in front of that shared L2, so
+ * repeated and near-duplicate questions are answered without leaving the JVM. Entries
+ * are partitioned by a hash of the caller's groups: answers are built from ReBAC-filtered
+ * retrieval and are only served to callers with the same group set. {@link #clear()} and
+ * {@link #invalidateSources(Collection)} are broadcast over Redis pub/sub so every node
+ * drops the affected L1 entries.
+ *
+ * The index also records which source records each answer cites. When ingestion rewrites
+ * or deletes a record ({@link SourceRecordsChangedEvent}), only the entries citing it are
+ * evicted, so the TTL no longer has to be short to bound staleness.
  */
 @Slf4j
 @Service
 public class SemanticCacheService {
 
     private final RedisTemplate<String, String> redisTemplate;
-    private final LocalEmbeddingService embeddingService;
+    private final QueryEmbeddingCache queryEmbeddingCache;
+    private final SemanticCacheIndexRepository cacheIndex;
     private final ObjectMapper objectMapper;
     private final boolean redisAvailable;
 
@@ -38,21 +66,34 @@ public class SemanticCacheService {
     private int maxEntries;
 
     private static final String CACHE_KEY_PREFIX = "rag:semantic-cache:";
-    private static final String EMBEDDING_KEY_PREFIX = "rag:cache-embedding:";
-    private static final String INDEX_KEY = "rag:cache-index";
+    static final String INVALIDATION_CHANNEL = "rag:semantic-cache:invalidate";
+    static final String PUBLIC_PARTITION = "public";
+
+    // Per-node L1 in front of the shared index + Redis (L2)
+    private final Cache<String, L1Entry> l1;
+    private RedisMessageListenerContainer invalidationListener;
 
     // Statistics
     private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong l1Hits = new AtomicLong(0);
     private final AtomicLong misses = new AtomicLong(0);
 
     public SemanticCacheService(
             @org.springframework.beans.factory.annotation.Autowired(required = false) RedisTemplate<String, String> redisTemplate,
-            LocalEmbeddingService embeddingService,
-            ObjectMapper objectMapper) {
+            QueryEmbeddingCache queryEmbeddingCache,
+            SemanticCacheIndexRepository cacheIndex,
+            ObjectMapper objectMapper,
+            @Value("${semantic-cache.l1.max-size:1000}") long l1MaxSize,
+            @Value("${semantic-cache.l1.ttl-minutes:10}") long l1TtlMinutes) {
         this.redisTemplate = redisTemplate;
-        this.embeddingService = embeddingService;
+        this.queryEmbeddingCache = queryEmbeddingCache;
+        this.cacheIndex = cacheIndex;
         this.objectMapper = objectMapper;
         this.redisAvailable = redisTemplate != null;
+        this.l1 = Caffeine.newBuilder()
+            .maximumSize(Math.max(0, l1MaxSize))
+            .expireAfterWrite(Duration.ofMinutes(l1TtlMinutes))
+            .build();
 
         if (!redisAvailable) {
             log.warn("Redis not available - semantic caching disabled. Set up Redis for production use.");
@@ -60,54 +101,83 @@ public class SemanticCacheService {
     }
 
     /**
-     * Check if a semantically similar query result exists in cache.
+     * Subscribe to L1 invalidations published by other nodes.
+     */
+    @PostConstruct
+    void subscribeToInvalidations() {
+        if (!redisAvailable || redisTemplate.getConnectionFactory() == null) {
+            return;
+        }
+        try {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(redisTemplate.getConnectionFactory());
+            container.addMessageListener(
+                (message, pattern) -> onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(INVALIDATION_CHANNEL));
+            container.afterPropertiesSet();
+            container.start();
+            invalidationListener = container;
+        } catch (Exception e) {
+            log.warn("Semantic cache invalidation listener not started: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (invalidationListener != null) {
+            try {
+                invalidationListener.destroy();
+            } catch (Exception e) {
+                log.debug("Error stopping semantic cache invalidation listener: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Check if a semantically similar query result exists in cache for callers with the
+     * same groups.
      *
      * @param query The user's query
+     * @param userContext The caller; only entries cached for the same group set match
      * @return Cached result if found, empty optional otherwise
      */
-    public Optional<CachedResult> get(String query) {
+    public Optional<CachedResult> get(String query, UserContext userContext) {
         if (!enabled || !redisAvailable) {
             return Optional.empty();
         }
 
         try {
-            // Generate embedding for the query
-            float[] queryEmbedding = embeddingService.embed(query);
+            String partition = partitionKey(userContext);
 
-            // Get all cached embeddings (in production, use vector index)
-            Set<String> cacheKeys = redisTemplate.opsForSet().members(INDEX_KEY);
-            if (cacheKeys == null || cacheKeys.isEmpty()) {
-                misses.incrementAndGet();
-                return Optional.empty();
+            // Generate embedding for the query
+            float[] queryEmbedding = queryEmbeddingCache.embed(query);
+
+            // L1: recent entries of this partition on this node
+            Optional<CachedResult> local = findInL1(partition, queryEmbedding);
+            if (local.isPresent()) {
+                hits.incrementAndGet();
+                l1Hits.incrementAndGet();
+                log.debug("L1 cache hit: similarity={} for query: {}", local.get().getSimilarity(), truncate(query));
+                return local;
             }
 
-            // Find most similar cached query
-            String bestMatch = null;
-            float bestSimilarity = 0;
-
-            for (String key : cacheKeys) {
-                String embeddingJson = redisTemplate.opsForValue().get(EMBEDDING_KEY_PREFIX + key);
-                if (embeddingJson == null) continue;
-
-                float[] cachedEmbedding = parseEmbedding(embeddingJson);
-                float similarity = cosineSimilarity(queryEmbedding, cachedEmbedding);
+            // L2: nearest cached query via the HNSW index (also refreshes its LRU position on a hit)
+            Optional<SemanticCacheIndexRepository.Match> nearest =
+                cacheIndex.findNearest(queryEmbedding, partition, similarityThreshold);
 
-                if (similarity > bestSimilarity) {
-                    bestSimilarity = similarity;
-                    bestMatch = key;
-                }
-            }
-
-            // Check if best match exceeds threshold
-            if (bestMatch != null && bestSimilarity >= similarityThreshold) {
-                String cachedJson = redisTemplate.opsForValue().get(CACHE_KEY_PREFIX + bestMatch);
+            if (nearest.isPresent() && nearest.get().similarity() >= similarityThreshold) {
+                String key = nearest.get().cacheKey();
+                String cachedJson = redisTemplate.opsForValue().get(CACHE_KEY_PREFIX + key);
                 if (cachedJson != null) {
                     CachedResult result = objectMapper.readValue(cachedJson, CachedResult.class);
-                    result.setSimilarity(bestSimilarity);
+                    l1.put(key, new L1Entry(partition, queryEmbedding, result));
+                    result = result.withSimilarity(nearest.get().similarity());
                     hits.incrementAndGet();
-                    log.debug("Cache hit: similarity={:.4f} for query: {}", bestSimilarity, truncate(query));
+                    log.debug("Cache hit: similarity={} for query: {}", nearest.get().similarity(), truncate(query));
                     return Optional.of(result);
                 }
+                // Payload expired or was evicted from Redis - drop the stale index entry
+                cacheIndex.delete(key);
             }
 
             misses.incrementAndGet();
@@ -124,26 +194,20 @@ public class SemanticCacheService {
      * Store a query result in the cache.
      *
      * @param query The original query
+     * @param userContext The caller the response was generated for
      * @param response The response to cache
      * @param sources The source references
      */
-    public void put(String query, String response, List<String> sources) {
+    public void put(String query, UserContext userContext, String response, List<String> sources) {
         if (!enabled || !redisAvailable) return;
 
         try {
             // Generate unique key
             String key = UUID.randomUUID().toString();
+            String partition = partitionKey(userContext);
+            float[] embedding = queryEmbeddingCache.embed(query);
 
-            // Generate and store embedding
-            float[] embedding = embeddingService.embed(query);
-            String embeddingJson = objectMapper.writeValueAsString(embedding);
-            redisTemplate.opsForValue().set(
-                EMBEDDING_KEY_PREFIX + key,
-                embeddingJson,
-                Duration.ofHours(ttlHours)
-            );
-
-            // Store cached result
+            // Store the payload first so the index never points at a missing entry
             CachedResult result = new CachedResult(query, response, sources, System.currentTimeMillis());
             String resultJson = objectMapper.writeValueAsString(result);
             redisTemplate.opsForValue().set(
@@ -152,8 +216,8 @@ public class SemanticCacheService {
                 Duration.ofHours(ttlHours)
             );
 
-            // Add to index
-            redisTemplate.opsForSet().add(INDEX_KEY, key);
+            cacheIndex.upsert(key, partition, embedding, Duration.ofHours(ttlHours), sources);
+            l1.put(key, new L1Entry(partition, embedding, result));
 
             // Enforce max entries limit
             enforceMaxEntries();
@@ -166,26 +230,76 @@ public class SemanticCacheService {
     }
 
     /**
-     * Clear all cached entries.
+     * Clear all cached entries, including the L1 of every node.
      */
     public void clear() {
+        l1.invalidateAll();
         if (!redisAvailable) return;
 
         try {
-            Set<String> keys = redisTemplate.opsForSet().members(INDEX_KEY);
-            if (keys != null) {
-                for (String key : keys) {
-                    redisTemplate.delete(CACHE_KEY_PREFIX + key);
-                    redisTemplate.delete(EMBEDDING_KEY_PREFIX + key);
-                }
-            }
-            redisTemplate.delete(INDEX_KEY);
+            deletePayloads(cacheIndex.deleteAll());
+            publish(new Invalidation(true, List.of()));
             log.info("Semantic cache cleared");
         } catch (Exception e) {
             log.warn("Cache clear failed: {}", e.getMessage());
         }
     }
 
+    /**
+     * Evict the entries citing any of the given sources, including the L1 copies on
+     * every node.
+     *
+     * @param sourceReferences Source references as cached (e.g. "Incident INC000123")
+     */
+    public void invalidateSources(Collection<String> sourceReferences) {
+        if (sourceReferences == null || sourceReferences.isEmpty()) return;
+
+        evictL1Citing(sourceReferences);
+        if (!redisAvailable) return;
+
+        try {
+            List<String> evicted = cacheIndex.deleteBySourceReferences(sourceReferences);
+            deletePayloads(evicted);
+            publish(new Invalidation(false, List.copyOf(sourceReferences)));
+            if (!evicted.isEmpty()) {
+                log.debug("Evicted {} cache entries citing {}", evicted.size(), sourceReferences);
+            }
+        } catch (Exception e) {
+            log.warn("Cache invalidation failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Evict cached answers citing records that ingestion just rewrote or deleted.
+     * Runs after the ingestion transaction commits, so a concurrent request cannot
+     * re-cache an answer built from the old chunks after the eviction.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSourceRecordsChanged(SourceRecordsChangedEvent event) {
+        if (event.wholeType()) {
+            log.info("All {} records changed - clearing semantic cache", event.sourceType());
+            clear();
+        } else {
+            invalidateSources(event.sourceReferences());
+        }
+    }
+
+    /**
+     * Apply an invalidation published by any node (including this one).
+     */
+    void onInvalidation(String payload) {
+        try {
+            Invalidation invalidation = objectMapper.readValue(payload, Invalidation.class);
+            if (invalidation.all()) {
+                l1.invalidateAll();
+            } else {
+                evictL1Citing(invalidation.sources());
+            }
+        } catch (Exception e) {
+            log.warn("Ignoring malformed cache invalidation: {}", e.getMessage());
+        }
+    }
+
     /**
      * Get cache statistics.
      */
@@ -197,15 +311,20 @@ public class SemanticCacheService {
 
         int size = 0;
         if (redisAvailable) {
-            Long sizeValue = redisTemplate.opsForSet().size(INDEX_KEY);
-            size = sizeValue != null ? sizeValue.intValue() : 0;
+            try {
+                size = (int) cacheIndex.count();
+            } catch (Exception e) {
+                log.warn("Cache size lookup failed: {}", e.getMessage());
+            }
         }
 
         return new CacheStats(
             hitCount,
             missCount,
             hitRate,
-            size
+            size,
+            l1Hits.get(),
+            l1.estimatedSize()
         );
     }
 
@@ -216,51 +335,90 @@ public class SemanticCacheService {
         return enabled && redisAvailable;
     }
 
+    /**
+     * Evict expired entries and the least recently used ones beyond max-entries.
+     */
     private void enforceMaxEntries() {
-        if (!redisAvailable) return;
-
         try {
-            Long size = redisTemplate.opsForSet().size(INDEX_KEY);
-            if (size != null && size > maxEntries) {
-                // Remove random entries (in production, use LRU)
-                int toRemove = (int) (size - maxEntries);
-                Set<String> keys = redisTemplate.opsForSet().members(INDEX_KEY);
-                if (keys != null) {
-                    int removed = 0;
-                    for (String key : keys) {
-                        if (removed >= toRemove) break;
-                        redisTemplate.delete(CACHE_KEY_PREFIX + key);
-                        redisTemplate.delete(EMBEDDING_KEY_PREFIX + key);
-                        redisTemplate.opsForSet().remove(INDEX_KEY, key);
-                        removed++;
-                    }
-                    log.debug("Evicted {} cache entries", removed);
-                }
+            List<String> evicted = cacheIndex.evictExpiredAndLeastRecentlyUsed(maxEntries);
+            if (!evicted.isEmpty()) {
+                deletePayloads(evicted);
+                log.debug("Evicted {} cache entries", evicted.size());
             }
         } catch (Exception e) {
             log.warn("Cache eviction failed: {}", e.getMessage());
         }
     }
 
-    private float cosineSimilarity(float[] a, float[] b) {
-        if (a.length != b.length) return 0;
+    private void deletePayloads(List<String> keys) {
+        if (keys.isEmpty()) return;
+        keys.forEach(l1::invalidate);
+        redisTemplate.delete(keys.stream().map(key -> CACHE_KEY_PREFIX + key).toList());
+    }
 
-        float dotProduct = 0;
-        float normA = 0;
-        float normB = 0;
+    /**
+     * Most similar L1 entry of the partition, if it passes the similarity threshold.
+     * The L1 is small, so a linear scan is cheaper than another index.
+     */
+    private Optional<CachedResult> findInL1(String partition, float[] queryEmbedding) {
+        L1Entry best = null;
+        float bestSimilarity = similarityThreshold;
+        for (L1Entry entry : l1.asMap().values()) {
+            if (!entry.partition().equals(partition)) {
+                continue;
+            }
+            float similarity = cosineSimilarity(queryEmbedding, entry.embedding());
+            if (similarity >= bestSimilarity) {
+                best = entry;
+                bestSimilarity = similarity;
+            }
+        }
+        return best != null ? Optional.of(best.result().withSimilarity(bestSimilarity)) : Optional.empty();
+    }
 
+    private void evictL1Citing(Collection<String> sourceReferences) {
+        Set<String> refs = new HashSet<>(sourceReferences);
+        l1.asMap().values().removeIf(entry -> entry.result().getSources() != null
+            && entry.result().getSources().stream().anyMatch(refs::contains));
+    }
+
+    private void publish(Invalidation invalidation) throws Exception {
+        redisTemplate.convertAndSend(INVALIDATION_CHANNEL, objectMapper.writeValueAsString(invalidation));
+    }
+
+    /**
+     * Cache partition for a caller: a hash of its groups (sorted and lower-cased, since
+     * ReBAC group matching is case-insensitive), or {@value #PUBLIC_PARTITION} without groups.
+     */
+    static String partitionKey(UserContext userContext) {
+        if (userContext == null || !userContext.hasGroups()) {
+            return PUBLIC_PARTITION;
+        }
+        String groups = String.join("\n", userContext.groups().stream()
+            .map(group -> group.toLowerCase(Locale.ROOT))
+            .collect(Collectors.toCollection(TreeSet::new)));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(groups.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static float cosineSimilarity(float[] a, float[] b) {
+        if (a.length != b.length) {
+            return 0f;
+        }
+        double dot = 0, normA = 0, normB = 0;
         for (int i = 0; i < a.length; i++) {
-            dotProduct += a[i] * b[i];
+            dot += a[i] * b[i];
             normA += a[i] * a[i];
             normB += b[i] * b[i];
         }
-
-        if (normA == 0 || normB == 0) return 0;
-        return dotProduct / (float) (Math.sqrt(normA) * Math.sqrt(normB));
-    }
-
-    private float[] parseEmbedding(String json) throws JsonProcessingException {
-        return objectMapper.readValue(json, float[].class);
+        if (normA == 0 || normB == 0) {
+            return 0f;
+        }
+        return (float) (dot / (Math.sqrt(normA) * Math.sqrt(normB)));
     }
 
     private String truncate(String text) {
@@ -287,6 +445,13 @@ public class SemanticCacheService {
             this.sources = sources;
             this.timestamp = timestamp;
         }
+
+        /**
+         * Copy with the similarity of the current lookup; L1 entries are shared.
+         */
+        CachedResult withSimilarity(float similarity) {
+            return new CachedResult(query, response, sources, timestamp, similarity);
+        }
     }
 
     /**
@@ -296,6 +461,15 @@ public class SemanticCacheService {
         long hits,
         long misses,
         double hitRate,
-        int size
+        int size,
+        long l1Hits,
+        long l1Size
     ) {}
+
+    private record L1Entry(String partition, float[] embedding, CachedResult result) {}
+
+    /**
+     * Pub/sub message: clear every L1, or drop the entries citing the given sources.
+     */
+    record Invalidation(boolean all, List<String> sources) {}
 }
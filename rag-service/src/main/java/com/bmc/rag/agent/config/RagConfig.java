@@ -1,5 +1,6 @@
 package com.bmc.rag.agent.config;
 
+import com.bmc.rag.store.service.RecallLevel;
 import jakarta.annotation.PostConstruct;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
@@ -24,8 +25,8 @@ public class RagConfig {
 
     @PostConstruct
     public void logConfiguration() {
-        log.info("RAG Config: maxResults={}, minScore={}, rebacEnabled={}, prioritizeKnowledge={}",
-            maxResults, minScore, rebacEnabled, prioritizeKnowledgeArticles);
+        log.info("RAG Config: maxResults={}, minScore={}, rebacEnabled={}, prioritizeKnowledge={}, recall={}..{}",
+            maxResults, minScore, rebacEnabled, prioritizeKnowledgeArticles, initialRecallLevel, maxRecallLevel);
     }
 
     /**
@@ -42,6 +43,17 @@ public class RagConfig {
     @Max(1)
     private float minScore = 0.5f;
 
+    /**
+     * HNSW recall level (ef_search) of the first retrieval pass.
+     */
+    private RecallLevel initialRecallLevel = RecallLevel.LOW;
+
+    /**
+     * Highest recall level a retrieval is retried at when the first pass returns fewer than
+     * maxResults chunks above minScore. Equal to initialRecallLevel disables the retry.
+     */
+    private RecallLevel maxRecallLevel = RecallLevel.HIGH;
+
     /**
      * Maximum number of messages to keep in chat memory.
      */
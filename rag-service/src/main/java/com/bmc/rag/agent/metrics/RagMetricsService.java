@@ -1,7 +1,9 @@
 package com.bmc.rag.agent.metrics;
 
+import com.bmc.rag.vectorization.embedding.QueryEmbeddingCache;
 import io.micrometer.core.instrument.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.concurrent.TimeUnit;
@@ -109,6 +111,28 @@ public class RagMetricsService {
         log.info("RAG metrics service initialized");
     }
 
+    /**
+     * Expose the shared query embedding cache statistics.
+     */
+    @Autowired(required = false)
+    public void bindQueryEmbeddingCache(QueryEmbeddingCache queryEmbeddingCache) {
+        FunctionCounter.builder("rag.query_embedding_cache.hits", queryEmbeddingCache, QueryEmbeddingCache::hitCount)
+            .description("Query embedding cache hits")
+            .register(meterRegistry);
+
+        FunctionCounter.builder("rag.query_embedding_cache.misses", queryEmbeddingCache, QueryEmbeddingCache::missCount)
+            .description("Query embedding cache misses (query was embedded)")
+            .register(meterRegistry);
+
+        Gauge.builder("rag.query_embedding_cache.hit_rate", queryEmbeddingCache, QueryEmbeddingCache::hitRate)
+            .description("Query embedding cache hit rate (0-1)")
+            .register(meterRegistry);
+
+        Gauge.builder("rag.query_embedding_cache.size", queryEmbeddingCache, QueryEmbeddingCache::size)
+            .description("Query embeddings currently cached")
+            .register(meterRegistry);
+    }
+
     // ========================
     // Counter Methods
     // ========================
@@ -3,6 +3,7 @@ package com.bmc.rag.agent.retrieval;
 import com.bmc.rag.agent.config.RagConfig;
 import com.bmc.rag.agent.security.ReBACFilter;
 import com.bmc.rag.agent.util.ArabicTextProcessor;
+import com.bmc.rag.store.service.SearchFilter;
 import com.bmc.rag.store.service.VectorStoreService;
 import com.bmc.rag.store.service.VectorStoreService.SearchResult;
 import lombok.RequiredArgsConstructor;
@@ -49,27 +50,21 @@ public class SecureContentRetriever {
 
         // Perform vector search with ATOMIC ReBAC filtering at database level (P0.3)
         // This prevents race condition where unauthorized data could be seen during post-filtering
-        List<SearchResult> rawResults;
+        SearchFilter.SearchFilterBuilder filter = SearchFilter.builder()
+            .maxResults(ragConfig.getMaxResults())
+            .minScore(ragConfig.getMinScore())
+            .recallLevel(ragConfig.getInitialRecallLevel())
+            .maxRecallLevel(ragConfig.getMaxRecallLevel());
 
         if (ragConfig.isRebacEnabled() && userContext != null && userContext.hasGroups()) {
             // ATOMIC: ReBAC filtering happens IN the database query, not post-query
             // This is the ONLY correct way to implement ReBAC - never fetch unauthorized data
-            rawResults = vectorStoreService.searchWithGroups(
-                processedQuery,
-                ragConfig.getMaxResults(),  // No need for extra fetch - filtering is atomic
-                ragConfig.getMinScore(),
-                userContext.getGroupsAsList()
-            );
-            log.debug("Atomic ReBAC search completed with {} groups", userContext.groups().size());
-        } else {
-            // No ReBAC filtering required
-            rawResults = vectorStoreService.search(
-                processedQuery,
-                ragConfig.getMaxResults(),
-                ragConfig.getMinScore()
-            );
+            filter.allowedGroups(userContext.groups());
+            log.debug("Atomic ReBAC search with {} groups", userContext.groups().size());
         }
 
+        List<SearchResult> rawResults = vectorStoreService.search(processedQuery, filter.build());
+
         log.info("Vector search returned {} results (rebacEnabled={})", rawResults.size(), ragConfig.isRebacEnabled());
 
         // Log details of each result for debugging
@@ -141,28 +136,23 @@ public class SecureContentRetriever {
         log.info("Retrieving content for query: '{}', source types: {}",
             truncateForLog(query), sourceTypes);
 
-        List<SearchResult> rawResults = vectorStoreService.searchBySourceTypes(
-            query,
-            ragConfig.getMaxResults() * 2,
-            ragConfig.getMinScore(),
-            sourceTypes
-        );
-
-        if (rawResults.isEmpty()) {
+        // Source types and ReBAC groups are applied together in the database query,
+        // so exactly maxResults authorized rows come back
+        List<SearchResult> results = vectorStoreService.search(query, SearchFilter.builder()
+            .maxResults(ragConfig.getMaxResults())
+            .minScore(ragConfig.getMinScore())
+            .recallLevel(ragConfig.getInitialRecallLevel())
+            .maxRecallLevel(ragConfig.getMaxRecallLevel())
+            .sourceTypes(sourceTypes)
+            .allowedGroups(userContext != null && userContext.groups() != null
+                ? userContext.groups() : Collections.emptySet())
+            .build());
+
+        if (results.isEmpty()) {
             return RetrievalResult.empty();
         }
 
-        // Apply ReBAC filtering
-        List<SearchResult> filtered = rebacFilter.filterByGroups(
-            rawResults,
-            userContext != null ? userContext.groups() : Collections.emptySet()
-        );
-
-        if (filtered.size() > ragConfig.getMaxResults()) {
-            filtered = filtered.subList(0, ragConfig.getMaxResults());
-        }
-
-        return buildRetrievalResult(filtered);
+        return buildRetrievalResult(results);
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.bmc.rag.agent.util;
 
+import com.bmc.rag.vectorization.embedding.QueryTextNormalizer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -14,10 +15,11 @@ import java.util.regex.Pattern;
  * - Arabic numeral conversion
  * - Diacritics handling
  * - Text direction awareness
+ * - Query cache key normalization ({@link QueryTextNormalizer})
  */
 @Slf4j
 @Component
-public class ArabicTextProcessor {
+public class ArabicTextProcessor implements QueryTextNormalizer {
 
     // Unicode ranges for Arabic script
     private static final int ARABIC_START = 0x0600;
@@ -246,6 +248,14 @@ public class ArabicTextProcessor {
         return text.replace(String.valueOf(TATWEEL), "");
     }
 
+    /**
+     * Normalize query text for the query embedding cache.
+     */
+    @Override
+    public String normalize(String text) {
+        return normalizeForSearch(text);
+    }
+
     /**
      * Normalize Arabic text for search.
      * Removes diacritics, tatweel, and normalizes character forms.
@@ -1,6 +1,10 @@
 package com.bmc.rag.agent.cache;
 
-import com.bmc.rag.vectorization.embedding.LocalEmbeddingService;
+import com.bmc.rag.agent.retrieval.SecureContentRetriever.UserContext;
+import com.bmc.rag.store.event.SourceRecordsChangedEvent;
+import com.bmc.rag.store.repository.SemanticCacheIndexRepository;
+import com.bmc.rag.store.repository.SemanticCacheIndexRepository.Match;
+import com.bmc.rag.vectorization.embedding.QueryEmbeddingCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,14 +14,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.SetOperations;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -30,13 +33,16 @@ class SemanticCacheServiceTest {
     private RedisTemplate<String, String> redisTemplate;
 
     @Mock
-    private LocalEmbeddingService embeddingService;
+    private QueryEmbeddingCache queryEmbeddingCache;
 
     @Mock
-    private ValueOperations<String, String> valueOps;
+    private SemanticCacheIndexRepository cacheIndex;
 
     @Mock
-    private SetOperations<String, String> setOps;
+    private ValueOperations<String, String> valueOps;
+
+    private static final UserContext USER = UserContext.withGroups("user1", "Service Desk");
+    private static final String PARTITION = SemanticCacheService.partitionKey(USER);
 
     private ObjectMapper objectMapper;
     private SemanticCacheService cacheService;
@@ -44,7 +50,7 @@ class SemanticCacheServiceTest {
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
-        cacheService = new SemanticCacheService(redisTemplate, embeddingService, objectMapper);
+        cacheService = new SemanticCacheService(redisTemplate, queryEmbeddingCache, cacheIndex, objectMapper, 1000, 10);
         ReflectionTestUtils.setField(cacheService, "enabled", true);
         ReflectionTestUtils.setField(cacheService, "similarityThreshold", 0.95f);
         ReflectionTestUtils.setField(cacheService, "ttlHours", 24);
@@ -68,7 +74,7 @@ class SemanticCacheServiceTest {
 
         @Test
         void isEnabled_noRedis_returnsFalse() {
-            var noRedisService = new SemanticCacheService(null, embeddingService, objectMapper);
+            var noRedisService = new SemanticCacheService(null, queryEmbeddingCache, cacheIndex, objectMapper, 1000, 10);
             ReflectionTestUtils.setField(noRedisService, "enabled", true);
             assertThat(noRedisService.isEnabled()).isFalse();
         }
@@ -81,90 +87,89 @@ class SemanticCacheServiceTest {
         @Test
         void get_disabled_returnsEmpty() {
             ReflectionTestUtils.setField(cacheService, "enabled", false);
-            Optional<SemanticCacheService.CachedResult> result = cacheService.get("test query");
+            Optional<SemanticCacheService.CachedResult> result = cacheService.get("test query", USER);
             assertThat(result).isEmpty();
+            verifyNoInteractions(cacheIndex);
         }
 
         @Test
         void get_noRedis_returnsEmpty() {
-            var noRedisService = new SemanticCacheService(null, embeddingService, objectMapper);
+            var noRedisService = new SemanticCacheService(null, queryEmbeddingCache, cacheIndex, objectMapper, 1000, 10);
             ReflectionTestUtils.setField(noRedisService, "enabled", true);
-            Optional<SemanticCacheService.CachedResult> result = noRedisService.get("test");
-            assertThat(result).isEmpty();
-        }
-
-        @Test
-        void get_emptyCacheIndex_returnsEmpty() {
-            float[] embedding = new float[384];
-            when(embeddingService.embed("test query")).thenReturn(embedding);
-            when(redisTemplate.opsForSet()).thenReturn(setOps);
-            when(setOps.members("rag:cache-index")).thenReturn(Set.of());
-
-            Optional<SemanticCacheService.CachedResult> result = cacheService.get("test query");
+            Optional<SemanticCacheService.CachedResult> result = noRedisService.get("test", USER);
             assertThat(result).isEmpty();
         }
 
         @Test
-        void get_nullCacheIndex_returnsEmpty() {
+        void get_emptyIndex_returnsEmpty() {
             float[] embedding = new float[384];
-            when(embeddingService.embed("test query")).thenReturn(embedding);
-            when(redisTemplate.opsForSet()).thenReturn(setOps);
-            when(setOps.members("rag:cache-index")).thenReturn(null);
+            when(queryEmbeddingCache.embed("test query")).thenReturn(embedding);
+            when(cacheIndex.findNearest(embedding, PARTITION, 0.95f)).thenReturn(Optional.empty());
 
-            Optional<SemanticCacheService.CachedResult> result = cacheService.get("test query");
+            Optional<SemanticCacheService.CachedResult> result = cacheService.get("test query", USER);
             assertThat(result).isEmpty();
+            verifyNoInteractions(redisTemplate);
         }
 
         @Test
-        void get_highSimilarity_returnsCachedResult() throws Exception {
+        void get_highSimilarity_returnsCachedResultWithOneRedisRead() throws Exception {
             float[] queryEmbedding = new float[384];
             Arrays.fill(queryEmbedding, 0.5f);
-            when(embeddingService.embed("test query")).thenReturn(queryEmbedding);
-
-            when(redisTemplate.opsForSet()).thenReturn(setOps);
-            when(setOps.members("rag:cache-index")).thenReturn(Set.of("key1"));
+            when(queryEmbeddingCache.embed("test query")).thenReturn(queryEmbedding);
+            when(cacheIndex.findNearest(queryEmbedding, PARTITION, 0.95f)).thenReturn(Optional.of(new Match("key1", 0.99f)));
 
             when(redisTemplate.opsForValue()).thenReturn(valueOps);
-            // Cached embedding identical to query (similarity = 1.0)
-            String embeddingJson = objectMapper.writeValueAsString(queryEmbedding);
-            when(valueOps.get("rag:cache-embedding:key1")).thenReturn(embeddingJson);
-
             SemanticCacheService.CachedResult cached = new SemanticCacheService.CachedResult(
                     "test query", "cached response", List.of("source1"), System.currentTimeMillis());
-            String resultJson = objectMapper.writeValueAsString(cached);
-            when(valueOps.get("rag:semantic-cache:key1")).thenReturn(resultJson);
+            when(valueOps.get("rag:semantic-cache:key1")).thenReturn(objectMapper.writeValueAsString(cached));
 
-            Optional<SemanticCacheService.CachedResult> result = cacheService.get("test query");
+            Optional<SemanticCacheService.CachedResult> result = cacheService.get("test query", USER);
             assertThat(result).isPresent();
             assertThat(result.get().getResponse()).isEqualTo("cached response");
-            assertThat(result.get().getSimilarity()).isGreaterThanOrEqualTo(0.95f);
+            assertThat(result.get().getSimilarity()).isEqualTo(0.99f);
+            verify(valueOps, times(1)).get(anyString());
+            assertThat(cacheService.getStats().hits()).isEqualTo(1);
         }
 
         @Test
-        void get_lowSimilarity_returnsEmpty() throws Exception {
+        void get_lowSimilarity_returnsEmptyWithoutReadingPayload() {
             float[] queryEmbedding = new float[384];
-            Arrays.fill(queryEmbedding, 0.5f);
-            when(embeddingService.embed("test query")).thenReturn(queryEmbedding);
+            when(queryEmbeddingCache.embed("test query")).thenReturn(queryEmbedding);
+            when(cacheIndex.findNearest(queryEmbedding, PARTITION, 0.95f)).thenReturn(Optional.of(new Match("key1", 0.6f)));
 
-            when(redisTemplate.opsForSet()).thenReturn(setOps);
-            when(setOps.members("rag:cache-index")).thenReturn(Set.of("key1"));
+            Optional<SemanticCacheService.CachedResult> result = cacheService.get("test query", USER);
+            assertThat(result).isEmpty();
+            verifyNoInteractions(redisTemplate);
+        }
 
+        @Test
+        void get_payloadMissing_dropsStaleIndexEntry() {
+            float[] queryEmbedding = new float[384];
+            when(queryEmbeddingCache.embed("test query")).thenReturn(queryEmbedding);
+            when(cacheIndex.findNearest(queryEmbedding, PARTITION, 0.95f)).thenReturn(Optional.of(new Match("key1", 0.99f)));
             when(redisTemplate.opsForValue()).thenReturn(valueOps);
-            // Very different embedding
-            float[] differentEmbedding = new float[384];
-            Arrays.fill(differentEmbedding, -0.5f);
-            String embeddingJson = objectMapper.writeValueAsString(differentEmbedding);
-            when(valueOps.get("rag:cache-embedding:key1")).thenReturn(embeddingJson);
+            when(valueOps.get("rag:semantic-cache:key1")).thenReturn(null);
 
-            Optional<SemanticCacheService.CachedResult> result = cacheService.get("test query");
+            Optional<SemanticCacheService.CachedResult> result = cacheService.get("test query", USER);
             assertThat(result).isEmpty();
+            verify(cacheIndex).delete("key1");
+            assertThat(cacheService.getStats().misses()).isEqualTo(1);
         }
 
         @Test
         void get_exceptionDuringLookup_returnsEmpty() {
-            when(embeddingService.embed(anyString())).thenThrow(new RuntimeException("Embedding error"));
+            when(queryEmbeddingCache.embed(anyString())).thenThrow(new RuntimeException("Embedding error"));
+
+            Optional<SemanticCacheService.CachedResult> result = cacheService.get("test", USER);
+            assertThat(result).isEmpty();
+        }
+
+        @Test
+        void get_indexFailure_returnsEmpty() {
+            when(queryEmbeddingCache.embed("test")).thenReturn(new float[384]);
+            when(cacheIndex.findNearest(any(), anyString(), anyFloat())).thenThrow(new RuntimeException("DB down"));
 
-            Optional<SemanticCacheService.CachedResult> result = cacheService.get("test");
+            Optional<SemanticCacheService.CachedResult> result = cacheService.get("test", USER);
             assertThat(result).isEmpty();
         }
     }
@@ -176,38 +181,38 @@ class SemanticCacheServiceTest {
         @Test
         void put_disabled_doesNothing() {
             ReflectionTestUtils.setField(cacheService, "enabled", false);
-            cacheService.put("query", "response", List.of());
+            cacheService.put("query", USER, "response", List.of());
             verifyNoInteractions(redisTemplate);
+            verifyNoInteractions(cacheIndex);
         }
 
         @Test
         void put_noRedis_doesNothing() {
-            var noRedisService = new SemanticCacheService(null, embeddingService, objectMapper);
+            var noRedisService = new SemanticCacheService(null, queryEmbeddingCache, cacheIndex, objectMapper, 1000, 10);
             ReflectionTestUtils.setField(noRedisService, "enabled", true);
-            noRedisService.put("query", "response", List.of());
-            // noRedisService uses null, not the mock - just verifying no exception is sufficient
+            noRedisService.put("query", USER, "response", List.of());
+            verifyNoInteractions(cacheIndex);
         }
 
         @Test
-        void put_validEntry_storesInRedis() {
+        void put_validEntry_storesPayloadInRedisAndEmbeddingInIndex() {
             float[] embedding = new float[384];
-            when(embeddingService.embed("query")).thenReturn(embedding);
+            when(queryEmbeddingCache.embed("query")).thenReturn(embedding);
             when(redisTemplate.opsForValue()).thenReturn(valueOps);
-            when(redisTemplate.opsForSet()).thenReturn(setOps);
-            when(setOps.size("rag:cache-index")).thenReturn(0L);
+            when(cacheIndex.evictExpiredAndLeastRecentlyUsed(10000)).thenReturn(List.of());
 
-            cacheService.put("query", "response", List.of("source1"));
+            cacheService.put("query", USER, "response", List.of("source1"));
 
-            verify(valueOps, times(2)).set(anyString(), anyString(), any());
-            verify(setOps).add(eq("rag:cache-index"), anyString());
+            verify(valueOps, times(1)).set(startsWith("rag:semantic-cache:"), anyString(), eq(Duration.ofHours(24)));
+            verify(cacheIndex).upsert(anyString(), eq(PARTITION), eq(embedding), eq(Duration.ofHours(24)), eq(List.of("source1")));
         }
 
         @Test
         void put_exceptionDuringStore_doesNotThrow() {
-            when(embeddingService.embed(anyString())).thenThrow(new RuntimeException("Error"));
+            when(queryEmbeddingCache.embed(anyString())).thenThrow(new RuntimeException("Error"));
 
             // Should not throw
-            cacheService.put("query", "response", List.of());
+            cacheService.put("query", USER, "response", List.of());
         }
     }
 
@@ -216,24 +221,45 @@ class SemanticCacheServiceTest {
     class Clear {
 
         @Test
-        void clear_withEntries_deletesAll() {
-            when(redisTemplate.opsForSet()).thenReturn(setOps);
-            when(setOps.members("rag:cache-index")).thenReturn(Set.of("key1", "key2"));
+        void clear_withEntries_deletesIndexAndPayloads() {
+            when(cacheIndex.deleteAll()).thenReturn(List.of("key1", "key2"));
 
             cacheService.clear();
 
-            verify(redisTemplate).delete("rag:semantic-cache:key1");
-            verify(redisTemplate).delete("rag:cache-embedding:key1");
-            verify(redisTemplate).delete("rag:semantic-cache:key2");
-            verify(redisTemplate).delete("rag:cache-embedding:key2");
-            verify(redisTemplate).delete("rag:cache-index");
+            verify(redisTemplate).delete(List.of("rag:semantic-cache:key1", "rag:semantic-cache:key2"));
+        }
+
+        @Test
+        void clear_emptyIndex_noPayloadDeletes() {
+            when(cacheIndex.deleteAll()).thenReturn(List.of());
+
+            cacheService.clear();
+
+            verify(redisTemplate, never()).delete(anyCollection());
+        }
+
+        @Test
+        void clear_publishesInvalidationToOtherNodes() {
+            when(cacheIndex.deleteAll()).thenReturn(List.of());
+
+            cacheService.clear();
+
+            verify(redisTemplate).convertAndSend(eq(SemanticCacheService.INVALIDATION_CHANNEL), contains("\"all\":true"));
         }
 
         @Test
         void clear_noRedis_doesNotThrow() {
-            var noRedisService = new SemanticCacheService(null, embeddingService, objectMapper);
+            var noRedisService = new SemanticCacheService(null, queryEmbeddingCache, cacheIndex, objectMapper, 1000, 10);
             noRedisService.clear(); // Should not throw
         }
+
+        @Test
+        void clear_exceptionDuringClear_doesNotThrow() {
+            when(cacheIndex.deleteAll()).thenThrow(new RuntimeException("DB error"));
+
+            // Should not throw
+            cacheService.clear();
+        }
     }
 
     @Nested
@@ -242,8 +268,7 @@ class SemanticCacheServiceTest {
 
         @Test
         void getStats_initialState_allZeros() {
-            when(redisTemplate.opsForSet()).thenReturn(setOps);
-            when(setOps.size("rag:cache-index")).thenReturn(0L);
+            when(cacheIndex.count()).thenReturn(0L);
 
             var stats = cacheService.getStats();
             assertThat(stats.hits()).isEqualTo(0);
@@ -253,9 +278,8 @@ class SemanticCacheServiceTest {
         }
 
         @Test
-        void getStats_returnsCorrectSize() {
-            when(redisTemplate.opsForSet()).thenReturn(setOps);
-            when(setOps.size("rag:cache-index")).thenReturn(5L);
+        void getStats_returnsIndexSize() {
+            when(cacheIndex.count()).thenReturn(5L);
 
             var stats = cacheService.getStats();
             assertThat(stats.size()).isEqualTo(5);
@@ -263,10 +287,18 @@ class SemanticCacheServiceTest {
 
         @Test
         void getStats_noRedis_sizeZero() {
-            var noRedisService = new SemanticCacheService(null, embeddingService, objectMapper);
+            var noRedisService = new SemanticCacheService(null, queryEmbeddingCache, cacheIndex, objectMapper, 1000, 10);
             var stats = noRedisService.getStats();
             assertThat(stats.size()).isEqualTo(0);
         }
+
+        @Test
+        void getStats_indexFailure_sizeZero() {
+            when(cacheIndex.count()).thenThrow(new RuntimeException("DB error"));
+
+            var stats = cacheService.getStats();
+            assertThat(stats.size()).isEqualTo(0);
+        }
     }
 
     @Nested
@@ -298,11 +330,13 @@ class SemanticCacheServiceTest {
 
         @Test
         void cacheStats_recordFields() {
-            var stats = new SemanticCacheService.CacheStats(10, 5, 0.666, 50);
+            var stats = new SemanticCacheService.CacheStats(10, 5, 0.666, 50, 3, 7);
             assertThat(stats.hits()).isEqualTo(10);
             assertThat(stats.misses()).isEqualTo(5);
             assertThat(stats.hitRate()).isCloseTo(0.666, org.assertj.core.data.Offset.offset(0.001));
             assertThat(stats.size()).isEqualTo(50);
+            assertThat(stats.l1Hits()).isEqualTo(3);
+            assertThat(stats.l1Size()).isEqualTo(7);
         }
     }
 
@@ -311,97 +345,228 @@ class SemanticCacheServiceTest {
     class EnforceMaxEntries {
 
         @Test
-        void put_exceedsMaxEntries_evictsOldEntries() {
+        void put_exceedsMaxEntries_evictsLeastRecentlyUsedPayloads() {
             ReflectionTestUtils.setField(cacheService, "maxEntries", 1);
 
-            float[] embedding = new float[384];
-            when(embeddingService.embed("query")).thenReturn(embedding);
+            when(queryEmbeddingCache.embed("query")).thenReturn(new float[384]);
             when(redisTemplate.opsForValue()).thenReturn(valueOps);
-            when(redisTemplate.opsForSet()).thenReturn(setOps);
-            // Size exceeds max of 1
-            when(setOps.size("rag:cache-index")).thenReturn(3L);
-            when(setOps.members("rag:cache-index")).thenReturn(Set.of("old-key1", "old-key2"));
+            when(cacheIndex.evictExpiredAndLeastRecentlyUsed(1)).thenReturn(List.of("old-key1", "old-key2"));
 
-            cacheService.put("query", "response", List.of("source1"));
+            cacheService.put("query", USER, "response", List.of("source1"));
 
-            // Verify eviction happened
-            verify(redisTemplate, atLeastOnce()).delete(contains("rag:semantic-cache:"));
-            verify(redisTemplate, atLeastOnce()).delete(contains("rag:cache-embedding:"));
-            verify(setOps, atLeastOnce()).remove(eq("rag:cache-index"), anyString());
+            verify(redisTemplate).delete(List.of("rag:semantic-cache:old-key1", "rag:semantic-cache:old-key2"));
         }
 
         @Test
-        void put_withinMaxEntries_noEviction() {
-            float[] embedding = new float[384];
-            when(embeddingService.embed("query")).thenReturn(embedding);
+        void put_withinMaxEntries_noPayloadDeletes() {
+            when(queryEmbeddingCache.embed("query")).thenReturn(new float[384]);
             when(redisTemplate.opsForValue()).thenReturn(valueOps);
-            when(redisTemplate.opsForSet()).thenReturn(setOps);
-            // Size within max of 10000
-            when(setOps.size("rag:cache-index")).thenReturn(5L);
+            when(cacheIndex.evictExpiredAndLeastRecentlyUsed(10000)).thenReturn(List.of());
 
-            cacheService.put("query", "response", List.of("source1"));
+            cacheService.put("query", USER, "response", List.of("source1"));
 
-            // No eviction - no members() call for eviction
-            verify(setOps, never()).members("rag:cache-index");
+            verify(redisTemplate, never()).delete(anyCollection());
+        }
+
+        @Test
+        void put_evictionFailure_stillCaches() {
+            when(queryEmbeddingCache.embed("query")).thenReturn(new float[384]);
+            when(redisTemplate.opsForValue()).thenReturn(valueOps);
+            when(cacheIndex.evictExpiredAndLeastRecentlyUsed(anyInt())).thenThrow(new RuntimeException("DB error"));
+
+            cacheService.put("query", USER, "response", List.of("source1"));
+
+            verify(cacheIndex).upsert(anyString(), anyString(), any(), any(), anyList());
         }
     }
 
     @Nested
-    @DisplayName("Null embedding in get")
-    class NullEmbedding {
+    @DisplayName("L1 and partitions")
+    class L1AndPartitions {
 
-        @Test
-        void get_nullEmbeddingJson_skipsEntry() throws Exception {
-            float[] queryEmbedding = new float[384];
-            Arrays.fill(queryEmbedding, 0.5f);
-            when(embeddingService.embed("test query")).thenReturn(queryEmbedding);
-
-            when(redisTemplate.opsForSet()).thenReturn(setOps);
-            when(setOps.members("rag:cache-index")).thenReturn(Set.of("key1", "key2"));
+        private final float[] embedding = unitVector(0);
 
-            when(redisTemplate.opsForValue()).thenReturn(valueOps);
-            // key1 has null embedding
-            when(valueOps.get("rag:cache-embedding:key1")).thenReturn(null);
-            // key2 has matching embedding
-            String embeddingJson = objectMapper.writeValueAsString(queryEmbedding);
-            when(valueOps.get("rag:cache-embedding:key2")).thenReturn(embeddingJson);
+        @BeforeEach
+        void cacheOneEntry() {
+            lenient().when(queryEmbeddingCache.embed(anyString())).thenReturn(embedding);
+            lenient().when(redisTemplate.opsForValue()).thenReturn(valueOps);
+            lenient().when(cacheIndex.evictExpiredAndLeastRecentlyUsed(anyInt())).thenReturn(List.of());
+            cacheService.put("reset vpn", USER, "cached response", List.of("Incident INC000123"));
+        }
 
-            SemanticCacheService.CachedResult cached = new SemanticCacheService.CachedResult(
-                    "test query", "cached response", List.of("s1"), System.currentTimeMillis());
-            String resultJson = objectMapper.writeValueAsString(cached);
-            when(valueOps.get("rag:semantic-cache:key2")).thenReturn(resultJson);
+        @Test
+        void get_recentEntry_servedFromL1WithoutL2() {
+            // When
+            Optional<SemanticCacheService.CachedResult> result = cacheService.get("Reset VPN", USER);
 
-            Optional<SemanticCacheService.CachedResult> result = cacheService.get("test query");
+            // Then
             assertThat(result).isPresent();
             assertThat(result.get().getResponse()).isEqualTo("cached response");
+            assertThat(result.get().getSimilarity()).isCloseTo(1f, org.assertj.core.data.Offset.offset(0.001f));
+            verify(cacheIndex, never()).findNearest(any(), anyString(), anyFloat());
+            verify(valueOps, never()).get(anyString());
+            assertThat(cacheService.getStats().l1Hits()).isEqualTo(1);
+        }
+
+        @Test
+        void get_otherGroups_neverSeesEntry() {
+            // Given
+            UserContext otherUser = UserContext.withGroups("user2", "Network Team");
+            String otherPartition = SemanticCacheService.partitionKey(otherUser);
+            when(cacheIndex.findNearest(embedding, otherPartition, 0.95f)).thenReturn(Optional.empty());
+
+            // When
+            Optional<SemanticCacheService.CachedResult> result = cacheService.get("reset vpn", otherUser);
+
+            // Then
+            assertThat(result).isEmpty();
+            verify(cacheIndex).findNearest(embedding, otherPartition, 0.95f);
+        }
+
+        @Test
+        void get_dissimilarQuery_fallsThroughToL2() {
+            // Given
+            float[] other = unitVector(1);
+            when(queryEmbeddingCache.embed("printer jam")).thenReturn(other);
+            when(cacheIndex.findNearest(other, PARTITION, 0.95f)).thenReturn(Optional.empty());
+
+            // When/Then
+            assertThat(cacheService.get("printer jam", USER)).isEmpty();
+        }
+
+        @Test
+        void invalidateSources_dropsCitingL1EntriesAndPublishes() {
+            // Given
+            when(cacheIndex.findNearest(embedding, PARTITION, 0.95f)).thenReturn(Optional.empty());
+
+            // When
+            cacheService.invalidateSources(List.of("Incident INC000123"));
+
+            // Then
+            assertThat(cacheService.get("reset vpn", USER)).isEmpty();
+            verify(redisTemplate).convertAndSend(eq(SemanticCacheService.INVALIDATION_CHANNEL), contains("INC000123"));
+        }
+
+        @Test
+        void invalidateSources_unrelatedSource_keepsL1Entry() {
+            // When
+            cacheService.invalidateSources(List.of("Incident INC000999"));
+
+            // Then
+            assertThat(cacheService.get("reset vpn", USER)).isPresent();
+        }
+
+        @Test
+        void onInvalidation_fromOtherNode_dropsCitingL1Entries() {
+            // Given
+            when(cacheIndex.findNearest(embedding, PARTITION, 0.95f)).thenReturn(Optional.empty());
+
+            // When
+            cacheService.onInvalidation("{\"all\":false,\"sources\":[\"Incident INC000123\"]}");
+
+            // Then
+            assertThat(cacheService.get("reset vpn", USER)).isEmpty();
+        }
+
+        @Test
+        void onInvalidation_clearFromOtherNode_emptiesL1() {
+            // When
+            cacheService.onInvalidation("{\"all\":true,\"sources\":[]}");
+
+            // Then
+            assertThat(cacheService.getStats().l1Size()).isZero();
+        }
+
+        @Test
+        void onInvalidation_malformedMessage_ignored() {
+            // When
+            cacheService.onInvalidation("not json");
+
+            // Then
+            assertThat(cacheService.get("reset vpn", USER)).isPresent();
+        }
+
+        private float[] unitVector(int dimension) {
+            float[] vector = new float[384];
+            vector[dimension] = 1f;
+            return vector;
         }
     }
 
     @Nested
-    @DisplayName("Clear exception handling")
-    class ClearException {
+    @DisplayName("source invalidation")
+    class SourceInvalidation {
 
         @Test
-        void clear_exceptionDuringClear_doesNotThrow() {
-            when(redisTemplate.opsForSet()).thenReturn(setOps);
-            when(setOps.members("rag:cache-index")).thenThrow(new RuntimeException("Redis error"));
+        void invalidateSources_evictsCitingEntriesAndTheirPayloads() {
+            // Given
+            when(cacheIndex.deleteBySourceReferences(List.of("Incident INC000123")))
+                .thenReturn(List.of("key1"));
 
-            // Should not throw
-            cacheService.clear();
+            // When
+            cacheService.invalidateSources(List.of("Incident INC000123"));
+
+            // Then
+            verify(redisTemplate).delete(List.of("rag:semantic-cache:key1"));
+            verify(redisTemplate).convertAndSend(eq(SemanticCacheService.INVALIDATION_CHANNEL), contains("INC000123"));
+        }
+
+        @Test
+        void invalidateSources_empty_doesNothing() {
+            cacheService.invalidateSources(List.of());
+
+            verifyNoInteractions(cacheIndex);
+            verifyNoInteractions(redisTemplate);
+        }
+
+        @Test
+        void onSourceRecordsChanged_records_evictsOnlyCitingEntries() {
+            // When
+            cacheService.onSourceRecordsChanged(
+                SourceRecordsChangedEvent.of("Incident", java.util.Set.of("INC000123")));
+
+            // Then
+            verify(cacheIndex).deleteBySourceReferences(List.of("Incident INC000123"));
+            verify(cacheIndex, never()).deleteAll();
+        }
+
+        @Test
+        void onSourceRecordsChanged_wholeType_clearsCache() {
+            // Given
+            when(cacheIndex.deleteAll()).thenReturn(List.of());
+
+            // When
+            cacheService.onSourceRecordsChanged(SourceRecordsChangedEvent.allOf("Incident"));
+
+            // Then
+            verify(cacheIndex).deleteAll();
         }
     }
 
     @Nested
-    @DisplayName("getStats null size")
-    class GetStatsNullSize {
+    @DisplayName("partitionKey")
+    class PartitionKey {
 
         @Test
-        void getStats_nullSizeValue_returnsZeroSize() {
-            when(redisTemplate.opsForSet()).thenReturn(setOps);
-            when(setOps.size("rag:cache-index")).thenReturn(null);
+        void partitionKey_sameGroupsAnyOrderOrCase_samePartition() {
+            String a = SemanticCacheService.partitionKey(UserContext.withGroups("u1", "Service Desk", "Network"));
+            String b = SemanticCacheService.partitionKey(UserContext.withGroups("u2", "network", "SERVICE DESK"));
+            assertThat(a).isEqualTo(b);
+        }
 
-            var stats = cacheService.getStats();
-            assertThat(stats.size()).isEqualTo(0);
+        @Test
+        void partitionKey_differentGroups_differentPartition() {
+            String a = SemanticCacheService.partitionKey(UserContext.withGroups("u1", "Service Desk"));
+            String b = SemanticCacheService.partitionKey(UserContext.withGroups("u1", "Service Desk", "Network"));
+            assertThat(a).isNotEqualTo(b);
+        }
+
+        @Test
+        void partitionKey_noGroups_publicPartition() {
+            assertThat(SemanticCacheService.partitionKey(UserContext.anonymous()))
+                .isEqualTo(SemanticCacheService.PUBLIC_PARTITION);
+            assertThat(SemanticCacheService.partitionKey(null))
+                .isEqualTo(SemanticCacheService.PUBLIC_PARTITION);
         }
     }
 }
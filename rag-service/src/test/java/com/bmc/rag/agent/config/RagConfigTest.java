@@ -1,5 +1,6 @@
 package com.bmc.rag.agent.config;
 
+import com.bmc.rag.store.service.RecallLevel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -28,6 +29,8 @@ class RagConfigTest {
         assertThat(config.isIncludeCitations()).isTrue();
         assertThat(config.isPrioritizeKnowledgeArticles()).isTrue();
         assertThat(config.isRebacEnabled()).isTrue();
+        assertThat(config.getInitialRecallLevel()).isEqualTo(RecallLevel.LOW);
+        assertThat(config.getMaxRecallLevel()).isEqualTo(RecallLevel.HIGH);
     }
 
     @Test
@@ -1,5 +1,6 @@
 package com.bmc.rag.agent.metrics;
 
+import com.bmc.rag.vectorization.embedding.QueryEmbeddingCache;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,14 +9,18 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class RagMetricsServiceTest {
 
+    private SimpleMeterRegistry meterRegistry;
     private RagMetricsService metricsService;
 
     @BeforeEach
     void setUp() {
-        metricsService = new RagMetricsService(new SimpleMeterRegistry());
+        meterRegistry = new SimpleMeterRegistry();
+        metricsService = new RagMetricsService(meterRegistry);
     }
 
     @Nested
@@ -218,4 +223,25 @@ class RagMetricsServiceTest {
             assertThat(snapshot.getTotalErrors()).isEqualTo(1);
         }
     }
+
+    @Nested
+    @DisplayName("Query Embedding Cache")
+    class QueryEmbeddingCacheMetrics {
+
+        @Test
+        void bindQueryEmbeddingCache_exposesCacheStats() {
+            QueryEmbeddingCache cache = mock(QueryEmbeddingCache.class);
+            when(cache.hitCount()).thenReturn(3L);
+            when(cache.missCount()).thenReturn(1L);
+            when(cache.hitRate()).thenReturn(0.75);
+            when(cache.size()).thenReturn(1L);
+
+            metricsService.bindQueryEmbeddingCache(cache);
+
+            assertThat(meterRegistry.get("rag.query_embedding_cache.hits").functionCounter().count()).isEqualTo(3.0);
+            assertThat(meterRegistry.get("rag.query_embedding_cache.misses").functionCounter().count()).isEqualTo(1.0);
+            assertThat(meterRegistry.get("rag.query_embedding_cache.hit_rate").gauge().value()).isEqualTo(0.75);
+            assertThat(meterRegistry.get("rag.query_embedding_cache.size").gauge().value()).isEqualTo(1.0);
+        }
+    }
 }
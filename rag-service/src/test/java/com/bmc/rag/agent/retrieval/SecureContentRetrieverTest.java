@@ -6,6 +6,8 @@ import com.bmc.rag.agent.retrieval.SecureContentRetriever.RetrievalResult;
 import com.bmc.rag.agent.retrieval.SecureContentRetriever.RetrievedDocument;
 import com.bmc.rag.agent.retrieval.SecureContentRetriever.UserContext;
 import com.bmc.rag.agent.util.ArabicTextProcessor;
+import com.bmc.rag.store.service.RecallLevel;
+import com.bmc.rag.store.service.SearchFilter;
 import com.bmc.rag.store.service.VectorStoreService;
 import com.bmc.rag.store.service.VectorStoreService.SearchResult;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -107,7 +110,7 @@ class SecureContentRetrieverTest {
         @Test
         void retrieve_queryAtMaxLength_doesNotThrow() {
             String maxQuery = "a".repeat(10000);
-            when(vectorStoreService.search(anyString(), anyInt(), anyFloat()))
+            when(vectorStoreService.search(anyString(), any(SearchFilter.class)))
                 .thenReturn(Collections.emptyList());
 
             var result = retriever.retrieve(maxQuery, UserContext.anonymous());
@@ -154,7 +157,7 @@ class SecureContentRetrieverTest {
 
         @Test
         void retrieve_noResults_returnsEmpty() {
-            when(vectorStoreService.search("VPN issue", 5, 0.5f))
+            when(vectorStoreService.search(eq("VPN issue"), any(SearchFilter.class)))
                 .thenReturn(Collections.emptyList());
 
             var result = retriever.retrieve("VPN issue", UserContext.anonymous());
@@ -171,7 +174,7 @@ class SecureContentRetrieverTest {
                 .metadata(Map.of("title", "Password Reset", "category", "IT"))
                 .score(0.85f).build();
 
-            when(vectorStoreService.search("password reset", 5, 0.5f))
+            when(vectorStoreService.search(eq("password reset"), any(SearchFilter.class)))
                 .thenReturn(List.of(sr));
             when(rebacFilter.prioritizeHighValueChunks(anyList()))
                 .thenAnswer(inv -> inv.getArgument(0));
@@ -188,6 +191,20 @@ class SecureContentRetrieverTest {
             assertThat(result.formattedContext()).contains("Reset password via AD");
         }
 
+        @Test
+        void retrieve_passesConfiguredRecallLevels() {
+            when(ragConfig.getInitialRecallLevel()).thenReturn(RecallLevel.LOW);
+            when(ragConfig.getMaxRecallLevel()).thenReturn(RecallLevel.HIGH);
+            when(vectorStoreService.search(anyString(), any(SearchFilter.class)))
+                .thenReturn(Collections.emptyList());
+
+            retriever.retrieve("VPN issue", UserContext.anonymous());
+
+            SearchFilter filter = captureFilter("VPN issue");
+            assertThat(filter.getRecallLevel()).isEqualTo(RecallLevel.LOW);
+            assertThat(filter.getMaxRecallLevel()).isEqualTo(RecallLevel.HIGH);
+        }
+
         @Test
         void retrieve_appliesPrioritizationAndDedup() {
             SearchResult sr1 = SearchResult.builder()
@@ -197,7 +214,7 @@ class SecureContentRetrieverTest {
                 .sourceType("Incident").sourceId("INC001")
                 .textSegment("content2").score(0.8f).build();
 
-            when(vectorStoreService.search(anyString(), anyInt(), anyFloat()))
+            when(vectorStoreService.search(anyString(), any(SearchFilter.class)))
                 .thenReturn(List.of(sr1, sr2));
             when(rebacFilter.prioritizeHighValueChunks(anyList()))
                 .thenAnswer(inv -> inv.getArgument(0));
@@ -224,7 +241,7 @@ class SecureContentRetrieverTest {
                     .textSegment("c3").score(0.7f).build()
             );
 
-            when(vectorStoreService.search(anyString(), anyInt(), anyFloat()))
+            when(vectorStoreService.search(anyString(), any(SearchFilter.class)))
                 .thenReturn(manyResults);
             when(rebacFilter.prioritizeHighValueChunks(anyList()))
                 .thenAnswer(inv -> inv.getArgument(0));
@@ -242,7 +259,7 @@ class SecureContentRetrieverTest {
     class RetrievalFlowWithRebac {
 
         @Test
-        void retrieve_rebacEnabled_usesSearchWithGroups() {
+        void retrieve_rebacEnabled_passesGroupsToSearch() {
             when(ragConfig.isRebacEnabled()).thenReturn(true);
             UserContext ctx = UserContext.withGroups("user1", "Service Desk", "IT");
 
@@ -252,13 +269,8 @@ class SecureContentRetrieverTest {
                 .metadata(Map.of("assigned_group", "Service Desk"))
                 .build();
 
-            when(vectorStoreService.searchWithGroups("VPN issue", 5, 0.5f,
-                List.of("Service Desk", "IT")))
-                .thenReturn(List.of(sr));
-            // Also mock the alternative ordering
-            when(vectorStoreService.searchWithGroups(eq("VPN issue"), eq(5), eq(0.5f), anyList()))
+            when(vectorStoreService.search(eq("VPN issue"), any(SearchFilter.class)))
                 .thenReturn(List.of(sr));
-
             when(rebacFilter.prioritizeHighValueChunks(anyList()))
                 .thenAnswer(inv -> inv.getArgument(0));
             when(rebacFilter.deduplicateBySource(anyList()))
@@ -267,36 +279,36 @@ class SecureContentRetrieverTest {
             var result = retriever.retrieve("VPN issue", ctx);
 
             assertThat(result.isEmpty()).isFalse();
-            verify(vectorStoreService).searchWithGroups(eq("VPN issue"), eq(5), eq(0.5f), anyList());
-            verify(vectorStoreService, never()).search(anyString(), anyInt(), anyFloat());
+            SearchFilter filter = captureFilter("VPN issue");
+            assertThat(filter.getAllowedGroups()).containsExactlyInAnyOrder("Service Desk", "IT");
+            assertThat(filter.getMaxResults()).isEqualTo(5);
+            assertThat(filter.getMinScore()).isEqualTo(0.5f);
         }
 
         @Test
-        void retrieve_rebacEnabled_noGroups_fallsBackToRegularSearch() {
+        void retrieve_rebacEnabled_noGroups_searchesWithoutGroupFilter() {
             when(ragConfig.isRebacEnabled()).thenReturn(true);
             UserContext ctx = UserContext.anonymous(); // no groups
 
-            when(vectorStoreService.search("VPN issue", 5, 0.5f))
+            when(vectorStoreService.search(eq("VPN issue"), any(SearchFilter.class)))
                 .thenReturn(Collections.emptyList());
 
             retriever.retrieve("VPN issue", ctx);
 
-            verify(vectorStoreService).search("VPN issue", 5, 0.5f);
-            verify(vectorStoreService, never()).searchWithGroups(anyString(), anyInt(), anyFloat(), anyList());
+            assertThat(captureFilter("VPN issue").getAllowedGroups()).isNull();
         }
 
         @Test
-        void retrieve_rebacDisabled_usesRegularSearch() {
+        void retrieve_rebacDisabled_searchesWithoutGroupFilter() {
             when(ragConfig.isRebacEnabled()).thenReturn(false);
             UserContext ctx = UserContext.withGroups("user1", "IT");
 
-            when(vectorStoreService.search("test", 5, 0.5f))
+            when(vectorStoreService.search(eq("test"), any(SearchFilter.class)))
                 .thenReturn(Collections.emptyList());
 
             retriever.retrieve("test", ctx);
 
-            verify(vectorStoreService).search("test", 5, 0.5f);
-            verify(vectorStoreService, never()).searchWithGroups(anyString(), anyInt(), anyFloat(), anyList());
+            assertThat(captureFilter("test").getAllowedGroups()).isNull();
         }
     }
 
@@ -315,7 +327,7 @@ class SecureContentRetrieverTest {
                 .sourceType("KnowledgeArticle").sourceId("KA001")
                 .textSegment("ka content").score(0.85f).build();
 
-            when(vectorStoreService.search(anyString(), anyInt(), anyFloat()))
+            when(vectorStoreService.search(anyString(), any(SearchFilter.class)))
                 .thenReturn(List.of(incident, ka));
             when(rebacFilter.prioritizeHighValueChunks(anyList()))
                 .thenAnswer(inv -> inv.getArgument(0));
@@ -340,7 +352,7 @@ class SecureContentRetrieverTest {
                 .sourceType("KnowledgeArticle").sourceId("KA001")
                 .textSegment("ka content").score(0.85f).build();
 
-            when(vectorStoreService.search(anyString(), anyInt(), anyFloat()))
+            when(vectorStoreService.search(anyString(), any(SearchFilter.class)))
                 .thenReturn(List.of(incident, ka));
             when(rebacFilter.prioritizeHighValueChunks(anyList()))
                 .thenAnswer(inv -> inv.getArgument(0));
@@ -367,19 +379,19 @@ class SecureContentRetrieverTest {
                 ArabicTextProcessor.Language.ARABIC, true);
             when(arabicTextProcessor.processArabicQuery(arabicQuery)).thenReturn(arabicResult);
 
-            when(vectorStoreService.search(eq("مشكلة في الشبكة المحلية"), anyInt(), anyFloat()))
+            when(vectorStoreService.search(eq("مشكلة في الشبكة المحلية"), any(SearchFilter.class)))
                 .thenReturn(Collections.emptyList());
 
             retriever.retrieve(arabicQuery, UserContext.anonymous());
 
             verify(arabicTextProcessor).processArabicQuery(arabicQuery);
-            verify(vectorStoreService).search(eq("مشكلة في الشبكة المحلية"), anyInt(), anyFloat());
+            verify(vectorStoreService).search(eq("مشكلة في الشبكة المحلية"), any(SearchFilter.class));
         }
 
         @Test
         void retrieve_englishQuery_skipsArabicProcessing() {
             when(arabicTextProcessor.containsArabic("VPN issue")).thenReturn(false);
-            when(vectorStoreService.search(anyString(), anyInt(), anyFloat()))
+            when(vectorStoreService.search(anyString(), any(SearchFilter.class)))
                 .thenReturn(Collections.emptyList());
 
             retriever.retrieve("VPN issue", UserContext.anonymous());
@@ -398,12 +410,12 @@ class SecureContentRetrieverTest {
                 new QueryRewriter.RewriteResult("vpn", "vpn virtual private network", true,
                     List.of("expanded VPN")));
 
-            when(vectorStoreService.search(eq("vpn virtual private network"), anyInt(), anyFloat()))
+            when(vectorStoreService.search(eq("vpn virtual private network"), any(SearchFilter.class)))
                 .thenReturn(Collections.emptyList());
 
             retriever.retrieve("vpn", UserContext.anonymous());
 
-            verify(vectorStoreService).search(eq("vpn virtual private network"), anyInt(), anyFloat());
+            verify(vectorStoreService).search(eq("vpn virtual private network"), any(SearchFilter.class));
         }
     }
 
@@ -510,11 +522,8 @@ class SecureContentRetrieverTest {
                 .sourceType("KnowledgeArticle").sourceId("KA001")
                 .textSegment("KA content").score(0.8f).build();
 
-            when(vectorStoreService.searchBySourceTypes(
-                anyString(), anyInt(), anyFloat(), eq(List.of("KnowledgeArticle"))))
+            when(vectorStoreService.search(anyString(), any(SearchFilter.class)))
                 .thenReturn(List.of(sr));
-            when(rebacFilter.filterByGroups(anyList(), anySet()))
-                .thenAnswer(inv -> inv.getArgument(0));
 
             var result = retriever.retrieveBySourceTypes(
                 "test", List.of("KnowledgeArticle"), UserContext.anonymous());
@@ -523,30 +532,63 @@ class SecureContentRetrieverTest {
             assertThat(result.documents().get(0).sourceType()).isEqualTo("KnowledgeArticle");
         }
 
+        @Test
+        void retrieveBySourceTypes_appliesTypesAndGroupsInOneQuery() {
+            // Given
+            when(vectorStoreService.search(anyString(), any(SearchFilter.class)))
+                .thenReturn(Collections.emptyList());
+            UserContext ctx = UserContext.withGroups("user1", "Service Desk");
+
+            // When
+            retriever.retrieveBySourceTypes("test", List.of("Incident", "WorkOrder"), ctx);
+
+            // Then - no over-fetch and no post-filtering
+            SearchFilter filter = captureFilter("test");
+            assertThat(filter.getSourceTypes()).containsExactly("Incident", "WorkOrder");
+            assertThat(filter.getAllowedGroups()).containsExactly("Service Desk");
+            assertThat(filter.getMaxResults()).isEqualTo(5);
+            verify(rebacFilter, never()).filterByGroups(anyList(), anySet());
+        }
+
+        @Test
+        void retrieveBySourceTypes_anonymous_restrictsToPublicRecords() {
+            // Given
+            when(vectorStoreService.search(anyString(), any(SearchFilter.class)))
+                .thenReturn(Collections.emptyList());
+
+            // When
+            retriever.retrieveBySourceTypes("test", List.of("Incident"), UserContext.anonymous());
+
+            // Then
+            assertThat(captureFilter("test").getAllowedGroups()).isEmpty();
+        }
+
         @Test
         void retrieveKnowledgeArticles_delegatesCorrectly() {
-            when(vectorStoreService.searchBySourceTypes(
-                anyString(), anyInt(), anyFloat(), eq(List.of("KnowledgeArticle"))))
+            when(vectorStoreService.search(anyString(), any(SearchFilter.class)))
                 .thenReturn(Collections.emptyList());
 
             var result = retriever.retrieveKnowledgeArticles("test", UserContext.anonymous());
 
             assertThat(result.isEmpty()).isTrue();
-            verify(vectorStoreService).searchBySourceTypes(
-                anyString(), anyInt(), anyFloat(), eq(List.of("KnowledgeArticle")));
+            assertThat(captureFilter("test").getSourceTypes()).containsExactly("KnowledgeArticle");
         }
 
         @Test
         void retrieveIncidents_delegatesCorrectly() {
-            when(vectorStoreService.searchBySourceTypes(
-                anyString(), anyInt(), anyFloat(), eq(List.of("Incident"))))
+            when(vectorStoreService.search(anyString(), any(SearchFilter.class)))
                 .thenReturn(Collections.emptyList());
 
             var result = retriever.retrieveIncidents("test", UserContext.anonymous());
 
             assertThat(result.isEmpty()).isTrue();
-            verify(vectorStoreService).searchBySourceTypes(
-                anyString(), anyInt(), anyFloat(), eq(List.of("Incident")));
+            assertThat(captureFilter("test").getSourceTypes()).containsExactly("Incident");
         }
     }
+
+    private SearchFilter captureFilter(String query) {
+        ArgumentCaptor<SearchFilter> captor = ArgumentCaptor.forClass(SearchFilter.class);
+        verify(vectorStoreService).search(eq(query), captor.capture());
+        return captor.getValue();
+    }
 }
@@ -56,6 +56,33 @@ public class RemedyConnectionConfig {
     @Positive
     private int chunkSize = 500;
 
+    /**
+     * Page with a sorted (Last Modified Date, Request ID) cursor instead of firstRetrieve offsets
+     * (default: true). Pages cost the same at any depth and records changing mid-run are not
+     * skipped. Set to false to fall back to offset paging.
+     */
+    private boolean keysetPaging = true;
+
+    /**
+     * Number of forms a full extraction reads at the same time (default: 1, one after another).
+     * Each form and its work-log lookups run as one task; capped at the pool size.
+     */
+    @Positive
+    private int extractionThreads = 1;
+
+    /**
+     * Parent IDs per work-log query in a batch lookup (default: 100).
+     * Larger batches are split so no single OR qualification grows with the batch.
+     */
+    @Positive
+    private int workLogSliceSize = 100;
+
+    /**
+     * Work-log slices of one batch fetched at the same time (default: 4); capped at the pool size.
+     */
+    @Positive
+    private int workLogThreads = 4;
+
     /**
      * Maximum records to retrieve in a single query (default: 2000).
      * Server typically limits to 2000-5000.
@@ -92,8 +119,26 @@ public class RemedyConnectionConfig {
 
     /**
      * Connection pool size (default: 5).
-     * Each thread needs its own ARServerUser instance.
+     * Maximum number of logged-in ARServerUser instances; each is used by one thread at a time.
      */
     @Positive
     private int poolSize = 5;
+
+    /**
+     * Maximum time to wait for a free pooled connection in milliseconds (default: 30 seconds).
+     */
+    @Positive
+    private long poolMaxWaitMs = 30000;
+
+    /**
+     * Idle pooled connections are logged out after this many milliseconds (default: 5 minutes).
+     */
+    @Positive
+    private long poolIdleTimeoutMs = 300000;
+
+    /**
+     * A pooled connection idle for longer than this is checked with verifyUser before it is
+     * lent out, in milliseconds (default: 30 seconds). 0 verifies on every borrow.
+     */
+    private long poolValidationIntervalMs = 30000;
 }
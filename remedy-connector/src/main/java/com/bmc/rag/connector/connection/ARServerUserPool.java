@@ -0,0 +1,258 @@
+package com.bmc.rag.connector.connection;
+
+import com.bmc.arsys.api.ARException;
+import com.bmc.arsys.api.ARServerUser;
+import com.bmc.rag.connector.config.RemedyConnectionConfig;
+import com.bmc.rag.connector.connection.ThreadLocalARContext.ARConnectionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded pool of logged-in ARServerUser connections.
+ *
+ * ARServerUser is not thread-safe, so a connection is lent to one caller at a time and
+ * handed back when the operation is done instead of being bound to a thread for its whole
+ * life. At most {@code remedy.pool-size} connections exist; a borrower waits up to
+ * {@code remedy.pool-max-wait-ms} for one. A connection that sat idle longer than
+ * {@code remedy.pool-validation-interval-ms} is checked with verifyUser before it is lent
+ * out, and idle connections are logged out after {@code remedy.pool-idle-timeout-ms}.
+ * The pool holds no monitors while talking to Remedy, so borrowers can be virtual threads.
+ *
+ * <ul>
+ *   <li>{@code remedy.pool.wait} - time spent waiting to borrow a connection</li>
+ *   <li>{@code remedy.pool.timeouts} - borrows that gave up waiting</li>
+ *   <li>{@code remedy.pool.active} / {@code remedy.pool.idle} - connections lent out / parked</li>
+ *   <li>{@code remedy.pool.utilization} - active connections as a fraction of the pool size</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class ARServerUserPool {
+
+    private final RemedyConnectionConfig config;
+    private final int maxSize;
+    private final Semaphore permits;
+    // Most recently returned first, so a few warm connections serve a light load and the rest age out
+    private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final Timer waitTimer;
+    private final Counter timeouts;
+
+    public ARServerUserPool(RemedyConnectionConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.maxSize = Math.max(1, config.getPoolSize());
+        this.permits = new Semaphore(maxSize, true);
+
+        this.waitTimer = Timer.builder("remedy.pool.wait")
+            .description("Time spent waiting to borrow a Remedy connection")
+            .register(meterRegistry);
+        this.timeouts = Counter.builder("remedy.pool.timeouts")
+            .description("Borrows that timed out waiting for a Remedy connection")
+            .register(meterRegistry);
+        Gauge.builder("remedy.pool.active", active, AtomicInteger::get)
+            .description("Remedy connections currently lent out")
+            .register(meterRegistry);
+        Gauge.builder("remedy.pool.idle", idle, ConcurrentLinkedDeque::size)
+            .description("Logged-in Remedy connections waiting in the pool")
+            .register(meterRegistry);
+        Gauge.builder("remedy.pool.utilization", this, pool -> (double) pool.active.get() / pool.maxSize)
+            .description("Lent out Remedy connections as a fraction of the pool size")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Borrow a connection, waiting up to the configured time for one to become free.
+     * Every borrow must be matched by {@link #release} or {@link #invalidate}.
+     *
+     * @return A logged-in connection
+     * @throws ARConnectionException if none became free in time or a new one could not log in
+     */
+    public PooledConnection borrow() {
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(config.getPoolMaxWaitMs(), TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new ARConnectionException("Timed out after " + config.getPoolMaxWaitMs()
+                    + " ms waiting for a Remedy connection (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ARConnectionException("Interrupted while waiting for a Remedy connection", e);
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        try {
+            PooledConnection connection = takeIdle();
+            if (connection == null) {
+                connection = new PooledConnection(newConnection());
+            }
+            active.incrementAndGet();
+            return connection;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Hand a healthy connection back to the pool.
+     */
+    public void release(PooledConnection connection) {
+        connection.lastUsedNanos = System.nanoTime();
+        idle.addFirst(connection);
+        active.decrementAndGet();
+        permits.release();
+    }
+
+    /**
+     * Drop a broken connection instead of returning it; the next borrow logs in a new one.
+     */
+    public void invalidate(PooledConnection connection) {
+        logout(connection.user());
+        active.decrementAndGet();
+        permits.release();
+    }
+
+    /**
+     * Log out connections that have been idle longer than the idle timeout.
+     */
+    @Scheduled(fixedDelayString = "${remedy.pool-eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long cutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(config.getPoolIdleTimeoutMs());
+        int evicted = 0;
+        for (Iterator<PooledConnection> it = idle.iterator(); it.hasNext(); ) {
+            PooledConnection connection = it.next();
+            if (connection.lastUsedNanos - cutoff < 0 && idle.remove(connection)) {
+                logout(connection.user());
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} idle Remedy connections", evicted);
+        }
+    }
+
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @PreDestroy
+    public void close() {
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            logout(connection.user());
+        }
+    }
+
+    /**
+     * Take an idle connection, verifying it first if it has not been used for a while.
+     * Connections that fail verification are logged out and skipped.
+     */
+    private PooledConnection takeIdle() {
+        long validationNanos = TimeUnit.MILLISECONDS.toNanos(config.getPoolValidationIntervalMs());
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            if (System.nanoTime() - connection.lastUsedNanos < validationNanos) {
+                return connection;
+            }
+            try {
+                connection.user().verifyUser();
+                return connection;
+            } catch (ARException e) {
+                log.info("Dropping pooled Remedy connection that failed verification: {}", e.getMessage());
+                logout(connection.user());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Create and log in a new ARServerUser connection with configured settings.
+     *
+     * @return New ARServerUser instance
+     * @throws ARConnectionException if connection fails
+     */
+    ARServerUser newConnection() {
+        log.debug("Creating new ARServerUser connection ({} active, {} idle)", active.get(), idle.size());
+
+        ARServerUser ctx = new ARServerUser();
+        ctx.setServer(config.getServer());
+        ctx.setPort(config.getPort());
+        ctx.setUser(config.getUsername());
+        ctx.setPassword(config.getPassword());
+
+        // Set timeouts to handle RPC timeouts (ARERR 92, 93)
+        // BMC AR API uses setTimeoutNormal/setTimeoutLong/setTimeoutXLong
+        int socketTimeout = config.getSocketTimeout();
+        ctx.setTimeoutNormal(socketTimeout);
+        ctx.setTimeoutLong(socketTimeout * 2);
+        ctx.setTimeoutXLong(socketTimeout * 4);
+
+        // Set locale if specified
+        if (config.getLocale() != null) {
+            ctx.setLocale(config.getLocale());
+        }
+
+        // Set auth string for multi-server setups
+        if (config.getAuthString() != null && !config.getAuthString().isEmpty()) {
+            ctx.setAuthentication(config.getAuthString());
+        }
+
+        // Verify connection
+        try {
+            ctx.verifyUser();
+            log.info("Successfully connected to Remedy server: {}:{}", config.getServer(), config.getPort());
+        } catch (ARException e) {
+            log.error("Failed to verify user connection to Remedy server: {}", e.getMessage());
+            throw new ARConnectionException("Failed to connect to Remedy server", e);
+        }
+
+        return ctx;
+    }
+
+    private void logout(ARServerUser user) {
+        try {
+            user.logout();
+        } catch (Exception e) {
+            log.warn("Error closing ARServerUser connection: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A pooled connection and when it was last handed back.
+     */
+    public static final class PooledConnection {
+        private final ARServerUser user;
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        PooledConnection(ARServerUser user) {
+            this.user = user;
+        }
+
+        public ARServerUser user() {
+            return user;
+        }
+    }
+}
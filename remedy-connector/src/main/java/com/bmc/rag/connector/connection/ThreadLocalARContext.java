@@ -3,24 +3,34 @@ package com.bmc.rag.connector.connection;
 import com.bmc.arsys.api.ARException;
 import com.bmc.arsys.api.ARServerUser;
 import com.bmc.rag.connector.config.RemedyConnectionConfig;
+import com.bmc.rag.connector.connection.ARServerUserPool.PooledConnection;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 /**
- * Thread-safe management of BMC ARServerUser instances.
- * ARServerUser is NOT thread-safe, so each thread must have its own instance.
- * Uses ThreadLocal storage pattern for connection management.
+ * Thread-safe access to BMC ARServerUser connections.
+ * ARServerUser is NOT thread-safe, so a connection is only ever used by one thread at a time.
+ *
+ * Connections come from {@link ARServerUserPool}. {@link #executeWithRetry} borrows one for the
+ * duration of the operation and hands it back afterwards, so request threads, virtual threads
+ * and extraction workers share a bounded set of logins. Nested calls on the same thread reuse
+ * the connection of the outer call. {@link #getContext()} pins a connection to the calling
+ * thread until {@link #closeContext()}; it is only needed by code that drives ARServerUser
+ * directly across several calls.
  */
 @Slf4j
 @Component
 public class ThreadLocalARContext {
 
     private final RemedyConnectionConfig config;
-    private final ThreadLocal<ARServerUser> contextHolder = new ThreadLocal<>();
+    private final ARServerUserPool pool;
+    // Connection held by this thread: pinned by getContext() or borrowed by a running operation
+    private final ThreadLocal<PooledConnection> held = new ThreadLocal<>();
 
-    public ThreadLocalARContext(RemedyConnectionConfig config) {
+    public ThreadLocalARContext(RemedyConnectionConfig config, ARServerUserPool pool) {
         this.config = config;
+        this.pool = pool;
     }
 
     /**
@@ -31,8 +41,8 @@ public class ThreadLocalARContext {
     }
 
     /**
-     * Get or create an ARServerUser for the current thread.
-     * Creates a new connection if none exists for this thread.
+     * Get the connection held by the current thread, borrowing and pinning one if there is none.
+     * A pinned connection stays out of the pool until {@link #closeContext()}.
      *
      * @return ARServerUser instance for the current thread
      * @throws ARConnectionException if connection fails or Remedy is disabled
@@ -41,108 +51,70 @@ public class ThreadLocalARContext {
         if (!config.isEnabled()) {
             throw new ARConnectionException("Remedy connection is disabled. Set remedy.enabled=true to enable.");
         }
-        ARServerUser ctx = contextHolder.get();
-        if (ctx == null) {
-            ctx = createConnection();
-            contextHolder.set(ctx);
+        PooledConnection connection = held.get();
+        if (connection == null) {
+            connection = pool.borrow();
+            held.set(connection);
         }
-        return ctx;
+        return connection.user();
     }
 
     /**
-     * Create a new ARServerUser connection with configured settings.
-     *
-     * @return New ARServerUser instance
-     * @throws ARConnectionException if connection fails
-     */
-    private ARServerUser createConnection() {
-        log.debug("Creating new ARServerUser connection for thread: {}", Thread.currentThread().getName());
-
-        ARServerUser ctx = new ARServerUser();
-        ctx.setServer(config.getServer());
-        ctx.setPort(config.getPort());
-        ctx.setUser(config.getUsername());
-        ctx.setPassword(config.getPassword());
-
-        // Set timeouts to handle RPC timeouts (ARERR 92, 93)
-        // BMC AR API uses setTimeoutNormal/setTimeoutLong/setTimeoutXLong
-        int socketTimeout = config.getSocketTimeout();
-        ctx.setTimeoutNormal(socketTimeout);
-        ctx.setTimeoutLong(socketTimeout * 2);
-        ctx.setTimeoutXLong(socketTimeout * 4);
-
-        // Set locale if specified
-        if (config.getLocale() != null) {
-            ctx.setLocale(config.getLocale());
-        }
-
-        // Set auth string for multi-server setups
-        if (config.getAuthString() != null && !config.getAuthString().isEmpty()) {
-            ctx.setAuthentication(config.getAuthString());
-        }
-
-        // Verify connection
-        try {
-            ctx.verifyUser();
-            log.info("Successfully connected to Remedy server: {}:{}", config.getServer(), config.getPort());
-        } catch (ARException e) {
-            log.error("Failed to verify user connection to Remedy server: {}", e.getMessage());
-            throw new ARConnectionException("Failed to connect to Remedy server", e);
-        }
-
-        return ctx;
-    }
-
-    /**
-     * Verify the current thread's connection is still valid.
+     * Verify that a working connection can be obtained.
      *
      * @return true if connection is valid, false otherwise
      */
     public boolean verifyConnection() {
-        ARServerUser ctx = contextHolder.get();
-        if (ctx == null) {
+        PooledConnection connection;
+        try {
+            connection = pool.borrow();
+        } catch (ARConnectionException e) {
+            log.warn("Connection verification failed: {}", e.getMessage());
             return false;
         }
         try {
-            ctx.verifyUser();
+            connection.user().verifyUser();
+            pool.release(connection);
             return true;
         } catch (ARException e) {
             log.warn("Connection verification failed: {}", e.getMessage());
+            pool.invalidate(connection);
             return false;
         }
     }
 
     /**
      * Refresh the connection for the current thread.
-     * Closes existing connection and creates a new one.
+     * Drops the connection held by this thread and pins a new one.
      *
      * @return New ARServerUser instance
      */
     public ARServerUser refreshConnection() {
-        closeContext();
+        PooledConnection connection = held.get();
+        if (connection != null) {
+            held.remove();
+            pool.invalidate(connection);
+        }
         return getContext();
     }
 
     /**
-     * Close the connection for the current thread.
+     * Return the connection pinned to the current thread, if any, to the pool.
      * Should be called when the thread is done with Remedy operations.
      */
     public void closeContext() {
-        ARServerUser ctx = contextHolder.get();
-        if (ctx != null) {
-            try {
-                ctx.logout();
-                log.debug("Closed ARServerUser connection for thread: {}", Thread.currentThread().getName());
-            } catch (Exception e) {
-                log.warn("Error closing ARServerUser connection: {}", e.getMessage());
-            } finally {
-                contextHolder.remove();
-            }
+        PooledConnection connection = held.get();
+        if (connection != null) {
+            held.remove();
+            pool.release(connection);
+            log.debug("Released ARServerUser connection for thread: {}", Thread.currentThread().getName());
         }
     }
 
     /**
      * Execute an operation with automatic retry on connection failure.
+     * The operation runs on a connection borrowed from the pool (or the one this thread
+     * already holds); a connection that fails with a connection error is dropped.
      *
      * @param operation The operation to execute
      * @param <T> Return type of the operation
@@ -158,9 +130,15 @@ public class ThreadLocalARContext {
         Exception lastException = null;
 
         while (attempts < config.getRetryAttempts()) {
+            PooledConnection connection = held.get();
+            boolean borrowed = connection == null;
+            if (borrowed) {
+                connection = pool.borrow();
+                held.set(connection);
+            }
+            boolean broken = false;
             try {
-                ARServerUser ctx = getContext();
-                return operation.execute(ctx);
+                return operation.execute(connection.user());
             } catch (ARException e) {
                 lastException = e;
                 attempts++;
@@ -168,22 +146,31 @@ public class ThreadLocalARContext {
                     attempts, config.getRetryAttempts(), e.getMessage());
 
                 // Check if it's a connection error (ARERR 92, 93)
-                if (isConnectionError(e)) {
-                    log.info("Refreshing connection due to connection error");
-                    closeContext();
-
-                    if (attempts < config.getRetryAttempts()) {
-                        try {
-                            Thread.sleep(config.getRetryDelayMs());
-                        } catch (InterruptedException ie) {
-                            Thread.currentThread().interrupt();
-                            throw new ARConnectionException("Interrupted during retry delay", ie);
-                        }
-                    }
-                } else {
+                if (!isConnectionError(e)) {
                     // Non-connection error, don't retry
                     throw new ARConnectionException("Remedy operation failed", e);
                 }
+                log.info("Refreshing connection due to connection error");
+                broken = true;
+            } finally {
+                // A nested call may already have dropped this connection
+                if (held.get() == connection && (broken || borrowed)) {
+                    held.remove();
+                    if (broken) {
+                        pool.invalidate(connection);
+                    } else {
+                        pool.release(connection);
+                    }
+                }
+            }
+
+            if (attempts < config.getRetryAttempts()) {
+                try {
+                    Thread.sleep(config.getRetryDelayMs());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new ARConnectionException("Interrupted during retry delay", ie);
+                }
             }
         }
 
@@ -151,6 +151,13 @@ public class IncidentUpdateRequest {
      * Get human-readable status label.
      */
     public String getStatusLabel() {
+        return statusLabel(status);
+    }
+
+    /**
+     * Human-readable label of an incident status code, null for a null code.
+     */
+    public static String statusLabel(Integer status) {
         if (status == null) return null;
         return switch (status) {
             case 0 -> "New";
@@ -4,13 +4,13 @@ import com.bmc.arsys.api.*;
 import com.bmc.rag.connector.connection.ThreadLocalARContext;
 import com.bmc.rag.connector.config.RemedyConnectionConfig;
 import com.bmc.rag.connector.model.ChangeRequestRecord;
+import com.bmc.rag.connector.util.EntryFields;
 import com.bmc.rag.connector.util.FieldIdConstants;
 import com.bmc.rag.connector.util.QualifierBuilder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.time.Instant;
 import java.util.*;
 
 /**
@@ -58,6 +58,9 @@ public class ChangeRequestExtractor {
         FieldIdConstants.ChangeRequest.ACTUAL_END_DATE
     };
 
+    private final KeysetPager.Form<ChangeRequestRecord> pagedForm =
+        new KeysetPager.Form<>(FORM_NAME, FIELD_IDS, this::mapEntryToChangeRequest);
+
     /**
      * Extract all change requests modified since the given timestamp.
      *
@@ -72,10 +75,19 @@ public class ChangeRequestExtractor {
     /**
      * Extract change requests matching a custom qualification.
      *
+     * With keyset paging (the default) the pages are read in (Last Modified Date, Request ID)
+     * order; otherwise with firstRetrieve offsets.
+     *
      * @param qualification Remedy qualification string (null for all records)
      * @return List of change request records
      */
     public List<ChangeRequestRecord> extractWithQualification(String qualification) {
+        if (config.isKeysetPaging()) {
+            List<ChangeRequestRecord> changes = new ArrayList<>();
+            streamWithQualification(qualification, null, (page, checkpoint) -> changes.addAll(page));
+            return changes;
+        }
+
         return arContext.executeWithRetry(ctx -> {
             List<ChangeRequestRecord> allChanges = new ArrayList<>();
             int chunkSize = config.getChunkSize();
@@ -134,6 +146,34 @@ public class ChangeRequestExtractor {
         });
     }
 
+    /**
+     * Stream all change requests modified since the given timestamp, one page at a time.
+     *
+     * @param lastSyncTimestamp Unix epoch timestamp (seconds)
+     * @param resumeFrom Checkpoint of an earlier run to continue after, or null
+     * @param consumer Receives each page with the checkpoint after it
+     * @return Checkpoint after the last page
+     */
+    public ExtractionCheckpoint streamModifiedSince(long lastSyncTimestamp, ExtractionCheckpoint resumeFrom,
+                                                    PageConsumer<ChangeRequestRecord> consumer) {
+        String qualification = QualifierBuilder.incrementalSyncQualifier(lastSyncTimestamp);
+        return streamWithQualification(qualification, resumeFrom, consumer);
+    }
+
+    /**
+     * Stream change requests matching a custom qualification, one page of {@code chunkSize} records
+     * at a time in (Last Modified Date, Request ID) order. Only the current page is held in memory.
+     *
+     * @param qualification Remedy qualification string (null for all records)
+     * @param resumeFrom Checkpoint of an earlier run to continue after, or null
+     * @param consumer Receives each page with the checkpoint after it
+     * @return Checkpoint after the last page
+     */
+    public ExtractionCheckpoint streamWithQualification(String qualification, ExtractionCheckpoint resumeFrom,
+                                                        PageConsumer<ChangeRequestRecord> consumer) {
+        return KeysetPager.stream(arContext, pagedForm, qualification, config.getChunkSize(), resumeFrom, consumer);
+    }
+
     /**
      * Extract a single change request by ID.
      *
@@ -229,9 +269,9 @@ public class ChangeRequestExtractor {
 
             if (entries != null) {
                 for (Entry entry : entries) {
-                    Value value = entry.get(FieldIdConstants.ChangeRequest.CHANGE_ID);
-                    if (value != null && value.getValue() != null) {
-                        existingIds.add(value.getValue().toString());
+                    String changeId = EntryFields.getString(entry, FieldIdConstants.ChangeRequest.CHANGE_ID);
+                    if (changeId != null) {
+                        existingIds.add(changeId);
                     }
                 }
             }
@@ -244,78 +284,34 @@ public class ChangeRequestExtractor {
      * Map a Remedy Entry to a ChangeRequestRecord.
      */
     private ChangeRequestRecord mapEntryToChangeRequest(Entry entry) {
-        Map<Integer, Value> fieldValues = new HashMap<>();
-        for (Map.Entry<Integer, Value> e : entry.entrySet()) {
-            fieldValues.put(e.getKey(), e.getValue());
-        }
-
         return ChangeRequestRecord.builder()
             .entryId(entry.getEntryId())
-            .changeId(getStringValue(fieldValues, FieldIdConstants.ChangeRequest.CHANGE_ID))
-            .summary(getStringValue(fieldValues, FieldIdConstants.ChangeRequest.SUMMARY))
-            .description(getStringValue(fieldValues, FieldIdConstants.ChangeRequest.DESCRIPTION))
-            .changeReason(getStringValue(fieldValues, FieldIdConstants.ChangeRequest.CHANGE_REASON))
-            .implementationPlan(getStringValue(fieldValues, FieldIdConstants.ChangeRequest.IMPLEMENTATION_PLAN))
-            .rollbackPlan(getStringValue(fieldValues, FieldIdConstants.ChangeRequest.ROLLBACK_PLAN))
-            .status(getIntValue(fieldValues, FieldIdConstants.STATUS))
-            .riskLevel(getIntValue(fieldValues, FieldIdConstants.ChangeRequest.RISK_LEVEL))
-            .impact(getIntValue(fieldValues, FieldIdConstants.ChangeRequest.IMPACT))
-            .urgency(getIntValue(fieldValues, FieldIdConstants.ChangeRequest.URGENCY))
-            .changeType(getStringValue(fieldValues, FieldIdConstants.ChangeRequest.CHANGE_TYPE))
-            .changeClass(getStringValue(fieldValues, FieldIdConstants.ChangeRequest.CHANGE_CLASS))
-            .assignedGroup(getStringValue(fieldValues, FieldIdConstants.ChangeRequest.ASSIGNED_GROUP))
-            .assignedTo(getStringValue(fieldValues, FieldIdConstants.ASSIGNED_TO))
-            .assignedSupportCompany(getStringValue(fieldValues, FieldIdConstants.ChangeRequest.ASSIGNED_SUPPORT_COMPANY))
-            .submitter(getStringValue(fieldValues, FieldIdConstants.SUBMITTER))
-            .createDate(getInstantValue(fieldValues, FieldIdConstants.CREATE_DATE))
-            .lastModifiedDate(getInstantValue(fieldValues, FieldIdConstants.LAST_MODIFIED_DATE))
-            .lastModifiedBy(getStringValue(fieldValues, FieldIdConstants.LAST_MODIFIED_BY))
-            .categoryTier1(getStringValue(fieldValues, FieldIdConstants.ChangeRequest.CATEGORY_TIER_1))
-            .categoryTier2(getStringValue(fieldValues, FieldIdConstants.ChangeRequest.CATEGORY_TIER_2))
-            .categoryTier3(getStringValue(fieldValues, FieldIdConstants.ChangeRequest.CATEGORY_TIER_3))
-            .scheduledStartDate(getInstantValue(fieldValues, FieldIdConstants.ChangeRequest.SCHEDULED_START_DATE))
-            .scheduledEndDate(getInstantValue(fieldValues, FieldIdConstants.ChangeRequest.SCHEDULED_END_DATE))
-            .actualStartDate(getInstantValue(fieldValues, FieldIdConstants.ChangeRequest.ACTUAL_START_DATE))
-            .actualEndDate(getInstantValue(fieldValues, FieldIdConstants.ChangeRequest.ACTUAL_END_DATE))
+            .changeId(EntryFields.getString(entry, FieldIdConstants.ChangeRequest.CHANGE_ID))
+            .summary(EntryFields.getString(entry, FieldIdConstants.ChangeRequest.SUMMARY))
+            .description(EntryFields.getString(entry, FieldIdConstants.ChangeRequest.DESCRIPTION))
+            .changeReason(EntryFields.getString(entry, FieldIdConstants.ChangeRequest.CHANGE_REASON))
+            .implementationPlan(EntryFields.getString(entry, FieldIdConstants.ChangeRequest.IMPLEMENTATION_PLAN))
+            .rollbackPlan(EntryFields.getString(entry, FieldIdConstants.ChangeRequest.ROLLBACK_PLAN))
+            .status(EntryFields.getInteger(entry, FieldIdConstants.STATUS))
+            .riskLevel(EntryFields.getInteger(entry, FieldIdConstants.ChangeRequest.RISK_LEVEL))
+            .impact(EntryFields.getInteger(entry, FieldIdConstants.ChangeRequest.IMPACT))
+            .urgency(EntryFields.getInteger(entry, FieldIdConstants.ChangeRequest.URGENCY))
+            .changeType(EntryFields.getString(entry, FieldIdConstants.ChangeRequest.CHANGE_TYPE))
+            .changeClass(EntryFields.getString(entry, FieldIdConstants.ChangeRequest.CHANGE_CLASS))
+            .assignedGroup(EntryFields.getString(entry, FieldIdConstants.ChangeRequest.ASSIGNED_GROUP))
+            .assignedTo(EntryFields.getString(entry, FieldIdConstants.ASSIGNED_TO))
+            .assignedSupportCompany(EntryFields.getString(entry, FieldIdConstants.ChangeRequest.ASSIGNED_SUPPORT_COMPANY))
+            .submitter(EntryFields.getString(entry, FieldIdConstants.SUBMITTER))
+            .createDate(EntryFields.getInstant(entry, FieldIdConstants.CREATE_DATE))
+            .lastModifiedDate(EntryFields.getInstant(entry, FieldIdConstants.LAST_MODIFIED_DATE))
+            .lastModifiedBy(EntryFields.getString(entry, FieldIdConstants.LAST_MODIFIED_BY))
+            .categoryTier1(EntryFields.getString(entry, FieldIdConstants.ChangeRequest.CATEGORY_TIER_1))
+            .categoryTier2(EntryFields.getString(entry, FieldIdConstants.ChangeRequest.CATEGORY_TIER_2))
+            .categoryTier3(EntryFields.getString(entry, FieldIdConstants.ChangeRequest.CATEGORY_TIER_3))
+            .scheduledStartDate(EntryFields.getInstant(entry, FieldIdConstants.ChangeRequest.SCHEDULED_START_DATE))
+            .scheduledEndDate(EntryFields.getInstant(entry, FieldIdConstants.ChangeRequest.SCHEDULED_END_DATE))
+            .actualStartDate(EntryFields.getInstant(entry, FieldIdConstants.ChangeRequest.ACTUAL_START_DATE))
+            .actualEndDate(EntryFields.getInstant(entry, FieldIdConstants.ChangeRequest.ACTUAL_END_DATE))
             .build();
     }
-
-    private String getStringValue(Map<Integer, Value> fields, int fieldId) {
-        Value value = fields.get(fieldId);
-        if (value == null || value.getValue() == null) {
-            return null;
-        }
-        return value.getValue().toString();
-    }
-
-    private Integer getIntValue(Map<Integer, Value> fields, int fieldId) {
-        Value value = fields.get(fieldId);
-        if (value == null || value.getValue() == null) {
-            return null;
-        }
-        try {
-            if (value.getValue() instanceof Integer) {
-                return (Integer) value.getValue();
-            }
-            return Integer.parseInt(value.getValue().toString());
-        } catch (NumberFormatException e) {
-            return null;
-        }
-    }
-
-    private Instant getInstantValue(Map<Integer, Value> fields, int fieldId) {
-        Value value = fields.get(fieldId);
-        if (value == null || value.getValue() == null) {
-            return null;
-        }
-        try {
-            if (value.getValue() instanceof Timestamp) {
-                return Instant.ofEpochSecond(((Timestamp) value.getValue()).getValue());
-            }
-            long epochSeconds = Long.parseLong(value.getValue().toString());
-            return Instant.ofEpochSecond(epochSeconds);
-        } catch (Exception e) {
-            return null;
-        }
-    }
 }
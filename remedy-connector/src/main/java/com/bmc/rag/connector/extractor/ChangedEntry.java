@@ -0,0 +1,10 @@
+package com.bmc.rag.connector.extractor;
+
+/**
+ * Key of an entry seen by a change poll: only the Request ID and Last Modified Date are fetched.
+ *
+ * @param entryId Request ID of the entry
+ * @param lastModified Last Modified Date in epoch seconds, 0 if missing
+ */
+public record ChangedEntry(String entryId, long lastModified) {
+}
@@ -0,0 +1,24 @@
+package com.bmc.rag.connector.extractor;
+
+/**
+ * Position of a streaming extraction.
+ * Entries are read in (Last Modified Date, Request ID) order, so every entry up to and
+ * including ({@code lastModified}, {@code lastEntryId}) has been handed out and a run can
+ * resume with the entries after that key.
+ *
+ * @param lastEntryId Request ID of the last entry handed out, null before the first page
+ * @param lastModified Last Modified Date (epoch seconds) of the last entry handed out, which is
+ *                     also the latest one seen; 0 if none
+ * @param recordsExtracted Records handed out so far
+ */
+public record ExtractionCheckpoint(String lastEntryId, long lastModified, int recordsExtracted) {
+
+    /**
+     * Checkpoint of a run that has not handed out any page yet.
+     */
+    public static final ExtractionCheckpoint START = new ExtractionCheckpoint(null, 0L, 0);
+
+    public boolean isStart() {
+        return lastEntryId == null;
+    }
+}
@@ -4,14 +4,15 @@ import com.bmc.arsys.api.*;
 import com.bmc.rag.connector.connection.ThreadLocalARContext;
 import com.bmc.rag.connector.config.RemedyConnectionConfig;
 import com.bmc.rag.connector.model.IncidentRecord;
+import com.bmc.rag.connector.util.EntryFields;
 import com.bmc.rag.connector.util.FieldIdConstants;
 import com.bmc.rag.connector.util.QualifierBuilder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.time.Instant;
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * Extracts Incident records from HPD:Help Desk form.
@@ -27,40 +28,8 @@ public class IncidentExtractor {
 
     private static final String FORM_NAME = FieldIdConstants.Incident.FORM_NAME;
 
-    // Fields to retrieve
-    private static final int[] FIELD_IDS = {
-        FieldIdConstants.REQUEST_ID,
-        FieldIdConstants.Incident.INCIDENT_NUMBER,
-        FieldIdConstants.Incident.SUMMARY,
-        FieldIdConstants.Incident.DESCRIPTION,
-        FieldIdConstants.Incident.RESOLUTION,
-        FieldIdConstants.STATUS,
-        FieldIdConstants.Incident.URGENCY,
-        FieldIdConstants.Incident.IMPACT,
-        FieldIdConstants.Incident.PRIORITY,
-        FieldIdConstants.Incident.ASSIGNED_GROUP,
-        FieldIdConstants.ASSIGNED_TO,
-        FieldIdConstants.Incident.ASSIGNED_SUPPORT_COMPANY,
-        FieldIdConstants.Incident.ASSIGNED_SUPPORT_ORG,
-        FieldIdConstants.SUBMITTER,
-        FieldIdConstants.CREATE_DATE,
-        FieldIdConstants.LAST_MODIFIED_DATE,
-        FieldIdConstants.LAST_MODIFIED_BY,
-        FieldIdConstants.Incident.CATEGORY_TIER_1,
-        FieldIdConstants.Incident.CATEGORY_TIER_2,
-        FieldIdConstants.Incident.CATEGORY_TIER_3,
-        FieldIdConstants.Incident.PRODUCT_TIER_1,
-        FieldIdConstants.Incident.PRODUCT_TIER_2,
-        FieldIdConstants.Incident.PRODUCT_TIER_3,
-        FieldIdConstants.Incident.RESOLUTION_CATEGORY_TIER_1,
-        FieldIdConstants.Incident.RESOLUTION_CATEGORY_TIER_2,
-        FieldIdConstants.Incident.RESOLUTION_CATEGORY_TIER_3,
-        FieldIdConstants.Incident.CUSTOMER_FIRST_NAME,
-        FieldIdConstants.Incident.CUSTOMER_LAST_NAME,
-        FieldIdConstants.Incident.CUSTOMER_COMPANY,
-        FieldIdConstants.Incident.REPORTED_SOURCE,
-        FieldIdConstants.Incident.SERVICE_TYPE
-    };
+    private final KeysetPager.Form<IncidentRecord> pagedForm =
+        new KeysetPager.Form<>(FORM_NAME, IncidentProjection.SYNC_FULL.fieldIds(), this::mapEntryToIncident);
 
     /**
      * Extract all incidents modified since the given timestamp.
@@ -77,10 +46,19 @@ public class IncidentExtractor {
     /**
      * Extract incidents matching a custom qualification.
      *
+     * With keyset paging (the default) the pages are read in (Last Modified Date, Request ID)
+     * order; otherwise with firstRetrieve offsets.
+     *
      * @param qualification Remedy qualification string (null for all records)
      * @return List of incident records
      */
     public List<IncidentRecord> extractWithQualification(String qualification) {
+        if (config.isKeysetPaging()) {
+            List<IncidentRecord> incidents = new ArrayList<>();
+            streamWithQualification(qualification, null, (page, checkpoint) -> incidents.addAll(page));
+            return incidents;
+        }
+
         return arContext.executeWithRetry(ctx -> {
             List<IncidentRecord> allIncidents = new ArrayList<>();
             int chunkSize = config.getChunkSize();
@@ -107,7 +85,7 @@ public class IncidentExtractor {
                     firstRetrieve,
                     chunkSize,
                     null,  // Sort list (null = default)
-                    FIELD_IDS,
+                    IncidentProjection.SYNC_FULL.fieldIds(),
                     false, // useLocale
                     numMatches
                 );
@@ -141,6 +119,59 @@ public class IncidentExtractor {
         });
     }
 
+    /**
+     * Stream all incidents modified since the given timestamp, one page at a time.
+     *
+     * @param lastSyncTimestamp Unix epoch timestamp (seconds)
+     * @param resumeFrom Checkpoint of an earlier run to continue after, or null
+     * @param consumer Receives each page with the checkpoint after it
+     * @return Checkpoint after the last page
+     */
+    public ExtractionCheckpoint streamModifiedSince(long lastSyncTimestamp, ExtractionCheckpoint resumeFrom,
+                                                    PageConsumer<IncidentRecord> consumer) {
+        String qualification = QualifierBuilder.incrementalSyncQualifier(lastSyncTimestamp);
+        return streamWithQualification(qualification, resumeFrom, consumer);
+    }
+
+    /**
+     * Stream incidents matching a custom qualification, one page of {@code chunkSize} records
+     * at a time in (Last Modified Date, Request ID) order. Only the current page is held in memory.
+     *
+     * @param qualification Remedy qualification string (null for all records)
+     * @param resumeFrom Checkpoint of an earlier run to continue after, or null
+     * @param consumer Receives each page with the checkpoint after it
+     * @return Checkpoint after the last page
+     */
+    public ExtractionCheckpoint streamWithQualification(String qualification, ExtractionCheckpoint resumeFrom,
+                                                        PageConsumer<IncidentRecord> consumer) {
+        return KeysetPager.stream(arContext, pagedForm, qualification, config.getChunkSize(), resumeFrom, consumer);
+    }
+
+    /**
+     * Poll for incidents changed after a checkpoint, fetching only their keys
+     * ({@link IncidentProjection#CHANGE_PROBE}).
+     *
+     * @param after Checkpoint to read after
+     * @param max Maximum keys to return
+     * @return Request ID and Last Modified Date of each changed incident, oldest first
+     */
+    public List<ChangedEntry> pollChanges(ExtractionCheckpoint after, int max) {
+        return KeysetPager.changesAfter(arContext, FORM_NAME, IncidentProjection.CHANGE_PROBE.fieldIds(), after, max);
+    }
+
+    /**
+     * Extract incidents by Request ID (field 1), with all fields.
+     *
+     * @param requestIds Request IDs of the incidents
+     * @return The incidents that still exist
+     */
+    public List<IncidentRecord> extractByRequestIds(List<String> requestIds) {
+        if (requestIds == null || requestIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return extractWithQualification(new QualifierBuilder().in(FieldIdConstants.REQUEST_ID, requestIds).build());
+    }
+
     /**
      * Extract a single incident by incident number.
      *
@@ -148,11 +179,43 @@ public class IncidentExtractor {
      * @return The incident record, or empty optional if not found
      */
     public Optional<IncidentRecord> extractByIncidentNumber(String incidentNumber) {
+        return extractByIncidentNumber(incidentNumber, IncidentProjection.SYNC_FULL);
+    }
+
+    /**
+     * Extract a single incident by incident number, retrieving only the fields of a projection.
+     * Fields outside the projection are left null on the record.
+     *
+     * @param incidentNumber The incident number (e.g., INC000000000001)
+     * @param projection {@link IncidentProjection#SYNC_FULL} or {@link IncidentProjection#DETAIL_VIEW}
+     * @return The incident record, or empty optional if not found
+     */
+    public Optional<IncidentRecord> extractByIncidentNumber(String incidentNumber, IncidentProjection projection) {
+        Function<Entry, IncidentRecord> mapper = recordMapper(projection);
         String qualification = new QualifierBuilder()
             .equals(FieldIdConstants.Incident.INCIDENT_NUMBER, incidentNumber)
             .build();
 
-        List<IncidentRecord> results = extractWithQualification(qualification);
+        // Incident numbers are unique, so one round trip with maxRetrieve = 1 is enough
+        List<IncidentRecord> results = arContext.executeWithRetry(ctx -> {
+            List<Entry> entries = ctx.getListEntryObjects(
+                FORM_NAME,
+                QualifierBuilder.parseQualification(ctx, FORM_NAME, qualification),
+                0,
+                1,
+                null,
+                projection.fieldIds(),
+                false,
+                new OutputInteger()
+            );
+            List<IncidentRecord> records = new ArrayList<>(1);
+            if (entries != null) {
+                for (Entry entry : entries) {
+                    records.add(mapper.apply(entry));
+                }
+            }
+            return records;
+        });
         return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
     }
 
@@ -193,6 +256,7 @@ public class IncidentExtractor {
 
     /**
      * Check which incident numbers from the provided list still exist in Remedy.
+     * Only the incident number is retrieved ({@link IncidentProjection#EXISTENCE}).
      *
      * @param incidentNumbers List of incident numbers to check
      * @return Set of incident numbers that still exist
@@ -202,43 +266,27 @@ public class IncidentExtractor {
             return Collections.emptySet();
         }
 
+        String qualification = new QualifierBuilder().in(FieldIdConstants.Incident.INCIDENT_NUMBER, incidentNumbers).build();
+
         return arContext.executeWithRetry(ctx -> {
             Set<String> existingIds = new HashSet<>();
 
-            // Build OR qualification for all incident numbers
-            StringBuilder orQualification = new StringBuilder();
-            for (int i = 0; i < incidentNumbers.size(); i++) {
-                if (i > 0) orQualification.append(" OR ");
-                orQualification.append("'")
-                    .append(FieldIdConstants.Incident.INCIDENT_NUMBER)
-                    .append("' = \"")
-                    .append(incidentNumbers.get(i).replace("\"", "\\\""))
-                    .append("\"");
-            }
-
-            QualifierInfo qualifierInfo = QualifierBuilder.parseQualification(
-                ctx, FORM_NAME, orQualification.toString());
-            OutputInteger numMatches = new OutputInteger();
-
-            // Only fetch the incident number field
-            int[] fieldIds = { FieldIdConstants.Incident.INCIDENT_NUMBER };
-
             List<Entry> entries = ctx.getListEntryObjects(
                 FORM_NAME,
-                qualifierInfo,
+                QualifierBuilder.parseQualification(ctx, FORM_NAME, qualification),
                 0,
                 incidentNumbers.size(),
                 null,
-                fieldIds,
+                IncidentProjection.EXISTENCE.fieldIds(),
                 false,
-                numMatches
+                new OutputInteger()
             );
 
             if (entries != null) {
                 for (Entry entry : entries) {
-                    Value value = entry.get(FieldIdConstants.Incident.INCIDENT_NUMBER);
-                    if (value != null && value.getValue() != null) {
-                        existingIds.add(value.getValue().toString());
+                    String incidentNumber = EntryFields.getString(entry, FieldIdConstants.Incident.INCIDENT_NUMBER);
+                    if (incidentNumber != null) {
+                        existingIds.add(incidentNumber);
                     }
                 }
             }
@@ -278,83 +326,83 @@ public class IncidentExtractor {
      * Map a Remedy Entry to an IncidentRecord.
      */
     private IncidentRecord mapEntryToIncident(Entry entry) {
-        Map<Integer, Value> fieldValues = new HashMap<>();
-        for (Map.Entry<Integer, Value> e : entry.entrySet()) {
-            fieldValues.put(e.getKey(), e.getValue());
-        }
-
         return IncidentRecord.builder()
             .entryId(entry.getEntryId())
-            .incidentNumber(getStringValue(fieldValues, FieldIdConstants.Incident.INCIDENT_NUMBER))
-            .summary(getStringValue(fieldValues, FieldIdConstants.Incident.SUMMARY))
-            .description(getStringValue(fieldValues, FieldIdConstants.Incident.DESCRIPTION))
-            .resolution(getStringValue(fieldValues, FieldIdConstants.Incident.RESOLUTION))
-            .status(getIntValue(fieldValues, FieldIdConstants.STATUS))
-            .urgency(getIntValue(fieldValues, FieldIdConstants.Incident.URGENCY))
-            .impact(getIntValue(fieldValues, FieldIdConstants.Incident.IMPACT))
-            .priority(getIntValue(fieldValues, FieldIdConstants.Incident.PRIORITY))
-            .assignedGroup(getStringValue(fieldValues, FieldIdConstants.Incident.ASSIGNED_GROUP))
-            .assignedTo(getStringValue(fieldValues, FieldIdConstants.ASSIGNED_TO))
-            .assignedSupportCompany(getStringValue(fieldValues, FieldIdConstants.Incident.ASSIGNED_SUPPORT_COMPANY))
-            .assignedSupportOrg(getStringValue(fieldValues, FieldIdConstants.Incident.ASSIGNED_SUPPORT_ORG))
-            .submitter(getStringValue(fieldValues, FieldIdConstants.SUBMITTER))
-            .createDate(getInstantValue(fieldValues, FieldIdConstants.CREATE_DATE))
-            .lastModifiedDate(getInstantValue(fieldValues, FieldIdConstants.LAST_MODIFIED_DATE))
-            .lastModifiedBy(getStringValue(fieldValues, FieldIdConstants.LAST_MODIFIED_BY))
-            .categoryTier1(getStringValue(fieldValues, FieldIdConstants.Incident.CATEGORY_TIER_1))
-            .categoryTier2(getStringValue(fieldValues, FieldIdConstants.Incident.CATEGORY_TIER_2))
-            .categoryTier3(getStringValue(fieldValues, FieldIdConstants.Incident.CATEGORY_TIER_3))
-            .productTier1(getStringValue(fieldValues, FieldIdConstants.Incident.PRODUCT_TIER_1))
-            .productTier2(getStringValue(fieldValues, FieldIdConstants.Incident.PRODUCT_TIER_2))
-            .productTier3(getStringValue(fieldValues, FieldIdConstants.Incident.PRODUCT_TIER_3))
-            .resolutionCategoryTier1(getStringValue(fieldValues, FieldIdConstants.Incident.RESOLUTION_CATEGORY_TIER_1))
-            .resolutionCategoryTier2(getStringValue(fieldValues, FieldIdConstants.Incident.RESOLUTION_CATEGORY_TIER_2))
-            .resolutionCategoryTier3(getStringValue(fieldValues, FieldIdConstants.Incident.RESOLUTION_CATEGORY_TIER_3))
-            .customerFirstName(getStringValue(fieldValues, FieldIdConstants.Incident.CUSTOMER_FIRST_NAME))
-            .customerLastName(getStringValue(fieldValues, FieldIdConstants.Incident.CUSTOMER_LAST_NAME))
-            .customerCompany(getStringValue(fieldValues, FieldIdConstants.Incident.CUSTOMER_COMPANY))
-            .reportedSource(getStringValue(fieldValues, FieldIdConstants.Incident.REPORTED_SOURCE))
-            .serviceType(getStringValue(fieldValues, FieldIdConstants.Incident.SERVICE_TYPE))
+            .incidentNumber(EntryFields.getString(entry, FieldIdConstants.Incident.INCIDENT_NUMBER))
+            .summary(EntryFields.getString(entry, FieldIdConstants.Incident.SUMMARY))
+            .description(EntryFields.getString(entry, FieldIdConstants.Incident.DESCRIPTION))
+            .resolution(EntryFields.getString(entry, FieldIdConstants.Incident.RESOLUTION))
+            .status(EntryFields.getInteger(entry, FieldIdConstants.STATUS))
+            .urgency(EntryFields.getInteger(entry, FieldIdConstants.Incident.URGENCY))
+            .impact(EntryFields.getInteger(entry, FieldIdConstants.Incident.IMPACT))
+            .priority(EntryFields.getInteger(entry, FieldIdConstants.Incident.PRIORITY))
+            .assignedGroup(EntryFields.getString(entry, FieldIdConstants.Incident.ASSIGNED_GROUP))
+            .assignedTo(EntryFields.getString(entry, FieldIdConstants.ASSIGNED_TO))
+            .assignedSupportCompany(EntryFields.getString(entry, FieldIdConstants.Incident.ASSIGNED_SUPPORT_COMPANY))
+            .assignedSupportOrg(EntryFields.getString(entry, FieldIdConstants.Incident.ASSIGNED_SUPPORT_ORG))
+            .submitter(EntryFields.getString(entry, FieldIdConstants.SUBMITTER))
+            .createDate(EntryFields.getInstant(entry, FieldIdConstants.CREATE_DATE))
+            .lastModifiedDate(EntryFields.getInstant(entry, FieldIdConstants.LAST_MODIFIED_DATE))
+            .lastModifiedBy(EntryFields.getString(entry, FieldIdConstants.LAST_MODIFIED_BY))
+            .categoryTier1(EntryFields.getString(entry, FieldIdConstants.Incident.CATEGORY_TIER_1))
+            .categoryTier2(EntryFields.getString(entry, FieldIdConstants.Incident.CATEGORY_TIER_2))
+            .categoryTier3(EntryFields.getString(entry, FieldIdConstants.Incident.CATEGORY_TIER_3))
+            .productTier1(EntryFields.getString(entry, FieldIdConstants.Incident.PRODUCT_TIER_1))
+            .productTier2(EntryFields.getString(entry, FieldIdConstants.Incident.PRODUCT_TIER_2))
+            .productTier3(EntryFields.getString(entry, FieldIdConstants.Incident.PRODUCT_TIER_3))
+            .resolutionCategoryTier1(EntryFields.getString(entry, FieldIdConstants.Incident.RESOLUTION_CATEGORY_TIER_1))
+            .resolutionCategoryTier2(EntryFields.getString(entry, FieldIdConstants.Incident.RESOLUTION_CATEGORY_TIER_2))
+            .resolutionCategoryTier3(EntryFields.getString(entry, FieldIdConstants.Incident.RESOLUTION_CATEGORY_TIER_3))
+            .customerFirstName(EntryFields.getString(entry, FieldIdConstants.Incident.CUSTOMER_FIRST_NAME))
+            .customerLastName(EntryFields.getString(entry, FieldIdConstants.Incident.CUSTOMER_LAST_NAME))
+            .customerCompany(EntryFields.getString(entry, FieldIdConstants.Incident.CUSTOMER_COMPANY))
+            .reportedSource(EntryFields.getString(entry, FieldIdConstants.Incident.REPORTED_SOURCE))
+            .serviceType(EntryFields.getString(entry, FieldIdConstants.Incident.SERVICE_TYPE))
             .build();
     }
 
-    private String getStringValue(Map<Integer, Value> fields, int fieldId) {
-        Value value = fields.get(fieldId);
-        if (value == null || value.getValue() == null) {
-            return null;
-        }
-        return value.getValue().toString();
-    }
-
-    private Integer getIntValue(Map<Integer, Value> fields, int fieldId) {
-        Value value = fields.get(fieldId);
-        if (value == null || value.getValue() == null) {
-            return null;
-        }
-        try {
-            if (value.getValue() instanceof Integer) {
-                return (Integer) value.getValue();
-            }
-            return Integer.parseInt(value.getValue().toString());
-        } catch (NumberFormatException e) {
-            return null;
-        }
+    /**
+     * Map a Remedy Entry read with {@link IncidentProjection#DETAIL_VIEW} to an IncidentRecord.
+     * Only the projected fields are set.
+     */
+    private IncidentRecord mapEntryToDetail(Entry entry) {
+        return IncidentRecord.builder()
+            .entryId(entry.getEntryId())
+            .incidentNumber(EntryFields.getString(entry, FieldIdConstants.Incident.INCIDENT_NUMBER))
+            .summary(EntryFields.getString(entry, FieldIdConstants.Incident.SUMMARY))
+            .description(EntryFields.getString(entry, FieldIdConstants.Incident.DESCRIPTION))
+            .resolution(EntryFields.getString(entry, FieldIdConstants.Incident.RESOLUTION))
+            .status(EntryFields.getInteger(entry, FieldIdConstants.STATUS))
+            .urgency(EntryFields.getInteger(entry, FieldIdConstants.Incident.URGENCY))
+            .impact(EntryFields.getInteger(entry, FieldIdConstants.Incident.IMPACT))
+            .priority(EntryFields.getInteger(entry, FieldIdConstants.Incident.PRIORITY))
+            .assignedGroup(EntryFields.getString(entry, FieldIdConstants.Incident.ASSIGNED_GROUP))
+            .assignedTo(EntryFields.getString(entry, FieldIdConstants.ASSIGNED_TO))
+            .submitter(EntryFields.getString(entry, FieldIdConstants.SUBMITTER))
+            .createDate(EntryFields.getInstant(entry, FieldIdConstants.CREATE_DATE))
+            .lastModifiedDate(EntryFields.getInstant(entry, FieldIdConstants.LAST_MODIFIED_DATE))
+            .lastModifiedBy(EntryFields.getString(entry, FieldIdConstants.LAST_MODIFIED_BY))
+            .categoryTier1(EntryFields.getString(entry, FieldIdConstants.Incident.CATEGORY_TIER_1))
+            .categoryTier2(EntryFields.getString(entry, FieldIdConstants.Incident.CATEGORY_TIER_2))
+            .categoryTier3(EntryFields.getString(entry, FieldIdConstants.Incident.CATEGORY_TIER_3))
+            .resolutionCategoryTier1(EntryFields.getString(entry, FieldIdConstants.Incident.RESOLUTION_CATEGORY_TIER_1))
+            .resolutionCategoryTier2(EntryFields.getString(entry, FieldIdConstants.Incident.RESOLUTION_CATEGORY_TIER_2))
+            .resolutionCategoryTier3(EntryFields.getString(entry, FieldIdConstants.Incident.RESOLUTION_CATEGORY_TIER_3))
+            .customerFirstName(EntryFields.getString(entry, FieldIdConstants.Incident.CUSTOMER_FIRST_NAME))
+            .customerLastName(EntryFields.getString(entry, FieldIdConstants.Incident.CUSTOMER_LAST_NAME))
+            .customerCompany(EntryFields.getString(entry, FieldIdConstants.Incident.CUSTOMER_COMPANY))
+            .build();
     }
 
-    private Instant getInstantValue(Map<Integer, Value> fields, int fieldId) {
-        Value value = fields.get(fieldId);
-        if (value == null || value.getValue() == null) {
-            return null;
-        }
-        try {
-            // Remedy stores dates as Unix epoch (seconds)
-            if (value.getValue() instanceof Timestamp) {
-                return Instant.ofEpochSecond(((Timestamp) value.getValue()).getValue());
-            }
-            long epochSeconds = Long.parseLong(value.getValue().toString());
-            return Instant.ofEpochSecond(epochSeconds);
-        } catch (Exception e) {
-            return null;
-        }
+    /**
+     * Mapper for the projections that produce an IncidentRecord.
+     */
+    private Function<Entry, IncidentRecord> recordMapper(IncidentProjection projection) {
+        return switch (projection) {
+            case SYNC_FULL -> this::mapEntryToIncident;
+            case DETAIL_VIEW -> this::mapEntryToDetail;
+            case EXISTENCE, CHANGE_PROBE -> throw new IllegalArgumentException(
+                projection + " does not map to an incident record");
+        };
     }
 }
@@ -0,0 +1,113 @@
+package com.bmc.rag.connector.extractor;
+
+import com.bmc.rag.connector.util.FieldIdConstants;
+
+/**
+ * Named field sets for reading HPD:Help Desk.
+ *
+ * Each caller asks Remedy only for the fields it reads, so lookups that need a handful of
+ * fields do not pay for the full 31-field sync payload or map it into a full record.
+ */
+public enum IncidentProjection {
+
+    /**
+     * Every field stored for an incident, used by scheduled and change-feed syncs.
+     */
+    SYNC_FULL(
+        FieldIdConstants.REQUEST_ID,
+        FieldIdConstants.Incident.INCIDENT_NUMBER,
+        FieldIdConstants.Incident.SUMMARY,
+        FieldIdConstants.Incident.DESCRIPTION,
+        FieldIdConstants.Incident.RESOLUTION,
+        FieldIdConstants.STATUS,
+        FieldIdConstants.Incident.URGENCY,
+        FieldIdConstants.Incident.IMPACT,
+        FieldIdConstants.Incident.PRIORITY,
+        FieldIdConstants.Incident.ASSIGNED_GROUP,
+        FieldIdConstants.ASSIGNED_TO,
+        FieldIdConstants.Incident.ASSIGNED_SUPPORT_COMPANY,
+        FieldIdConstants.Incident.ASSIGNED_SUPPORT_ORG,
+        FieldIdConstants.SUBMITTER,
+        FieldIdConstants.CREATE_DATE,
+        FieldIdConstants.LAST_MODIFIED_DATE,
+        FieldIdConstants.LAST_MODIFIED_BY,
+        FieldIdConstants.Incident.CATEGORY_TIER_1,
+        FieldIdConstants.Incident.CATEGORY_TIER_2,
+        FieldIdConstants.Incident.CATEGORY_TIER_3,
+        FieldIdConstants.Incident.PRODUCT_TIER_1,
+        FieldIdConstants.Incident.PRODUCT_TIER_2,
+        FieldIdConstants.Incident.PRODUCT_TIER_3,
+        FieldIdConstants.Incident.RESOLUTION_CATEGORY_TIER_1,
+        FieldIdConstants.Incident.RESOLUTION_CATEGORY_TIER_2,
+        FieldIdConstants.Incident.RESOLUTION_CATEGORY_TIER_3,
+        FieldIdConstants.Incident.CUSTOMER_FIRST_NAME,
+        FieldIdConstants.Incident.CUSTOMER_LAST_NAME,
+        FieldIdConstants.Incident.CUSTOMER_COMPANY,
+        FieldIdConstants.Incident.REPORTED_SOURCE,
+        FieldIdConstants.Incident.SERVICE_TYPE
+    ),
+
+    /**
+     * Fields shown by the tool server's incident detail view.
+     */
+    DETAIL_VIEW(
+        FieldIdConstants.Incident.INCIDENT_NUMBER,
+        FieldIdConstants.Incident.SUMMARY,
+        FieldIdConstants.Incident.DESCRIPTION,
+        FieldIdConstants.Incident.RESOLUTION,
+        FieldIdConstants.STATUS,
+        FieldIdConstants.Incident.URGENCY,
+        FieldIdConstants.Incident.IMPACT,
+        FieldIdConstants.Incident.PRIORITY,
+        FieldIdConstants.Incident.ASSIGNED_GROUP,
+        FieldIdConstants.ASSIGNED_TO,
+        FieldIdConstants.SUBMITTER,
+        FieldIdConstants.CREATE_DATE,
+        FieldIdConstants.LAST_MODIFIED_DATE,
+        FieldIdConstants.LAST_MODIFIED_BY,
+        FieldIdConstants.Incident.CATEGORY_TIER_1,
+        FieldIdConstants.Incident.CATEGORY_TIER_2,
+        FieldIdConstants.Incident.CATEGORY_TIER_3,
+        FieldIdConstants.Incident.RESOLUTION_CATEGORY_TIER_1,
+        FieldIdConstants.Incident.RESOLUTION_CATEGORY_TIER_2,
+        FieldIdConstants.Incident.RESOLUTION_CATEGORY_TIER_3,
+        FieldIdConstants.Incident.CUSTOMER_FIRST_NAME,
+        FieldIdConstants.Incident.CUSTOMER_LAST_NAME,
+        FieldIdConstants.Incident.CUSTOMER_COMPANY
+    ),
+
+    /**
+     * Incident number only, for hard-delete reconciliation.
+     */
+    EXISTENCE(
+        FieldIdConstants.Incident.INCIDENT_NUMBER
+    ),
+
+    /**
+     * Request ID and Last Modified Date only, for the change feed.
+     */
+    CHANGE_PROBE(
+        FieldIdConstants.REQUEST_ID,
+        FieldIdConstants.LAST_MODIFIED_DATE
+    );
+
+    private final int[] fieldIds;
+
+    IncidentProjection(int... fieldIds) {
+        this.fieldIds = fieldIds;
+    }
+
+    /**
+     * Field IDs to pass to getListEntryObjects. Shared, not to be modified.
+     */
+    int[] fieldIds() {
+        return fieldIds;
+    }
+
+    /**
+     * Number of fields this projection retrieves.
+     */
+    public int getFieldCount() {
+        return fieldIds.length;
+    }
+}
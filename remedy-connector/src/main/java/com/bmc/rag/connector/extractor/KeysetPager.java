@@ -0,0 +1,170 @@
+package com.bmc.rag.connector.extractor;
+
+import com.bmc.arsys.api.Entry;
+import com.bmc.arsys.api.OutputInteger;
+import com.bmc.arsys.api.QualifierInfo;
+import com.bmc.arsys.api.SortInfo;
+import com.bmc.rag.connector.connection.ThreadLocalARContext;
+import com.bmc.rag.connector.model.ITSMRecord;
+import com.bmc.rag.connector.util.EntryFields;
+import com.bmc.rag.connector.util.FieldIdConstants;
+import com.bmc.rag.connector.util.QualifierBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Streaming extraction over a Remedy form with keyset pagination.
+ *
+ * Pages are sorted by (Last Modified Date, Request ID) and the next page is selected with
+ * {@code 'Last Modified Date' > t OR ('Last Modified Date' = t AND 'Request ID' > "id")} for the
+ * last row instead of an offset. Every page costs the same however deep the run is, a record
+ * that changes mid-run moves behind the cursor and is read again rather than shifting other
+ * rows past it, and the last row of the last page carries the highest Last Modified Date. Each
+ * page is fetched under its own retry and passed on before the next one is read, so only one
+ * page is held in memory and a run can resume from its last checkpoint.
+ */
+@Slf4j
+final class KeysetPager {
+
+    // 1 = ascending
+    private static final List<SortInfo> KEYSET_ORDER = List.of(
+        new SortInfo(FieldIdConstants.LAST_MODIFIED_DATE, 1),
+        new SortInfo(FieldIdConstants.REQUEST_ID, 1));
+
+    private KeysetPager() {
+    }
+
+    /**
+     * How to read one form.
+     *
+     * @param formName Remedy form name
+     * @param fieldIds Fields to retrieve (must include Request ID and Last Modified Date)
+     * @param mapper Maps an entry to a record
+     */
+    record Form<R extends ITSMRecord>(String formName, int[] fieldIds, Function<Entry, R> mapper) {
+    }
+
+    /**
+     * Stream every entry matching the qualification after the checkpoint, one page at a time.
+     *
+     * @param arContext Remedy connection of the calling thread
+     * @param form Form to read
+     * @param qualification Remedy qualification string (null for all records)
+     * @param pageSize Entries per page
+     * @param resumeFrom Checkpoint to continue after, or null to start at the beginning
+     * @param consumer Receives each page with the checkpoint after it
+     * @return Checkpoint after the last page
+     */
+    static <R extends ITSMRecord> ExtractionCheckpoint stream(ThreadLocalARContext arContext, Form<R> form,
+                                                              String qualification, int pageSize,
+                                                              ExtractionCheckpoint resumeFrom,
+                                                              PageConsumer<R> consumer) {
+        ExtractionCheckpoint checkpoint = resumeFrom != null ? resumeFrom : ExtractionCheckpoint.START;
+        log.info("Starting streaming extraction of {} with qualification: {}{}", form.formName(),
+            qualification != null ? qualification : "(all records)",
+            checkpoint.isStart() ? "" : " after " + checkpoint.lastEntryId());
+
+        while (true) {
+            String pageQualification = afterCheckpoint(qualification, checkpoint);
+            List<Entry> entries = arContext.executeWithRetry(ctx -> {
+                QualifierInfo qualifierInfo =
+                    QualifierBuilder.parseQualification(ctx, form.formName(), pageQualification);
+                return ctx.getListEntryObjects(
+                    form.formName(),
+                    qualifierInfo,
+                    0,
+                    pageSize,
+                    KEYSET_ORDER,
+                    form.fieldIds(),
+                    false, // useLocale
+                    new OutputInteger()
+                );
+            });
+            if (entries == null || entries.isEmpty()) {
+                break;
+            }
+
+            List<R> page = new ArrayList<>(entries.size());
+            for (Entry entry : entries) {
+                try {
+                    page.add(form.mapper().apply(entry));
+                } catch (Exception e) {
+                    log.warn("Failed to map {} entry {}: {}", form.formName(), entry.getEntryId(), e.getMessage());
+                }
+            }
+
+            // The cursor comes from the raw last row, so an entry that failed to map is still passed
+            Entry last = entries.get(entries.size() - 1);
+            checkpoint = new ExtractionCheckpoint(last.getEntryId(),
+                Math.max(checkpoint.lastModified(), lastModifiedOf(last)),
+                checkpoint.recordsExtracted() + page.size());
+            consumer.accept(page, checkpoint);
+            log.debug("Streamed {} {} entries up to {}", page.size(), form.formName(), checkpoint.lastEntryId());
+
+            if (entries.size() < pageSize) {
+                break;
+            }
+        }
+
+        log.info("Streamed {} total records from {}", checkpoint.recordsExtracted(), form.formName());
+        return checkpoint;
+    }
+
+    /**
+     * Read the keys of up to {@code max} entries after the checkpoint, in the same order as
+     * {@link #stream}. Only the key fields are fetched, so a poll that finds nothing new costs
+     * the server an index range scan and returns no field data.
+     *
+     * @param arContext Remedy connection of the calling thread
+     * @param formName Form to poll
+     * @param keyFields Request ID and Last Modified Date field IDs to retrieve
+     * @param after Checkpoint to read after
+     * @param max Maximum keys to return
+     * @return Keys of the changed entries, oldest first
+     */
+    static List<ChangedEntry> changesAfter(ThreadLocalARContext arContext, String formName, int[] keyFields,
+                                           ExtractionCheckpoint after, int max) {
+        String qualification = afterCheckpoint(null, after);
+        List<Entry> entries = arContext.executeWithRetry(ctx -> ctx.getListEntryObjects(
+            formName,
+            QualifierBuilder.parseQualification(ctx, formName, qualification),
+            0,
+            max,
+            KEYSET_ORDER,
+            keyFields,
+            false, // useLocale
+            new OutputInteger()
+        ));
+        if (entries == null) {
+            return List.of();
+        }
+        List<ChangedEntry> changes = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            changes.add(new ChangedEntry(entry.getEntryId(), lastModifiedOf(entry)));
+        }
+        return changes;
+    }
+
+    private static String afterCheckpoint(String qualification, ExtractionCheckpoint checkpoint) {
+        if (checkpoint.isStart()) {
+            return qualification;
+        }
+        QualifierBuilder builder = new QualifierBuilder().after(
+            FieldIdConstants.LAST_MODIFIED_DATE, checkpoint.lastModified(),
+            FieldIdConstants.REQUEST_ID, checkpoint.lastEntryId());
+        if (qualification != null && !qualification.isBlank()) {
+            builder.raw(qualification);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Last Modified Date of a raw entry in epoch seconds, 0 if missing.
+     */
+    private static long lastModifiedOf(Entry entry) {
+        return EntryFields.getEpochSeconds(entry, FieldIdConstants.LAST_MODIFIED_DATE);
+    }
+}
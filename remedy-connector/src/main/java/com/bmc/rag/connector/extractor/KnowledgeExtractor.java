@@ -4,13 +4,13 @@ import com.bmc.arsys.api.*;
 import com.bmc.rag.connector.connection.ThreadLocalARContext;
 import com.bmc.rag.connector.config.RemedyConnectionConfig;
 import com.bmc.rag.connector.model.KnowledgeArticle;
+import com.bmc.rag.connector.util.EntryFields;
 import com.bmc.rag.connector.util.FieldIdConstants;
 import com.bmc.rag.connector.util.QualifierBuilder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.time.Instant;
 import java.util.*;
 
 /**
@@ -51,6 +51,9 @@ public class KnowledgeExtractor {
         FieldIdConstants.KnowledgeArticle.CATEGORY_TIER_3
     };
 
+    private final KeysetPager.Form<KnowledgeArticle> pagedForm =
+        new KeysetPager.Form<>(FORM_NAME, FIELD_IDS, this::mapEntryToArticle);
+
     /**
      * Extract all knowledge articles modified since the given timestamp.
      *
@@ -69,6 +72,23 @@ public class KnowledgeExtractor {
      * @return List of published knowledge articles
      */
     public List<KnowledgeArticle> extractPublishedArticles(long lastSyncTimestamp) {
+        return extractWithQualification(publishedQualifier(lastSyncTimestamp));
+    }
+
+    /**
+     * Stream only published knowledge articles, one page at a time.
+     *
+     * @param lastSyncTimestamp Unix epoch timestamp (seconds)
+     * @param resumeFrom Checkpoint of an earlier run to continue after, or null
+     * @param consumer Receives each page with the checkpoint after it
+     * @return Checkpoint after the last page
+     */
+    public ExtractionCheckpoint streamPublishedArticles(long lastSyncTimestamp, ExtractionCheckpoint resumeFrom,
+                                                        PageConsumer<KnowledgeArticle> consumer) {
+        return streamWithQualification(publishedQualifier(lastSyncTimestamp), resumeFrom, consumer);
+    }
+
+    private String publishedQualifier(long lastSyncTimestamp) {
         QualifierBuilder builder = new QualifierBuilder()
             .equals(FieldIdConstants.STATUS, FieldIdConstants.StatusValues.KA_PUBLISHED);
 
@@ -76,16 +96,25 @@ public class KnowledgeExtractor {
             builder.dateAfter(FieldIdConstants.LAST_MODIFIED_DATE, lastSyncTimestamp);
         }
 
-        return extractWithQualification(builder.build());
+        return builder.build();
     }
 
     /**
      * Extract knowledge articles matching a custom qualification.
      *
+     * With keyset paging (the default) the pages are read in (Last Modified Date, Request ID)
+     * order; otherwise with firstRetrieve offsets.
+     *
      * @param qualification Remedy qualification string (null for all records)
      * @return List of knowledge articles
      */
     public List<KnowledgeArticle> extractWithQualification(String qualification) {
+        if (config.isKeysetPaging()) {
+            List<KnowledgeArticle> articles = new ArrayList<>();
+            streamWithQualification(qualification, null, (page, checkpoint) -> articles.addAll(page));
+            return articles;
+        }
+
         return arContext.executeWithRetry(ctx -> {
             List<KnowledgeArticle> allArticles = new ArrayList<>();
             int chunkSize = config.getChunkSize();
@@ -144,6 +173,34 @@ public class KnowledgeExtractor {
         });
     }
 
+    /**
+     * Stream all knowledge articles modified since the given timestamp, one page at a time.
+     *
+     * @param lastSyncTimestamp Unix epoch timestamp (seconds)
+     * @param resumeFrom Checkpoint of an earlier run to continue after, or null
+     * @param consumer Receives each page with the checkpoint after it
+     * @return Checkpoint after the last page
+     */
+    public ExtractionCheckpoint streamModifiedSince(long lastSyncTimestamp, ExtractionCheckpoint resumeFrom,
+                                                    PageConsumer<KnowledgeArticle> consumer) {
+        String qualification = QualifierBuilder.incrementalSyncQualifier(lastSyncTimestamp);
+        return streamWithQualification(qualification, resumeFrom, consumer);
+    }
+
+    /**
+     * Stream knowledge articles matching a custom qualification, one page of {@code chunkSize} records
+     * at a time in (Last Modified Date, Request ID) order. Only the current page is held in memory.
+     *
+     * @param qualification Remedy qualification string (null for all records)
+     * @param resumeFrom Checkpoint of an earlier run to continue after, or null
+     * @param consumer Receives each page with the checkpoint after it
+     * @return Checkpoint after the last page
+     */
+    public ExtractionCheckpoint streamWithQualification(String qualification, ExtractionCheckpoint resumeFrom,
+                                                        PageConsumer<KnowledgeArticle> consumer) {
+        return KeysetPager.stream(arContext, pagedForm, qualification, config.getChunkSize(), resumeFrom, consumer);
+    }
+
     /**
      * Extract a single knowledge article by ID.
      *
@@ -225,9 +282,9 @@ public class KnowledgeExtractor {
 
             if (entries != null) {
                 for (Entry entry : entries) {
-                    Value value = entry.get(FieldIdConstants.KnowledgeArticle.ARTICLE_ID);
-                    if (value != null && value.getValue() != null) {
-                        existingIds.add(value.getValue().toString());
+                    String articleId = EntryFields.getString(entry, FieldIdConstants.KnowledgeArticle.ARTICLE_ID);
+                    if (articleId != null) {
+                        existingIds.add(articleId);
                     }
                 }
             }
@@ -240,71 +297,27 @@ public class KnowledgeExtractor {
      * Map a Remedy Entry to a KnowledgeArticle.
      */
     private KnowledgeArticle mapEntryToArticle(Entry entry) {
-        Map<Integer, Value> fieldValues = new HashMap<>();
-        for (Map.Entry<Integer, Value> e : entry.entrySet()) {
-            fieldValues.put(e.getKey(), e.getValue());
-        }
-
         return KnowledgeArticle.builder()
             .entryId(entry.getEntryId())
-            .articleId(getStringValue(fieldValues, FieldIdConstants.KnowledgeArticle.ARTICLE_ID))
-            .title(getStringValue(fieldValues, FieldIdConstants.KnowledgeArticle.ARTICLE_TITLE))
-            .content(getStringValue(fieldValues, FieldIdConstants.KnowledgeArticle.ARTICLE_CONTENT))
-            .articleSummary(getStringValue(fieldValues, FieldIdConstants.KnowledgeArticle.ARTICLE_SUMMARY))
-            .keywords(getStringValue(fieldValues, FieldIdConstants.KnowledgeArticle.ARTICLE_KEYWORDS))
-            .articleType(getStringValue(fieldValues, FieldIdConstants.KnowledgeArticle.ARTICLE_TYPE))
-            .status(getIntValue(fieldValues, FieldIdConstants.STATUS))
-            .assignedGroup(getStringValue(fieldValues, FieldIdConstants.KnowledgeArticle.ASSIGNED_GROUP))
-            .author(getStringValue(fieldValues, FieldIdConstants.KnowledgeArticle.AUTHOR))
-            .versionNumber(getIntValue(fieldValues, FieldIdConstants.KnowledgeArticle.VERSION_NUMBER))
-            .createDate(getInstantValue(fieldValues, FieldIdConstants.CREATE_DATE))
-            .lastModifiedDate(getInstantValue(fieldValues, FieldIdConstants.LAST_MODIFIED_DATE))
-            .lastModifiedBy(getStringValue(fieldValues, FieldIdConstants.LAST_MODIFIED_BY))
-            .publishedDate(getInstantValue(fieldValues, FieldIdConstants.KnowledgeArticle.PUBLISHED_DATE))
-            .expirationDate(getInstantValue(fieldValues, FieldIdConstants.KnowledgeArticle.EXPIRATION_DATE))
-            .viewCount(getIntValue(fieldValues, FieldIdConstants.KnowledgeArticle.VIEW_COUNT))
-            .categoryTier1(getStringValue(fieldValues, FieldIdConstants.KnowledgeArticle.CATEGORY_TIER_1))
-            .categoryTier2(getStringValue(fieldValues, FieldIdConstants.KnowledgeArticle.CATEGORY_TIER_2))
-            .categoryTier3(getStringValue(fieldValues, FieldIdConstants.KnowledgeArticle.CATEGORY_TIER_3))
+            .articleId(EntryFields.getString(entry, FieldIdConstants.KnowledgeArticle.ARTICLE_ID))
+            .title(EntryFields.getString(entry, FieldIdConstants.KnowledgeArticle.ARTICLE_TITLE))
+            .content(EntryFields.getString(entry, FieldIdConstants.KnowledgeArticle.ARTICLE_CONTENT))
+            .articleSummary(EntryFields.getString(entry, FieldIdConstants.KnowledgeArticle.ARTICLE_SUMMARY))
+            .keywords(EntryFields.getString(entry, FieldIdConstants.KnowledgeArticle.ARTICLE_KEYWORDS))
+            .articleType(EntryFields.getString(entry, FieldIdConstants.KnowledgeArticle.ARTICLE_TYPE))
+            .status(EntryFields.getInteger(entry, FieldIdConstants.STATUS))
+            .assignedGroup(EntryFields.getString(entry, FieldIdConstants.KnowledgeArticle.ASSIGNED_GROUP))
+            .author(EntryFields.getString(entry, FieldIdConstants.KnowledgeArticle.AUTHOR))
+            .versionNumber(EntryFields.getInteger(entry, FieldIdConstants.KnowledgeArticle.VERSION_NUMBER))
+            .createDate(EntryFields.getInstant(entry, FieldIdConstants.CREATE_DATE))
+            .lastModifiedDate(EntryFields.getInstant(entry, FieldIdConstants.LAST_MODIFIED_DATE))
+            .lastModifiedBy(EntryFields.getString(entry, FieldIdConstants.LAST_MODIFIED_BY))
+            .publishedDate(EntryFields.getInstant(entry, FieldIdConstants.KnowledgeArticle.PUBLISHED_DATE))
+            .expirationDate(EntryFields.getInstant(entry, FieldIdConstants.KnowledgeArticle.EXPIRATION_DATE))
+            .viewCount(EntryFields.getInteger(entry, FieldIdConstants.KnowledgeArticle.VIEW_COUNT))
+            .categoryTier1(EntryFields.getString(entry, FieldIdConstants.KnowledgeArticle.CATEGORY_TIER_1))
+            .categoryTier2(EntryFields.getString(entry, FieldIdConstants.KnowledgeArticle.CATEGORY_TIER_2))
+            .categoryTier3(EntryFields.getString(entry, FieldIdConstants.KnowledgeArticle.CATEGORY_TIER_3))
             .build();
     }
-
-    private String getStringValue(Map<Integer, Value> fields, int fieldId) {
-        Value value = fields.get(fieldId);
-        if (value == null || value.getValue() == null) {
-            return null;
-        }
-        return value.getValue().toString();
-    }
-
-    private Integer getIntValue(Map<Integer, Value> fields, int fieldId) {
-        Value value = fields.get(fieldId);
-        if (value == null || value.getValue() == null) {
-            return null;
-        }
-        try {
-            if (value.getValue() instanceof Integer) {
-                return (Integer) value.getValue();
-            }
-            return Integer.parseInt(value.getValue().toString());
-        } catch (NumberFormatException e) {
-            return null;
-        }
-    }
-
-    private Instant getInstantValue(Map<Integer, Value> fields, int fieldId) {
-        Value value = fields.get(fieldId);
-        if (value == null || value.getValue() == null) {
-            return null;
-        }
-        try {
-            if (value.getValue() instanceof Timestamp) {
-                return Instant.ofEpochSecond(((Timestamp) value.getValue()).getValue());
-            }
-            long epochSeconds = Long.parseLong(value.getValue().toString());
-            return Instant.ofEpochSecond(epochSeconds);
-        } catch (Exception e) {
-            return null;
-        }
-    }
 }
@@ -0,0 +1,21 @@
+package com.bmc.rag.connector.extractor;
+
+import java.util.List;
+
+/**
+ * Receives the records of a streaming extraction one page at a time.
+ *
+ * @param <R> Record type
+ */
+@FunctionalInterface
+public interface PageConsumer<R> {
+
+    /**
+     * Handle one page. When this returns, the page counts as done and {@code checkpoint}
+     * is a safe point to resume from.
+     *
+     * @param page Records of the page, in (Last Modified Date, Request ID) order
+     * @param checkpoint Position after this page
+     */
+    void accept(List<R> page, ExtractionCheckpoint checkpoint);
+}
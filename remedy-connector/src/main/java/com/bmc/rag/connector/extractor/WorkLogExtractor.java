@@ -2,29 +2,64 @@ package com.bmc.rag.connector.extractor;
 
 import com.bmc.arsys.api.*;
 import com.bmc.rag.connector.connection.ThreadLocalARContext;
+import com.bmc.rag.connector.connection.ThreadLocalARContext.ARConnectionException;
 import com.bmc.rag.connector.config.RemedyConnectionConfig;
 import com.bmc.rag.connector.model.WorkLogEntry;
+import com.bmc.rag.connector.util.EntryFields;
 import com.bmc.rag.connector.util.FieldIdConstants;
 import com.bmc.rag.connector.util.QualifierBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Extracts Work Log entries from HPD:WorkLog, WOI:WorkInfo, and CHG:WorkLog forms.
  * Work logs are linked to parent records (Incidents, Work Orders, Change Requests).
+ *
+ * Batch lookups keep each OR qualification to {@code remedy.work-log-slice-size} parent IDs,
+ * so parse time and server memory per query stay bounded however many parents are passed.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class WorkLogExtractor {
 
+    // Offset paging needs a total order, or rows can repeat or go missing between pages (1 = ascending)
+    private static final List<SortInfo> REQUEST_ID_ORDER = List.of(new SortInfo(FieldIdConstants.REQUEST_ID, 1));
+
     private final ThreadLocalARContext arContext;
     private final RemedyConnectionConfig config;
 
+    private ExecutorService sliceExecutor;
+
+    @PostConstruct
+    public void start() {
+        int threads = Math.max(1, Math.min(config.getWorkLogThreads(), config.getPoolSize()));
+        // Bounded: when the executor is saturated the caller fetches the slice itself
+        sliceExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(threads * 4), threadFactory(),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sliceExecutor != null) {
+            sliceExecutor.shutdownNow();
+        }
+    }
+
     /**
      * Extract work logs for an incident.
      *
@@ -77,42 +112,12 @@ public class WorkLogExtractor {
      * @return Map of incident number to work logs
      */
     public Map<String, List<WorkLogEntry>> batchExtractIncidentWorkLogs(List<String> incidentNumbers) {
-        if (incidentNumbers == null || incidentNumbers.isEmpty()) {
-            return Collections.emptyMap();
-        }
-
-        Map<String, List<WorkLogEntry>> result = new HashMap<>();
-        for (String incidentNumber : incidentNumbers) {
-            result.put(incidentNumber, new ArrayList<>());
-        }
-
-        // Build OR qualification for batch retrieval
-        StringBuilder orCondition = new StringBuilder();
-        for (int i = 0; i < incidentNumbers.size(); i++) {
-            if (i > 0) {
-                orCondition.append(" OR ");
-            }
-            orCondition.append(String.format("'%d' = \"%s\"",
-                FieldIdConstants.IncidentWorkLog.INCIDENT_NUMBER,
-                incidentNumbers.get(i)));
-        }
-
-        List<WorkLogEntry> allWorkLogs = extractWorkLogsWithQualification(
+        return batchExtractWorkLogs(
             FieldIdConstants.IncidentWorkLog.FORM_NAME,
-            orCondition.toString(),
-            WorkLogEntry.WorkLogSource.INCIDENT,
-            FieldIdConstants.IncidentWorkLog.INCIDENT_NUMBER
+            FieldIdConstants.IncidentWorkLog.INCIDENT_NUMBER,
+            incidentNumbers,
+            WorkLogEntry.WorkLogSource.INCIDENT
         );
-
-        // Group by incident number
-        for (WorkLogEntry workLog : allWorkLogs) {
-            List<WorkLogEntry> logs = result.get(workLog.getParentId());
-            if (logs != null) {
-                logs.add(workLog);
-            }
-        }
-
-        return result;
     }
 
     /**
@@ -122,40 +127,12 @@ public class WorkLogExtractor {
      * @return Map of work order ID to work logs
      */
     public Map<String, List<WorkLogEntry>> batchExtractWorkOrderWorkLogs(List<String> workOrderIds) {
-        if (workOrderIds == null || workOrderIds.isEmpty()) {
-            return Collections.emptyMap();
-        }
-
-        Map<String, List<WorkLogEntry>> result = new HashMap<>();
-        for (String workOrderId : workOrderIds) {
-            result.put(workOrderId, new ArrayList<>());
-        }
-
-        StringBuilder orCondition = new StringBuilder();
-        for (int i = 0; i < workOrderIds.size(); i++) {
-            if (i > 0) {
-                orCondition.append(" OR ");
-            }
-            orCondition.append(String.format("'%d' = \"%s\"",
-                FieldIdConstants.WorkOrderInfo.WORK_ORDER_ID,
-                workOrderIds.get(i)));
-        }
-
-        List<WorkLogEntry> allWorkLogs = extractWorkLogsWithQualification(
+        return batchExtractWorkLogs(
             FieldIdConstants.WorkOrderInfo.FORM_NAME,
-            orCondition.toString(),
-            WorkLogEntry.WorkLogSource.WORK_ORDER,
-            FieldIdConstants.WorkOrderInfo.WORK_ORDER_ID
+            FieldIdConstants.WorkOrderInfo.WORK_ORDER_ID,
+            workOrderIds,
+            WorkLogEntry.WorkLogSource.WORK_ORDER
         );
-
-        for (WorkLogEntry workLog : allWorkLogs) {
-            List<WorkLogEntry> logs = result.get(workLog.getParentId());
-            if (logs != null) {
-                logs.add(workLog);
-            }
-        }
-
-        return result;
     }
 
     /**
@@ -165,40 +142,108 @@ public class WorkLogExtractor {
      * @return Map of change ID to work logs
      */
     public Map<String, List<WorkLogEntry>> batchExtractChangeWorkLogs(List<String> changeIds) {
-        if (changeIds == null || changeIds.isEmpty()) {
+        return batchExtractWorkLogs(
+            FieldIdConstants.ChangeWorkLog.FORM_NAME,
+            FieldIdConstants.ChangeWorkLog.CHANGE_ID,
+            changeIds,
+            WorkLogEntry.WorkLogSource.CHANGE_REQUEST
+        );
+    }
+
+    /**
+     * Batch extract work logs for many parents. The parent IDs are split into slices of
+     * {@code remedy.work-log-slice-size}, each fetched (with paging) under its own OR
+     * qualification; slices run concurrently on pooled connections and are merged per parent.
+     */
+    private Map<String, List<WorkLogEntry>> batchExtractWorkLogs(
+            String formName,
+            int parentFieldId,
+            List<String> parentIds,
+            WorkLogEntry.WorkLogSource source) {
+
+        if (parentIds == null || parentIds.isEmpty()) {
             return Collections.emptyMap();
         }
 
         Map<String, List<WorkLogEntry>> result = new HashMap<>();
-        for (String changeId : changeIds) {
-            result.put(changeId, new ArrayList<>());
+        for (String parentId : parentIds) {
+            result.put(parentId, new ArrayList<>());
         }
 
-        StringBuilder orCondition = new StringBuilder();
-        for (int i = 0; i < changeIds.size(); i++) {
-            if (i > 0) {
-                orCondition.append(" OR ");
+        List<List<String>> slices = slices(parentIds, Math.max(1, config.getWorkLogSliceSize()));
+        for (List<WorkLogEntry> sliceLogs : fetchSlices(formName, parentFieldId, slices, source)) {
+            // Group by parent; a parent's logs all come from one slice, so their order is kept
+            for (WorkLogEntry workLog : sliceLogs) {
+                List<WorkLogEntry> logs = result.get(workLog.getParentId());
+                if (logs != null) {
+                    logs.add(workLog);
+                }
             }
-            orCondition.append(String.format("'%d' = \"%s\"",
-                FieldIdConstants.ChangeWorkLog.CHANGE_ID,
-                changeIds.get(i)));
         }
 
-        List<WorkLogEntry> allWorkLogs = extractWorkLogsWithQualification(
-            FieldIdConstants.ChangeWorkLog.FORM_NAME,
-            orCondition.toString(),
-            WorkLogEntry.WorkLogSource.CHANGE_REQUEST,
-            FieldIdConstants.ChangeWorkLog.CHANGE_ID
-        );
+        return result;
+    }
 
-        for (WorkLogEntry workLog : allWorkLogs) {
-            List<WorkLogEntry> logs = result.get(workLog.getParentId());
-            if (logs != null) {
-                logs.add(workLog);
+    /**
+     * Fetch the work logs of each slice, on the slice executor when there is more than one.
+     *
+     * @return Work logs per slice, in slice order
+     */
+    private List<List<WorkLogEntry>> fetchSlices(
+            String formName,
+            int parentFieldId,
+            List<List<String>> slices,
+            WorkLogEntry.WorkLogSource source) {
+
+        if (slices.size() == 1 || sliceExecutor == null) {
+            List<List<WorkLogEntry>> results = new ArrayList<>();
+            for (List<String> slice : slices) {
+                results.add(extractWorkLogsWithQualification(formName,
+                    new QualifierBuilder().in(parentFieldId, slice).build(), source, parentFieldId));
             }
+            return results;
         }
 
-        return result;
+        List<Future<List<WorkLogEntry>>> futures = new ArrayList<>();
+        for (List<String> slice : slices) {
+            futures.add(sliceExecutor.submit(() -> extractWorkLogsWithQualification(formName,
+                new QualifierBuilder().in(parentFieldId, slice).build(), source, parentFieldId)));
+        }
+
+        List<List<WorkLogEntry>> results = new ArrayList<>();
+        try {
+            for (Future<List<WorkLogEntry>> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new ARConnectionException("Interrupted while fetching work logs from " + formName, e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ARConnectionException("Failed to fetch work logs from " + formName, e.getCause());
+        }
+        return results;
+    }
+
+    private static List<List<String>> slices(List<String> ids, int sliceSize) {
+        List<List<String>> slices = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += sliceSize) {
+            slices.add(ids.subList(from, Math.min(from + sliceSize, ids.size())));
+        }
+        return slices;
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "worklog-slice-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
     }
 
     /**
@@ -244,7 +289,7 @@ public class WorkLogExtractor {
                     qualifierInfo,
                     firstRetrieve,
                     chunkSize,
-                    null,
+                    REQUEST_ID_ORDER,
                     fieldIds,
                     false,
                     numMatches
@@ -318,11 +363,6 @@ public class WorkLogExtractor {
     }
 
     private WorkLogEntry mapEntryToWorkLog(Entry entry, WorkLogEntry.WorkLogSource source, int parentFieldId) {
-        Map<Integer, Value> fieldValues = new HashMap<>();
-        for (Map.Entry<Integer, Value> e : entry.entrySet()) {
-            fieldValues.put(e.getKey(), e.getValue());
-        }
-
         // Get appropriate field IDs based on source
         int descriptionFieldId;
         int typeFieldId;
@@ -353,56 +393,17 @@ public class WorkLogExtractor {
 
         return WorkLogEntry.builder()
             .entryId(entry.getEntryId())
-            .workLogId(getStringValue(fieldValues, FieldIdConstants.REQUEST_ID))
-            .parentId(getStringValue(fieldValues, parentFieldId))
+            .workLogId(EntryFields.getString(entry, FieldIdConstants.REQUEST_ID))
+            .parentId(EntryFields.getString(entry, parentFieldId))
             .source(source)
-            .workLogType(getIntValue(fieldValues, typeFieldId))
-            .detailedDescription(getStringValue(fieldValues, descriptionFieldId))
-            .submitter(getStringValue(fieldValues, submitterFieldId))
-            .submitDate(getInstantValue(fieldValues, submitDateFieldId))
+            .workLogType(EntryFields.getInteger(entry, typeFieldId))
+            .detailedDescription(EntryFields.getString(entry, descriptionFieldId))
+            .submitter(EntryFields.getString(entry, submitterFieldId))
+            .submitDate(EntryFields.getInstant(entry, submitDateFieldId))
             .viewAccess(source == WorkLogEntry.WorkLogSource.INCIDENT ?
-                getIntValue(fieldValues, FieldIdConstants.IncidentWorkLog.VIEW_ACCESS) : null)
-            .createDate(getInstantValue(fieldValues, FieldIdConstants.CREATE_DATE))
-            .lastModifiedDate(getInstantValue(fieldValues, FieldIdConstants.LAST_MODIFIED_DATE))
+                EntryFields.getInteger(entry, FieldIdConstants.IncidentWorkLog.VIEW_ACCESS) : null)
+            .createDate(EntryFields.getInstant(entry, FieldIdConstants.CREATE_DATE))
+            .lastModifiedDate(EntryFields.getInstant(entry, FieldIdConstants.LAST_MODIFIED_DATE))
             .build();
     }
-
-    private String getStringValue(Map<Integer, Value> fields, int fieldId) {
-        Value value = fields.get(fieldId);
-        if (value == null || value.getValue() == null) {
-            return null;
-        }
-        return value.getValue().toString();
-    }
-
-    private Integer getIntValue(Map<Integer, Value> fields, int fieldId) {
-        Value value = fields.get(fieldId);
-        if (value == null || value.getValue() == null) {
-            return null;
-        }
-        try {
-            if (value.getValue() instanceof Integer) {
-                return (Integer) value.getValue();
-            }
-            return Integer.parseInt(value.getValue().toString());
-        } catch (NumberFormatException e) {
-            return null;
-        }
-    }
-
-    private Instant getInstantValue(Map<Integer, Value> fields, int fieldId) {
-        Value value = fields.get(fieldId);
-        if (value == null || value.getValue() == null) {
-            return null;
-        }
-        try {
-            if (value.getValue() instanceof Timestamp) {
-                return Instant.ofEpochSecond(((Timestamp) value.getValue()).getValue());
-            }
-            long epochSeconds = Long.parseLong(value.getValue().toString());
-            return Instant.ofEpochSecond(epochSeconds);
-        } catch (Exception e) {
-            return null;
-        }
-    }
 }
@@ -4,13 +4,13 @@ import com.bmc.arsys.api.*;
 import com.bmc.rag.connector.connection.ThreadLocalARContext;
 import com.bmc.rag.connector.config.RemedyConnectionConfig;
 import com.bmc.rag.connector.model.WorkOrderRecord;
+import com.bmc.rag.connector.util.EntryFields;
 import com.bmc.rag.connector.util.FieldIdConstants;
 import com.bmc.rag.connector.util.QualifierBuilder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.time.Instant;
 import java.util.*;
 
 /**
@@ -52,6 +52,9 @@ public class WorkOrderExtractor {
         FieldIdConstants.WorkOrder.SCHEDULED_END_DATE
     };
 
+    private final KeysetPager.Form<WorkOrderRecord> pagedForm =
+        new KeysetPager.Form<>(FORM_NAME, FIELD_IDS, this::mapEntryToWorkOrder);
+
     /**
      * Extract all work orders modified since the given timestamp.
      *
@@ -66,10 +69,19 @@ public class WorkOrderExtractor {
     /**
      * Extract work orders matching a custom qualification.
      *
+     * With keyset paging (the default) the pages are read in (Last Modified Date, Request ID)
+     * order; otherwise with firstRetrieve offsets.
+     *
      * @param qualification Remedy qualification string (null for all records)
      * @return List of work order records
      */
     public List<WorkOrderRecord> extractWithQualification(String qualification) {
+        if (config.isKeysetPaging()) {
+            List<WorkOrderRecord> workOrders = new ArrayList<>();
+            streamWithQualification(qualification, null, (page, checkpoint) -> workOrders.addAll(page));
+            return workOrders;
+        }
+
         return arContext.executeWithRetry(ctx -> {
             List<WorkOrderRecord> allWorkOrders = new ArrayList<>();
             int chunkSize = config.getChunkSize();
@@ -128,6 +140,34 @@ public class WorkOrderExtractor {
         });
     }
 
+    /**
+     * Stream all work orders modified since the given timestamp, one page at a time.
+     *
+     * @param lastSyncTimestamp Unix epoch timestamp (seconds)
+     * @param resumeFrom Checkpoint of an earlier run to continue after, or null
+     * @param consumer Receives each page with the checkpoint after it
+     * @return Checkpoint after the last page
+     */
+    public ExtractionCheckpoint streamModifiedSince(long lastSyncTimestamp, ExtractionCheckpoint resumeFrom,
+                                                    PageConsumer<WorkOrderRecord> consumer) {
+        String qualification = QualifierBuilder.incrementalSyncQualifier(lastSyncTimestamp);
+        return streamWithQualification(qualification, resumeFrom, consumer);
+    }
+
+    /**
+     * Stream work orders matching a custom qualification, one page of {@code chunkSize} records
+     * at a time in (Last Modified Date, Request ID) order. Only the current page is held in memory.
+     *
+     * @param qualification Remedy qualification string (null for all records)
+     * @param resumeFrom Checkpoint of an earlier run to continue after, or null
+     * @param consumer Receives each page with the checkpoint after it
+     * @return Checkpoint after the last page
+     */
+    public ExtractionCheckpoint streamWithQualification(String qualification, ExtractionCheckpoint resumeFrom,
+                                                        PageConsumer<WorkOrderRecord> consumer) {
+        return KeysetPager.stream(arContext, pagedForm, qualification, config.getChunkSize(), resumeFrom, consumer);
+    }
+
     /**
      * Extract a single work order by ID.
      *
@@ -206,9 +246,9 @@ public class WorkOrderExtractor {
 
             if (entries != null) {
                 for (Entry entry : entries) {
-                    Value value = entry.get(FieldIdConstants.WorkOrder.WORK_ORDER_ID);
-                    if (value != null && value.getValue() != null) {
-                        existingIds.add(value.getValue().toString());
+                    String workOrderId = EntryFields.getString(entry, FieldIdConstants.WorkOrder.WORK_ORDER_ID);
+                    if (workOrderId != null) {
+                        existingIds.add(workOrderId);
                     }
                 }
             }
@@ -221,72 +261,28 @@ public class WorkOrderExtractor {
      * Map a Remedy Entry to a WorkOrderRecord.
      */
     private WorkOrderRecord mapEntryToWorkOrder(Entry entry) {
-        Map<Integer, Value> fieldValues = new HashMap<>();
-        for (Map.Entry<Integer, Value> e : entry.entrySet()) {
-            fieldValues.put(e.getKey(), e.getValue());
-        }
-
         return WorkOrderRecord.builder()
             .entryId(entry.getEntryId())
-            .workOrderId(getStringValue(fieldValues, FieldIdConstants.WorkOrder.WORK_ORDER_ID))
-            .summary(getStringValue(fieldValues, FieldIdConstants.WorkOrder.SUMMARY))
-            .description(getStringValue(fieldValues, FieldIdConstants.WorkOrder.DESCRIPTION))
-            .status(getIntValue(fieldValues, FieldIdConstants.STATUS))
-            .priority(getIntValue(fieldValues, FieldIdConstants.WorkOrder.PRIORITY))
-            .assignedGroup(getStringValue(fieldValues, FieldIdConstants.WorkOrder.ASSIGNED_GROUP))
-            .assignedTo(getStringValue(fieldValues, FieldIdConstants.ASSIGNED_TO))
-            .assignedSupportCompany(getStringValue(fieldValues, FieldIdConstants.WorkOrder.ASSIGNED_SUPPORT_COMPANY))
-            .submitter(getStringValue(fieldValues, FieldIdConstants.SUBMITTER))
-            .createDate(getInstantValue(fieldValues, FieldIdConstants.CREATE_DATE))
-            .lastModifiedDate(getInstantValue(fieldValues, FieldIdConstants.LAST_MODIFIED_DATE))
-            .lastModifiedBy(getStringValue(fieldValues, FieldIdConstants.LAST_MODIFIED_BY))
-            .categoryTier1(getStringValue(fieldValues, FieldIdConstants.WorkOrder.CATEGORY_TIER_1))
-            .categoryTier2(getStringValue(fieldValues, FieldIdConstants.WorkOrder.CATEGORY_TIER_2))
-            .categoryTier3(getStringValue(fieldValues, FieldIdConstants.WorkOrder.CATEGORY_TIER_3))
-            .requesterFirstName(getStringValue(fieldValues, FieldIdConstants.WorkOrder.REQUESTER_FIRST_NAME))
-            .requesterLastName(getStringValue(fieldValues, FieldIdConstants.WorkOrder.REQUESTER_LAST_NAME))
-            .locationCompany(getStringValue(fieldValues, FieldIdConstants.WorkOrder.LOCATION_COMPANY))
-            .scheduledStartDate(getInstantValue(fieldValues, FieldIdConstants.WorkOrder.SCHEDULED_START_DATE))
-            .scheduledEndDate(getInstantValue(fieldValues, FieldIdConstants.WorkOrder.SCHEDULED_END_DATE))
+            .workOrderId(EntryFields.getString(entry, FieldIdConstants.WorkOrder.WORK_ORDER_ID))
+            .summary(EntryFields.getString(entry, FieldIdConstants.WorkOrder.SUMMARY))
+            .description(EntryFields.getString(entry, FieldIdConstants.WorkOrder.DESCRIPTION))
+            .status(EntryFields.getInteger(entry, FieldIdConstants.STATUS))
+            .priority(EntryFields.getInteger(entry, FieldIdConstants.WorkOrder.PRIORITY))
+            .assignedGroup(EntryFields.getString(entry, FieldIdConstants.WorkOrder.ASSIGNED_GROUP))
+            .assignedTo(EntryFields.getString(entry, FieldIdConstants.ASSIGNED_TO))
+            .assignedSupportCompany(EntryFields.getString(entry, FieldIdConstants.WorkOrder.ASSIGNED_SUPPORT_COMPANY))
+            .submitter(EntryFields.getString(entry, FieldIdConstants.SUBMITTER))
+            .createDate(EntryFields.getInstant(entry, FieldIdConstants.CREATE_DATE))
+            .lastModifiedDate(EntryFields.getInstant(entry, FieldIdConstants.LAST_MODIFIED_DATE))
+            .lastModifiedBy(EntryFields.getString(entry, FieldIdConstants.LAST_MODIFIED_BY))
+            .categoryTier1(EntryFields.getString(entry, FieldIdConstants.WorkOrder.CATEGORY_TIER_1))
+            .categoryTier2(EntryFields.getString(entry, FieldIdConstants.WorkOrder.CATEGORY_TIER_2))
+            .categoryTier3(EntryFields.getString(entry, FieldIdConstants.WorkOrder.CATEGORY_TIER_3))
+            .requesterFirstName(EntryFields.getString(entry, FieldIdConstants.WorkOrder.REQUESTER_FIRST_NAME))
+            .requesterLastName(EntryFields.getString(entry, FieldIdConstants.WorkOrder.REQUESTER_LAST_NAME))
+            .locationCompany(EntryFields.getString(entry, FieldIdConstants.WorkOrder.LOCATION_COMPANY))
+            .scheduledStartDate(EntryFields.getInstant(entry, FieldIdConstants.WorkOrder.SCHEDULED_START_DATE))
+            .scheduledEndDate(EntryFields.getInstant(entry, FieldIdConstants.WorkOrder.SCHEDULED_END_DATE))
             .build();
     }
-
-    private String getStringValue(Map<Integer, Value> fields, int fieldId) {
-        Value value = fields.get(fieldId);
-        if (value == null || value.getValue() == null) {
-            return null;
-        }
-        return value.getValue().toString();
-    }
-
-    private Integer getIntValue(Map<Integer, Value> fields, int fieldId) {
-        Value value = fields.get(fieldId);
-        if (value == null || value.getValue() == null) {
-            return null;
-        }
-        try {
-            if (value.getValue() instanceof Integer) {
-                return (Integer) value.getValue();
-            }
-            return Integer.parseInt(value.getValue().toString());
-        } catch (NumberFormatException e) {
-            return null;
-        }
-    }
-
-    private Instant getInstantValue(Map<Integer, Value> fields, int fieldId) {
-        Value value = fields.get(fieldId);
-        if (value == null || value.getValue() == null) {
-            return null;
-        }
-        try {
-            if (value.getValue() instanceof Timestamp) {
-                return Instant.ofEpochSecond(((Timestamp) value.getValue()).getValue());
-            }
-            long epochSeconds = Long.parseLong(value.getValue().toString());
-            return Instant.ofEpochSecond(epochSeconds);
-        } catch (Exception e) {
-            return null;
-        }
-    }
 }
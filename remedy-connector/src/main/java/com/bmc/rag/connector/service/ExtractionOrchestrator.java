@@ -11,6 +11,11 @@ import org.springframework.stereotype.Service;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -19,6 +24,10 @@ import java.util.function.Consumer;
  * Orchestrates the extraction of ITSM data from BMC Remedy.
  * Provides batch processing, circuit breaker pattern, and progress reporting.
  *
+ * A full extraction reads the forms one after another, or with {@code remedy.extraction-threads}
+ * above 1 as concurrent tasks that each draw connections from the AR connection pool. Each form
+ * has its own circuit breaker, so a failing form is skipped without holding back the others.
+ *
  * This is the main entry point for data extraction from Remedy.
  */
 @Slf4j
@@ -37,12 +46,12 @@ public class ExtractionOrchestrator {
     private final WorkLogExtractor workLogExtractor;
     private final AttachmentExtractor attachmentExtractor;
 
-    // Circuit breaker state
-    private final AtomicBoolean circuitOpen = new AtomicBoolean(false);
-    private final AtomicInteger consecutiveFailures = new AtomicInteger(0);
+    // Circuit breaker state, per source type
+    private final Map<String, CircuitBreaker> circuits = new ConcurrentHashMap<>();
     private static final int CIRCUIT_BREAKER_THRESHOLD = 5;
     private static final Duration CIRCUIT_RESET_DELAY = Duration.ofMinutes(5);
-    private volatile Instant circuitOpenTime;
+    private static final List<String> SOURCE_TYPES =
+        List.of("Incident", "WorkOrder", "KnowledgeArticle", "ChangeRequest");
 
     // Extraction state
     private final AtomicBoolean extractionInProgress = new AtomicBoolean(false);
@@ -64,7 +73,8 @@ public class ExtractionOrchestrator {
     /**
      * Run full extraction of all source types.
      *
-     * @param progressCallback Optional callback for progress updates
+     * @param progressCallback Optional callback for progress updates; called from several
+     *                         threads when forms are extracted concurrently
      * @return Extraction result summary
      */
     public ExtractionResult extractAll(Consumer<ExtractionProgress> progressCallback) {
@@ -76,29 +86,32 @@ public class ExtractionOrchestrator {
             return ExtractionResult.alreadyRunning();
         }
 
-        if (isCircuitOpen()) {
+        if (SOURCE_TYPES.stream().allMatch(this::isCircuitOpen)) {
             extractionInProgress.set(false);
             return ExtractionResult.circuitOpen();
         }
 
         ExtractionResult.ExtractionResultBuilder result = ExtractionResult.builder();
         Instant startTime = Instant.now();
+        int threads = Math.min(Math.min(config.getExtractionThreads(), config.getPoolSize()), SOURCE_TYPES.size());
 
         try {
-            // Extract each source type
-            result.incidents(extractIncidents(progressCallback));
-            result.workOrders(extractWorkOrders(progressCallback));
-            result.knowledgeArticles(extractKnowledgeArticles(progressCallback));
-            result.changeRequests(extractChangeRequests(progressCallback));
+            if (threads > 1) {
+                extractConcurrently(threads, result, progressCallback);
+            } else {
+                // Extract each source type
+                result.incidents(extractIncidents(progressCallback));
+                result.workOrders(extractWorkOrders(progressCallback));
+                result.knowledgeArticles(extractKnowledgeArticles(progressCallback));
+                result.changeRequests(extractChangeRequests(progressCallback));
+            }
 
             result.success(true);
-            resetCircuitBreaker();
 
         } catch (Exception e) {
             log.error("Extraction failed: {}", e.getMessage(), e);
             result.success(false);
             result.errorMessage(e.getMessage());
-            recordFailure();
         } finally {
             extractionInProgress.set(false);
             result.duration(Duration.between(startTime, Instant.now()));
@@ -107,53 +120,82 @@ public class ExtractionOrchestrator {
         return result.build();
     }
 
+    /**
+     * Run each form, with its work-log lookups, as a task on a bounded executor. A form task
+     * only holds a pooled connection while a page or work-log batch is being fetched.
+     */
+    private void extractConcurrently(int threads, ExtractionResult.ExtractionResultBuilder result,
+                                     Consumer<ExtractionProgress> progressCallback) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, threadFactory());
+        try {
+            Future<SourceExtractionResult> incidents = executor.submit(() -> extractIncidents(progressCallback));
+            Future<SourceExtractionResult> workOrders = executor.submit(() -> extractWorkOrders(progressCallback));
+            Future<SourceExtractionResult> articles = executor.submit(() -> extractKnowledgeArticles(progressCallback));
+            Future<SourceExtractionResult> changes = executor.submit(() -> extractChangeRequests(progressCallback));
+
+            result.incidents(incidents.get());
+            result.workOrders(workOrders.get());
+            result.knowledgeArticles(articles.get());
+            result.changeRequests(changes.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Extract incidents with work logs.
+     * Incidents are streamed one page at a time; work logs are fetched per page.
      */
     public SourceExtractionResult extractIncidents(Consumer<ExtractionProgress> progressCallback) {
         return extractWithProgress("Incident", () -> {
-            List<IncidentRecord> incidents = incidentExtractor.extractWithQualification(null);
-
-            // Batch fetch work logs
-            if (!incidents.isEmpty()) {
-                List<String> incidentNumbers = incidents.stream()
-                    .map(IncidentRecord::getIncidentNumber)
-                    .toList();
-
-                Map<String, List<WorkLogEntry>> workLogs =
-                    workLogExtractor.batchExtractIncidentWorkLogs(incidentNumbers);
-
-                for (IncidentRecord incident : incidents) {
-                    incident.setWorkLogs(workLogs.get(incident.getIncidentNumber()));
+            ExtractionCheckpoint end = incidentExtractor.streamWithQualification(null, null, (incidents, checkpoint) -> {
+                // Batch fetch work logs
+                if (!incidents.isEmpty()) {
+                    List<String> incidentNumbers = incidents.stream()
+                        .map(IncidentRecord::getIncidentNumber)
+                        .toList();
+
+                    Map<String, List<WorkLogEntry>> workLogs =
+                        workLogExtractor.batchExtractIncidentWorkLogs(incidentNumbers);
+
+                    for (IncidentRecord incident : incidents) {
+                        incident.setWorkLogs(workLogs.get(incident.getIncidentNumber()));
+                    }
                 }
-            }
+                reportPage("Incident", checkpoint, progressCallback);
+            });
 
-            return new SourceExtractionResult("Incident", incidents.size(), null);
+            return new SourceExtractionResult("Incident", end.recordsExtracted(), null);
         }, progressCallback);
     }
 
     /**
      * Extract work orders.
+     * Work orders are streamed one page at a time; work logs are fetched per page.
      */
     public SourceExtractionResult extractWorkOrders(Consumer<ExtractionProgress> progressCallback) {
         return extractWithProgress("WorkOrder", () -> {
-            List<WorkOrderRecord> workOrders = workOrderExtractor.extractWithQualification(null);
-
-            // Batch fetch work logs
-            if (!workOrders.isEmpty()) {
-                List<String> workOrderIds = workOrders.stream()
-                    .map(WorkOrderRecord::getWorkOrderId)
-                    .toList();
-
-                Map<String, List<WorkLogEntry>> workLogs =
-                    workLogExtractor.batchExtractWorkOrderWorkLogs(workOrderIds);
-
-                for (WorkOrderRecord wo : workOrders) {
-                    wo.setWorkLogs(workLogs.get(wo.getWorkOrderId()));
+            ExtractionCheckpoint end = workOrderExtractor.streamWithQualification(null, null, (workOrders, checkpoint) -> {
+                // Batch fetch work logs
+                if (!workOrders.isEmpty()) {
+                    List<String> workOrderIds = workOrders.stream()
+                        .map(WorkOrderRecord::getWorkOrderId)
+                        .toList();
+
+                    Map<String, List<WorkLogEntry>> workLogs =
+                        workLogExtractor.batchExtractWorkOrderWorkLogs(workOrderIds);
+
+                    for (WorkOrderRecord wo : workOrders) {
+                        wo.setWorkLogs(workLogs.get(wo.getWorkOrderId()));
+                    }
                 }
-            }
+                reportPage("WorkOrder", checkpoint, progressCallback);
+            });
 
-            return new SourceExtractionResult("WorkOrder", workOrders.size(), null);
+            return new SourceExtractionResult("WorkOrder", end.recordsExtracted(), null);
         }, progressCallback);
     }
 
@@ -162,33 +204,36 @@ public class ExtractionOrchestrator {
      */
     public SourceExtractionResult extractKnowledgeArticles(Consumer<ExtractionProgress> progressCallback) {
         return extractWithProgress("KnowledgeArticle", () -> {
-            List<KnowledgeArticle> articles = knowledgeExtractor.extractPublishedArticles(0L);
-            return new SourceExtractionResult("KnowledgeArticle", articles.size(), null);
+            ExtractionCheckpoint end = knowledgeExtractor.streamPublishedArticles(0L, null,
+                (articles, checkpoint) -> reportPage("KnowledgeArticle", checkpoint, progressCallback));
+            return new SourceExtractionResult("KnowledgeArticle", end.recordsExtracted(), null);
         }, progressCallback);
     }
 
     /**
      * Extract change requests.
+     * Change requests are streamed one page at a time; work logs are fetched per page.
      */
     public SourceExtractionResult extractChangeRequests(Consumer<ExtractionProgress> progressCallback) {
         return extractWithProgress("ChangeRequest", () -> {
-            List<ChangeRequestRecord> changes = changeRequestExtractor.extractWithQualification(null);
-
-            // Batch fetch work logs
-            if (!changes.isEmpty()) {
-                List<String> changeIds = changes.stream()
-                    .map(ChangeRequestRecord::getChangeId)
-                    .toList();
-
-                Map<String, List<WorkLogEntry>> workLogs =
-                    workLogExtractor.batchExtractChangeWorkLogs(changeIds);
-
-                for (ChangeRequestRecord cr : changes) {
-                    cr.setWorkLogs(workLogs.get(cr.getChangeId()));
+            ExtractionCheckpoint end = changeRequestExtractor.streamWithQualification(null, null, (changes, checkpoint) -> {
+                // Batch fetch work logs
+                if (!changes.isEmpty()) {
+                    List<String> changeIds = changes.stream()
+                        .map(ChangeRequestRecord::getChangeId)
+                        .toList();
+
+                    Map<String, List<WorkLogEntry>> workLogs =
+                        workLogExtractor.batchExtractChangeWorkLogs(changeIds);
+
+                    for (ChangeRequestRecord cr : changes) {
+                        cr.setWorkLogs(workLogs.get(cr.getChangeId()));
+                    }
                 }
-            }
+                reportPage("ChangeRequest", checkpoint, progressCallback);
+            });
 
-            return new SourceExtractionResult("ChangeRequest", changes.size(), null);
+            return new SourceExtractionResult("ChangeRequest", end.recordsExtracted(), null);
         }, progressCallback);
     }
 
@@ -207,6 +252,7 @@ public class ExtractionOrchestrator {
 
         ExtractionResult.ExtractionResultBuilder result = ExtractionResult.builder();
         Instant startTime = Instant.now();
+        String sourceType = "Incident";
 
         try {
             // Extract modified incidents
@@ -214,25 +260,28 @@ public class ExtractionOrchestrator {
             result.incidents(new SourceExtractionResult("Incident", incidents.size(), null));
 
             // Extract modified work orders
+            sourceType = "WorkOrder";
             List<WorkOrderRecord> workOrders = workOrderExtractor.extractModifiedSince(sinceTimestamp);
             result.workOrders(new SourceExtractionResult("WorkOrder", workOrders.size(), null));
 
             // Extract modified knowledge articles
+            sourceType = "KnowledgeArticle";
             List<KnowledgeArticle> articles = knowledgeExtractor.extractPublishedArticles(sinceTimestamp);
             result.knowledgeArticles(new SourceExtractionResult("KnowledgeArticle", articles.size(), null));
 
             // Extract modified change requests
+            sourceType = "ChangeRequest";
             List<ChangeRequestRecord> changes = changeRequestExtractor.extractModifiedSince(sinceTimestamp);
             result.changeRequests(new SourceExtractionResult("ChangeRequest", changes.size(), null));
 
             result.success(true);
-            resetCircuitBreaker();
+            SOURCE_TYPES.forEach(this::resetCircuitBreaker);
 
         } catch (Exception e) {
-            log.error("Incremental extraction failed: {}", e.getMessage(), e);
+            log.error("Incremental extraction of {} failed: {}", sourceType, e.getMessage(), e);
             result.success(false);
             result.errorMessage(e.getMessage());
-            recordFailure();
+            recordFailure(sourceType);
         } finally {
             extractionInProgress.set(false);
             result.duration(Duration.between(startTime, Instant.now()));
@@ -242,75 +291,122 @@ public class ExtractionOrchestrator {
     }
 
     /**
-     * Extract with progress reporting and error handling.
+     * Extract with progress reporting, error handling and the source type's circuit breaker.
      */
     private SourceExtractionResult extractWithProgress(
             String sourceType,
             ExtractionTask task,
             Consumer<ExtractionProgress> progressCallback) {
 
+        if (isCircuitOpen(sourceType)) {
+            log.warn("Skipping {} extraction, circuit breaker is open", sourceType);
+            if (progressCallback != null) {
+                progressCallback.accept(new ExtractionProgress(sourceType, "FAILED", 0, 0));
+            }
+            return new SourceExtractionResult(sourceType, 0,
+                "Circuit breaker is open - too many consecutive failures", Duration.ZERO);
+        }
+
         if (progressCallback != null) {
             progressCallback.accept(new ExtractionProgress(sourceType, "STARTED", 0, 0));
         }
 
+        Instant startTime = Instant.now();
         try {
             SourceExtractionResult result = task.execute();
+            resetCircuitBreaker(sourceType);
 
             if (progressCallback != null) {
                 progressCallback.accept(new ExtractionProgress(
                     sourceType, "COMPLETED", result.recordCount(), result.recordCount()));
             }
 
-            return result;
+            return new SourceExtractionResult(sourceType, result.recordCount(), result.errorMessage(),
+                Duration.between(startTime, Instant.now()));
 
         } catch (Exception e) {
             log.error("Failed to extract {}: {}", sourceType, e.getMessage(), e);
+            recordFailure(sourceType);
 
             if (progressCallback != null) {
                 progressCallback.accept(new ExtractionProgress(sourceType, "FAILED", 0, 0));
             }
 
-            return new SourceExtractionResult(sourceType, 0, e.getMessage());
+            return new SourceExtractionResult(sourceType, 0, e.getMessage(),
+                Duration.between(startTime, Instant.now()));
+        }
+    }
+
+    /**
+     * Report a streamed page. The total is not known until the last page, so it is reported as 0.
+     */
+    private void reportPage(String sourceType, ExtractionCheckpoint checkpoint,
+                            Consumer<ExtractionProgress> progressCallback) {
+        if (progressCallback != null) {
+            progressCallback.accept(new ExtractionProgress(
+                sourceType, "IN_PROGRESS", checkpoint.recordsExtracted(), 0));
         }
     }
 
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "remedy-extract-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
     // Circuit breaker methods
 
-    private boolean isCircuitOpen() {
-        if (!circuitOpen.get()) {
+    private CircuitBreaker circuit(String sourceType) {
+        return circuits.computeIfAbsent(sourceType, type -> new CircuitBreaker());
+    }
+
+    private boolean isCircuitOpen(String sourceType) {
+        CircuitBreaker circuit = circuit(sourceType);
+        if (!circuit.open) {
             return false;
         }
 
         // Check if enough time has passed to try again
-        if (circuitOpenTime != null &&
-            Duration.between(circuitOpenTime, Instant.now()).compareTo(CIRCUIT_RESET_DELAY) > 0) {
-            log.info("Circuit breaker reset delay elapsed, attempting recovery");
+        if (circuit.openTime != null &&
+            Duration.between(circuit.openTime, Instant.now()).compareTo(CIRCUIT_RESET_DELAY) > 0) {
+            log.info("Circuit breaker reset delay elapsed for {}, attempting recovery", sourceType);
             return false;
         }
 
         return true;
     }
 
-    private void recordFailure() {
-        int failures = consecutiveFailures.incrementAndGet();
+    private void recordFailure(String sourceType) {
+        CircuitBreaker circuit = circuit(sourceType);
+        int failures = circuit.consecutiveFailures.incrementAndGet();
         if (failures >= CIRCUIT_BREAKER_THRESHOLD) {
-            circuitOpen.set(true);
-            circuitOpenTime = Instant.now();
-            log.error("Circuit breaker OPEN after {} consecutive failures", failures);
+            circuit.openTime = Instant.now();
+            circuit.open = true;
+            log.error("Circuit breaker OPEN for {} after {} consecutive failures", sourceType, failures);
         }
     }
 
-    private void resetCircuitBreaker() {
-        if (consecutiveFailures.get() > 0) {
-            consecutiveFailures.set(0);
-            circuitOpen.set(false);
-            circuitOpenTime = null;
-            log.info("Circuit breaker reset after successful extraction");
+    private void resetCircuitBreaker(String sourceType) {
+        CircuitBreaker circuit = circuit(sourceType);
+        if (circuit.consecutiveFailures.get() > 0) {
+            circuit.consecutiveFailures.set(0);
+            circuit.open = false;
+            circuit.openTime = null;
+            log.info("Circuit breaker reset for {} after successful extraction", sourceType);
         }
     }
 
     // Inner types
 
+    private static final class CircuitBreaker {
+        private final AtomicInteger consecutiveFailures = new AtomicInteger(0);
+        private volatile boolean open;
+        private volatile Instant openTime;
+    }
+
     @FunctionalInterface
     private interface ExtractionTask {
         SourceExtractionResult execute();
@@ -332,8 +428,13 @@ public class ExtractionOrchestrator {
     public record SourceExtractionResult(
         String sourceType,
         int recordCount,
-        String errorMessage
+        String errorMessage,
+        Duration duration
     ) {
+        public SourceExtractionResult(String sourceType, int recordCount, String errorMessage) {
+            this(sourceType, recordCount, errorMessage, null);
+        }
+
         public boolean isSuccess() {
             return errorMessage == null;
         }
@@ -0,0 +1,111 @@
+package com.bmc.rag.connector.util;
+
+import com.bmc.arsys.api.Entry;
+import com.bmc.arsys.api.Timestamp;
+import com.bmc.arsys.api.Value;
+
+import java.time.Instant;
+
+/**
+ * Typed accessors for reading field values from a Remedy Entry by field ID.
+ *
+ * Values are read straight from the Entry, without copying it into another map first. Each
+ * accessor checks the value's runtime type before converting, so CHAR, INTEGER/ENUM and TIME
+ * fields are returned without a toString/parse round trip; parsing is only the fallback for
+ * values of an unexpected type.
+ */
+public final class EntryFields {
+
+    private EntryFields() {
+    }
+
+    /**
+     * Get a field as a string.
+     * @param entry The Remedy entry
+     * @param fieldId The numeric field ID
+     * @return The value, or null if missing
+     */
+    public static String getString(Entry entry, int fieldId) {
+        Object raw = raw(entry, fieldId);
+        if (raw == null) {
+            return null;
+        }
+        return raw instanceof String s ? s : raw.toString();
+    }
+
+    /**
+     * Get a field as an integer (INTEGER and selection/ENUM fields).
+     * @param entry The Remedy entry
+     * @param fieldId The numeric field ID
+     * @return The value, or null if missing or not a number
+     */
+    public static Integer getInteger(Entry entry, int fieldId) {
+        Object raw = raw(entry, fieldId);
+        if (raw == null) {
+            return null;
+        }
+        if (raw instanceof Integer i) {
+            return i;
+        }
+        if (raw instanceof Number n) {
+            return n.intValue();
+        }
+        try {
+            return Integer.parseInt(raw.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get a date/time field as an Instant. Remedy stores dates as Unix epoch seconds.
+     * @param entry The Remedy entry
+     * @param fieldId The numeric field ID
+     * @return The value, or null if missing or not a date
+     */
+    public static Instant getInstant(Entry entry, int fieldId) {
+        Object raw = raw(entry, fieldId);
+        if (raw == null) {
+            return null;
+        }
+        long epochSeconds = toEpochSeconds(raw);
+        return epochSeconds != Long.MIN_VALUE ? Instant.ofEpochSecond(epochSeconds) : null;
+    }
+
+    /**
+     * Get a date/time field as epoch seconds, without creating an Instant.
+     * @param entry The Remedy entry
+     * @param fieldId The numeric field ID
+     * @return The value, or 0 if missing or not a date
+     */
+    public static long getEpochSeconds(Entry entry, int fieldId) {
+        Object raw = raw(entry, fieldId);
+        if (raw == null) {
+            return 0L;
+        }
+        long epochSeconds = toEpochSeconds(raw);
+        return epochSeconds != Long.MIN_VALUE ? epochSeconds : 0L;
+    }
+
+    private static Object raw(Entry entry, int fieldId) {
+        Value value = entry.get(fieldId);
+        return value != null ? value.getValue() : null;
+    }
+
+    /**
+     * Epoch seconds of a raw value, Long.MIN_VALUE if it cannot be read as one.
+     */
+    private static long toEpochSeconds(Object raw) {
+        if (raw instanceof Timestamp timestamp) {
+            return timestamp.getValue();
+        }
+        if (raw instanceof Number n) {
+            return n.longValue();
+        }
+        try {
+            return Long.parseLong(raw.toString());
+        } catch (NumberFormatException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+}
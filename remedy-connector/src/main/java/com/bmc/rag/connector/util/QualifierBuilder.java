@@ -43,6 +43,21 @@ public class QualifierBuilder {
         return this;
     }
 
+    /**
+     * Add a keyset condition selecting the rows after (epochSeconds, id) in (date, id) order:
+     * {@code 'date' > t OR ('date' = t AND 'id' > "id")}.
+     * @param dateFieldId The date field ID (first sort key)
+     * @param epochSeconds Date of the last row seen
+     * @param idFieldId The unique character field ID (second sort key, e.g. Request ID)
+     * @param id ID of the last row seen
+     * @return This builder for chaining
+     */
+    public QualifierBuilder after(int dateFieldId, long epochSeconds, int idFieldId, String id) {
+        conditions.add(String.format("('%d' > %d OR ('%d' = %d AND '%d' > \"%s\"))",
+            dateFieldId, epochSeconds, dateFieldId, epochSeconds, idFieldId, escapeValue(id)));
+        return this;
+    }
+
     /**
      * Add a LIKE condition using field ID.
      * @param fieldId The numeric field ID
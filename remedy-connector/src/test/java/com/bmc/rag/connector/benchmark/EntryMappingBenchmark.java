@@ -0,0 +1,190 @@
+package com.bmc.rag.connector.benchmark;
+
+import com.bmc.arsys.api.Entry;
+import com.bmc.arsys.api.Timestamp;
+import com.bmc.arsys.api.Value;
+import com.bmc.rag.connector.model.IncidentRecord;
+import com.bmc.rag.connector.util.EntryFields;
+import com.bmc.rag.connector.util.FieldIdConstants;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of Entry-to-record mapping over synthetic HPD:Help Desk entries: copying each
+ * Entry into a HashMap and converting every value through toString/parse (the previous extractor
+ * code) versus reading the Entry directly with {@link EntryFields}.
+ *
+ * Entries carry the value types the AR API returns: String for character fields, Integer for
+ * selection fields and Timestamp for dates. main() adds the GC profiler, so allocation per
+ * operation is reported alongside the time.
+ *
+ * Run with:
+ * <pre>
+ * mvn -pl remedy-connector -am test-compile
+ * java -cp "remedy-connector/target/test-classes:remedy-connector/target/classes:$(mvn -q -pl remedy-connector \
+ *     dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.bmc.rag.connector.benchmark.EntryMappingBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntryMappingBenchmark {
+
+    @Param({"100000"})
+    public int entries;
+
+    private List<Entry> source;
+
+    @Setup
+    public void setUp() {
+        source = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            source.add(syntheticEntry(i));
+        }
+    }
+
+    @Benchmark
+    public void copyToMap(Blackhole blackhole) {
+        for (Entry entry : source) {
+            blackhole.consume(mapViaCopy(entry));
+        }
+    }
+
+    @Benchmark
+    public void readEntryDirectly(Blackhole blackhole) {
+        for (Entry entry : source) {
+            blackhole.consume(mapDirect(entry));
+        }
+    }
+
+    private static IncidentRecord mapDirect(Entry entry) {
+        return IncidentRecord.builder()
+            .entryId(entry.getEntryId())
+            .incidentNumber(EntryFields.getString(entry, FieldIdConstants.Incident.INCIDENT_NUMBER))
+            .summary(EntryFields.getString(entry, FieldIdConstants.Incident.SUMMARY))
+            .description(EntryFields.getString(entry, FieldIdConstants.Incident.DESCRIPTION))
+            .status(EntryFields.getInteger(entry, FieldIdConstants.STATUS))
+            .urgency(EntryFields.getInteger(entry, FieldIdConstants.Incident.URGENCY))
+            .impact(EntryFields.getInteger(entry, FieldIdConstants.Incident.IMPACT))
+            .priority(EntryFields.getInteger(entry, FieldIdConstants.Incident.PRIORITY))
+            .assignedGroup(EntryFields.getString(entry, FieldIdConstants.Incident.ASSIGNED_GROUP))
+            .submitter(EntryFields.getString(entry, FieldIdConstants.SUBMITTER))
+            .createDate(EntryFields.getInstant(entry, FieldIdConstants.CREATE_DATE))
+            .lastModifiedDate(EntryFields.getInstant(entry, FieldIdConstants.LAST_MODIFIED_DATE))
+            .categoryTier1(EntryFields.getString(entry, FieldIdConstants.Incident.CATEGORY_TIER_1))
+            .categoryTier2(EntryFields.getString(entry, FieldIdConstants.Incident.CATEGORY_TIER_2))
+            .categoryTier3(EntryFields.getString(entry, FieldIdConstants.Incident.CATEGORY_TIER_3))
+            .build();
+    }
+
+    /**
+     * The mapping the extractors used before EntryFields.
+     */
+    private static IncidentRecord mapViaCopy(Entry entry) {
+        Map<Integer, Value> fieldValues = new HashMap<>();
+        for (Map.Entry<Integer, Value> e : entry.entrySet()) {
+            fieldValues.put(e.getKey(), e.getValue());
+        }
+
+        return IncidentRecord.builder()
+            .entryId(entry.getEntryId())
+            .incidentNumber(stringOf(fieldValues, FieldIdConstants.Incident.INCIDENT_NUMBER))
+            .summary(stringOf(fieldValues, FieldIdConstants.Incident.SUMMARY))
+            .description(stringOf(fieldValues, FieldIdConstants.Incident.DESCRIPTION))
+            .status(intOf(fieldValues, FieldIdConstants.STATUS))
+            .urgency(intOf(fieldValues, FieldIdConstants.Incident.URGENCY))
+            .impact(intOf(fieldValues, FieldIdConstants.Incident.IMPACT))
+            .priority(intOf(fieldValues, FieldIdConstants.Incident.PRIORITY))
+            .assignedGroup(stringOf(fieldValues, FieldIdConstants.Incident.ASSIGNED_GROUP))
+            .submitter(stringOf(fieldValues, FieldIdConstants.SUBMITTER))
+            .createDate(instantOf(fieldValues, FieldIdConstants.CREATE_DATE))
+            .lastModifiedDate(instantOf(fieldValues, FieldIdConstants.LAST_MODIFIED_DATE))
+            .categoryTier1(stringOf(fieldValues, FieldIdConstants.Incident.CATEGORY_TIER_1))
+            .categoryTier2(stringOf(fieldValues, FieldIdConstants.Incident.CATEGORY_TIER_2))
+            .categoryTier3(stringOf(fieldValues, FieldIdConstants.Incident.CATEGORY_TIER_3))
+            .build();
+    }
+
+    private static String stringOf(Map<Integer, Value> fields, int fieldId) {
+        Value value = fields.get(fieldId);
+        if (value == null || value.getValue() == null) {
+            return null;
+        }
+        return value.getValue().toString();
+    }
+
+    private static Integer intOf(Map<Integer, Value> fields, int fieldId) {
+        Value value = fields.get(fieldId);
+        if (value == null || value.getValue() == null) {
+            return null;
+        }
+        try {
+            if (value.getValue() instanceof Integer) {
+                return (Integer) value.getValue();
+            }
+            return Integer.parseInt(value.getValue().toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Instant instantOf(Map<Integer, Value> fields, int fieldId) {
+        Value value = fields.get(fieldId);
+        if (value == null || value.getValue() == null) {
+            return null;
+        }
+        try {
+            if (value.getValue() instanceof Timestamp) {
+                return Instant.ofEpochSecond(((Timestamp) value.getValue()).getValue());
+            }
+            return Instant.ofEpochSecond(Long.parseLong(value.getValue().toString()));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static Entry syntheticEntry(int i) {
+        Entry entry = new Entry();
+        entry.setEntryId(String.format("%015d", i));
+        entry.put(FieldIdConstants.REQUEST_ID, new Value(String.format("%015d", i)));
+        entry.put(FieldIdConstants.Incident.INCIDENT_NUMBER, new Value(String.format("INC%012d", i)));
+        entry.put(FieldIdConstants.Incident.SUMMARY, new Value("VPN connection drops every few minutes"));
+        entry.put(FieldIdConstants.Incident.DESCRIPTION,
+            new Value("User reports the VPN client disconnects repeatedly when on the office wifi."));
+        entry.put(FieldIdConstants.STATUS, new Value(i % 7));
+        entry.put(FieldIdConstants.Incident.URGENCY, new Value(1 + i % 4));
+        entry.put(FieldIdConstants.Incident.IMPACT, new Value(1 + i % 4));
+        entry.put(FieldIdConstants.Incident.PRIORITY, new Value(i % 4));
+        entry.put(FieldIdConstants.Incident.ASSIGNED_GROUP, new Value("Network Support"));
+        entry.put(FieldIdConstants.SUBMITTER, new Value("jdoe"));
+        entry.put(FieldIdConstants.CREATE_DATE, new Value(new Timestamp(1700000000L + i)));
+        entry.put(FieldIdConstants.LAST_MODIFIED_DATE, new Value(new Timestamp(1700100000L + i)));
+        entry.put(FieldIdConstants.Incident.CATEGORY_TIER_1, new Value("Network"));
+        entry.put(FieldIdConstants.Incident.CATEGORY_TIER_2, new Value("VPN"));
+        entry.put(FieldIdConstants.Incident.CATEGORY_TIER_3, new Value("Connectivity"));
+        return entry;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(EntryMappingBenchmark.class.getSimpleName())
+            .addProfiler("gc")
+            .build();
+        new Runner(options).run();
+    }
+}
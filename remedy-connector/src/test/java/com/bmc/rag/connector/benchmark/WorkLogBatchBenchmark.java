@@ -0,0 +1,148 @@
+package com.bmc.rag.connector.benchmark;
+
+import com.bmc.arsys.api.ARServerUser;
+import com.bmc.arsys.api.Entry;
+import com.bmc.arsys.api.Value;
+import com.bmc.rag.connector.config.RemedyConnectionConfig;
+import com.bmc.rag.connector.connection.ThreadLocalARContext;
+import com.bmc.rag.connector.extractor.WorkLogExtractor;
+import com.bmc.rag.connector.model.WorkLogEntry;
+import com.bmc.rag.connector.util.FieldIdConstants;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * JMH comparison of batched work-log lookups: one OR qualification over every parent ID versus
+ * bounded slices fetched concurrently.
+ *
+ * The ARServerUser is a Mockito stub that models server time: parsing costs a fixed amount per
+ * OR term and each getListEntryObjects call costs a round trip plus a per-row amount, spent
+ * parked so that concurrent slices overlap as they would on separate connections. The numbers
+ * show the shape of the trade-off, not real Remedy latencies.
+ *
+ * Run with:
+ * <pre>
+ * mvn -pl remedy-connector -am test-compile
+ * java -cp "remedy-connector/target/test-classes:remedy-connector/target/classes:$(mvn -q -pl remedy-connector \
+ *     dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.bmc.rag.connector.benchmark.WorkLogBatchBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WorkLogBatchBenchmark {
+
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long PARSE_NANOS_PER_TERM = TimeUnit.MICROSECONDS.toNanos(20);
+    private static final long NANOS_PER_ROW = TimeUnit.MICROSECONDS.toNanos(5);
+    private static final int LOGS_PER_PARENT = 3;
+    private static final Pattern PARENT_ID = Pattern.compile("\"([^\"]+)\"");
+
+    /**
+     * Parent IDs per lookup, as in one extraction page.
+     */
+    @Param({"2000"})
+    public int parents;
+
+    /**
+     * IDs per OR qualification; equal to {@link #parents} is the unsliced baseline.
+     */
+    @Param({"2000", "500", "100"})
+    public int sliceSize;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private WorkLogExtractor extractor;
+    private List<String> incidentNumbers;
+
+    @Setup
+    public void setUp() throws Exception {
+        RemedyConnectionConfig config = new RemedyConnectionConfig();
+        config.setChunkSize(500);
+        config.setWorkLogSliceSize(sliceSize);
+        config.setWorkLogThreads(threads);
+        config.setPoolSize(threads);
+
+        ThreadLocal<String> lastQualification = new ThreadLocal<>();
+        // stubOnly: no invocation recording, so memory stays flat over millions of calls
+        ARServerUser server = mock(ARServerUser.class, withSettings().stubOnly());
+        when(server.parseQualification(any(), any())).thenAnswer(inv -> {
+            String qualification = inv.getArgument(1);
+            lastQualification.set(qualification);
+            LockSupport.parkNanos(PARSE_NANOS_PER_TERM * qualification.split(" OR ").length);
+            return null;
+        });
+        when(server.getListEntryObjects(any(), any(), anyInt(), anyInt(), any(), any(), anyBoolean(), any()))
+            .thenAnswer(inv -> {
+                List<Entry> matching = matchingEntries(lastQualification.get());
+                int first = inv.getArgument(2);
+                int max = inv.getArgument(3);
+                List<Entry> page = matching.subList(Math.min(first, matching.size()),
+                    Math.min(first + max, matching.size()));
+                LockSupport.parkNanos(ROUND_TRIP_NANOS + NANOS_PER_ROW * page.size());
+                return page;
+            });
+
+        ThreadLocalARContext arContext = mock(ThreadLocalARContext.class, withSettings().stubOnly());
+        when(arContext.executeWithRetry(any())).thenAnswer(inv ->
+            inv.<ThreadLocalARContext.AROperation<?>>getArgument(0).execute(server));
+
+        extractor = new WorkLogExtractor(arContext, config);
+        extractor.start();
+
+        incidentNumbers = new ArrayList<>(parents);
+        for (int i = 0; i < parents; i++) {
+            incidentNumbers.add(String.format("INC%012d", i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        extractor.shutdown();
+    }
+
+    @Benchmark
+    public Map<String, List<WorkLogEntry>> batchExtractIncidentWorkLogs() {
+        return extractor.batchExtractIncidentWorkLogs(incidentNumbers);
+    }
+
+    private static List<Entry> matchingEntries(String qualification) {
+        List<Entry> entries = new ArrayList<>();
+        Matcher parentIds = PARENT_ID.matcher(qualification);
+        while (parentIds.find()) {
+            for (int i = 0; i < LOGS_PER_PARENT; i++) {
+                Entry entry = new Entry();
+                entry.setEntryId(parentIds.group(1) + "-" + i);
+                entry.put(FieldIdConstants.IncidentWorkLog.INCIDENT_NUMBER, new Value(parentIds.group(1)));
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(WorkLogBatchBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
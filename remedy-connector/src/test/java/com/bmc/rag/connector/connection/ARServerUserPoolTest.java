@@ -0,0 +1,181 @@
+package com.bmc.rag.connector.connection;
+
+import com.bmc.arsys.api.ARException;
+import com.bmc.arsys.api.ARServerUser;
+import com.bmc.rag.connector.config.RemedyConnectionConfig;
+import com.bmc.rag.connector.connection.ARServerUserPool.PooledConnection;
+import com.bmc.rag.connector.connection.ThreadLocalARContext.ARConnectionException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ARServerUserPool.
+ */
+class ARServerUserPoolTest {
+
+    private RemedyConnectionConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private List<ARServerUser> created;
+    private ARServerUserPool pool;
+
+    @BeforeEach
+    void setUp() {
+        config = new RemedyConnectionConfig();
+        config.setPoolSize(2);
+        config.setPoolMaxWaitMs(50);
+        config.setPoolIdleTimeoutMs(300000);
+        config.setPoolValidationIntervalMs(30000);
+        meterRegistry = new SimpleMeterRegistry();
+        created = new ArrayList<>();
+        pool = newPool();
+    }
+
+    private ARServerUserPool newPool() {
+        return new ARServerUserPool(config, meterRegistry) {
+            @Override
+            ARServerUser newConnection() {
+                ARServerUser user = mock(ARServerUser.class);
+                created.add(user);
+                return user;
+            }
+        };
+    }
+
+    @Test
+    void borrow_afterRelease_reusesConnection() {
+        // Given
+        PooledConnection first = pool.borrow();
+        pool.release(first);
+
+        // When
+        PooledConnection second = pool.borrow();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(created).hasSize(1);
+    }
+
+    @Test
+    void borrow_poolExhausted_timesOut() {
+        // Given
+        pool.borrow();
+        pool.borrow();
+
+        // When/Then
+        assertThatThrownBy(() -> pool.borrow())
+            .isInstanceOf(ARConnectionException.class)
+            .hasMessageContaining("Timed out");
+        assertThat(meterRegistry.counter("remedy.pool.timeouts").count()).isEqualTo(1.0);
+        assertThat(created).hasSize(2);
+    }
+
+    @Test
+    void borrow_afterInvalidate_createsNewConnection() throws Exception {
+        // Given
+        PooledConnection first = pool.borrow();
+        pool.borrow();
+        pool.invalidate(first);
+
+        // When
+        PooledConnection replacement = pool.borrow();
+
+        // Then
+        assertThat(replacement).isNotSameAs(first);
+        assertThat(created).hasSize(3);
+        verify(first.user()).logout();
+    }
+
+    @Test
+    void borrow_idleConnectionFailsVerification_dropsItAndCreatesNew() throws Exception {
+        // Given - Validate on every borrow
+        config.setPoolValidationIntervalMs(0);
+        PooledConnection stale = pool.borrow();
+        pool.release(stale);
+        doThrow(mock(ARException.class)).when(stale.user()).verifyUser();
+
+        // When
+        PooledConnection connection = pool.borrow();
+
+        // Then
+        assertThat(connection).isNotSameAs(stale);
+        assertThat(pool.getIdleCount()).isZero();
+        verify(stale.user()).logout();
+    }
+
+    @Test
+    void borrow_recentlyUsedConnection_skipsVerification() throws Exception {
+        // Given
+        PooledConnection connection = pool.borrow();
+        pool.release(connection);
+
+        // When
+        pool.borrow();
+
+        // Then
+        verify(connection.user(), never()).verifyUser();
+    }
+
+    @Test
+    void evictIdle_connectionsPastIdleTimeout_logsThemOut() throws Exception {
+        // Given
+        config.setPoolIdleTimeoutMs(1);
+        PooledConnection connection = pool.borrow();
+        pool.release(connection);
+        Thread.sleep(5);
+
+        // When
+        pool.evictIdle();
+
+        // Then
+        assertThat(pool.getIdleCount()).isZero();
+        verify(connection.user()).logout();
+    }
+
+    @Test
+    void evictIdle_recentConnections_keepsThem() {
+        // Given
+        pool.release(pool.borrow());
+
+        // When
+        pool.evictIdle();
+
+        // Then
+        assertThat(pool.getIdleCount()).isEqualTo(1);
+    }
+
+    @Test
+    void gauges_reportActiveIdleAndUtilization() {
+        // Given
+        PooledConnection first = pool.borrow();
+        pool.borrow();
+        pool.release(first);
+
+        // Then
+        assertThat(meterRegistry.get("remedy.pool.active").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("remedy.pool.idle").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("remedy.pool.utilization").gauge().value()).isEqualTo(0.5);
+        assertThat(meterRegistry.get("remedy.pool.wait").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void close_logsOutIdleConnections() throws Exception {
+        // Given
+        PooledConnection connection = pool.borrow();
+        pool.release(connection);
+
+        // When
+        pool.close();
+
+        // Then
+        assertThat(pool.getIdleCount()).isZero();
+        verify(connection.user()).logout();
+    }
+}
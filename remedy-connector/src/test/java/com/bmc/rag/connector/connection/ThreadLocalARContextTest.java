@@ -1,6 +1,9 @@
 package com.bmc.rag.connector.connection;
 
+import com.bmc.arsys.api.ARException;
+import com.bmc.arsys.api.ARServerUser;
 import com.bmc.rag.connector.config.RemedyConnectionConfig;
+import com.bmc.rag.connector.connection.ARServerUserPool.PooledConnection;
 import com.bmc.rag.connector.connection.ThreadLocalARContext.ARConnectionException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +20,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 /**
@@ -29,8 +33,20 @@ class ThreadLocalARContextTest {
     @Mock
     private RemedyConnectionConfig mockConfig;
 
+    @Mock
+    private ARServerUserPool mockPool;
+
+    @Mock
+    private ARServerUser mockUser;
+
     private ThreadLocalARContext context;
 
+    private static ARException arException(String message) {
+        ARException exception = mock(ARException.class);
+        when(exception.getMessage()).thenReturn(message);
+        return exception;
+    }
+
     @BeforeEach
     void setUp() {
         when(mockConfig.isEnabled()).thenReturn(true);
@@ -43,7 +59,7 @@ class ThreadLocalARContextTest {
         when(mockConfig.getRetryAttempts()).thenReturn(3);
         when(mockConfig.getRetryDelayMs()).thenReturn(100L);
 
-        context = new ThreadLocalARContext(mockConfig);
+        context = new ThreadLocalARContext(mockConfig, mockPool);
     }
 
     @Test
@@ -68,7 +84,7 @@ class ThreadLocalARContextTest {
     void getContext_disabledRemedy_throwsException() {
         // Given
         when(mockConfig.isEnabled()).thenReturn(false);
-        ThreadLocalARContext disabledContext = new ThreadLocalARContext(mockConfig);
+        ThreadLocalARContext disabledContext = new ThreadLocalARContext(mockConfig, mockPool);
 
         // When/Then
         assertThatThrownBy(() -> disabledContext.getContext())
@@ -77,7 +93,10 @@ class ThreadLocalARContextTest {
     }
 
     @Test
-    void verifyConnection_noContext_returnsFalse() {
+    void verifyConnection_poolCannotConnect_returnsFalse() {
+        // Given
+        when(mockPool.borrow()).thenThrow(new ARConnectionException("Failed to connect to Remedy server"));
+
         // When
         boolean result = context.verifyConnection();
 
@@ -85,6 +104,108 @@ class ThreadLocalARContextTest {
         assertThat(result).isFalse();
     }
 
+    @Test
+    void verifyConnection_verifiedConnection_returnsTrueAndReleases() throws Exception {
+        // Given
+        PooledConnection connection = new PooledConnection(mockUser);
+        when(mockPool.borrow()).thenReturn(connection);
+
+        // When
+        boolean result = context.verifyConnection();
+
+        // Then
+        assertThat(result).isTrue();
+        verify(mockUser).verifyUser();
+        verify(mockPool).release(connection);
+    }
+
+    @Test
+    void executeWithRetry_success_borrowsAndReleasesConnection() {
+        // Given
+        PooledConnection connection = new PooledConnection(mockUser);
+        when(mockPool.borrow()).thenReturn(connection);
+
+        // When
+        String result = context.executeWithRetry(ctx -> ctx == mockUser ? "ok" : "wrong connection");
+
+        // Then
+        assertThat(result).isEqualTo("ok");
+        verify(mockPool).release(connection);
+        verify(mockPool, never()).invalidate(any());
+    }
+
+    @Test
+    void executeWithRetry_nestedCall_reusesOuterConnection() {
+        // Given
+        PooledConnection connection = new PooledConnection(mockUser);
+        when(mockPool.borrow()).thenReturn(connection);
+
+        // When
+        String result = context.executeWithRetry(outer ->
+            context.executeWithRetry(inner -> inner == outer ? "same" : "different"));
+
+        // Then
+        assertThat(result).isEqualTo("same");
+        verify(mockPool, times(1)).borrow();
+        verify(mockPool, times(1)).release(connection);
+    }
+
+    @Test
+    void executeWithRetry_connectionError_invalidatesAndRetriesOnNewConnection() {
+        // Given
+        ARServerUser secondUser = mock(ARServerUser.class);
+        PooledConnection broken = new PooledConnection(mockUser);
+        PooledConnection fresh = new PooledConnection(secondUser);
+        when(mockPool.borrow()).thenReturn(broken, fresh);
+        when(mockConfig.getRetryDelayMs()).thenReturn(1L);
+        ARException timeout = arException("ARERR 92 RPC timeout");
+
+        // When
+        String result = context.executeWithRetry(ctx -> {
+            if (ctx == mockUser) {
+                throw timeout;
+            }
+            return "recovered";
+        });
+
+        // Then
+        assertThat(result).isEqualTo("recovered");
+        verify(mockPool).invalidate(broken);
+        verify(mockPool).release(fresh);
+    }
+
+    @Test
+    void executeWithRetry_nonConnectionError_releasesConnectionWithoutRetry() {
+        // Given
+        PooledConnection connection = new PooledConnection(mockUser);
+        when(mockPool.borrow()).thenReturn(connection);
+        ARException notFound = arException("ARERR 302 Entry does not exist");
+
+        // When/Then
+        assertThatThrownBy(() -> context.executeWithRetry(ctx -> {
+            throw notFound;
+        })).isInstanceOf(ARConnectionException.class);
+        verify(mockPool, times(1)).borrow();
+        verify(mockPool).release(connection);
+    }
+
+    @Test
+    void getContext_pinsConnectionUntilCloseContext() {
+        // Given
+        PooledConnection connection = new PooledConnection(mockUser);
+        when(mockPool.borrow()).thenReturn(connection);
+
+        // When
+        ARServerUser first = context.getContext();
+        String result = context.executeWithRetry(ctx -> ctx == first ? "pinned" : "borrowed");
+
+        // Then - The pinned connection is used and only returned by closeContext
+        assertThat(result).isEqualTo("pinned");
+        verify(mockPool, never()).release(any());
+        context.closeContext();
+        verify(mockPool).release(connection);
+    }
+
     @Test
     void closeContext_noExistingContext_doesNotThrow() {
         // When/Then - Should not throw
@@ -129,7 +250,7 @@ class ThreadLocalARContextTest {
     void executeWithRetry_disabledRemedy_throwsException() {
         // Given
         when(mockConfig.isEnabled()).thenReturn(false);
-        ThreadLocalARContext disabledContext = new ThreadLocalARContext(mockConfig);
+        ThreadLocalARContext disabledContext = new ThreadLocalARContext(mockConfig, mockPool);
 
         // When/Then
         assertThatThrownBy(() -> disabledContext.executeWithRetry(ctx -> "result"))
@@ -229,7 +350,7 @@ class ThreadLocalARContextTest {
     void executeWithRetry_nonConnectionError_doesNotRetry() {
         // Verify that executeWithRetry exists and throws correctly when disabled
         when(mockConfig.isEnabled()).thenReturn(false);
-        ThreadLocalARContext disabledContext = new ThreadLocalARContext(mockConfig);
+        ThreadLocalARContext disabledContext = new ThreadLocalARContext(mockConfig, mockPool);
 
         assertThatThrownBy(() -> disabledContext.executeWithRetry(ctx -> "result"))
             .isInstanceOf(ARConnectionException.class);
@@ -249,7 +370,7 @@ class ThreadLocalARContextTest {
         // Given
         when(mockConfig.getAuthString()).thenReturn("auth-token-123");
 
-        ThreadLocalARContext contextWithAuth = new ThreadLocalARContext(mockConfig);
+        ThreadLocalARContext contextWithAuth = new ThreadLocalARContext(mockConfig, mockPool);
 
         // Then
         assertThat(contextWithAuth.isEnabled()).isTrue();
@@ -260,7 +381,7 @@ class ThreadLocalARContextTest {
         // Given
         when(mockConfig.getAuthString()).thenReturn(null);
 
-        ThreadLocalARContext contextNoAuth = new ThreadLocalARContext(mockConfig);
+        ThreadLocalARContext contextNoAuth = new ThreadLocalARContext(mockConfig, mockPool);
 
         // Then
         assertThat(contextNoAuth.isEnabled()).isTrue();
@@ -271,7 +392,7 @@ class ThreadLocalARContextTest {
         // Given
         when(mockConfig.getAuthString()).thenReturn("");
 
-        ThreadLocalARContext contextEmptyAuth = new ThreadLocalARContext(mockConfig);
+        ThreadLocalARContext contextEmptyAuth = new ThreadLocalARContext(mockConfig, mockPool);
 
         // Then
         assertThat(contextEmptyAuth.isEnabled()).isTrue();
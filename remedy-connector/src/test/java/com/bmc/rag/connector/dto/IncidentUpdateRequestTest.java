@@ -176,6 +176,14 @@ class IncidentUpdateRequestTest {
         assertThat(request.getStatusLabel()).isEqualTo("Unknown");
     }
 
+    @Test
+    void statusLabel_static_matchesInstanceLabel() {
+        // Then
+        assertThat(IncidentUpdateRequest.statusLabel(4)).isEqualTo("Resolved");
+        assertThat(IncidentUpdateRequest.statusLabel(99)).isEqualTo("Unknown");
+        assertThat(IncidentUpdateRequest.statusLabel(null)).isNull();
+    }
+
     @Test
     void getImpactLabel_allImpacts_returnsCorrectLabels() {
         // Given/When/Then
@@ -1,5 +1,6 @@
 package com.bmc.rag.connector.extractor;
 
+import com.bmc.arsys.api.ARServerUser;
 import com.bmc.arsys.api.Entry;
 import com.bmc.arsys.api.Timestamp;
 import com.bmc.arsys.api.Value;
@@ -20,6 +21,7 @@ import java.time.Instant;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -197,6 +199,59 @@ class IncidentExtractorTest {
         assertThat(results).doesNotContain("INC999999");
     }
 
+    @Test
+    void extractByIncidentNumber_detailView_fetchesOnlyDetailFields() throws Exception {
+        // Given
+        ARServerUser ctx = mock(ARServerUser.class);
+        Entry entry = entry("000000000000001", "INC000001", 1700000100L);
+        entry.put(FieldIdConstants.Incident.SUMMARY, new Value("VPN Issue"));
+        when(ctx.getListEntryObjects(any(), any(), anyInt(), anyInt(), any(), any(), anyBoolean(), any()))
+            .thenReturn(List.of(entry));
+        when(mockArContext.executeWithRetry(any())).thenAnswer(inv ->
+            inv.<ThreadLocalARContext.AROperation<?>>getArgument(0).execute(ctx));
+
+        // When
+        Optional<IncidentRecord> result =
+            incidentExtractor.extractByIncidentNumber("INC000001", IncidentProjection.DETAIL_VIEW);
+
+        // Then - One round trip for at most one row, without the sync-only fields
+        assertThat(result).isPresent();
+        assertThat(result.get().getSummary()).isEqualTo("VPN Issue");
+        assertThat(result.get().getLastModifiedDate()).isEqualTo(Instant.ofEpochSecond(1700000100L));
+        verify(ctx).getListEntryObjects(eq(FieldIdConstants.Incident.FORM_NAME), any(), eq(0), eq(1), any(),
+            eq(IncidentProjection.DETAIL_VIEW.fieldIds()), anyBoolean(), any());
+        assertThat(IncidentProjection.DETAIL_VIEW.fieldIds())
+            .doesNotContain(FieldIdConstants.Incident.ASSIGNED_SUPPORT_ORG, FieldIdConstants.Incident.PRODUCT_TIER_1);
+    }
+
+    @Test
+    void extractByIncidentNumber_keyProjection_throws() {
+        // When/Then
+        assertThatThrownBy(() -> incidentExtractor.extractByIncidentNumber("INC000001", IncidentProjection.EXISTENCE))
+            .isInstanceOf(IllegalArgumentException.class);
+        verify(mockArContext, never()).executeWithRetry(any());
+    }
+
+    @Test
+    void checkExistence_fetchesOnlyIncidentNumber() throws Exception {
+        // Given
+        ARServerUser ctx = mock(ARServerUser.class);
+        when(ctx.getListEntryObjects(any(), any(), anyInt(), anyInt(), any(), any(), anyBoolean(), any()))
+            .thenReturn(List.of(entry("000000000000001", "INC000001", 1700000100L)));
+        when(mockArContext.executeWithRetry(any())).thenAnswer(inv ->
+            inv.<ThreadLocalARContext.AROperation<?>>getArgument(0).execute(ctx));
+
+        // When
+        Set<String> results = incidentExtractor.checkExistence(List.of("INC000001", "INC000002"));
+
+        // Then
+        assertThat(results).containsExactly("INC000001");
+        verify(ctx).parseQualification(FieldIdConstants.Incident.FORM_NAME,
+            "('1000000161' = \"INC000001\" OR '1000000161' = \"INC000002\")");
+        verify(ctx).getListEntryObjects(eq(FieldIdConstants.Incident.FORM_NAME), any(), eq(0), eq(2), any(),
+            eq(new int[] {FieldIdConstants.Incident.INCIDENT_NUMBER}), anyBoolean(), any());
+    }
+
     @Test
     void checkExistence_emptyList_returnsEmptySet() {
         // When
@@ -227,4 +282,117 @@ class IncidentExtractorTest {
         assertThat(count).isEqualTo(42);
     }
 
+    @Test
+    void streamWithQualification_multiplePages_pagesByRequestIdAndAdvancesCheckpoint() throws Exception {
+        // Given - Page size 2: a full page, then a short last page
+        when(mockConfig.getChunkSize()).thenReturn(2);
+        ARServerUser ctx = mock(ARServerUser.class);
+        when(ctx.getListEntryObjects(any(), any(), anyInt(), anyInt(), any(), any(), anyBoolean(), any()))
+            .thenReturn(
+                List.of(entry("000000000000001", "INC000001", 1700000100L), entry("000000000000002", "INC000002", 1700000300L)),
+                List.of(entry("000000000000003", "INC000003", 1700000400L)));
+        when(mockArContext.executeWithRetry(any())).thenAnswer(inv ->
+            inv.<ThreadLocalARContext.AROperation<?>>getArgument(0).execute(ctx));
+        List<List<IncidentRecord>> pages = new ArrayList<>();
+        List<ExtractionCheckpoint> checkpoints = new ArrayList<>();
+
+        // When
+        ExtractionCheckpoint end = incidentExtractor.streamWithQualification(null, null, (page, checkpoint) -> {
+            pages.add(page);
+            checkpoints.add(checkpoint);
+        });
+
+        // Then - Each page is fetched from offset 0 after the (Last Modified Date, Request ID) of the previous one
+        assertThat(pages).hasSize(2);
+        assertThat(pages.get(0)).extracting(IncidentRecord::getIncidentNumber).containsExactly("INC000001", "INC000002");
+        assertThat(checkpoints.get(0)).isEqualTo(new ExtractionCheckpoint("000000000000002", 1700000300L, 2));
+        assertThat(end).isEqualTo(new ExtractionCheckpoint("000000000000003", 1700000400L, 3));
+        verify(ctx).parseQualification(FieldIdConstants.Incident.FORM_NAME,
+            "('6' > 1700000300 OR ('6' = 1700000300 AND '1' > \"000000000000002\"))");
+        verify(ctx, times(2)).getListEntryObjects(any(), any(), eq(0), eq(2), any(), any(), anyBoolean(), any());
+    }
+
+    @Test
+    void streamModifiedSince_resumeFromCheckpoint_continuesAfterLastEntry() throws Exception {
+        // Given
+        ARServerUser ctx = mock(ARServerUser.class);
+        when(ctx.getListEntryObjects(any(), any(), anyInt(), anyInt(), any(), any(), anyBoolean(), any()))
+            .thenReturn(List.of(entry("000000000000042", "INC000042", 1700000500L)));
+        when(mockArContext.executeWithRetry(any())).thenAnswer(inv ->
+            inv.<ThreadLocalARContext.AROperation<?>>getArgument(0).execute(ctx));
+        ExtractionCheckpoint resumeFrom = new ExtractionCheckpoint("000000000000041", 1700000400L, 41);
+
+        // When
+        ExtractionCheckpoint end = incidentExtractor.streamModifiedSince(1672531200L, resumeFrom, (page, checkpoint) -> { });
+
+        // Then - The incremental filter is kept and the count carries over
+        verify(ctx).parseQualification(eq(FieldIdConstants.Incident.FORM_NAME),
+            argThat(q -> q.startsWith("('6' > 1700000400 OR ('6' = 1700000400 AND '1' > \"000000000000041\")) AND (")
+                && q.contains("1672531200")));
+        assertThat(end).isEqualTo(new ExtractionCheckpoint("000000000000042", 1700000500L, 42));
+    }
+
+    @Test
+    void extractWithQualification_keysetPaging_sortsByLastModifiedAndRequestId() throws Exception {
+        // Given
+        when(mockConfig.isKeysetPaging()).thenReturn(true);
+        ARServerUser ctx = mock(ARServerUser.class);
+        when(ctx.getListEntryObjects(any(), any(), anyInt(), anyInt(), any(), any(), anyBoolean(), any()))
+            .thenReturn(List.of(entry("000000000000001", "INC000001", 1700000100L)));
+        when(mockArContext.executeWithRetry(any())).thenAnswer(inv ->
+            inv.<ThreadLocalARContext.AROperation<?>>getArgument(0).execute(ctx));
+
+        // When
+        List<IncidentRecord> results = incidentExtractor.extractWithQualification("'7' = 4");
+
+        // Then
+        assertThat(results).extracting(IncidentRecord::getIncidentNumber).containsExactly("INC000001");
+        verify(ctx).getListEntryObjects(eq(FieldIdConstants.Incident.FORM_NAME), any(), eq(0), eq(500),
+            argThat(sort -> sort.size() == 2
+                && sort.get(0).getFieldId() == FieldIdConstants.LAST_MODIFIED_DATE
+                && sort.get(1).getFieldId() == FieldIdConstants.REQUEST_ID),
+            any(), anyBoolean(), any());
+    }
+
+    @Test
+    void pollChanges_afterCheckpoint_fetchesOnlyKeysInKeysetOrder() throws Exception {
+        // Given
+        ARServerUser ctx = mock(ARServerUser.class);
+        when(ctx.getListEntryObjects(any(), any(), anyInt(), anyInt(), any(), any(), anyBoolean(), any()))
+            .thenReturn(List.of(entry("000000000000042", "INC000042", 1700000500L)));
+        when(mockArContext.executeWithRetry(any())).thenAnswer(inv ->
+            inv.<ThreadLocalARContext.AROperation<?>>getArgument(0).execute(ctx));
+
+        // When
+        List<ChangedEntry> changes = incidentExtractor.pollChanges(
+            new ExtractionCheckpoint("000000000000041", 1700000400L, 0), 100);
+
+        // Then
+        assertThat(changes).containsExactly(new ChangedEntry("000000000000042", 1700000500L));
+        verify(ctx).parseQualification(FieldIdConstants.Incident.FORM_NAME,
+            "('6' > 1700000400 OR ('6' = 1700000400 AND '1' > \"000000000000041\"))");
+        verify(ctx).getListEntryObjects(eq(FieldIdConstants.Incident.FORM_NAME), any(), eq(0), eq(100),
+            argThat(sort -> sort.get(0).getFieldId() == FieldIdConstants.LAST_MODIFIED_DATE),
+            eq(new int[] {FieldIdConstants.REQUEST_ID, FieldIdConstants.LAST_MODIFIED_DATE}),
+            anyBoolean(), any());
+    }
+
+    @Test
+    void extractByRequestIds_emptyList_returnsEmptyWithoutQuery() {
+        // When
+        List<IncidentRecord> results = incidentExtractor.extractByRequestIds(List.of());
+
+        // Then
+        assertThat(results).isEmpty();
+        verify(mockArContext, never()).executeWithRetry(any());
+    }
+
+    private static Entry entry(String requestId, String incidentNumber, long lastModified) {
+        Entry entry = new Entry();
+        entry.setEntryId(requestId);
+        entry.put(FieldIdConstants.Incident.INCIDENT_NUMBER, new Value(incidentNumber));
+        entry.put(FieldIdConstants.LAST_MODIFIED_DATE, new Value(new Timestamp(lastModified)));
+        return entry;
+    }
+
 }
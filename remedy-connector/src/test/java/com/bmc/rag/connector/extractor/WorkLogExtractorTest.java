@@ -1,11 +1,17 @@
 package com.bmc.rag.connector.extractor;
 
+import com.bmc.arsys.api.ARServerUser;
+import com.bmc.arsys.api.Entry;
+import com.bmc.arsys.api.SortInfo;
+import com.bmc.arsys.api.Value;
 import com.bmc.rag.connector.config.RemedyConnectionConfig;
 import com.bmc.rag.connector.connection.ThreadLocalARContext;
 import com.bmc.rag.connector.model.WorkLogEntry;
+import com.bmc.rag.connector.util.FieldIdConstants;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -13,6 +19,8 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -37,6 +45,7 @@ class WorkLogExtractorTest {
     @BeforeEach
     void setUp() {
         when(mockConfig.getChunkSize()).thenReturn(500);
+        when(mockConfig.getWorkLogSliceSize()).thenReturn(100);
     }
 
     @Test
@@ -272,6 +281,30 @@ class WorkLogExtractorTest {
         assertThat(results).hasSize(3);
     }
 
+    @Test
+    void extractIncidentWorkLogs_pagesSortedByRequestId() throws Exception {
+        // Given - Two pages of two and one work logs
+        when(mockConfig.getChunkSize()).thenReturn(2);
+        ARServerUser ctx = mock(ARServerUser.class);
+        when(ctx.getListEntryObjects(any(), any(), anyInt(), anyInt(), any(), any(), anyBoolean(), any()))
+            .thenReturn(List.of(workLogEntry("WL001"), workLogEntry("WL002")), List.of(workLogEntry("WL003")));
+        when(mockArContext.executeWithRetry(any())).thenAnswer(inv ->
+            inv.<ThreadLocalARContext.AROperation<?>>getArgument(0).execute(ctx));
+
+        // When
+        List<WorkLogEntry> results = workLogExtractor.extractIncidentWorkLogs("INC000001");
+
+        // Then - Every page is read in the same total order
+        assertThat(results).hasSize(3);
+        ArgumentCaptor<List<SortInfo>> sorts = ArgumentCaptor.forClass(List.class);
+        verify(ctx).getListEntryObjects(any(), any(), eq(0), eq(2), sorts.capture(), any(), anyBoolean(), any());
+        verify(ctx).getListEntryObjects(any(), any(), eq(2), eq(2), sorts.capture(), any(), anyBoolean(), any());
+        assertThat(sorts.getAllValues()).allSatisfy(sort -> {
+            assertThat(sort).hasSize(1);
+            assertThat(sort.get(0).getFieldId()).isEqualTo(FieldIdConstants.REQUEST_ID);
+        });
+    }
+
     @Test
     void constructor_createsInstance() {
         // Then
@@ -314,4 +347,85 @@ class WorkLogExtractorTest {
         assertThat(results).isEmpty();
     }
 
+    @Test
+    void batchExtractIncidentWorkLogs_moreIdsThanSliceSize_queriesEachSlice() throws Exception {
+        // Given
+        when(mockConfig.getWorkLogSliceSize()).thenReturn(2);
+        List<String> qualifications = stubWorkLogServer();
+        List<String> incidentNumbers = List.of("INC000001", "INC000002", "INC000003", "INC000004", "INC000005");
+
+        // When
+        Map<String, List<WorkLogEntry>> results = workLogExtractor.batchExtractIncidentWorkLogs(incidentNumbers);
+
+        // Then - Three qualifications of at most two terms, merged back per incident
+        assertThat(qualifications).hasSize(3);
+        assertThat(qualifications).allSatisfy(q -> assertThat(q.split(" OR ")).hasSizeLessThanOrEqualTo(2));
+        assertThat(results).hasSize(5);
+        incidentNumbers.forEach(number ->
+            assertThat(results.get(number)).extracting(WorkLogEntry::getParentId).containsExactly(number));
+    }
+
+    @Test
+    void batchExtractIncidentWorkLogs_concurrentSlices_mergesAllParents() throws Exception {
+        // Given
+        when(mockConfig.getWorkLogSliceSize()).thenReturn(10);
+        when(mockConfig.getWorkLogThreads()).thenReturn(4);
+        when(mockConfig.getPoolSize()).thenReturn(5);
+        List<String> qualifications = stubWorkLogServer();
+        List<String> incidentNumbers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            incidentNumbers.add(String.format("INC%06d", i));
+        }
+        workLogExtractor.start();
+
+        try {
+            // When
+            Map<String, List<WorkLogEntry>> results = workLogExtractor.batchExtractIncidentWorkLogs(incidentNumbers);
+
+            // Then
+            assertThat(qualifications).hasSize(10);
+            assertThat(results).hasSize(100);
+            incidentNumbers.forEach(number ->
+                assertThat(results.get(number)).extracting(WorkLogEntry::getParentId).containsExactly(number));
+        } finally {
+            workLogExtractor.shutdown();
+        }
+    }
+
+    private static Entry workLogEntry(String workLogId) {
+        Entry entry = new Entry();
+        entry.setEntryId(workLogId);
+        entry.put(FieldIdConstants.IncidentWorkLog.INCIDENT_NUMBER, new Value("INC000001"));
+        return entry;
+    }
+
+    /**
+     * Run operations against a mocked server that returns one work log per parent ID in the
+     * qualification. Returns the qualifications it was asked to parse.
+     */
+    private List<String> stubWorkLogServer() throws Exception {
+        List<String> qualifications = Collections.synchronizedList(new ArrayList<>());
+        ThreadLocal<String> lastQualification = new ThreadLocal<>();
+        ARServerUser ctx = mock(ARServerUser.class);
+        when(ctx.parseQualification(any(), any())).thenAnswer(inv -> {
+            qualifications.add(inv.getArgument(1));
+            lastQualification.set(inv.getArgument(1));
+            return null;
+        });
+        when(ctx.getListEntryObjects(any(), any(), anyInt(), anyInt(), any(), any(), anyBoolean(), any()))
+            .thenAnswer(inv -> {
+                List<Entry> entries = new ArrayList<>();
+                Matcher parentIds = Pattern.compile("\"([^\"]+)\"").matcher(lastQualification.get());
+                while (parentIds.find()) {
+                    Entry entry = new Entry();
+                    entry.setEntryId("WL-" + parentIds.group(1));
+                    entry.put(FieldIdConstants.IncidentWorkLog.INCIDENT_NUMBER, new Value(parentIds.group(1)));
+                    entries.add(entry);
+                }
+                return entries;
+            });
+        when(mockArContext.executeWithRetry(any())).thenAnswer(inv ->
+            inv.<ThreadLocalARContext.AROperation<?>>getArgument(0).execute(ctx));
+        return qualifications;
+    }
 }
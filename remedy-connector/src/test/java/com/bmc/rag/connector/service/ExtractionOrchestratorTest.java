@@ -14,10 +14,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.mockito.stubbing.Answer;
 
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -102,10 +104,10 @@ class ExtractionOrchestratorTest {
     @Test
     void extractAll_validData_extractsAllSources() {
         // Given
-        when(mockIncidentExtractor.extractWithQualification(any())).thenReturn(Collections.emptyList());
-        when(mockWorkOrderExtractor.extractWithQualification(any())).thenReturn(Collections.emptyList());
-        when(mockKnowledgeExtractor.extractPublishedArticles(anyLong())).thenReturn(Collections.emptyList());
-        when(mockChangeRequestExtractor.extractWithQualification(any())).thenReturn(Collections.emptyList());
+        when(mockIncidentExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+        when(mockWorkOrderExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+        when(mockKnowledgeExtractor.streamPublishedArticles(anyLong(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+        when(mockChangeRequestExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
         when(mockWorkLogExtractor.batchExtractIncidentWorkLogs(any())).thenReturn(Collections.emptyMap());
         when(mockWorkLogExtractor.batchExtractWorkOrderWorkLogs(any())).thenReturn(Collections.emptyMap());
         when(mockWorkLogExtractor.batchExtractChangeWorkLogs(any())).thenReturn(Collections.emptyMap());
@@ -126,10 +128,10 @@ class ExtractionOrchestratorTest {
     void extractAll_withProgressCallback_invokesCallback() {
         // Given
         List<ExtractionOrchestrator.ExtractionProgress> progressUpdates = new ArrayList<>();
-        when(mockIncidentExtractor.extractWithQualification(any())).thenReturn(Collections.emptyList());
-        when(mockWorkOrderExtractor.extractWithQualification(any())).thenReturn(Collections.emptyList());
-        when(mockKnowledgeExtractor.extractPublishedArticles(anyLong())).thenReturn(Collections.emptyList());
-        when(mockChangeRequestExtractor.extractWithQualification(any())).thenReturn(Collections.emptyList());
+        when(mockIncidentExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+        when(mockWorkOrderExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+        when(mockKnowledgeExtractor.streamPublishedArticles(anyLong(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+        when(mockChangeRequestExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
         when(mockWorkLogExtractor.batchExtractIncidentWorkLogs(any())).thenReturn(Collections.emptyMap());
         when(mockWorkLogExtractor.batchExtractWorkOrderWorkLogs(any())).thenReturn(Collections.emptyMap());
         when(mockWorkLogExtractor.batchExtractChangeWorkLogs(any())).thenReturn(Collections.emptyMap());
@@ -146,7 +148,7 @@ class ExtractionOrchestratorTest {
     void extractIncidents_validData_returnsResult() {
         // Given
         IncidentRecord incident = IncidentRecord.builder().incidentNumber("INC000001").build();
-        when(mockIncidentExtractor.extractWithQualification(any())).thenReturn(List.of(incident));
+        when(mockIncidentExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(List.of(incident)));
         when(mockWorkLogExtractor.batchExtractIncidentWorkLogs(any())).thenReturn(Collections.emptyMap());
 
         // When
@@ -165,7 +167,7 @@ class ExtractionOrchestratorTest {
         IncidentRecord incident = IncidentRecord.builder().incidentNumber("INC000001").build();
         WorkLogEntry workLog = WorkLogEntry.builder().workLogId("WL001").parentId("INC000001").build();
 
-        when(mockIncidentExtractor.extractWithQualification(any())).thenReturn(List.of(incident));
+        when(mockIncidentExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(List.of(incident)));
         when(mockWorkLogExtractor.batchExtractIncidentWorkLogs(any())).thenReturn(
             Map.of("INC000001", List.of(workLog))
         );
@@ -183,7 +185,7 @@ class ExtractionOrchestratorTest {
     void extractWorkOrders_validData_returnsResult() {
         // Given
         WorkOrderRecord workOrder = WorkOrderRecord.builder().workOrderId("WO0000001").build();
-        when(mockWorkOrderExtractor.extractWithQualification(any())).thenReturn(List.of(workOrder));
+        when(mockWorkOrderExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(List.of(workOrder)));
         when(mockWorkLogExtractor.batchExtractWorkOrderWorkLogs(any())).thenReturn(Collections.emptyMap());
 
         // When
@@ -199,7 +201,7 @@ class ExtractionOrchestratorTest {
     void extractKnowledgeArticles_validData_returnsResult() {
         // Given
         KnowledgeArticle article = KnowledgeArticle.builder().articleId("KA000001").build();
-        when(mockKnowledgeExtractor.extractPublishedArticles(anyLong())).thenReturn(List.of(article));
+        when(mockKnowledgeExtractor.streamPublishedArticles(anyLong(), any(), any())).thenAnswer(streamPages(List.of(article)));
 
         // When
         ExtractionOrchestrator.SourceExtractionResult result = extractionOrchestrator.extractKnowledgeArticles(null);
@@ -214,7 +216,7 @@ class ExtractionOrchestratorTest {
     void extractChangeRequests_validData_returnsResult() {
         // Given
         ChangeRequestRecord change = ChangeRequestRecord.builder().changeId("CHG0000001").build();
-        when(mockChangeRequestExtractor.extractWithQualification(any())).thenReturn(List.of(change));
+        when(mockChangeRequestExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(List.of(change)));
         when(mockWorkLogExtractor.batchExtractChangeWorkLogs(any())).thenReturn(Collections.emptyMap());
 
         // When
@@ -262,11 +264,11 @@ class ExtractionOrchestratorTest {
     @Test
     void extractAll_extractorException_continuesWithOtherSources() {
         // Given - One extractor throws exception
-        when(mockIncidentExtractor.extractWithQualification(any()))
+        when(mockIncidentExtractor.streamWithQualification(any(), any(), any()))
             .thenThrow(new RuntimeException("Extraction failed"));
-        when(mockWorkOrderExtractor.extractWithQualification(any())).thenReturn(Collections.emptyList());
-        when(mockKnowledgeExtractor.extractPublishedArticles(anyLong())).thenReturn(Collections.emptyList());
-        when(mockChangeRequestExtractor.extractWithQualification(any())).thenReturn(Collections.emptyList());
+        when(mockWorkOrderExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+        when(mockKnowledgeExtractor.streamPublishedArticles(anyLong(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+        when(mockChangeRequestExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
         when(mockWorkLogExtractor.batchExtractIncidentWorkLogs(any())).thenReturn(Collections.emptyMap());
         when(mockWorkLogExtractor.batchExtractWorkOrderWorkLogs(any())).thenReturn(Collections.emptyMap());
         when(mockWorkLogExtractor.batchExtractChangeWorkLogs(any())).thenReturn(Collections.emptyMap());
@@ -284,7 +286,7 @@ class ExtractionOrchestratorTest {
     @Test
     void extractIncidents_extractorFailure_returnsFailureResult() {
         // Given
-        when(mockIncidentExtractor.extractWithQualification(any()))
+        when(mockIncidentExtractor.streamWithQualification(any(), any(), any()))
             .thenThrow(new RuntimeException("Database connection failed"));
 
         // When
@@ -383,7 +385,7 @@ class ExtractionOrchestratorTest {
     @Test
     void extractIncidents_emptyResult_returnsZeroCount() {
         // Given
-        when(mockIncidentExtractor.extractWithQualification(any())).thenReturn(Collections.emptyList());
+        when(mockIncidentExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
         when(mockWorkLogExtractor.batchExtractIncidentWorkLogs(any())).thenReturn(Collections.emptyMap());
 
         // When
@@ -398,11 +400,11 @@ class ExtractionOrchestratorTest {
     void extractAll_withProgressCallback_reportsFailed() {
         // Given
         List<ExtractionOrchestrator.ExtractionProgress> progressUpdates = new ArrayList<>();
-        when(mockIncidentExtractor.extractWithQualification(any()))
+        when(mockIncidentExtractor.streamWithQualification(any(), any(), any()))
             .thenThrow(new RuntimeException("Extraction failed"));
-        when(mockWorkOrderExtractor.extractWithQualification(any())).thenReturn(Collections.emptyList());
-        when(mockKnowledgeExtractor.extractPublishedArticles(anyLong())).thenReturn(Collections.emptyList());
-        when(mockChangeRequestExtractor.extractWithQualification(any())).thenReturn(Collections.emptyList());
+        when(mockWorkOrderExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+        when(mockKnowledgeExtractor.streamPublishedArticles(anyLong(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+        when(mockChangeRequestExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
         when(mockWorkLogExtractor.batchExtractWorkOrderWorkLogs(any())).thenReturn(Collections.emptyMap());
         when(mockWorkLogExtractor.batchExtractChangeWorkLogs(any())).thenReturn(Collections.emptyMap());
 
@@ -419,7 +421,7 @@ class ExtractionOrchestratorTest {
         // Given
         List<ExtractionOrchestrator.ExtractionProgress> progressUpdates = new ArrayList<>();
         WorkOrderRecord workOrder = WorkOrderRecord.builder().workOrderId("WO0000001").build();
-        when(mockWorkOrderExtractor.extractWithQualification(any())).thenReturn(List.of(workOrder));
+        when(mockWorkOrderExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(List.of(workOrder)));
         when(mockWorkLogExtractor.batchExtractWorkOrderWorkLogs(any())).thenReturn(Collections.emptyMap());
 
         // When
@@ -437,7 +439,7 @@ class ExtractionOrchestratorTest {
         // Given
         List<ExtractionOrchestrator.ExtractionProgress> progressUpdates = new ArrayList<>();
         KnowledgeArticle article = KnowledgeArticle.builder().articleId("KA000001").build();
-        when(mockKnowledgeExtractor.extractPublishedArticles(anyLong())).thenReturn(List.of(article));
+        when(mockKnowledgeExtractor.streamPublishedArticles(anyLong(), any(), any())).thenAnswer(streamPages(List.of(article)));
 
         // When
         ExtractionOrchestrator.SourceExtractionResult result = extractionOrchestrator.extractKnowledgeArticles(progressUpdates::add);
@@ -452,7 +454,7 @@ class ExtractionOrchestratorTest {
         // Given
         List<ExtractionOrchestrator.ExtractionProgress> progressUpdates = new ArrayList<>();
         ChangeRequestRecord change = ChangeRequestRecord.builder().changeId("CHG0000001").build();
-        when(mockChangeRequestExtractor.extractWithQualification(any())).thenReturn(List.of(change));
+        when(mockChangeRequestExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(List.of(change)));
         when(mockWorkLogExtractor.batchExtractChangeWorkLogs(any())).thenReturn(Collections.emptyMap());
 
         // When
@@ -466,7 +468,7 @@ class ExtractionOrchestratorTest {
     @Test
     void extractWorkOrders_exceptionThrown_returnsFailureResult() {
         // Given
-        when(mockWorkOrderExtractor.extractWithQualification(any()))
+        when(mockWorkOrderExtractor.streamWithQualification(any(), any(), any()))
             .thenThrow(new RuntimeException("Database error"));
 
         // When
@@ -481,7 +483,7 @@ class ExtractionOrchestratorTest {
     @Test
     void extractKnowledgeArticles_exceptionThrown_returnsFailureResult() {
         // Given
-        when(mockKnowledgeExtractor.extractPublishedArticles(anyLong()))
+        when(mockKnowledgeExtractor.streamPublishedArticles(anyLong(), any(), any()))
             .thenThrow(new RuntimeException("Query failed"));
 
         // When
@@ -495,7 +497,7 @@ class ExtractionOrchestratorTest {
     @Test
     void extractChangeRequests_exceptionThrown_returnsFailureResult() {
         // Given
-        when(mockChangeRequestExtractor.extractWithQualification(any()))
+        when(mockChangeRequestExtractor.streamWithQualification(any(), any(), any()))
             .thenThrow(new RuntimeException("Connection lost"));
 
         // When
@@ -524,11 +526,11 @@ class ExtractionOrchestratorTest {
     @Test
     void extractAll_individualExtractorFailure_continuesWithOthers() {
         // Given - One extractor fails, others succeed
-        when(mockIncidentExtractor.extractWithQualification(any()))
+        when(mockIncidentExtractor.streamWithQualification(any(), any(), any()))
             .thenThrow(new RuntimeException("Connection failed"));
-        when(mockWorkOrderExtractor.extractWithQualification(any())).thenReturn(Collections.emptyList());
-        when(mockKnowledgeExtractor.extractPublishedArticles(anyLong())).thenReturn(Collections.emptyList());
-        when(mockChangeRequestExtractor.extractWithQualification(any())).thenReturn(Collections.emptyList());
+        when(mockWorkOrderExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+        when(mockKnowledgeExtractor.streamPublishedArticles(anyLong(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+        when(mockChangeRequestExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
         when(mockWorkLogExtractor.batchExtractWorkOrderWorkLogs(any())).thenReturn(Collections.emptyMap());
         when(mockWorkLogExtractor.batchExtractChangeWorkLogs(any())).thenReturn(Collections.emptyMap());
 
@@ -607,7 +609,7 @@ class ExtractionOrchestratorTest {
         // Given
         List<ExtractionOrchestrator.ExtractionProgress> progressUpdates = new ArrayList<>();
         IncidentRecord incident = IncidentRecord.builder().incidentNumber("INC000001").build();
-        when(mockIncidentExtractor.extractWithQualification(any())).thenReturn(List.of(incident));
+        when(mockIncidentExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(List.of(incident)));
         when(mockWorkLogExtractor.batchExtractIncidentWorkLogs(any())).thenReturn(Collections.emptyMap());
 
         // When
@@ -615,10 +617,12 @@ class ExtractionOrchestratorTest {
 
         // Then
         assertThat(result.isSuccess()).isTrue();
-        assertThat(progressUpdates).hasSize(2);
+        assertThat(progressUpdates).hasSize(3);
         assertThat(progressUpdates.get(0).sourceType()).isEqualTo("Incident");
         assertThat(progressUpdates.get(0).status()).isEqualTo("STARTED");
-        assertThat(progressUpdates.get(1).status()).isEqualTo("COMPLETED");
+        assertThat(progressUpdates.get(1).status()).isEqualTo("IN_PROGRESS");
+        assertThat(progressUpdates.get(1).current()).isEqualTo(1);
+        assertThat(progressUpdates.get(2).status()).isEqualTo("COMPLETED");
     }
 
     @Nested
@@ -631,14 +635,14 @@ class ExtractionOrchestratorTest {
             // Given - Use a latch to synchronize: extractor signals when it has started
             CountDownLatch extractorStarted = new CountDownLatch(1);
             CountDownLatch extractorCanFinish = new CountDownLatch(1);
-            when(mockIncidentExtractor.extractWithQualification(any())).thenAnswer(inv -> {
+            when(mockIncidentExtractor.streamWithQualification(any(), any(), any())).thenAnswer(inv -> {
                 extractorStarted.countDown();
                 extractorCanFinish.await();
-                return Collections.emptyList();
+                return ExtractionCheckpoint.START;
             });
-            when(mockWorkOrderExtractor.extractWithQualification(any())).thenReturn(Collections.emptyList());
-            when(mockKnowledgeExtractor.extractPublishedArticles(anyLong())).thenReturn(Collections.emptyList());
-            when(mockChangeRequestExtractor.extractWithQualification(any())).thenReturn(Collections.emptyList());
+            when(mockWorkOrderExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+            when(mockKnowledgeExtractor.streamPublishedArticles(anyLong(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+            when(mockChangeRequestExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
             when(mockWorkLogExtractor.batchExtractWorkOrderWorkLogs(any())).thenReturn(Collections.emptyMap());
             when(mockWorkLogExtractor.batchExtractChangeWorkLogs(any())).thenReturn(Collections.emptyMap());
 
@@ -668,14 +672,14 @@ class ExtractionOrchestratorTest {
             // Given - Use a latch to synchronize: extractor signals when it has started
             CountDownLatch extractorStarted = new CountDownLatch(1);
             CountDownLatch extractorCanFinish = new CountDownLatch(1);
-            when(mockIncidentExtractor.extractWithQualification(any())).thenAnswer(inv -> {
+            when(mockIncidentExtractor.streamWithQualification(any(), any(), any())).thenAnswer(inv -> {
                 extractorStarted.countDown();
                 extractorCanFinish.await();
-                return Collections.emptyList();
+                return ExtractionCheckpoint.START;
             });
-            when(mockWorkOrderExtractor.extractWithQualification(any())).thenReturn(Collections.emptyList());
-            when(mockKnowledgeExtractor.extractPublishedArticles(anyLong())).thenReturn(Collections.emptyList());
-            when(mockChangeRequestExtractor.extractWithQualification(any())).thenReturn(Collections.emptyList());
+            when(mockWorkOrderExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+            when(mockKnowledgeExtractor.streamPublishedArticles(anyLong(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+            when(mockChangeRequestExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
             when(mockWorkLogExtractor.batchExtractWorkOrderWorkLogs(any())).thenReturn(Collections.emptyMap());
             when(mockWorkLogExtractor.batchExtractChangeWorkLogs(any())).thenReturn(Collections.emptyMap());
 
@@ -714,7 +718,7 @@ class ExtractionOrchestratorTest {
             WorkLogEntry log1 = WorkLogEntry.builder().workLogId("WL001").parentId("WO001").build();
             WorkLogEntry log2 = WorkLogEntry.builder().workLogId("WL002").parentId("WO002").build();
 
-            when(mockWorkOrderExtractor.extractWithQualification(any())).thenReturn(List.of(workOrder1, workOrder2));
+            when(mockWorkOrderExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(List.of(workOrder1, workOrder2)));
             when(mockWorkLogExtractor.batchExtractWorkOrderWorkLogs(any())).thenReturn(
                 Map.of("WO001", List.of(log1), "WO002", List.of(log2))
             );
@@ -737,7 +741,7 @@ class ExtractionOrchestratorTest {
 
             WorkLogEntry log1 = WorkLogEntry.builder().workLogId("WL001").parentId("CHG001").build();
 
-            when(mockChangeRequestExtractor.extractWithQualification(any())).thenReturn(List.of(change1, change2));
+            when(mockChangeRequestExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(List.of(change1, change2)));
             when(mockWorkLogExtractor.batchExtractChangeWorkLogs(any())).thenReturn(
                 Map.of("CHG001", List.of(log1))
             );
@@ -751,4 +755,132 @@ class ExtractionOrchestratorTest {
             verify(mockWorkLogExtractor).batchExtractChangeWorkLogs(any());
         }
     }
+
+    @Test
+    void extractIncidents_multiplePages_fetchesWorkLogsPerPage() {
+        // Given - Two pages of incidents
+        IncidentRecord first = IncidentRecord.builder().incidentNumber("INC000001").build();
+        IncidentRecord second = IncidentRecord.builder().incidentNumber("INC000002").build();
+        when(mockIncidentExtractor.streamWithQualification(any(), any(), any()))
+            .thenAnswer(streamPages(List.of(first), List.of(second)));
+        when(mockWorkLogExtractor.batchExtractIncidentWorkLogs(any())).thenReturn(Collections.emptyMap());
+        List<ExtractionOrchestrator.ExtractionProgress> progressUpdates = new ArrayList<>();
+
+        // When
+        ExtractionOrchestrator.SourceExtractionResult result = extractionOrchestrator.extractIncidents(progressUpdates::add);
+
+        // Then
+        assertThat(result.recordCount()).isEqualTo(2);
+        verify(mockWorkLogExtractor).batchExtractIncidentWorkLogs(List.of("INC000001"));
+        verify(mockWorkLogExtractor).batchExtractIncidentWorkLogs(List.of("INC000002"));
+        assertThat(progressUpdates)
+            .filteredOn(p -> p.status().equals("IN_PROGRESS"))
+            .extracting(ExtractionOrchestrator.ExtractionProgress::current)
+            .containsExactly(1, 2);
+    }
+
+    @Test
+    void extractAll_concurrentMode_extractsFormsInParallel() {
+        // Given - Every form waits until all four have started, which only completes if they run concurrently
+        when(mockConfig.getExtractionThreads()).thenReturn(4);
+        when(mockConfig.getPoolSize()).thenReturn(5);
+        CountDownLatch allStarted = new CountDownLatch(4);
+        Answer<ExtractionCheckpoint> awaitOthers = invocation -> {
+            allStarted.countDown();
+            assertThat(allStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            return ExtractionCheckpoint.START;
+        };
+        when(mockIncidentExtractor.streamWithQualification(any(), any(), any())).thenAnswer(awaitOthers);
+        when(mockWorkOrderExtractor.streamWithQualification(any(), any(), any())).thenAnswer(awaitOthers);
+        when(mockKnowledgeExtractor.streamPublishedArticles(anyLong(), any(), any())).thenAnswer(awaitOthers);
+        when(mockChangeRequestExtractor.streamWithQualification(any(), any(), any())).thenAnswer(awaitOthers);
+
+        // When
+        ExtractionOrchestrator.ExtractionResult result = extractionOrchestrator.extractAll(null);
+
+        // Then
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(List.of(result.getIncidents(), result.getWorkOrders(),
+                result.getKnowledgeArticles(), result.getChangeRequests()))
+            .allSatisfy(source -> {
+                assertThat(source.isSuccess()).isTrue();
+                assertThat(source.duration()).isNotNull();
+            });
+    }
+
+    @Test
+    void extractAll_concurrentMode_oneFormFailing_othersSucceed() {
+        // Given
+        when(mockConfig.getExtractionThreads()).thenReturn(4);
+        when(mockConfig.getPoolSize()).thenReturn(5);
+        when(mockIncidentExtractor.streamWithQualification(any(), any(), any()))
+            .thenThrow(new RuntimeException("Connection failed"));
+        when(mockWorkOrderExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+        when(mockKnowledgeExtractor.streamPublishedArticles(anyLong(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+        when(mockChangeRequestExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+
+        // When
+        ExtractionOrchestrator.ExtractionResult result = extractionOrchestrator.extractAll(null);
+
+        // Then
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getIncidents().errorMessage()).contains("Connection failed");
+        assertThat(result.getWorkOrders().isSuccess()).isTrue();
+        assertThat(result.getChangeRequests().isSuccess()).isTrue();
+    }
+
+    @Test
+    void extractAll_repeatedFormFailures_opensCircuitForThatFormOnly() {
+        // Given - Incidents fail every time, other forms succeed
+        when(mockIncidentExtractor.streamWithQualification(any(), any(), any()))
+            .thenThrow(new RuntimeException("ARERR 93 timeout"));
+        when(mockWorkOrderExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+        when(mockKnowledgeExtractor.streamPublishedArticles(anyLong(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+        when(mockChangeRequestExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+
+        // When - Five failures open the incident circuit
+        for (int i = 0; i < 5; i++) {
+            extractionOrchestrator.extractAll(null);
+        }
+        ExtractionOrchestrator.ExtractionResult result = extractionOrchestrator.extractAll(null);
+
+        // Then - Incidents are skipped, the other forms still run
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getIncidents().errorMessage()).contains("Circuit breaker");
+        assertThat(result.getWorkOrders().isSuccess()).isTrue();
+        verify(mockIncidentExtractor, times(5)).streamWithQualification(any(), any(), any());
+        verify(mockWorkOrderExtractor, times(6)).streamWithQualification(any(), any(), any());
+    }
+
+    @Test
+    void extractIncidents_success_reportsDuration() {
+        // Given
+        when(mockIncidentExtractor.streamWithQualification(any(), any(), any())).thenAnswer(streamPages(Collections.emptyList()));
+
+        // When
+        ExtractionOrchestrator.SourceExtractionResult result = extractionOrchestrator.extractIncidents(null);
+
+        // Then
+        assertThat(result.duration()).isNotNull();
+    }
+
+    /**
+     * Answer for a stream* call that hands the given pages to the consumer (third argument).
+     */
+    @SafeVarargs
+    private static <R> Answer<ExtractionCheckpoint> streamPages(List<R>... pages) {
+        return invocation -> {
+            PageConsumer<R> consumer = invocation.getArgument(2);
+            ExtractionCheckpoint checkpoint = ExtractionCheckpoint.START;
+            for (List<R> page : pages) {
+                if (page.isEmpty()) {
+                    continue;
+                }
+                checkpoint = new ExtractionCheckpoint("00000000000000" + (checkpoint.recordsExtracted() + page.size()),
+                    0L, checkpoint.recordsExtracted() + page.size());
+                consumer.accept(page, checkpoint);
+            }
+            return checkpoint;
+        };
+    }
 }
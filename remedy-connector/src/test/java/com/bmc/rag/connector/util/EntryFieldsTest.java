@@ -0,0 +1,102 @@
+package com.bmc.rag.connector.util;
+
+import com.bmc.arsys.api.Entry;
+import com.bmc.arsys.api.Timestamp;
+import com.bmc.arsys.api.Value;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for EntryFields.
+ */
+class EntryFieldsTest {
+
+    private static final int CHAR_FIELD = 1000000000;
+    private static final int ENUM_FIELD = 7;
+    private static final int TIME_FIELD = 6;
+    private static final int MISSING_FIELD = 8;
+
+    private Entry entry;
+
+    @BeforeEach
+    void setUp() {
+        entry = new Entry();
+        entry.put(CHAR_FIELD, new Value("VPN Issue"));
+        entry.put(ENUM_FIELD, new Value(4));
+        entry.put(TIME_FIELD, new Value(new Timestamp(1700000100L)));
+    }
+
+    @Test
+    void getString_charField_returnsValue() {
+        assertThat(EntryFields.getString(entry, CHAR_FIELD)).isEqualTo("VPN Issue");
+    }
+
+    @Test
+    void getString_nonCharField_returnsStringForm() {
+        assertThat(EntryFields.getString(entry, ENUM_FIELD)).isEqualTo("4");
+    }
+
+    @Test
+    void getInteger_enumField_returnsValue() {
+        assertThat(EntryFields.getInteger(entry, ENUM_FIELD)).isEqualTo(4);
+    }
+
+    @Test
+    void getInteger_numericString_parsesValue() {
+        // Given
+        entry.put(CHAR_FIELD, new Value("42"));
+
+        // Then
+        assertThat(EntryFields.getInteger(entry, CHAR_FIELD)).isEqualTo(42);
+    }
+
+    @Test
+    void getInteger_nonNumericString_returnsNull() {
+        assertThat(EntryFields.getInteger(entry, CHAR_FIELD)).isNull();
+    }
+
+    @Test
+    void getInstant_timeField_returnsEpochSeconds() {
+        assertThat(EntryFields.getInstant(entry, TIME_FIELD)).isEqualTo(Instant.ofEpochSecond(1700000100L));
+    }
+
+    @Test
+    void getInstant_epochString_parsesValue() {
+        // Given
+        entry.put(CHAR_FIELD, new Value("1700000200"));
+
+        // Then
+        assertThat(EntryFields.getInstant(entry, CHAR_FIELD)).isEqualTo(Instant.ofEpochSecond(1700000200L));
+    }
+
+    @Test
+    void getInstant_nonNumericString_returnsNull() {
+        assertThat(EntryFields.getInstant(entry, CHAR_FIELD)).isNull();
+    }
+
+    @Test
+    void getEpochSeconds_timeField_returnsSeconds() {
+        assertThat(EntryFields.getEpochSeconds(entry, TIME_FIELD)).isEqualTo(1700000100L);
+    }
+
+    @Test
+    void missingField_returnsNullOrZero() {
+        assertThat(EntryFields.getString(entry, MISSING_FIELD)).isNull();
+        assertThat(EntryFields.getInteger(entry, MISSING_FIELD)).isNull();
+        assertThat(EntryFields.getInstant(entry, MISSING_FIELD)).isNull();
+        assertThat(EntryFields.getEpochSeconds(entry, MISSING_FIELD)).isZero();
+    }
+
+    @Test
+    void nullValue_returnsNull() {
+        // Given
+        entry.put(CHAR_FIELD, new Value());
+
+        // Then
+        assertThat(EntryFields.getString(entry, CHAR_FIELD)).isNull();
+    }
+}
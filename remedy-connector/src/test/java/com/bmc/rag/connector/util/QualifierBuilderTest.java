@@ -51,6 +51,15 @@ class QualifierBuilderTest {
         assertThat(result).isEqualTo("'1000000000' LIKE \"%VPN%\"");
     }
 
+    @Test
+    void after_dateAndId_buildsKeysetQualification() {
+        // When
+        String result = builder.after(6, 1700000000L, 1, "000000000000042").build();
+
+        // Then
+        assertThat(result).isEqualTo("('6' > 1700000000 OR ('6' = 1700000000 AND '1' > \"000000000000042\"))");
+    }
+
     @Test
     void dateAfter_epochSeconds_buildsCorrectQualification() {
         // Given
@@ -42,6 +42,18 @@ public class SyncStateEntity {
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
 
+    /**
+     * Request ID of the last entry stored by an unfinished full sync, null when there is nothing to resume.
+     */
+    @Column(name = "checkpoint_entry_id", length = 30)
+    private String checkpointEntryId;
+
+    @Column(name = "checkpoint_last_modified")
+    private Long checkpointLastModified;
+
+    @Column(name = "checkpoint_records")
+    private Integer checkpointRecords;
+
     /**
      * Update sync state after successful sync.
      */
@@ -0,0 +1,33 @@
+package com.bmc.rag.store.event;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Published when the stored chunks of source records are written or deleted, so
+ * components holding data derived from them (e.g. cached answers citing them) can
+ * drop it.
+ *
+ * @param sourceType The source type (Incident, WorkOrder, ...)
+ * @param sourceIds The affected source IDs; empty when {@code wholeType} is set
+ * @param wholeType Whether every record of the source type was affected
+ */
+public record SourceRecordsChangedEvent(String sourceType, Set<String> sourceIds, boolean wholeType) {
+
+    public static SourceRecordsChangedEvent of(String sourceType, Set<String> sourceIds) {
+        return new SourceRecordsChangedEvent(sourceType, Set.copyOf(sourceIds), false);
+    }
+
+    public static SourceRecordsChangedEvent allOf(String sourceType) {
+        return new SourceRecordsChangedEvent(sourceType, Set.of(), true);
+    }
+
+    /**
+     * Source references in the "Type ID" form used for citations.
+     */
+    public List<String> sourceReferences() {
+        return sourceIds.stream()
+            .map(sourceId -> String.format("%s %s", sourceType, sourceId))
+            .toList();
+    }
+}
@@ -0,0 +1,153 @@
+package com.bmc.rag.store.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * JDBC repository for re-embedding stored chunks (EmbeddingRefreshService).
+ *
+ * Rows are read in id order with keyset pagination ({@code id > last id}), so every page is
+ * an index range scan on the primary key regardless of how far the run has progressed, and
+ * only id and text_segment are fetched. Embeddings are written back one batch per statement
+ * with {@code UPDATE ... FROM (VALUES ...)}. embedding_refresh_checkpoint (V21) stores the
+ * last id written per scope so a run can resume.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmbeddingRefreshRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Next page of rows after {@code afterId} in id order.
+     *
+     * @param afterId Last id of the previous page, or null to start at the beginning
+     * @param sourceType Source type to restrict to, or null for all
+     * @param limit Page size
+     */
+    public List<PendingEmbedding> findPage(UUID afterId, String sourceType, int limit) {
+        List<Object> args = new ArrayList<>(3);
+        StringBuilder sql = new StringBuilder("SELECT id, text_segment FROM embedding_store WHERE true");
+        if (afterId != null) {
+            sql.append(" AND id > ?");
+            args.add(afterId);
+        }
+        if (sourceType != null) {
+            sql.append(" AND source_type = ?");
+            args.add(sourceType);
+        }
+        sql.append(" ORDER BY id LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(),
+            (rs, rowNum) -> new PendingEmbedding(rs.getObject("id", UUID.class), rs.getString("text_segment")),
+            args.toArray());
+    }
+
+    /**
+     * Number of rows after {@code afterId} (all rows when null), for progress reporting.
+     */
+    public long countAfter(UUID afterId, String sourceType) {
+        List<Object> args = new ArrayList<>(2);
+        StringBuilder sql = new StringBuilder("SELECT count(*) FROM embedding_store WHERE true");
+        if (afterId != null) {
+            sql.append(" AND id > ?");
+            args.add(afterId);
+        }
+        if (sourceType != null) {
+            sql.append(" AND source_type = ?");
+            args.add(sourceType);
+        }
+        Long count = jdbcTemplate.queryForObject(sql.toString(), Long.class, args.toArray());
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * Write a batch of embeddings in one statement.
+     *
+     * @param ids Row ids
+     * @param embeddings Embeddings, same order as ids
+     * @param binary Bind embeddings in the binary pgvector format instead of text literals
+     * @return Number of rows updated (rows deleted since they were read are skipped)
+     */
+    public int updateEmbeddings(List<UUID> ids, List<float[]> embeddings, boolean binary) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder(
+            "UPDATE embedding_store AS e SET embedding = v.embedding, updated_at = NOW() FROM (VALUES ");
+        for (int i = 0; i < ids.size(); i++) {
+            sql.append(i > 0 ? ", " : "").append("(cast(? as uuid), cast(? as vector))");
+        }
+        sql.append(") AS v(id, embedding) WHERE e.id = v.id");
+
+        return jdbcTemplate.update(sql.toString(), ps -> {
+            for (int i = 0; i < ids.size(); i++) {
+                ps.setObject(2 * i + 1, ids.get(i));
+                if (binary) {
+                    PgVectorSupport.bind(ps, 2 * i + 2, embeddings.get(i));
+                } else {
+                    ps.setString(2 * i + 2, PgVectorSupport.toLiteral(embeddings.get(i)));
+                }
+            }
+        });
+    }
+
+    /**
+     * Checkpoint of the last run for a scope, if any.
+     */
+    public Optional<Checkpoint> findCheckpoint(String scope) {
+        return jdbcTemplate.query("""
+                SELECT scope, last_id, refreshed, failed, status, started_at
+                FROM embedding_refresh_checkpoint WHERE scope = ?
+                """,
+            (rs, rowNum) -> new Checkpoint(
+                rs.getString("scope"),
+                rs.getObject("last_id", UUID.class),
+                rs.getLong("refreshed"),
+                rs.getLong("failed"),
+                rs.getString("status"),
+                rs.getTimestamp("started_at").toInstant()),
+            scope).stream().findFirst();
+    }
+
+    /**
+     * Insert or replace the checkpoint of a scope.
+     */
+    public void saveCheckpoint(Checkpoint checkpoint) {
+        jdbcTemplate.update("""
+                INSERT INTO embedding_refresh_checkpoint (scope, last_id, refreshed, failed, status, started_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, NOW())
+                ON CONFLICT (scope) DO UPDATE SET
+                    last_id = EXCLUDED.last_id,
+                    refreshed = EXCLUDED.refreshed,
+                    failed = EXCLUDED.failed,
+                    status = EXCLUDED.status,
+                    started_at = EXCLUDED.started_at,
+                    updated_at = NOW()
+                """,
+            checkpoint.scope(), checkpoint.lastId(), checkpoint.refreshed(), checkpoint.failed(),
+            checkpoint.status(), Timestamp.from(checkpoint.startedAt()));
+    }
+
+    /**
+     * A row waiting to be re-embedded.
+     */
+    public record PendingEmbedding(UUID id, String textSegment) {
+    }
+
+    /**
+     * Progress of a re-embedding run: every row up to and including lastId has been handled.
+     */
+    public record Checkpoint(String scope, UUID lastId, long refreshed, long failed, String status,
+                             Instant startedAt) {
+    }
+}
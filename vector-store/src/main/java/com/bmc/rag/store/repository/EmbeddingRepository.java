@@ -78,15 +78,6 @@ public interface EmbeddingRepository extends JpaRepository<EmbeddingEntity, UUID
     @Query("SELECT DISTINCT e.sourceId FROM EmbeddingEntity e WHERE e.sourceType = :sourceType")
     List<String> findDistinctSourceIdsBySourceType(@Param("sourceType") String sourceType);
 
-    /**
-     * Native query to update embedding for an existing record.
-     * Used by EmbeddingRefreshService to re-embed records with real semantic embeddings.
-     */
-    @Modifying
-    @Transactional
-    @Query(value = "UPDATE embedding_store SET embedding = cast(:embedding as vector), updated_at = NOW() WHERE id = :id", nativeQuery = true)
-    void updateEmbedding(@Param("id") UUID id, @Param("embedding") String embedding);
-
     /**
      * Native query to insert embedding with vector.
      * Uses native SQL because JPA doesn't support pgvector type.
@@ -96,15 +87,16 @@ public interface EmbeddingRepository extends JpaRepository<EmbeddingEntity, UUID
     @Query(value = """
         INSERT INTO embedding_store (
             id, chunk_id, embedding, text_segment, source_type, source_id,
-            entry_id, chunk_type, sequence_number, metadata, created_at, updated_at
+            entry_id, chunk_type, sequence_number, metadata, content_hash, created_at, updated_at
         ) VALUES (
             :id, :chunkId, cast(:embedding as vector), :textSegment, :sourceType, :sourceId,
-            :entryId, :chunkType, :sequenceNumber, cast(:metadata as jsonb), NOW(), NOW()
+            :entryId, :chunkType, :sequenceNumber, cast(:metadata as jsonb), :contentHash, NOW(), NOW()
         )
         ON CONFLICT (chunk_id) DO UPDATE SET
             embedding = cast(:embedding as vector),
             text_segment = :textSegment,
             metadata = cast(:metadata as jsonb),
+            content_hash = :contentHash,
             updated_at = NOW()
         """, nativeQuery = true)
     void upsertWithEmbedding(
@@ -117,73 +109,7 @@ public interface EmbeddingRepository extends JpaRepository<EmbeddingEntity, UUID
         @Param("entryId") String entryId,
         @Param("chunkType") String chunkType,
         @Param("sequenceNumber") Integer sequenceNumber,
-        @Param("metadata") String metadata  // JSON string
-    );
-
-    /**
-     * Native query for semantic search with cosine similarity.
-     */
-    @Query(value = """
-        SELECT
-            e.id, e.chunk_id, e.text_segment, e.source_type, e.source_id,
-            e.entry_id, e.chunk_type, e.sequence_number, e.metadata,
-            e.created_at, e.updated_at,
-            1 - (e.embedding <=> cast(:queryEmbedding as vector)) as score
-        FROM embedding_store e
-        WHERE 1 - (e.embedding <=> cast(:queryEmbedding as vector)) >= :minScore
-        ORDER BY e.embedding <=> cast(:queryEmbedding as vector)
-        LIMIT :maxResults
-        """, nativeQuery = true)
-    List<Object[]> searchSimilar(
-        @Param("queryEmbedding") String queryEmbedding,
-        @Param("maxResults") int maxResults,
-        @Param("minScore") float minScore
-    );
-
-    /**
-     * Native query for semantic search with ReBAC filtering.
-     */
-    @Query(value = """
-        SELECT
-            e.id, e.chunk_id, e.text_segment, e.source_type, e.source_id,
-            e.entry_id, e.chunk_type, e.sequence_number, e.metadata,
-            e.created_at, e.updated_at,
-            1 - (e.embedding <=> cast(:queryEmbedding as vector)) as score
-        FROM embedding_store e
-        WHERE 1 - (e.embedding <=> cast(:queryEmbedding as vector)) >= :minScore
-            AND (
-                e.metadata->>'assigned_group' IS NULL
-                OR e.metadata->>'assigned_group' = ANY(cast(:allowedGroups as text[]))
-            )
-        ORDER BY e.embedding <=> cast(:queryEmbedding as vector)
-        LIMIT :maxResults
-        """, nativeQuery = true)
-    List<Object[]> searchSimilarWithGroups(
-        @Param("queryEmbedding") String queryEmbedding,
-        @Param("maxResults") int maxResults,
-        @Param("minScore") float minScore,
-        @Param("allowedGroups") String allowedGroups  // "{group1,group2}" format
-    );
-
-    /**
-     * Native query for semantic search with source type filtering.
-     */
-    @Query(value = """
-        SELECT
-            e.id, e.chunk_id, e.text_segment, e.source_type, e.source_id,
-            e.entry_id, e.chunk_type, e.sequence_number, e.metadata,
-            e.created_at, e.updated_at,
-            1 - (e.embedding <=> cast(:queryEmbedding as vector)) as score
-        FROM embedding_store e
-        WHERE 1 - (e.embedding <=> cast(:queryEmbedding as vector)) >= :minScore
-            AND e.source_type = ANY(cast(:sourceTypes as text[]))
-        ORDER BY e.embedding <=> cast(:queryEmbedding as vector)
-        LIMIT :maxResults
-        """, nativeQuery = true)
-    List<Object[]> searchSimilarBySourceTypes(
-        @Param("queryEmbedding") String queryEmbedding,
-        @Param("maxResults") int maxResults,
-        @Param("minScore") float minScore,
-        @Param("sourceTypes") String sourceTypes  // "{Incident,WorkOrder}" format
+        @Param("metadata") String metadata,  // JSON string
+        @Param("contentHash") String contentHash  // SHA-256 hex of textSegment
     );
 }
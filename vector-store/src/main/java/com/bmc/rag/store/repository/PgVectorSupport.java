@@ -0,0 +1,66 @@
+package com.bmc.rag.store.repository;
+
+import com.pgvector.PGvector;
+import org.postgresql.PGConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Encoding helpers for pgvector parameters.
+ *
+ * Two encodings are supported:
+ * <ul>
+ *   <li>Binary: the embedding is bound as a {@link PGvector}, which pgjdbc sends in the
+ *       pgvector wire format (int16 dim, int16 unused, float4[dim]) once the vector type
+ *       is registered on the connection. No text is built on the client and Postgres
+ *       skips parsing the vector literal.</li>
+ *   <li>Text: the legacy {@code "[0.1,0.2,...]"} literal consumed via {@code cast(? as vector)}.</li>
+ * </ul>
+ */
+public final class PgVectorSupport {
+
+    private PgVectorSupport() {
+    }
+
+    /**
+     * Bind an embedding as a binary pgvector parameter.
+     * Registers the vector type on the underlying pgjdbc connection so the driver
+     * sends it in binary; falls back to the driver's text encoding on non-pgjdbc connections.
+     *
+     * @param ps The prepared statement
+     * @param index 1-based parameter index
+     * @param embedding The embedding to bind
+     */
+    public static void bind(PreparedStatement ps, int index, float[] embedding) throws SQLException {
+        registerVectorType(ps.getConnection());
+        ps.setObject(index, new PGvector(embedding));
+    }
+
+    /**
+     * Register the pgvector type for binary transfer on the given connection.
+     * pgjdbc caches the type OID per physical connection, so repeated calls are cheap.
+     */
+    public static void registerVectorType(Connection connection) throws SQLException {
+        if (connection != null && connection.isWrapperFor(PGConnection.class)) {
+            PGvector.addVectorType(connection);
+        }
+    }
+
+    /**
+     * Format an embedding as a pgvector text literal ("[0.1,0.2,...]").
+     */
+    public static String toLiteral(float[] embedding) {
+        StringBuilder sb = new StringBuilder(embedding.length * 12 + 2);
+        sb.append('[');
+        for (int i = 0; i < embedding.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(embedding[i]);
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+}
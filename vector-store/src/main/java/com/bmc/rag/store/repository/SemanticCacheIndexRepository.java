@@ -0,0 +1,177 @@
+package com.bmc.rag.store.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC repository for the semantic cache's nearest-neighbour index (semantic_cache_index).
+ * Holds one query embedding per cache entry behind an HNSW index; the cached payloads
+ * themselves live in Redis under the same key. Entries are partitioned by a hash of the
+ * access groups the answer was generated for, and lookups never cross partitions.
+ * semantic_cache_source maps each entry to the source records its answer cites.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SemanticCacheIndexRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Find the closest live entry of a partition in one round trip. If it is at least
+     * {@code touchThreshold} similar, its LRU position and hit count are updated in the
+     * same statement.
+     *
+     * The partition and expiry filters are applied to the HNSW scan's candidates, so with a
+     * plain scan the ef_search nearest entries could all belong to other partitions and the
+     * lookup would miss. Where pgvector supports it (0.8+), the scan is made iterative for
+     * this transaction and keeps going until it finds an entry of the partition.
+     *
+     * @param queryEmbedding The query embedding
+     * @param partitionKey Access partition of the caller
+     * @param touchThreshold Similarity at which the match counts as a hit
+     * @return The nearest entry, if any
+     */
+    @Transactional
+    public Optional<Match> findNearest(float[] queryEmbedding, String partitionKey, float touchThreshold) {
+        // Transaction-local, as in search_embeddings; strict_order keeps the nearest entry first
+        jdbcTemplate.queryForList("""
+            SELECT CASE WHEN current_setting('hnsw.iterative_scan', true) IS NOT NULL
+                        THEN set_config('hnsw.iterative_scan', 'strict_order', true) END
+            """, String.class);
+
+        String sql = """
+            WITH nearest AS (
+                SELECT cache_key, 1 - (embedding <=> ?) AS similarity
+                FROM semantic_cache_index
+                WHERE partition_key = ? AND expires_at > NOW()
+                ORDER BY embedding <=> ?
+                LIMIT 1
+            ), touched AS (
+                UPDATE semantic_cache_index c
+                SET last_accessed_at = NOW(), hit_count = c.hit_count + 1
+                FROM nearest n
+                WHERE c.cache_key = n.cache_key AND n.similarity >= ?
+                RETURNING c.cache_key
+            )
+            SELECT cache_key, similarity FROM nearest
+            """;
+
+        List<Match> matches = jdbcTemplate.query(sql, ps -> {
+            PgVectorSupport.bind(ps, 1, queryEmbedding);
+            ps.setString(2, partitionKey);
+            PgVectorSupport.bind(ps, 3, queryEmbedding);
+            ps.setFloat(4, touchThreshold);
+        }, (rs, rowNum) -> new Match(rs.getString("cache_key"), rs.getFloat("similarity")));
+
+        return matches.stream().findFirst();
+    }
+
+    /**
+     * Insert or replace an entry and the sources it cites.
+     */
+    public void upsert(String cacheKey, String partitionKey, float[] embedding, Duration ttl,
+                       Collection<String> sourceReferences) {
+        jdbcTemplate.update("""
+            INSERT INTO semantic_cache_index (cache_key, partition_key, embedding, expires_at)
+            VALUES (?, ?, ?, NOW() + make_interval(secs => ?))
+            ON CONFLICT (cache_key) DO UPDATE SET
+                partition_key = EXCLUDED.partition_key,
+                embedding = EXCLUDED.embedding,
+                last_accessed_at = NOW(),
+                expires_at = EXCLUDED.expires_at
+            """, ps -> {
+            ps.setString(1, cacheKey);
+            ps.setString(2, partitionKey);
+            PgVectorSupport.bind(ps, 3, embedding);
+            ps.setLong(4, ttl.toSeconds());
+        });
+
+        jdbcTemplate.update("DELETE FROM semantic_cache_source WHERE cache_key = ?", cacheKey);
+        if (sourceReferences != null && !sourceReferences.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO semantic_cache_source (cache_key, source_ref) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                List.copyOf(sourceReferences), sourceReferences.size(),
+                (PreparedStatement ps, String sourceRef) -> {
+                    ps.setString(1, cacheKey);
+                    ps.setString(2, sourceRef);
+                });
+        }
+    }
+
+    /**
+     * Remove every entry citing any of the given sources.
+     *
+     * @param sourceReferences Source references ("Incident INC000123")
+     * @return Keys of the removed entries
+     */
+    public List<String> deleteBySourceReferences(Collection<String> sourceReferences) {
+        if (sourceReferences == null || sourceReferences.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("""
+            DELETE FROM semantic_cache_index
+            WHERE cache_key IN (
+                SELECT cache_key FROM semantic_cache_source WHERE source_ref = ANY(?)
+            )
+            RETURNING cache_key
+            """,
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("text", sourceReferences.toArray())),
+            (rs, rowNum) -> rs.getString("cache_key"));
+    }
+
+    /**
+     * Remove a single entry.
+     */
+    public void delete(String cacheKey) {
+        jdbcTemplate.update("DELETE FROM semantic_cache_index WHERE cache_key = ?", cacheKey);
+    }
+
+    /**
+     * Remove expired entries and, beyond {@code maxEntries}, the least recently used ones.
+     *
+     * @return Keys of the removed entries (their payloads should be removed too)
+     */
+    public List<String> evictExpiredAndLeastRecentlyUsed(int maxEntries) {
+        return jdbcTemplate.queryForList("""
+            DELETE FROM semantic_cache_index
+            WHERE expires_at <= NOW()
+               OR cache_key IN (
+                   SELECT cache_key FROM semantic_cache_index
+                   ORDER BY last_accessed_at DESC
+                   OFFSET ?
+               )
+            RETURNING cache_key
+            """, String.class, maxEntries);
+    }
+
+    /**
+     * Remove every entry.
+     *
+     * @return Keys of the removed entries
+     */
+    public List<String> deleteAll() {
+        return jdbcTemplate.queryForList("DELETE FROM semantic_cache_index RETURNING cache_key", String.class);
+    }
+
+    /**
+     * Number of entries, including expired ones not yet evicted.
+     */
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM semantic_cache_index", Long.class);
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * Nearest entry and its cosine similarity to the query.
+     */
+    public record Match(String cacheKey, float similarity) {
+    }
+}
@@ -52,6 +52,31 @@ public interface SyncStateRepository extends JpaRepository<SyncStateEntity, Inte
         @Param("errorMessage") String errorMessage
     );
 
+    /**
+     * Save the extraction checkpoint of a streamed full sync.
+     * Also refreshes last_sync_at, so a long run that is still making progress is not
+     * taken for a stale lock.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SyncStateEntity s SET s.checkpointEntryId = :entryId, s.checkpointLastModified = :lastModified, " +
+           "s.checkpointRecords = :records, s.lastSyncAt = CURRENT_TIMESTAMP WHERE s.sourceType = :sourceType")
+    void saveCheckpoint(
+        @Param("sourceType") String sourceType,
+        @Param("entryId") String entryId,
+        @Param("lastModified") Long lastModified,
+        @Param("records") Integer records
+    );
+
+    /**
+     * Clear the extraction checkpoint after a full sync completed or was restarted from scratch.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SyncStateEntity s SET s.checkpointEntryId = null, s.checkpointLastModified = null, " +
+           "s.checkpointRecords = null WHERE s.sourceType = :sourceType")
+    void clearCheckpoint(@Param("sourceType") String sourceType);
+
     /**
      * Get last sync timestamp for a source type.
      */
@@ -0,0 +1,223 @@
+package com.bmc.rag.store.repository;
+
+import com.bmc.rag.store.service.SearchFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC repository for vector operations that bind embeddings in the binary pgvector format,
+ * so no text encoding/parsing happens per call. Searches go through the search_embeddings
+ * function, which applies every {@link SearchFilter} restriction in the same index scan and
+ * sets hnsw.ef_search for that statement only. {@link #searchText} is the full-text
+ * counterpart used as the keyword leg of hybrid search. Filters with
+ * {@link SearchFilter#isExactGroupMatch()} (hybrid search) keep the ReBAC rule of
+ * hybrid_search_with_groups and run as plain statements instead.
+ *
+ * Search rows are returned as {@code Object[]}: id, chunk_id, text_segment, source_type,
+ * source_id, entry_id, chunk_type, sequence_number, metadata, created_at, updated_at, score.
+ */
+@Repository
+@RequiredArgsConstructor
+public class VectorSearchRepository {
+
+    private static final String FILTERED_SEARCH = """
+        SELECT * FROM search_embeddings(cast(? as vector), ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final String QUANTIZED_SEARCH = """
+        SELECT * FROM search_embeddings_quantized(cast(? as vector), ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    // ReBAC as in search_embeddings: case-insensitive, records without a group are public
+    private static final String GROUP_MATCH = """
+        (cast(? as text[]) IS NULL
+               OR COALESCE(e.metadata->>'assigned_group', '') = ''
+               OR lower(e.metadata->>'assigned_group') = ANY(cast(? as text[])))""";
+
+    // ReBAC as in hybrid_search_with_groups (V12): exact names, only records without the key are public
+    private static final String EXACT_GROUP_MATCH = """
+        (cast(? as text[]) IS NULL
+               OR e.metadata->>'assigned_group' IS NULL
+               OR e.metadata->>'assigned_group' = ANY(cast(? as text[])))""";
+
+    // Same filters as search_embeddings; the GIN index on text_search_vector drives the scan
+    private static final String TEXT_SEARCH = """
+        SELECT e.id, e.chunk_id, e.text_segment, e.source_type, e.source_id, e.entry_id,
+               e.chunk_type, e.sequence_number, e.metadata, e.created_at, e.updated_at,
+               ts_rank_cd(e.text_search_vector, q.query)::float AS score
+        FROM embedding_store e, plainto_tsquery('english', ?) AS q(query)
+        WHERE e.text_search_vector @@ q.query
+          AND %s
+          AND (cast(? as text[]) IS NULL OR e.source_type = ANY(cast(? as text[])))
+          AND (cast(? as text[]) IS NULL OR e.chunk_type = ANY(cast(? as text[])))
+          AND (cast(? as text[]) IS NULL OR e.detected_language = ANY(cast(? as text[])))
+        ORDER BY score DESC
+        LIMIT ?
+        """;
+
+    // Vector leg with exact group matching: nearest rows first on the HNSW index, then min_score
+    private static final String EXACT_GROUP_VECTOR_SEARCH = """
+        SELECT * FROM (
+            SELECT e.id, e.chunk_id, e.text_segment, e.source_type, e.source_id, e.entry_id,
+                   e.chunk_type, e.sequence_number, e.metadata, e.created_at, e.updated_at,
+                   (1 - (e.embedding <=> cast(? as vector)))::float AS score
+            FROM embedding_store e
+            WHERE %s
+              AND (cast(? as text[]) IS NULL OR e.source_type = ANY(cast(? as text[])))
+              AND (cast(? as text[]) IS NULL OR e.chunk_type = ANY(cast(? as text[])))
+              AND (cast(? as text[]) IS NULL OR e.detected_language = ANY(cast(? as text[])))
+            ORDER BY e.embedding <=> cast(? as vector)
+            LIMIT ?
+        ) nearest
+        WHERE nearest.score >= ?
+        ORDER BY nearest.score DESC
+        """.formatted(EXACT_GROUP_MATCH);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Semantic search with all filters applied in one query (search_embeddings).
+     */
+    public List<Object[]> search(float[] queryEmbedding, SearchFilter filter) {
+        if (filter.isExactGroupMatch()) {
+            return searchExactGroups(filter, (ps, index) -> PgVectorSupport.bind(ps, index, queryEmbedding));
+        }
+        return search(FILTERED_SEARCH, filter, ps -> PgVectorSupport.bind(ps, 1, queryEmbedding));
+    }
+
+    /**
+     * Same as {@link #search(float[], SearchFilter)} for the text transfer path, taking a
+     * "[0.1,0.2,...]" vector literal.
+     */
+    public List<Object[]> search(String queryEmbeddingLiteral, SearchFilter filter) {
+        if (filter.isExactGroupMatch()) {
+            return searchExactGroups(filter, (ps, index) -> ps.setString(index, queryEmbeddingLiteral));
+        }
+        return search(FILTERED_SEARCH, filter, ps -> ps.setString(1, queryEmbeddingLiteral));
+    }
+
+    /**
+     * Two-phase search (search_embeddings_quantized): the {@code candidates} nearest rows on the
+     * binary-quantized index, reranked by exact cosine distance. Same filters and rows as
+     * {@link #search(float[], SearchFilter)}.
+     */
+    public List<Object[]> searchQuantized(float[] queryEmbedding, SearchFilter filter, int candidates) {
+        return search(QUANTIZED_SEARCH, filter, ps -> {
+            PgVectorSupport.bind(ps, 1, queryEmbedding);
+            ps.setInt(9, candidates);
+        });
+    }
+
+    /**
+     * Same as {@link #searchQuantized(float[], SearchFilter, int)} for the text transfer path.
+     */
+    public List<Object[]> searchQuantized(String queryEmbeddingLiteral, SearchFilter filter, int candidates) {
+        return search(QUANTIZED_SEARCH, filter, ps -> {
+            ps.setString(1, queryEmbeddingLiteral);
+            ps.setInt(9, candidates);
+        });
+    }
+
+    /**
+     * Full-text search ranked by ts_rank_cd, with the same filters and row layout as
+     * {@link #search(float[], SearchFilter)}; score is the text rank. minScore and the recall
+     * levels do not apply to text ranks and are ignored.
+     *
+     * @param timeoutSeconds Statement timeout; the driver cancels the query on the server when it
+     *                       expires. 0 for none
+     */
+    public List<Object[]> searchText(String queryText, SearchFilter filter, int timeoutSeconds) {
+        String sql = TEXT_SEARCH.formatted(filter.isExactGroupMatch() ? EXACT_GROUP_MATCH : GROUP_MATCH);
+        return jdbcTemplate.query(sql, ps -> {
+            Connection connection = ps.getConnection();
+            ps.setQueryTimeout(timeoutSeconds);
+            ps.setString(1, queryText);
+            bindTwice(ps, 2, textArray(connection, filter.normalizedGroups()));
+            bindTwice(ps, 4, textArray(connection, emptyToNull(filter.getSourceTypes())));
+            bindTwice(ps, 6, textArray(connection, emptyToNull(filter.getChunkTypes())));
+            bindTwice(ps, 8, textArray(connection, emptyToNull(filter.getLanguages())));
+            ps.setInt(10, filter.getMaxResults());
+        }, SEARCH_ROW_MAPPER);
+    }
+
+    /**
+     * Vector search for {@link SearchFilter#isExactGroupMatch()}. Recall levels do not apply.
+     */
+    private List<Object[]> searchExactGroups(SearchFilter filter, VectorBinder vectorBinder) {
+        return jdbcTemplate.query(EXACT_GROUP_VECTOR_SEARCH, ps -> {
+            Connection connection = ps.getConnection();
+            vectorBinder.bind(ps, 1);
+            bindTwice(ps, 2, textArray(connection, filter.normalizedGroups()));
+            bindTwice(ps, 4, textArray(connection, emptyToNull(filter.getSourceTypes())));
+            bindTwice(ps, 6, textArray(connection, emptyToNull(filter.getChunkTypes())));
+            bindTwice(ps, 8, textArray(connection, emptyToNull(filter.getLanguages())));
+            vectorBinder.bind(ps, 10);
+            ps.setInt(11, filter.getMaxResults());
+            ps.setFloat(12, filter.getMinScore());
+        }, SEARCH_ROW_MAPPER);
+    }
+
+    private List<Object[]> search(String sql, SearchFilter filter, PreparedStatementSetter extraBinder) {
+        return jdbcTemplate.query(sql, ps -> {
+            extraBinder.setValues(ps);
+            ps.setInt(2, filter.getMaxResults());
+            ps.setFloat(3, filter.getMinScore());
+            ps.setArray(4, textArray(ps.getConnection(), filter.normalizedGroups()));
+            ps.setArray(5, textArray(ps.getConnection(), emptyToNull(filter.getSourceTypes())));
+            ps.setArray(6, textArray(ps.getConnection(), emptyToNull(filter.getChunkTypes())));
+            ps.setArray(7, textArray(ps.getConnection(), emptyToNull(filter.getLanguages())));
+            if (filter.getRecallLevel() != null) {
+                ps.setInt(8, filter.getRecallLevel().efSearch());
+            } else {
+                ps.setNull(8, Types.INTEGER);
+            }
+        }, SEARCH_ROW_MAPPER);
+    }
+
+    /**
+     * SQL text[] for a filter list; null stays null (no restriction).
+     */
+    private static Array textArray(Connection connection, List<String> values) throws SQLException {
+        return values != null ? connection.createArrayOf("text", values.toArray()) : null;
+    }
+
+    private static void bindTwice(PreparedStatement ps, int index, Array value) throws SQLException {
+        ps.setArray(index, value);
+        ps.setArray(index + 1, value);
+    }
+
+    private static List<String> emptyToNull(List<String> values) {
+        return values == null || values.isEmpty() ? null : values;
+    }
+
+    @FunctionalInterface
+    private interface VectorBinder {
+        void bind(PreparedStatement ps, int index) throws SQLException;
+    }
+
+    private static final RowMapper<Object[]> SEARCH_ROW_MAPPER = (rs, rowNum) -> new Object[] {
+        rs.getObject("id", UUID.class),
+        rs.getString("chunk_id"),
+        rs.getString("text_segment"),
+        rs.getString("source_type"),
+        rs.getString("source_id"),
+        rs.getString("entry_id"),
+        rs.getString("chunk_type"),
+        rs.getObject("sequence_number"),
+        rs.getString("metadata"),
+        rs.getTimestamp("created_at"),
+        rs.getTimestamp("updated_at"),
+        rs.getObject("score")
+    };
+}
@@ -0,0 +1,286 @@
+package com.bmc.rag.store.service;
+
+import com.bmc.rag.store.repository.PgVectorSupport;
+import com.bmc.rag.vectorization.chunking.TextChunk;
+import com.bmc.rag.vectorization.embedding.LocalEmbeddingService.EmbeddedChunk;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk loader for full re-ingestion into embedding_store.
+ *
+ * Instead of per-row {@code INSERT ... ON CONFLICT} batches, rows are streamed with
+ * {@code COPY FROM STDIN} into the unlogged {@code embedding_store_staging} table and
+ * merged into embedding_store with one set-based statement. Optionally the HNSW
+ * indexes are dropped before the merge and rebuilt afterwards, which is much cheaper
+ * than maintaining the graph row by row for hundreds of thousands of inserts.
+ *
+ * Dropping an index takes an exclusive lock on embedding_store until the surrounding
+ * transaction commits, which blocks searches, and the rebuild covers every source type
+ * the index serves. The indexes are therefore only dropped when at least
+ * {@code rebuild-index-min-rows} rows were staged, and only those the merge writes to:
+ * partial indexes for other source types are left alone. If the merge fails, the error
+ * aborts the transaction and its rollback restores the dropped indexes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkEmbeddingLoader {
+
+    private static final String COPY_SQL = """
+        COPY embedding_store_staging (load_id, ordinal, id, chunk_id, embedding, text_segment,
+            source_type, source_id, entry_id, chunk_type, sequence_number, metadata, content_hash, detected_language)
+        FROM STDIN WITH (FORMAT csv)
+        """;
+
+    private static final String MERGE_SQL = """
+        INSERT INTO embedding_store (id, chunk_id, embedding, text_segment, source_type,
+            source_id, entry_id, chunk_type, sequence_number, metadata, content_hash, detected_language)
+        SELECT DISTINCT ON (chunk_id)
+            id, chunk_id, embedding, text_segment, source_type,
+            source_id, entry_id, chunk_type, sequence_number, metadata, content_hash, detected_language
+        FROM embedding_store_staging
+        WHERE load_id = ?
+        ORDER BY chunk_id, ordinal DESC
+        ON CONFLICT (chunk_id) DO UPDATE SET
+            embedding = EXCLUDED.embedding,
+            text_segment = EXCLUDED.text_segment,
+            metadata = EXCLUDED.metadata,
+            content_hash = EXCLUDED.content_hash,
+            detected_language = EXCLUDED.detected_language,
+            updated_at = NOW()
+        """;
+
+    private static final String CLEAR_STAGING_SQL = "DELETE FROM embedding_store_staging WHERE load_id = ?";
+
+    // Source type a partial index is restricted to, as rendered in pg_indexes.indexdef
+    private static final Pattern SOURCE_TYPE_PREDICATE =
+        Pattern.compile("WHERE.*source_type\\)?(?:::\\w+)?\\s*=\\s*'([^']+)'", Pattern.CASE_INSENSITIVE);
+
+    private static final String FIND_HNSW_INDEXES_SQL = """
+        SELECT indexname, indexdef FROM pg_indexes
+        WHERE schemaname = current_schema()
+            AND tablename = 'embedding_store'
+            AND indexdef ILIKE '%USING hnsw%'
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Number of buffered rows sent per COPY.
+     */
+    @Value("${vector-store.bulk-load.flush-rows:2000}")
+    private int flushRows = 2000;
+
+    /**
+     * Fewest staged rows for which rebuildIndex drops and rebuilds the HNSW indexes;
+     * smaller loads are merged into the live indexes.
+     */
+    @Value("${vector-store.bulk-load.rebuild-index-min-rows:100000}")
+    private long rebuildIndexMinRows = 100000;
+
+    /**
+     * Start a bulk load.
+     *
+     * @param sourceType Source type being loaded (for logging)
+     * @param rebuildIndex Drop the HNSW indexes before the merge and rebuild them afterwards,
+     *                     if enough rows were staged
+     * @return An open load; close it to discard any rows that were not merged
+     */
+    public BulkLoad open(String sourceType, boolean rebuildIndex) {
+        BulkLoad load = new BulkLoad(UUID.randomUUID(), sourceType, rebuildIndex);
+        log.info("Opened bulk load {} for {} (rebuildIndex={})", load.loadId, sourceType, rebuildIndex);
+        return load;
+    }
+
+    /**
+     * A single bulk load: rows are buffered and COPYed into staging, then merged once.
+     * Not thread-safe.
+     */
+    public final class BulkLoad implements AutoCloseable {
+
+        private final UUID loadId;
+        private final String sourceType;
+        private final boolean rebuildIndex;
+        private final StringBuilder buffer = new StringBuilder();
+        private int bufferedRows;
+        private long ordinal;
+
+        private BulkLoad(UUID loadId, String sourceType, boolean rebuildIndex) {
+            this.loadId = loadId;
+            this.sourceType = sourceType;
+            this.rebuildIndex = rebuildIndex;
+        }
+
+        public UUID getLoadId() {
+            return loadId;
+        }
+
+        /**
+         * Stage embedded chunks. Rows are sent to Postgres every {@code flushRows} rows.
+         */
+        public void add(List<EmbeddedChunk> embeddedChunks) {
+            if (embeddedChunks == null || embeddedChunks.isEmpty()) {
+                return;
+            }
+            for (EmbeddedChunk ec : embeddedChunks) {
+                appendRow(ec);
+                if (bufferedRows >= flushRows) {
+                    flush();
+                }
+            }
+        }
+
+        /**
+         * COPY the buffered rows into the staging table.
+         */
+        public void flush() {
+            if (bufferedRows == 0) {
+                return;
+            }
+            String data = buffer.toString();
+            int rows = bufferedRows;
+            buffer.setLength(0);
+            bufferedRows = 0;
+
+            Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try {
+                    return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY_SQL, new StringReader(data));
+                } catch (IOException e) {
+                    throw new SQLException("COPY into embedding_store_staging failed", e);
+                }
+            });
+            log.debug("Bulk load {}: copied {} rows into staging", loadId, copied != null ? copied : rows);
+        }
+
+        /**
+         * Flush remaining rows and merge the staged rows into embedding_store.
+         *
+         * @return Number of rows inserted or updated
+         */
+        public int merge() {
+            flush();
+            long start = System.currentTimeMillis();
+
+            List<String> droppedIndexes = List.of();
+            if (rebuildIndex && ordinal >= rebuildIndexMinRows) {
+                droppedIndexes = dropHnswIndexes(sourceType);
+            } else if (rebuildIndex) {
+                log.info("Bulk load {}: {} staged rows is below {}, merging into the live indexes",
+                    loadId, ordinal, rebuildIndexMinRows);
+            }
+
+            // No finally: after a failed merge the transaction is aborted and its rollback restores the indexes
+            int merged = jdbcTemplate.update(MERGE_SQL, loadId);
+            jdbcTemplate.update(CLEAR_STAGING_SQL, loadId);
+            recreateIndexes(droppedIndexes);
+
+            log.info("Bulk load {} merged {} {} rows into embedding_store in {}ms",
+                loadId, merged, sourceType, System.currentTimeMillis() - start);
+            return merged;
+        }
+
+        /**
+         * Discard any staged rows that were not merged.
+         */
+        @Override
+        public void close() {
+            buffer.setLength(0);
+            bufferedRows = 0;
+            try {
+                jdbcTemplate.update(CLEAR_STAGING_SQL, loadId);
+            } catch (Exception e) {
+                log.warn("Failed to clear staging rows for bulk load {}: {}", loadId, e.getMessage());
+            }
+        }
+
+        private void appendRow(EmbeddedChunk ec) {
+            TextChunk chunk = ec.chunk();
+            appendField(loadId.toString(), false);
+            appendField(String.valueOf(ordinal++), false);
+            appendField(UUID.randomUUID().toString(), false);
+            appendField(chunk.getChunkId(), false);
+            appendField(PgVectorSupport.toLiteral(ec.embedding()), false);
+            appendField(chunk.getContent(), false);
+            appendField(chunk.getSourceType(), false);
+            appendField(chunk.getSourceId(), false);
+            appendField(chunk.getEntryId(), false);
+            appendField(chunk.getChunkType() != null ? chunk.getChunkType().name() : null, false);
+            appendField(String.valueOf(chunk.getSequenceNumber()), false);
+            appendField(formatMetadata(chunk.getMetadata()), false);
+            appendField(VectorStoreService.contentHash(chunk.getContent()), false);
+            appendField(VectorStoreService.detectLanguage(chunk.getContent()), true);
+            bufferedRows++;
+        }
+
+        /**
+         * Append a CSV field. NULL is an unquoted empty field; every value is quoted
+         * so embedded commas, quotes and newlines survive.
+         */
+        private void appendField(String value, boolean last) {
+            if (value != null) {
+                buffer.append('"').append(value.replace("\"", "\"\"")).append('"');
+            }
+            buffer.append(last ? '\n' : ',');
+        }
+    }
+
+    /**
+     * Drop the HNSW indexes on embedding_store that rows of the source type are written to,
+     * and return their definitions.
+     */
+    private List<String> dropHnswIndexes(String sourceType) {
+        List<String> definitions = new ArrayList<>();
+        List<Map<String, Object>> indexes = jdbcTemplate.queryForList(FIND_HNSW_INDEXES_SQL);
+        for (Map<String, Object> index : indexes) {
+            String name = (String) index.get("indexname");
+            Matcher predicate = SOURCE_TYPE_PREDICATE.matcher((String) index.get("indexdef"));
+            if (predicate.find() && !predicate.group(1).equals(sourceType)) {
+                continue;
+            }
+            jdbcTemplate.execute("DROP INDEX IF EXISTS \"" + name.replace("\"", "\"\"") + "\"");
+            definitions.add((String) index.get("indexdef"));
+            log.info("Dropped HNSW index {} for bulk load", name);
+        }
+        return definitions;
+    }
+
+    /**
+     * Recreate indexes from their pg_indexes definitions.
+     */
+    private void recreateIndexes(List<String> definitions) {
+        for (String definition : definitions) {
+            long start = System.currentTimeMillis();
+            jdbcTemplate.execute(definition);
+            log.info("Rebuilt index in {}ms: {}", System.currentTimeMillis() - start, definition);
+        }
+    }
+
+    private String formatMetadata(Map<String, String> metadata) {
+        try {
+            return objectMapper.writeValueAsString(metadata != null ? metadata : Map.of());
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize metadata: {}", e.getMessage());
+            return "{}";
+        }
+    }
+}
@@ -1,130 +1,335 @@
 package com.bmc.rag.store.service;
 
-import com.bmc.rag.store.entity.EmbeddingEntity;
-import com.bmc.rag.store.repository.EmbeddingRepository;
+import com.bmc.rag.store.repository.EmbeddingRefreshRepository;
+import com.bmc.rag.store.repository.EmbeddingRefreshRepository.Checkpoint;
+import com.bmc.rag.store.repository.EmbeddingRefreshRepository.PendingEmbedding;
+import com.bmc.rag.vectorization.embedding.EmbeddingPriority;
 import com.bmc.rag.vectorization.embedding.LocalEmbeddingService;
+import jakarta.annotation.PreDestroy;
+import lombok.Builder;
+import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Service to refresh embeddings in the database using real semantic embeddings.
- * This is used to fix data that was inserted with random embeddings (e.g., dummy/test data).
+ * This is used to fix data that was inserted with random embeddings (e.g., dummy/test data)
+ * and to re-embed everything after a model change.
+ *
+ * A run reads embedding_store in id order with keyset pagination (id and text only), hands
+ * each page to a pool of workers that embed it as one batch and write it back with a single
+ * UPDATE, and keeps at most two pages per worker in flight. Pages complete in submission
+ * order, so after each page the last id written is a safe checkpoint: a run that fails or is
+ * stopped resumes after it. One run at a time; {@link #getProgress()} reports the current one.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmbeddingRefreshService {
 
-    private final EmbeddingRepository repository;
+    /** Checkpoint scope of a run over all source types. */
+    public static final String ALL_SOURCES = "ALL";
+
+    private final EmbeddingRefreshRepository refreshRepository;
     private final LocalEmbeddingService embeddingService;
 
-    // Page size for batch processing to prevent OOM
-    private static final int PAGE_SIZE = 100;
+    @Value("${vector-store.binary-transfer:true}")
+    private boolean binaryTransfer;
+
+    @Value("${vector-store.reembed.batch-size:256}")
+    private int batchSize = 256;
+
+    @Value("${vector-store.reembed.workers:2}")
+    private int workers = 2;
+
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor(threadFactory("reembed-job"));
+    private final AtomicReference<RefreshJob> currentJob = new AtomicReference<>();
 
     /**
      * Refresh all embeddings in the database by re-embedding the text segments.
-     * Uses pagination to prevent OOM with large datasets.
+     * Runs on the calling thread from the beginning of the table.
      *
      * @return The number of embeddings refreshed
      */
     public int refreshAllEmbeddings() {
-        log.info("Starting paginated embedding refresh for all records...");
-
-        int page = 0;
-        int totalRefreshed = 0;
-        int totalFailed = 0;
-        Page<EmbeddingEntity> entityPage;
-
-        do {
-            // Fetch one page at a time to prevent OOM
-            entityPage = repository.findAll(PageRequest.of(page, PAGE_SIZE));
-            int pageTotal = entityPage.getNumberOfElements();
-            log.info("Processing page {} ({} records)", page, pageTotal);
-
-            for (EmbeddingEntity entity : entityPage) {
-                try {
-                    refreshSingleEmbedding(entity);
-                    totalRefreshed++;
-
-                    if (totalRefreshed % 50 == 0) {
-                        log.info("Progress: refreshed {} embeddings so far", totalRefreshed);
-                    }
-                } catch (Exception e) {
-                    totalFailed++;
-                    log.error("Failed to refresh embedding for entity {}: {}", entity.getId(), e.getMessage());
-                }
-            }
-
-            page++;
-        } while (entityPage.hasNext());
-
-        log.info("Embedding refresh completed. Refreshed: {}, Failed: {}", totalRefreshed, totalFailed);
-        return totalRefreshed;
-    }
-
-    /**
-     * Refresh a single embedding with its own transaction.
-     */
-    @Transactional
-    protected void refreshSingleEmbedding(EmbeddingEntity entity) {
-        float[] embedding = embeddingService.embed(entity.getTextSegment());
-        repository.updateEmbedding(entity.getId(), formatEmbedding(embedding));
+        return (int) run(claim(null, false)).getRefreshed();
     }
 
     /**
      * Refresh embeddings for a specific source type.
-     * Uses pagination to prevent OOM with large datasets.
+     * Runs on the calling thread from the beginning of the table.
      *
      * @param sourceType The source type to refresh (e.g., "Incident", "KnowledgeArticle")
      * @return The number of embeddings refreshed
      */
     public int refreshEmbeddingsBySourceType(String sourceType) {
-        log.info("Starting paginated embedding refresh for source type: {}", sourceType);
-
-        int page = 0;
-        int totalRefreshed = 0;
-        int totalFailed = 0;
-        Page<EmbeddingEntity> entityPage;
-
-        do {
-            entityPage = repository.findBySourceType(sourceType, PageRequest.of(page, PAGE_SIZE));
-            log.info("Processing page {} for {} ({} records)", page, sourceType, entityPage.getNumberOfElements());
-
-            for (EmbeddingEntity entity : entityPage) {
-                try {
-                    refreshSingleEmbedding(entity);
-                    totalRefreshed++;
-                } catch (Exception e) {
-                    totalFailed++;
-                    log.error("Failed to refresh embedding for entity {}: {}", entity.getId(), e.getMessage());
+        return (int) run(claim(sourceType, false)).getRefreshed();
+    }
+
+    /**
+     * Start a run in the background.
+     *
+     * @param sourceType Source type to refresh, or null for all
+     * @param resume Continue after the checkpoint of an earlier run of the same scope that did not
+     *               complete; otherwise (or when there is none) start from the beginning
+     * @return Progress at start
+     * @throws IllegalStateException if a run is already in progress, or the service is shutting down
+     */
+    public RefreshProgress start(String sourceType, boolean resume) {
+        RefreshJob job = claim(sourceType, resume);
+        try {
+            jobExecutor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            // Never ran: record it as failed so the scope is not left RUNNING and can be resumed
+            job.finish(RefreshStatus.FAILED, "not started: " + e.getMessage());
+            saveCheckpoint(job);
+            throw new IllegalStateException("Re-embedding could not be started for " + job.scope, e);
+        }
+        return job.progress();
+    }
+
+    /**
+     * Progress of the current or most recent run since startup.
+     */
+    public Optional<RefreshProgress> getProgress() {
+        return Optional.ofNullable(currentJob.get()).map(RefreshJob::progress);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Interrupts a running job; it saves its checkpoint as FAILED and can be resumed
+        jobExecutor.shutdownNow();
+    }
+
+    private synchronized RefreshJob claim(String sourceType, boolean resume) {
+        RefreshJob running = currentJob.get();
+        if (running != null && running.status == RefreshStatus.RUNNING) {
+            throw new IllegalStateException("Re-embedding already running for " + running.scope);
+        }
+
+        String scope = sourceType != null ? sourceType : ALL_SOURCES;
+        Checkpoint checkpoint = resume
+            ? refreshRepository.findCheckpoint(scope)
+                .filter(c -> !RefreshStatus.COMPLETED.name().equals(c.status()))
+                .orElse(null)
+            : null;
+
+        RefreshJob job = new RefreshJob(scope, sourceType, checkpoint);
+        job.total = job.refreshed.get() + job.failed.get() + refreshRepository.countAfter(job.lastId, sourceType);
+        // Only a job whose RUNNING checkpoint was saved becomes current; otherwise it would block later runs
+        refreshRepository.saveCheckpoint(job.checkpoint());
+        currentJob.set(job);
+
+        if (checkpoint != null) {
+            log.info("Resuming embedding refresh for {} after {} ({} of {} done)",
+                scope, job.lastId, job.refreshed.get() + job.failed.get(), job.total);
+        } else {
+            log.info("Starting embedding refresh for {} ({} records)", scope, job.total);
+        }
+        return job;
+    }
+
+    private RefreshProgress run(RefreshJob job) {
+        int workerCount = Math.max(1, workers);
+        ExecutorService pool = Executors.newFixedThreadPool(workerCount, threadFactory("reembed-" + job.scope));
+        Deque<Future<BatchResult>> inFlight = new ArrayDeque<>();
+        try {
+            UUID after = job.lastId;
+            List<PendingEmbedding> page;
+            do {
+                page = refreshRepository.findPage(after, job.sourceType, batchSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                after = page.get(page.size() - 1).id();
+                List<PendingEmbedding> batch = page;
+                inFlight.add(pool.submit(() -> reembed(batch)));
+                // Wait on the oldest page: the checkpoint only ever moves past written pages
+                while (inFlight.size() >= workerCount * 2) {
+                    complete(job, inFlight.poll().get());
                 }
+            } while (page.size() == batchSize);
+
+            while (!inFlight.isEmpty()) {
+                complete(job, inFlight.poll().get());
             }
+            job.finish(RefreshStatus.COMPLETED, null);
+            log.info("Embedding refresh for {} completed. Refreshed: {}, Failed: {}",
+                job.scope, job.refreshed.get(), job.failed.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(RefreshStatus.FAILED, "interrupted");
+            log.warn("Embedding refresh for {} interrupted after {}", job.scope, job.lastId);
+        } catch (ExecutionException | RuntimeException e) {
+            drainQuietly(job, inFlight);
+            job.finish(RefreshStatus.FAILED, e.getMessage());
+            log.error("Embedding refresh for {} failed after {}: {}", job.scope, job.lastId, e.getMessage(), e);
+        } finally {
+            pool.shutdownNow();
+            saveCheckpoint(job);
+        }
+        return job.progress();
+    }
+
+    /**
+     * Embed one page as a batch and write it back with one statement. A failed page is
+     * counted and skipped so one bad batch does not stop the run.
+     */
+    private BatchResult reembed(List<PendingEmbedding> batch) {
+        UUID lastId = batch.get(batch.size() - 1).id();
+        try {
+            List<String> texts = batch.stream()
+                .map(row -> row.textSegment() != null ? row.textSegment() : "")
+                .toList();
+            List<float[]> embeddings = embeddingService.embedBatch(texts, EmbeddingPriority.BULK);
+            List<UUID> ids = batch.stream().map(PendingEmbedding::id).toList();
+            int updated = refreshRepository.updateEmbeddings(ids, embeddings, binaryTransfer);
+            return new BatchResult(lastId, updated, 0);
+        } catch (Exception e) {
+            log.error("Failed to refresh {} embeddings up to {}: {}", batch.size(), lastId, e.getMessage());
+            return new BatchResult(lastId, 0, batch.size());
+        }
+    }
+
+    private void complete(RefreshJob job, BatchResult result) {
+        job.refreshed.addAndGet(result.refreshed());
+        job.failed.addAndGet(result.failed());
+        job.lastId = result.lastId();
+        saveCheckpoint(job);
+        if (job.batches.incrementAndGet() % 20 == 0) {
+            log.info("Progress: {}/{} embeddings refreshed for {} ({} failed)",
+                job.refreshed.get(), job.total, job.scope, job.failed.get());
+        }
+    }
+
+    /**
+     * After a read failure, keep the pages already handed to workers so the checkpoint covers them.
+     */
+    private void drainQuietly(RefreshJob job, Deque<Future<BatchResult>> inFlight) {
+        try {
+            while (!inFlight.isEmpty()) {
+                complete(job, inFlight.poll().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Checkpoint stays at the last page before this one
+        }
+    }
 
-            page++;
-        } while (entityPage.hasNext());
+    private void saveCheckpoint(RefreshJob job) {
+        try {
+            refreshRepository.saveCheckpoint(job.checkpoint());
+        } catch (RuntimeException e) {
+            log.warn("Failed to save embedding refresh checkpoint for {}: {}", job.scope, e.getMessage());
+        }
+    }
 
-        log.info("Embedding refresh for {} completed. Refreshed: {}, Failed: {}", sourceType, totalRefreshed, totalFailed);
-        return totalRefreshed;
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private record BatchResult(UUID lastId, int refreshed, int failed) {
+    }
+
+    public enum RefreshStatus {
+        RUNNING, COMPLETED, FAILED
     }
 
     /**
-     * Format embedding array as PostgreSQL vector string.
+     * Mutable state of one run; counters are updated by the run thread and read by progress().
      */
-    private String formatEmbedding(float[] embedding) {
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < embedding.length; i++) {
-            if (i > 0) {
-                sb.append(",");
+    private static final class RefreshJob {
+        private final String scope;
+        private final String sourceType;
+        private final Instant startedAt;
+        private final AtomicLong refreshed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicInteger batches = new AtomicInteger();
+        private volatile long total;
+        private volatile UUID lastId;
+        private volatile RefreshStatus status = RefreshStatus.RUNNING;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private RefreshJob(String scope, String sourceType, Checkpoint resumeFrom) {
+            this.scope = scope;
+            this.sourceType = sourceType;
+            if (resumeFrom != null) {
+                this.startedAt = resumeFrom.startedAt();
+                this.lastId = resumeFrom.lastId();
+                this.refreshed.set(resumeFrom.refreshed());
+                this.failed.set(resumeFrom.failed());
+            } else {
+                this.startedAt = Instant.now();
             }
-            sb.append(embedding[i]);
         }
-        sb.append("]");
-        return sb.toString();
+
+        private void finish(RefreshStatus status, String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.status = status;
+        }
+
+        private Checkpoint checkpoint() {
+            return new Checkpoint(scope, lastId, refreshed.get(), failed.get(), status.name(), startedAt);
+        }
+
+        private RefreshProgress progress() {
+            long done = refreshed.get() + failed.get();
+            return RefreshProgress.builder()
+                .scope(scope)
+                .status(status)
+                .total(total)
+                .refreshed(refreshed.get())
+                .failed(failed.get())
+                .percentComplete(total > 0 ? Math.min(100.0, done * 100.0 / total) : 100.0)
+                .lastId(lastId)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .error(error)
+                .build();
+        }
+    }
+
+    /**
+     * Snapshot of a run's progress.
+     */
+    @Data
+    @Builder
+    public static class RefreshProgress {
+        private String scope;
+        private RefreshStatus status;
+        private long total;
+        private long refreshed;
+        private long failed;
+        private double percentComplete;
+        private UUID lastId;
+        private Instant startedAt;
+        private Instant finishedAt;
+        private String error;
     }
 }
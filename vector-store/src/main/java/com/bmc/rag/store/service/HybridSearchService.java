@@ -1,6 +1,13 @@
 package com.bmc.rag.store.service;
 
-import com.bmc.rag.vectorization.embedding.LocalEmbeddingService;
+import com.bmc.rag.store.repository.PgVectorSupport;
+import com.bmc.rag.store.repository.VectorSearchRepository;
+import com.bmc.rag.vectorization.embedding.QueryEmbeddingCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,11 +15,27 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
  * Service for hybrid search combining vector similarity and full-text search (P2.1).
  * Uses Reciprocal Rank Fusion (RRF) to combine results from both methods.
+ *
+ * The two legs are separate index scans run concurrently: the full-text leg (GIN, ts_rank_cd)
+ * on a small dedicated pool while the caller embeds the query and runs the vector leg (HNSW,
+ * search_embeddings). Ranks are fused here, so a search takes as long as the slower leg.
+ * The text leg runs under a statement timeout, since cancelling its future does not stop
+ * the query on the server. Both legs match ReBAC groups exactly as hybrid_search_with_groups
+ * did ({@link SearchFilter#isExactGroupMatch()}).
+ * Each leg is timed as {@code rag.hybrid-search.leg.duration}, tagged {@code leg=vector|text}.
  */
 @Slf4j
 @Service
@@ -20,7 +43,10 @@ import java.util.stream.Collectors;
 public class HybridSearchService {
 
     private final JdbcTemplate jdbcTemplate;
-    private final LocalEmbeddingService embeddingService;
+    private final QueryEmbeddingCache queryEmbeddingCache;
+    private final VectorSearchRepository vectorSearchRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
     @Value("${hybrid-search.vector-weight:0.7}")
     private float vectorWeight;
@@ -31,6 +57,36 @@ public class HybridSearchService {
     @Value("${hybrid-search.rrf-k:60}")
     private int rrfK;
 
+    @Value("${hybrid-search.text-leg-threads:8}")
+    private int textLegThreads;
+
+    @Value("${hybrid-search.text-leg-timeout-seconds:5}")
+    private int textLegTimeoutSeconds;
+
+    @Value("${vector-store.binary-transfer:true}")
+    private boolean binaryTransfer;
+
+    private ExecutorService textLegExecutor;
+    private Timer vectorLegTimer;
+    private Timer textLegTimer;
+
+    @PostConstruct
+    void start() {
+        // Bounded: when the pool is saturated the caller runs the text leg itself (sequential, not rejected)
+        textLegExecutor = new ThreadPoolExecutor(textLegThreads, textLegThreads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(textLegThreads * 4), threadFactory(),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        vectorLegTimer = legTimer("vector");
+        textLegTimer = legTimer("text");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (textLegExecutor != null) {
+            textLegExecutor.shutdownNow();
+        }
+    }
+
     /**
      * Perform hybrid search combining vector and keyword search.
      *
@@ -43,22 +99,11 @@ public class HybridSearchService {
         log.debug("Hybrid search: query='{}', maxResults={}, minScore={}",
             truncateForLog(query), maxResults, minScore);
 
-        float[] queryEmbedding = embeddingService.embed(query);
-        String embeddingStr = formatEmbedding(queryEmbedding);
-
-        String sql = """
-            SELECT * FROM hybrid_search(
-                ?, ?, ?, ?, ?, ?, ?
-            )
-            """;
-
-        List<Map<String, Object>> results = jdbcTemplate.queryForList(
-            sql, query, embeddingStr, maxResults, minScore, vectorWeight, textWeight, rrfK
-        );
-
-        List<HybridSearchResult> searchResults = results.stream()
-            .map(this::mapToSearchResult)
-            .collect(Collectors.toList());
+        List<HybridSearchResult> searchResults = hybridSearch(query, SearchFilter.builder()
+            .maxResults(maxResults)
+            .minScore(minScore)
+            .exactGroupMatch(true)
+            .build());
 
         log.debug("Hybrid search returned {} results", searchResults.size());
         return searchResults;
@@ -82,25 +127,13 @@ public class HybridSearchService {
         log.debug("Hybrid search with groups: query='{}', groups={}",
             truncateForLog(query), allowedGroups);
 
-        float[] queryEmbedding = embeddingService.embed(query);
-        String embeddingStr = formatEmbedding(queryEmbedding);
-        String groupsArray = formatPostgresArray(allowedGroups);
-
-        String sql = """
-            SELECT * FROM hybrid_search_with_groups(
-                ?, ?, ?, ?, ?, ?, ?, ?
-            )
-            """;
-
-        // Note: Parameter order matches hybrid_search_with_groups function:
-        // query_text, query_embedding, allowed_groups, max_results, min_score, vector_weight, text_weight, k_rrf
-        List<Map<String, Object>> results = jdbcTemplate.queryForList(
-            sql, query, embeddingStr, groupsArray, maxResults, minScore, vectorWeight, textWeight, rrfK
-        );
-
-        return results.stream()
-            .map(this::mapToSearchResult)
-            .collect(Collectors.toList());
+        // No groups: only records without an assigned group are visible
+        return hybridSearch(query, SearchFilter.builder()
+            .maxResults(maxResults)
+            .minScore(minScore)
+            .allowedGroups(allowedGroups != null ? allowedGroups : List.of())
+            .exactGroupMatch(true)
+            .build());
     }
 
     /**
@@ -141,27 +174,78 @@ public class HybridSearchService {
     }
 
     /**
-     * Set the HNSW ef_search parameter for the current session.
-     * Higher values = better recall, slower search.
+     * Run both legs with twice the requested results each (as the V4 SQL fusion did) and fuse.
      */
-    public void setEfSearch(int efSearch) {
-        if (efSearch < 1 || efSearch > 1000) {
-            throw new IllegalArgumentException("ef_search must be between 1 and 1000, got: " + efSearch);
+    private List<HybridSearchResult> hybridSearch(String query, SearchFilter filter) {
+        SearchFilter legFilter = filter.toBuilder().maxResults(filter.getMaxResults() * 2).build();
+
+        CompletableFuture<List<Object[]>> textLeg = CompletableFuture.supplyAsync(
+            () -> textLegTimer.record(() -> vectorSearchRepository.searchText(query, legFilter, textLegTimeoutSeconds)),
+            textLegExecutor);
+
+        List<Object[]> vectorRows;
+        try {
+            float[] queryEmbedding = queryEmbeddingCache.embed(query);
+            vectorRows = vectorLegTimer.record(() -> binaryTransfer
+                ? vectorSearchRepository.search(queryEmbedding, legFilter)
+                : vectorSearchRepository.search(formatEmbedding(queryEmbedding), legFilter));
+        } catch (RuntimeException e) {
+            textLeg.cancel(true);
+            throw e;
+        }
+
+        List<Object[]> textRows;
+        try {
+            textRows = textLeg.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
         }
-        jdbcTemplate.execute("SET hnsw.ef_search = " + efSearch);
-        log.debug("Set hnsw.ef_search = {}", efSearch);
+
+        return fuse(vectorRows, textRows, filter.getMaxResults());
     }
 
     /**
-     * Get recommended ef_search value based on recall requirements.
+     * Reciprocal Rank Fusion: each leg adds weight / (k + rank) for every row it returned,
+     * rank starting at 1. A row found by only one leg keeps 0 as the other leg's score.
      */
-    public int getRecommendedEfSearch(RecallLevel level) {
-        return switch (level) {
-            case LOW -> 40;       // ~90% recall, fastest
-            case MEDIUM -> 64;    // ~95% recall, balanced
-            case HIGH -> 100;     // ~98% recall, slower
-            case MAXIMUM -> 200;  // ~99% recall, slowest
-        };
+    private List<HybridSearchResult> fuse(List<Object[]> vectorRows, List<Object[]> textRows, int maxResults) {
+        Map<UUID, HybridSearchResult> fused = new LinkedHashMap<>();
+
+        for (int i = 0; i < vectorRows.size(); i++) {
+            Object[] row = vectorRows.get(i);
+            HybridSearchResult result = fused.computeIfAbsent((UUID) row[0], id -> mapToSearchResult(row));
+            result.setVectorScore(score(row));
+            result.setHybridScore(result.getHybridScore() + vectorWeight / (rrfK + i + 1));
+        }
+        for (int i = 0; i < textRows.size(); i++) {
+            Object[] row = textRows.get(i);
+            HybridSearchResult result = fused.computeIfAbsent((UUID) row[0], id -> mapToSearchResult(row));
+            result.setTextScore(score(row));
+            result.setHybridScore(result.getHybridScore() + textWeight / (rrfK + i + 1));
+        }
+
+        return fused.values().stream()
+            .sorted(Comparator.comparing(HybridSearchResult::getHybridScore).reversed())
+            .limit(maxResults)
+            .collect(Collectors.toList());
+    }
+
+    private HybridSearchResult mapToSearchResult(Object[] row) {
+        return HybridSearchResult.builder()
+            .id((UUID) row[0])
+            .chunkId((String) row[1])
+            .textSegment((String) row[2])
+            .sourceType((String) row[3])
+            .sourceId((String) row[4])
+            .entryId((String) row[5])
+            .chunkType((String) row[6])
+            .sequenceNumber(row[7] != null ? ((Number) row[7]).intValue() : 0)
+            .metadata(parseMetadata(row[8]))
+            .build();
+    }
+
+    private static float score(Object[] row) {
+        return row[11] != null ? ((Number) row[11]).floatValue() : 0f;
     }
 
     private HybridSearchResult mapToSearchResult(Map<String, Object> row) {
@@ -189,24 +273,32 @@ public class HybridSearchService {
     private Map<String, String> parseMetadata(Object metadataObj) {
         if (metadataObj == null) return new HashMap<>();
         if (metadataObj instanceof Map) return (Map<String, String>) metadataObj;
-        return new HashMap<>();
+        try {
+            return objectMapper.readValue(metadataObj.toString(), Map.class);
+        } catch (Exception e) {
+            log.warn("Failed to parse metadata: {}", e.getMessage());
+            return new HashMap<>();
+        }
     }
 
     private String formatEmbedding(float[] embedding) {
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < embedding.length; i++) {
-            if (i > 0) sb.append(",");
-            sb.append(embedding[i]);
-        }
-        sb.append("]");
-        return sb.toString();
+        return PgVectorSupport.toLiteral(embedding);
     }
 
-    private String formatPostgresArray(List<String> values) {
-        if (values == null || values.isEmpty()) return "{}";
-        return "{" + values.stream()
-            .map(v -> "\"" + v.replace("\"", "\"\"") + "\"")
-            .collect(Collectors.joining(",")) + "}";
+    private Timer legTimer(String leg) {
+        return Timer.builder("rag.hybrid-search.leg.duration")
+            .description("Time spent per hybrid search leg")
+            .tag("leg", leg)
+            .register(meterRegistry);
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "hybrid-search-text-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
     }
 
     private String truncateForLog(String text) {
@@ -214,16 +306,6 @@ public class HybridSearchService {
         return text.length() > 100 ? text.substring(0, 100) + "..." : text;
     }
 
-    /**
-     * Recall level for HNSW search.
-     */
-    public enum RecallLevel {
-        LOW,     // ~90% recall, fastest
-        MEDIUM,  // ~95% recall, balanced
-        HIGH,    // ~98% recall, slower
-        MAXIMUM  // ~99% recall, slowest
-    }
-
     /**
      * Hybrid search result DTO.
      */
@@ -0,0 +1,30 @@
+package com.bmc.rag.store.service;
+
+/**
+ * Recall level for HNSW search, mapped to the hnsw.ef_search value a search runs with.
+ * Higher levels visit more graph candidates: better recall, slower search.
+ */
+public enum RecallLevel {
+    LOW(40),      // ~90% recall, fastest
+    MEDIUM(64),   // ~95% recall, balanced
+    HIGH(100),    // ~98% recall, slower
+    MAXIMUM(200); // ~99% recall, slowest
+
+    private final int efSearch;
+
+    RecallLevel(int efSearch) {
+        this.efSearch = efSearch;
+    }
+
+    public int efSearch() {
+        return efSearch;
+    }
+
+    /**
+     * The next higher level, or this one if already at MAXIMUM.
+     */
+    public RecallLevel next() {
+        RecallLevel[] levels = values();
+        return ordinal() + 1 < levels.length ? levels[ordinal() + 1] : this;
+    }
+}
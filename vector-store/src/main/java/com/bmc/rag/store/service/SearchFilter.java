@@ -0,0 +1,94 @@
+package com.bmc.rag.store.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Filters for a vector search, applied together inside a single database query
+ * (search_embeddings) so results never have to be over-fetched and post-filtered.
+ *
+ * Null or empty lists mean "no restriction", except {@code allowedGroups}: null disables
+ * ReBAC filtering, while an empty collection restricts results to records without an
+ * assigned group.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchFilter {
+
+    @Builder.Default
+    private int maxResults = 5;
+
+    @Builder.Default
+    private float minScore = 0.7f;
+
+    /**
+     * Groups whose records are visible, matched case-insensitively against
+     * metadata.assigned_group. Records without an assigned group are always visible.
+     */
+    private Collection<String> allowedGroups;
+
+    /**
+     * Match allowedGroups the way hybrid_search_with_groups (V12) does instead: exact,
+     * case-sensitive group names, and only records without an assigned_group are public.
+     */
+    private boolean exactGroupMatch;
+
+    /**
+     * Source types to include (Incident, WorkOrder, KnowledgeArticle, ...). A single type is
+     * searched through its partial HNSW index where one exists (V18).
+     */
+    private List<String> sourceTypes;
+
+    /** Chunk types to include (SUMMARY, RESOLUTION, ...). */
+    private List<String> chunkTypes;
+
+    /** Detected languages to include (en, ar, mixed). */
+    private List<String> languages;
+
+    /**
+     * hnsw.ef_search level of the first pass; null runs once with the server setting.
+     */
+    private RecallLevel recallLevel;
+
+    /**
+     * Highest level to retry at while the search returns fewer than maxResults rows;
+     * null (or not above recallLevel) disables the retry.
+     */
+    private RecallLevel maxRecallLevel;
+
+    /**
+     * Whether a short result should be retried at the next recall level.
+     */
+    public boolean canEscalate() {
+        return recallLevel != null && maxRecallLevel != null && recallLevel.compareTo(maxRecallLevel) < 0;
+    }
+
+    /**
+     * Allowed groups lower-cased for the case-insensitive comparison, or null without ReBAC.
+     * With {@link #exactGroupMatch} the groups are returned as given.
+     */
+    public List<String> normalizedGroups() {
+        if (allowedGroups == null) {
+            return null;
+        }
+        if (exactGroupMatch) {
+            return allowedGroups.stream()
+                .filter(group -> group != null)
+                .distinct()
+                .toList();
+        }
+        return allowedGroups.stream()
+            .filter(group -> group != null && !group.isBlank())
+            .map(group -> group.toLowerCase(Locale.ROOT))
+            .distinct()
+            .toList();
+    }
+}
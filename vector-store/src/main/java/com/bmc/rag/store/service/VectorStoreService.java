@@ -1,18 +1,29 @@
 package com.bmc.rag.store.service;
 
+import com.bmc.rag.store.event.SourceRecordsChangedEvent;
 import com.bmc.rag.store.repository.EmbeddingRepository;
+import com.bmc.rag.store.repository.PgVectorSupport;
+import com.bmc.rag.store.repository.VectorSearchRepository;
 import com.bmc.rag.vectorization.chunking.TextChunk;
-import com.bmc.rag.vectorization.embedding.LocalEmbeddingService;
 import com.bmc.rag.vectorization.embedding.LocalEmbeddingService.EmbeddedChunk;
+import com.bmc.rag.vectorization.embedding.QueryEmbeddingCache;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Array;
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.sql.Types;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -20,6 +31,7 @@ import java.util.stream.Collectors;
 /**
  * Service for vector storage operations.
  * Handles embedding storage, retrieval, and semantic search.
+ * Writes and deletes publish a {@link SourceRecordsChangedEvent} for the affected records.
  */
 @Slf4j
 @Service
@@ -28,10 +40,55 @@ public class VectorStoreService {
 
     private static final int BATCH_SIZE = 100;
 
+    private static final String UPSERT_SQL = """
+        INSERT INTO embedding_store (id, chunk_id, embedding, text_segment, source_type,
+            source_id, entry_id, chunk_type, sequence_number, metadata, detected_language, content_hash)
+        VALUES (?, ?, ?::vector, ?, ?, ?, ?, ?, ?, ?::jsonb, ?, ?)
+        ON CONFLICT (chunk_id) DO UPDATE SET
+            embedding = EXCLUDED.embedding,
+            text_segment = EXCLUDED.text_segment,
+            metadata = EXCLUDED.metadata,
+            detected_language = EXCLUDED.detected_language,
+            content_hash = EXCLUDED.content_hash,
+            updated_at = NOW()
+        """;
+
+    private static final String FIND_CONTENT_HASHES_SQL = """
+        SELECT chunk_id, content_hash FROM embedding_store
+        WHERE source_type = ? AND source_id = ANY(?)
+        """;
+
+    private static final String DELETE_REMOVED_CHUNKS_SQL = """
+        DELETE FROM embedding_store
+        WHERE source_type = ? AND source_id = ANY(?) AND chunk_id <> ALL(?)
+        RETURNING source_id
+        """;
+
     private final EmbeddingRepository embeddingRepository;
-    private final LocalEmbeddingService embeddingService;
+    private final QueryEmbeddingCache queryEmbeddingCache;
     private final ObjectMapper objectMapper;
     private final JdbcTemplate jdbcTemplate;
+    private final VectorSearchRepository vectorSearchRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Send embeddings in the binary pgvector format instead of "[0.1,...]" text literals.
+     */
+    @Value("${vector-store.binary-transfer:true}")
+    private boolean binaryTransfer;
+
+    /**
+     * Search the binary-quantized HNSW index (V20) and rerank the candidates on the full
+     * vectors, instead of searching the full-precision index. Needs pgvector 0.7+.
+     */
+    @Value("${vector-store.quantized-search.enabled:false}")
+    private boolean quantizedSearch;
+
+    /**
+     * Candidates fetched from the quantized index per requested result before the exact rerank.
+     */
+    @Value("${vector-store.quantized-search.rerank-factor:8}")
+    private int quantizedRerankFactor;
 
     /**
      * Store a single embedded chunk.
@@ -53,9 +110,11 @@ public class VectorStoreService {
             chunk.getEntryId(),
             chunk.getChunkType() != null ? chunk.getChunkType().name() : null,
             chunk.getSequenceNumber(),
-            metadataJson
+            metadataJson,
+            contentHash(chunk.getContent())
         );
 
+        publishChanged(List.of(embeddedChunk));
         log.debug("Stored embedding for chunk: {}", chunk.getChunkId());
     }
 
@@ -70,20 +129,88 @@ public class VectorStoreService {
         }
 
         log.info("Storing {} embedded chunks in batches of {}", embeddedChunks.size(), BATCH_SIZE);
+        int totalBatches = upsert(embeddedChunks);
+
+        publishChanged(embeddedChunks);
+        log.info("Stored {} chunks successfully in {} batches", embeddedChunks.size(), totalBatches);
+    }
+
+    /**
+     * Stored content hash per chunk id for a group of source records.
+     * Used by incremental sync to decide which chunks need embedding.
+     */
+    public Map<String, String> findContentHashes(String sourceType, Collection<String> sourceIds) {
+        if (sourceIds == null || sourceIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> hashes = new HashMap<>();
+        RowCallbackHandler collect = rs -> hashes.put(rs.getString("chunk_id"), rs.getString("content_hash"));
+        jdbcTemplate.query(FIND_CONTENT_HASHES_SQL, ps -> {
+            ps.setString(1, sourceType);
+            ps.setArray(2, textArray(ps, sourceIds));
+        }, collect);
+        return hashes;
+    }
 
-        String sql = """
-            INSERT INTO embedding_store (id, chunk_id, embedding, text_segment, source_type,
-                source_id, entry_id, chunk_type, sequence_number, metadata, detected_language)
-            VALUES (?, ?, ?::vector, ?, ?, ?, ?, ?, ?, ?::jsonb, ?)
-            ON CONFLICT (chunk_id) DO UPDATE SET
-                embedding = EXCLUDED.embedding,
-                text_segment = EXCLUDED.text_segment,
-                metadata = EXCLUDED.metadata,
-                detected_language = EXCLUDED.detected_language,
-                updated_at = NOW()
-            """;
-
-        // Process in batches
+    /**
+     * Bring the stored chunks of a group of source records in line with their current chunks
+     * without re-embedding unchanged text (incremental sync path).
+     *
+     * Stored chunks that are no longer produced are deleted, the embedded chunks are upserted,
+     * and for every other chunk only the metadata is updated, and only where it differs. A change
+     * event is published for the records where anything was written.
+     *
+     * @param sourceType The source type being synced
+     * @param sourceIds The source records in this group
+     * @param chunks All current chunks of those records
+     * @param embedded The chunks whose text changed, embedded
+     */
+    @Transactional
+    public void syncSourceRecords(String sourceType, List<String> sourceIds,
+                                  List<TextChunk> chunks, List<EmbeddedChunk> embedded) {
+        if (sourceIds.isEmpty()) {
+            return;
+        }
+        Set<String> changed = new HashSet<>();
+
+        List<String> currentIds = chunks.stream().map(TextChunk::getChunkId).toList();
+        List<String> deleted = jdbcTemplate.query(DELETE_REMOVED_CHUNKS_SQL, ps -> {
+            ps.setString(1, sourceType);
+            ps.setArray(2, textArray(ps, sourceIds));
+            ps.setArray(3, textArray(ps, currentIds));
+        }, (rs, rowNum) -> rs.getString("source_id"));
+        changed.addAll(deleted);
+
+        Set<String> embeddedIds = embedded.stream()
+            .map(ec -> ec.chunk().getChunkId())
+            .collect(Collectors.toSet());
+        List<TextChunk> unchanged = chunks.stream()
+            .filter(chunk -> !embeddedIds.contains(chunk.getChunkId()))
+            .toList();
+        int patched = 0;
+        for (int start = 0; start < unchanged.size(); start += BATCH_SIZE) {
+            List<String> patchedIds =
+                patchMetadata(unchanged.subList(start, Math.min(start + BATCH_SIZE, unchanged.size())));
+            patched += patchedIds.size();
+            changed.addAll(patchedIds);
+        }
+
+        upsert(embedded);
+        embedded.forEach(ec -> changed.add(ec.chunk().getSourceId()));
+
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(SourceRecordsChangedEvent.of(sourceType, changed));
+        }
+        log.debug("Synced {} {} records: {} chunks embedded, {} metadata updated, {} unchanged, {} deleted",
+            sourceIds.size(), sourceType, embedded.size(), patched, unchanged.size() - patched, deleted.size());
+    }
+
+    /**
+     * Upsert embedded chunks in JDBC batches of BATCH_SIZE.
+     *
+     * @return Number of batches sent
+     */
+    private int upsert(List<EmbeddedChunk> embeddedChunks) {
         int totalBatches = (embeddedChunks.size() + BATCH_SIZE - 1) / BATCH_SIZE;
         int processed = 0;
 
@@ -92,12 +219,16 @@ public class VectorStoreService {
             int end = Math.min(start + BATCH_SIZE, embeddedChunks.size());
             List<EmbeddedChunk> batchChunks = embeddedChunks.subList(start, end);
 
-            jdbcTemplate.batchUpdate(sql, batchChunks, batchChunks.size(),
+            jdbcTemplate.batchUpdate(UPSERT_SQL, batchChunks, batchChunks.size(),
                 (PreparedStatement ps, EmbeddedChunk ec) -> {
                     TextChunk chunk = ec.chunk();
                     ps.setObject(1, UUID.randomUUID());
                     ps.setString(2, chunk.getChunkId());
-                    ps.setString(3, formatEmbedding(ec.embedding()));
+                    if (binaryTransfer) {
+                        PgVectorSupport.bind(ps, 3, ec.embedding());
+                    } else {
+                        ps.setString(3, formatEmbedding(ec.embedding()));
+                    }
                     ps.setString(4, chunk.getContent());
                     ps.setString(5, chunk.getSourceType());
                     ps.setString(6, chunk.getSourceId());
@@ -110,14 +241,40 @@ public class VectorStoreService {
                     ps.setInt(9, chunk.getSequenceNumber());
                     ps.setString(10, formatMetadata(chunk.getMetadata()));
                     ps.setString(11, detectLanguage(chunk.getContent()));
+                    ps.setString(12, contentHash(chunk.getContent()));
                 });
 
             processed += batchChunks.size();
             log.debug("Batch {}/{}: stored {} chunks (total: {})",
                 batch + 1, totalBatches, batchChunks.size(), processed);
         }
+        return totalBatches;
+    }
 
-        log.info("Stored {} chunks successfully in {} batches", embeddedChunks.size(), totalBatches);
+    /**
+     * Update the metadata of stored chunks where it differs, in one statement.
+     *
+     * @return Source id of every row that was updated
+     */
+    private List<String> patchMetadata(List<TextChunk> chunks) {
+        StringBuilder sql = new StringBuilder(
+            "UPDATE embedding_store AS e SET metadata = v.metadata, updated_at = NOW() FROM (VALUES ");
+        for (int i = 0; i < chunks.size(); i++) {
+            sql.append(i > 0 ? ", " : "").append("(cast(? as varchar), cast(? as jsonb))");
+        }
+        sql.append(") AS v(chunk_id, metadata) WHERE e.chunk_id = v.chunk_id")
+            .append(" AND e.metadata IS DISTINCT FROM v.metadata RETURNING e.source_id");
+
+        return jdbcTemplate.query(sql.toString(), ps -> {
+            for (int i = 0; i < chunks.size(); i++) {
+                ps.setString(2 * i + 1, chunks.get(i).getChunkId());
+                ps.setString(2 * i + 2, formatMetadata(chunks.get(i).getMetadata()));
+            }
+        }, (rs, rowNum) -> rs.getString("source_id"));
+    }
+
+    private static Array textArray(PreparedStatement ps, Collection<String> values) throws SQLException {
+        return ps.getConnection().createArrayOf("text", values.toArray());
     }
 
     /**
@@ -126,6 +283,7 @@ public class VectorStoreService {
     @Transactional
     public void deleteBySourceRecord(String sourceType, String sourceId) {
         embeddingRepository.deleteBySourceTypeAndSourceId(sourceType, sourceId);
+        eventPublisher.publishEvent(SourceRecordsChangedEvent.of(sourceType, Set.of(sourceId)));
         log.debug("Deleted embeddings for {} {}", sourceType, sourceId);
     }
 
@@ -135,38 +293,78 @@ public class VectorStoreService {
     @Transactional
     public void deleteBySourceType(String sourceType) {
         embeddingRepository.deleteBySourceType(sourceType);
+        eventPublisher.publishEvent(SourceRecordsChangedEvent.allOf(sourceType));
         log.info("Deleted all embeddings for source type: {}", sourceType);
     }
 
     /**
-     * Perform semantic search.
+     * Perform semantic search with every filter applied in a single database query.
+     *
+     * When the filter sets a recall level, the first pass runs with that level's ef_search.
+     * If it returns fewer than maxResults rows, the search is repeated one level higher, up to
+     * the filter's maxRecallLevel, so most queries stay on the cheap setting.
      *
      * @param query The search query
-     * @param maxResults Maximum number of results
-     * @param minScore Minimum similarity score (0-1)
+     * @param filter Result limit, minimum score, ReBAC groups, source/chunk types, languages
+     *               and recall levels
      * @return List of search results
      */
-    public List<SearchResult> search(String query, int maxResults, float minScore) {
-        log.debug("Searching for query: '{}' with maxResults={}, minScore={}",
-            query.length() > 100 ? query.substring(0, 100) + "..." : query, maxResults, minScore);
-
-        float[] queryEmbedding = embeddingService.embed(query);
-        String embeddingStr = formatEmbedding(queryEmbedding);
-
-        List<Object[]> results = embeddingRepository.searchSimilar(embeddingStr, maxResults, minScore);
+    public List<SearchResult> search(String query, SearchFilter filter) {
+        log.debug("Searching for query: '{}' with filter={}",
+            query.length() > 100 ? query.substring(0, 100) + "..." : query, filter);
+
+        float[] queryEmbedding = queryEmbeddingCache.embed(query);
+        String queryLiteral = binaryTransfer ? null : formatEmbedding(queryEmbedding);
+
+        SearchFilter pass = filter;
+        List<Object[]> results = searchOnce(queryEmbedding, queryLiteral, pass);
+        while (results.size() < pass.getMaxResults() && pass.canEscalate()) {
+            pass = pass.toBuilder().recallLevel(pass.getRecallLevel().next()).build();
+            log.debug("Search returned {} of {} results, retrying with recall={} (ef_search={})",
+                results.size(), pass.getMaxResults(), pass.getRecallLevel(), pass.getRecallLevel().efSearch());
+            results = searchOnce(queryEmbedding, queryLiteral, pass);
+        }
         List<SearchResult> searchResults = mapSearchResults(results);
 
         log.debug("Search returned {} results", searchResults.size());
         if (searchResults.isEmpty()) {
             long totalEmbeddings = embeddingRepository.count();
             log.warn("No search results found. Total embeddings in store: {}. " +
-                    "If total is 0, run data sync first. If total > 0, query may not match any content above minScore={}",
-                totalEmbeddings, minScore);
+                    "If total is 0, run data sync first. If total > 0, query may not match any content " +
+                    "above minScore={} with groups={}, sourceTypes={}",
+                totalEmbeddings, filter.getMinScore(), filter.getAllowedGroups(), filter.getSourceTypes());
         }
 
         return searchResults;
     }
 
+    private List<Object[]> searchOnce(float[] queryEmbedding, String queryLiteral, SearchFilter filter) {
+        if (quantizedSearch) {
+            int candidates = filter.getMaxResults() * quantizedRerankFactor;
+            return queryLiteral == null
+                ? vectorSearchRepository.searchQuantized(queryEmbedding, filter, candidates)
+                : vectorSearchRepository.searchQuantized(queryLiteral, filter, candidates);
+        }
+        return queryLiteral == null
+            ? vectorSearchRepository.search(queryEmbedding, filter)
+            : vectorSearchRepository.search(queryLiteral, filter);
+    }
+
+    /**
+     * Perform semantic search.
+     *
+     * @param query The search query
+     * @param maxResults Maximum number of results
+     * @param minScore Minimum similarity score (0-1)
+     * @return List of search results
+     */
+    public List<SearchResult> search(String query, int maxResults, float minScore) {
+        return search(query, SearchFilter.builder()
+            .maxResults(maxResults)
+            .minScore(minScore)
+            .build());
+    }
+
     /**
      * Perform semantic search with ReBAC filtering.
      *
@@ -182,28 +380,11 @@ public class VectorStoreService {
             float minScore,
             List<String> allowedGroups) {
 
-        log.debug("Searching with groups filter: query='{}', maxResults={}, minScore={}, groups={}",
-            query.length() > 100 ? query.substring(0, 100) + "..." : query,
-            maxResults, minScore, allowedGroups);
-
-        float[] queryEmbedding = embeddingService.embed(query);
-        String embeddingStr = formatEmbedding(queryEmbedding);
-        String groupsArray = formatPostgresArray(allowedGroups);
-
-        List<Object[]> results = embeddingRepository.searchSimilarWithGroups(
-            embeddingStr, maxResults, minScore, groupsArray
-        );
-        List<SearchResult> searchResults = mapSearchResults(results);
-
-        log.debug("Search with groups returned {} results", searchResults.size());
-        if (searchResults.isEmpty()) {
-            long totalEmbeddings = embeddingRepository.count();
-            log.warn("No results with group filter. Total embeddings: {}. Groups: {}. " +
-                    "Check if embeddings have assigned_group metadata matching user groups.",
-                totalEmbeddings, allowedGroups);
-        }
-
-        return searchResults;
+        return search(query, SearchFilter.builder()
+            .maxResults(maxResults)
+            .minScore(minScore)
+            .allowedGroups(allowedGroups != null ? allowedGroups : List.of())
+            .build());
     }
 
     /**
@@ -221,14 +402,11 @@ public class VectorStoreService {
             float minScore,
             List<String> sourceTypes) {
 
-        float[] queryEmbedding = embeddingService.embed(query);
-        String embeddingStr = formatEmbedding(queryEmbedding);
-        String typesArray = formatPostgresArray(sourceTypes);
-
-        List<Object[]> results = embeddingRepository.searchSimilarBySourceTypes(
-            embeddingStr, maxResults, minScore, typesArray
-        );
-        return mapSearchResults(results);
+        return search(query, SearchFilter.builder()
+            .maxResults(maxResults)
+            .minScore(minScore)
+            .sourceTypes(sourceTypes)
+            .build());
     }
 
     /**
@@ -268,13 +446,19 @@ public class VectorStoreService {
         List<String> sourceTypes = List.of("Incident", "WorkOrder", "KnowledgeArticle", "ChangeRequest");
 
         for (String sourceType : sourceTypes) {
-            List<String> ids = embeddingRepository.findDistinctSourceIdsBySourceType(sourceType);
-            result.put(sourceType, new HashSet<>(ids));
+            result.put(sourceType, getSourceIds(sourceType));
         }
 
         return result;
     }
 
+    /**
+     * Get the IDs of all stored source records of one source type.
+     */
+    public Set<String> getSourceIds(String sourceType) {
+        return new HashSet<>(embeddingRepository.findDistinctSourceIdsBySourceType(sourceType));
+    }
+
     /**
      * Check if embeddings exist for a source record.
      */
@@ -283,18 +467,24 @@ public class VectorStoreService {
     }
 
     /**
-     * Format embedding array as PostgreSQL vector string.
+     * Publish one change event per source type for the records of the stored chunks.
+     */
+    private void publishChanged(List<EmbeddedChunk> embeddedChunks) {
+        Map<String, Set<String>> sourceIdsByType = embeddedChunks.stream()
+            .map(EmbeddedChunk::chunk)
+            .filter(chunk -> chunk.getSourceType() != null && chunk.getSourceId() != null)
+            .collect(Collectors.groupingBy(TextChunk::getSourceType,
+                Collectors.mapping(TextChunk::getSourceId, Collectors.toSet())));
+
+        sourceIdsByType.forEach((sourceType, sourceIds) ->
+            eventPublisher.publishEvent(SourceRecordsChangedEvent.of(sourceType, sourceIds)));
+    }
+
+    /**
+     * Format embedding array as PostgreSQL vector string (text transfer path).
      */
     private String formatEmbedding(float[] embedding) {
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < embedding.length; i++) {
-            if (i > 0) {
-                sb.append(",");
-            }
-            sb.append(embedding[i]);
-        }
-        sb.append("]");
-        return sb.toString();
+        return PgVectorSupport.toLiteral(embedding);
     }
 
     /**
@@ -310,23 +500,24 @@ public class VectorStoreService {
     }
 
     /**
-     * Format list as PostgreSQL array string.
-     * PostgreSQL array literals use doubled double-quotes for escaping: {"value with ""quotes"""}
+     * SHA-256 of chunk text as lowercase hex, matching the V22 backfill
+     * ({@code encode(sha256(convert_to(text_segment, 'UTF8')), 'hex')}).
      */
-    private String formatPostgresArray(List<String> values) {
-        if (values == null || values.isEmpty()) {
-            return "{}";
+    public static String contentHash(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest((text != null ? text : "").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
-        return "{" + values.stream()
-            .map(v -> "\"" + v.replace("\"", "\"\"") + "\"")
-            .collect(Collectors.joining(",")) + "}";
     }
 
     /**
      * Detect the primary language of text content based on Arabic Unicode character ratio.
      * Returns "ar" if majority Arabic, "mixed" if significant Arabic presence, otherwise "en".
      */
-    private String detectLanguage(String text) {
+    static String detectLanguage(String text) {
         if (text == null || text.isBlank()) {
             return "en";
         }
@@ -0,0 +1,44 @@
+package com.bmc.rag.store.sync;
+
+import com.bmc.rag.vectorization.chunking.TextChunk;
+import com.bmc.rag.vectorization.embedding.LocalEmbeddingService.EmbeddedChunk;
+
+import java.util.List;
+
+/**
+ * Destination for embedded chunks produced during a sync.
+ * Every source record is passed exactly once, together with all of its chunks.
+ */
+@FunctionalInterface
+public interface ChunkWriter {
+
+    /**
+     * Write the chunks of a group of source records.
+     *
+     * @param sourceType The source type being synced
+     * @param sourceIds The source records in this group (including records without chunks)
+     * @param chunks All current chunks of those records
+     * @param embedded The chunks chosen by {@link #selectForEmbedding}, embedded
+     */
+    void write(String sourceType, List<String> sourceIds, List<TextChunk> chunks, List<EmbeddedChunk> embedded);
+
+    /**
+     * Choose which chunks of a group of source records need embedding; the rest are passed
+     * to {@link #write} without an embedding. Called on the embedding workers, so it must
+     * only read. Defaults to every chunk.
+     *
+     * @param sourceType The source type being synced
+     * @param sourceIds The source records in this group
+     * @param chunks All current chunks of those records
+     * @return The chunks to embed, in order
+     */
+    default List<TextChunk> selectForEmbedding(String sourceType, List<String> sourceIds, List<TextChunk> chunks) {
+        return chunks;
+    }
+
+    /**
+     * Called once after all records were written, before the sync timestamp is advanced.
+     */
+    default void complete() {
+    }
+}
@@ -0,0 +1,39 @@
+package com.bmc.rag.store.sync;
+
+import com.bmc.rag.store.service.VectorStoreService;
+import com.bmc.rag.vectorization.chunking.TextChunk;
+import com.bmc.rag.vectorization.embedding.LocalEmbeddingService.EmbeddedChunk;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental sync writer that diffs a record's new chunks against the stored ones.
+ *
+ * A chunk is embedded only when its content hash differs from the stored hash for the same
+ * chunk id (or there is none). Chunks whose text is unchanged keep their embedding and only
+ * have their metadata updated, so a record whose status or assignment changed costs no ONNX
+ * time. Stored chunks that the chunk strategy no longer produces are deleted.
+ */
+@RequiredArgsConstructor
+class ContentHashChunkWriter implements ChunkWriter {
+
+    private final VectorStoreService vectorStoreService;
+
+    @Override
+    public List<TextChunk> selectForEmbedding(String sourceType, List<String> sourceIds, List<TextChunk> chunks) {
+        Map<String, String> stored = vectorStoreService.findContentHashes(sourceType, sourceIds);
+        if (stored.isEmpty()) {
+            return chunks;
+        }
+        return chunks.stream()
+            .filter(chunk -> !VectorStoreService.contentHash(chunk.getContent()).equals(stored.get(chunk.getChunkId())))
+            .toList();
+    }
+
+    @Override
+    public void write(String sourceType, List<String> sourceIds, List<TextChunk> chunks, List<EmbeddedChunk> embedded) {
+        vectorStoreService.syncSourceRecords(sourceType, sourceIds, chunks, embedded);
+    }
+}
@@ -0,0 +1,192 @@
+package com.bmc.rag.store.sync;
+
+import com.bmc.rag.connector.extractor.ChangedEntry;
+import com.bmc.rag.connector.extractor.ExtractionCheckpoint;
+import com.bmc.rag.connector.extractor.IncidentExtractor;
+import com.bmc.rag.store.repository.SyncStateRepository;
+import com.bmc.rag.store.sync.IncrementalSyncService.HydrationResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Low-latency change feed for incidents, between scheduled incremental syncs.
+ *
+ * Every few seconds the feed polls HPD:Help Desk for entries after its cursor in
+ * (Last Modified Date, Request ID) order, fetching only those two fields. The Request IDs go into
+ * a deduplicated queue, and queued incidents are hydrated (all fields and work logs) and stored in
+ * batches through {@link IncrementalSyncService#hydrateIncidents}. While a scheduled sync holds the
+ * incident lock the queue waits for the next tick.
+ *
+ * A batch that fails moves to the back of the queue for a later tick, and its incidents are then
+ * retried one at a time, so one bad entry cannot hold back the others. An incident that still fails after
+ * {@code max-attempts} is dropped from the feed and left to the next scheduled sync.
+ *
+ * The cursor starts at the last completed incident sync and lives in memory; after a restart the
+ * feed starts from sync_state again and already-stored incidents are skipped by content hash.
+ * The scheduled incremental sync keeps running and stays the authority for the sync timestamp.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IncidentChangeFeed {
+
+    private final IncrementalSyncService syncService;
+    private final IncidentExtractor incidentExtractor;
+    private final SyncStateRepository syncStateRepository;
+
+    @Value("${sync.change-feed.enabled:false}")
+    private boolean enabled;
+
+    @Value("${sync.change-feed.batch-size:50}")
+    private int batchSize = 50;
+
+    @Value("${sync.change-feed.max-keys-per-poll:500}")
+    private int maxKeysPerPoll = 500;
+
+    @Value("${sync.change-feed.max-attempts:3}")
+    private int maxAttempts = 3;
+
+    private final Set<String> pending = new LinkedHashSet<>();
+    private final Map<String, Integer> failedAttempts = new HashMap<>();
+    private ExtractionCheckpoint cursor;
+    private long droppedCount;
+
+    /**
+     * Poll for changed keys, then hydrate what is queued.
+     */
+    @Scheduled(fixedDelayString = "${sync.change-feed.poll-interval-ms:5000}")
+    public synchronized void poll() {
+        if (!enabled || !syncService.isRemedyEnabled()) {
+            return;
+        }
+        try {
+            if (cursor == null && !seedCursor()) {
+                return;
+            }
+
+            // Stop reading keys while the queue is backed up; the cursor keeps our place
+            if (pending.size() < maxKeysPerPoll) {
+                List<ChangedEntry> changes = incidentExtractor.pollChanges(cursor, maxKeysPerPoll);
+                for (ChangedEntry change : changes) {
+                    pending.add(change.entryId());
+                    cursor = new ExtractionCheckpoint(change.entryId(),
+                        Math.max(cursor.lastModified(), change.lastModified()), cursor.recordsExtracted() + 1);
+                }
+                if (!changes.isEmpty()) {
+                    log.debug("Change feed queued {} incidents ({} pending) up to {}",
+                        changes.size(), pending.size(), cursor.lastEntryId());
+                }
+            }
+
+            hydratePending();
+        } catch (Exception e) {
+            log.warn("Incident change feed poll failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Number of incidents queued for hydration.
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Number of incidents dropped after failing {@code max-attempts} times.
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Start the cursor at the last completed incident sync. Without one there is nothing to
+     * follow yet: the feed would otherwise walk the whole form.
+     */
+    private boolean seedCursor() {
+        long lastSync = syncStateRepository.getLastSyncTimestamp("Incident").orElse(0L);
+        if (lastSync <= 0) {
+            log.debug("No completed incident sync yet, change feed is waiting for one");
+            return false;
+        }
+        // An empty Request ID sorts first, so entries modified in that same second are read again
+        cursor = new ExtractionCheckpoint("", lastSync, 0);
+        log.info("Incident change feed following changes after {}", lastSync);
+        return true;
+    }
+
+    private void hydratePending() {
+        while (!pending.isEmpty()) {
+            List<String> batch = nextBatch();
+
+            HydrationResult result = syncService.hydrateIncidents(batch);
+            if (result.lockBusy()) {
+                log.debug("Change feed waiting for the incident lock ({} pending)", pending.size());
+                return;
+            }
+            if (!result.isSuccess()) {
+                // Retry on the next tick, behind the rest of the queue
+                recordFailure(batch, result.errorMessage());
+                return;
+            }
+            batch.forEach(id -> {
+                pending.remove(id);
+                failedAttempts.remove(id);
+            });
+            log.info("Change feed synced {} incidents ({} chunks, {} still pending)",
+                result.recordsProcessed(), result.chunksCreated(), pending.size());
+        }
+    }
+
+    /**
+     * Take the next batch from the head of the queue. An incident that has failed before is
+     * hydrated on its own, so its failures are not shared with the rest of a batch.
+     */
+    private List<String> nextBatch() {
+        Iterator<String> it = pending.iterator();
+        String first = it.next();
+        if (failedAttempts.containsKey(first)) {
+            return List.of(first);
+        }
+
+        List<String> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        batch.add(first);
+        while (it.hasNext() && batch.size() < batchSize) {
+            String id = it.next();
+            if (!failedAttempts.containsKey(id)) {
+                batch.add(id);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Count a failed attempt for each incident of the batch, drop those out of attempts and move
+     * the others to the back of the queue.
+     */
+    private void recordFailure(List<String> batch, String errorMessage) {
+        for (String id : batch) {
+            pending.remove(id);
+            int attempts = failedAttempts.merge(id, 1, Integer::sum);
+            if (attempts >= maxAttempts) {
+                failedAttempts.remove(id);
+                droppedCount++;
+                log.warn("Change feed dropped incident {} after {} failed attempts, leaving it to the scheduled sync: {}",
+                    id, attempts, errorMessage);
+            } else {
+                pending.add(id);
+            }
+        }
+        log.debug("Change feed batch of {} failed: {}", batch.size(), errorMessage);
+    }
+}
@@ -4,10 +4,12 @@ import com.bmc.rag.connector.config.RemedyConnectionConfig;
 import com.bmc.rag.connector.extractor.*;
 import com.bmc.rag.connector.model.*;
 import com.bmc.rag.store.repository.SyncStateRepository;
+import com.bmc.rag.store.service.BulkEmbeddingLoader;
 import com.bmc.rag.store.service.VectorStoreService;
 import com.bmc.rag.vectorization.chunking.*;
 import com.bmc.rag.vectorization.embedding.LocalEmbeddingService;
 import com.bmc.rag.vectorization.embedding.LocalEmbeddingService.EmbeddedChunk;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -16,11 +18,15 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * Service for incremental synchronization of ITSM data.
  * Implements CDC (Change Data Capture) pattern using Last Modified Date field.
+ * Each source type is processed through a {@link SyncPipeline} so extraction,
+ * chunking, embedding and storage overlap. Modified records are diffed against their
+ * stored chunks by content hash, so only chunks whose text changed are re-embedded.
  */
 @Slf4j
 @Service
@@ -45,6 +51,13 @@ public class IncrementalSyncService {
     private final KnowledgeChunkStrategy knowledgeChunkStrategy;
     private final ChangeRequestChunkStrategy changeRequestChunkStrategy;
 
+    private final BulkEmbeddingLoader bulkEmbeddingLoader;
+    private final SyncPipeline syncPipeline;
+    private final SyncPipelineMetrics syncMetrics;
+
+    private static final Set<String> SOURCE_TYPES =
+        Set.of("Incident", "WorkOrder", "KnowledgeArticle", "ChangeRequest");
+
     /**
      * Check if Remedy connection is enabled.
      */
@@ -53,10 +66,26 @@ public class IncrementalSyncService {
     }
 
     /**
-     * Run incremental sync for all source types.
-     * Scheduled to run every 15 minutes by default.
+     * Seed the freshness lag gauges from sync_state, so they are meaningful right after a restart.
+     */
+    @PostConstruct
+    void initFreshness() {
+        try {
+            for (String sourceType : SOURCE_TYPES) {
+                syncStateRepository.findBySourceType(sourceType)
+                    .filter(state -> "completed".equals(state.getStatus()) && state.getLastSyncAt() != null)
+                    .ifPresent(state -> syncMetrics.recordSyncCompleted(sourceType, state.getLastSyncAt()));
+            }
+        } catch (Exception e) {
+            log.warn("Could not read sync state for freshness metrics: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Run incremental sync for all source types, one after another.
+     * Scheduled runs do not go through here: each source type is scheduled on its own
+     * interval (SchedulerConfig in api-gateway) and runs concurrently with the others.
      */
-    @Scheduled(fixedRateString = "${sync.interval:900000}")
     public void runIncrementalSync() {
         if (!remedyConfig.isEnabled()) {
             log.debug("Remedy connection disabled, skipping incremental sync");
@@ -88,6 +117,10 @@ public class IncrementalSyncService {
      */
     @Transactional
     public SyncResult syncIncidents() {
+        return syncIncidents(changedChunksWriter());
+    }
+
+    private SyncResult syncIncidents(ChunkWriter writer) {
         if (!remedyConfig.isEnabled()) {
             return new SyncResult(0, 0, "Remedy connection disabled");
         }
@@ -95,56 +128,65 @@ public class IncrementalSyncService {
             long lastSync = getLastSyncTimestamp("Incident");
             log.info("Syncing incidents modified since: {}", Instant.ofEpochSecond(lastSync));
 
-            List<IncidentRecord> incidents = incidentExtractor.extractModifiedSince(lastSync);
-            log.info("Found {} modified incidents", incidents.size());
+            // Pages flow into the pipeline as they are read from Remedy
+            SyncPipeline.PipelineResult result = syncPipeline.run("Incident",
+                consumer -> incidentExtractor.streamModifiedSince(lastSync, null, consumer),
+                incidentSpec(), writer, checkpoint -> { });
+            log.info("Found {} modified incidents", result.recordsProcessed());
 
-            if (incidents.isEmpty()) {
+            if (result.recordsProcessed() == 0) {
                 return new SyncResult(0, 0);
             }
 
-            // Fetch work logs for all incidents
-            List<String> incidentNumbers = incidents.stream()
-                .map(IncidentRecord::getIncidentNumber)
-                .collect(Collectors.toList());
-
-            Map<String, List<WorkLogEntry>> workLogMap =
-                workLogExtractor.batchExtractIncidentWorkLogs(incidentNumbers);
-
-            // Attach work logs to incidents
-            for (IncidentRecord incident : incidents) {
-                List<WorkLogEntry> workLogs = workLogMap.get(incident.getIncidentNumber());
-                if (workLogs != null) {
-                    incident.setWorkLogs(workLogs);
-                }
-            }
-
-            int chunksCreated = 0;
-            long maxTimestamp = lastSync;
-
-            for (IncidentRecord incident : incidents) {
-                // Delete existing chunks for this incident
-                vectorStoreService.deleteBySourceRecord("Incident", incident.getIncidentNumber());
+            writer.complete();
 
-                // Create new chunks
-                List<TextChunk> chunks = incidentChunkStrategy.chunk(incident);
+            // Update sync state
+            long maxTimestamp = Math.max(lastSync, result.maxLastModified());
+            updateSyncTimestamp("Incident", maxTimestamp, result.recordsProcessed());
 
-                // Embed and store
-                List<EmbeddedChunk> embedded = embeddingService.embedChunks(chunks);
-                vectorStoreService.storeBatch(embedded);
+            return new SyncResult(result.recordsProcessed(), result.chunksCreated());
+        });
+    }
 
-                chunksCreated += chunks.size();
+    /**
+     * Hydrate specific incidents by Request ID, as queued by the {@link IncidentChangeFeed}.
+     * The incidents are fetched with all fields and work logs and go through the same pipeline
+     * and content-hash writer as the incremental sync.
+     *
+     * This holds the incident lock but stays out of sync bookkeeping: a failure is not recorded
+     * in sync_state, a success is not counted as a completed sync by the freshness metrics, and
+     * the sync timestamp is not moved. The scheduled incremental sync still covers everything,
+     * and finds these chunks unchanged. A held lock is reported as
+     * {@link HydrationResult#lockBusy()}, not as a failure.
+     *
+     * @param requestIds Request IDs of the incidents to hydrate
+     */
+    @Transactional
+    public HydrationResult hydrateIncidents(List<String> requestIds) {
+        if (!remedyConfig.isEnabled()) {
+            return HydrationResult.failed("Remedy connection disabled");
+        }
+        if (!acquireLock("Incident")) {
+            return HydrationResult.LOCK_BUSY;
+        }
 
-                // Track latest timestamp
-                if (incident.getLastModifiedDate() != null) {
-                    maxTimestamp = Math.max(maxTimestamp, incident.getLastModifiedDate().getEpochSecond());
-                }
+        try {
+            List<IncidentRecord> incidents = incidentExtractor.extractByRequestIds(requestIds);
+            if (incidents.isEmpty()) {
+                return new HydrationResult(0, 0, false, null);
             }
 
-            // Update sync state
-            updateSyncTimestamp("Incident", maxTimestamp, incidents.size());
+            ChunkWriter writer = changedChunksWriter();
+            SyncPipeline.PipelineResult result = syncPipeline.run("Incident", incidents, incidentSpec(), writer);
+            writer.complete();
 
-            return new SyncResult(incidents.size(), chunksCreated);
-        });
+            return new HydrationResult(result.recordsProcessed(), result.chunksCreated(), false, null);
+        } catch (Exception e) {
+            log.warn("Hydrating {} incidents failed: {}", requestIds.size(), e.getMessage());
+            return HydrationResult.failed(e.getMessage());
+        } finally {
+            syncStateRepository.releaseLock("Incident");
+        }
     }
 
     /**
@@ -152,6 +194,10 @@ public class IncrementalSyncService {
      */
     @Transactional
     public SyncResult syncWorkOrders() {
+        return syncWorkOrders(changedChunksWriter());
+    }
+
+    private SyncResult syncWorkOrders(ChunkWriter writer) {
         if (!remedyConfig.isEnabled()) {
             return new SyncResult(0, 0, "Remedy connection disabled");
         }
@@ -159,48 +205,23 @@ public class IncrementalSyncService {
             long lastSync = getLastSyncTimestamp("WorkOrder");
             log.info("Syncing work orders modified since: {}", Instant.ofEpochSecond(lastSync));
 
-            List<WorkOrderRecord> workOrders = workOrderExtractor.extractModifiedSince(lastSync);
-            log.info("Found {} modified work orders", workOrders.size());
+            // Pages flow into the pipeline as they are read from Remedy
+            SyncPipeline.PipelineResult result = syncPipeline.run("WorkOrder",
+                consumer -> workOrderExtractor.streamModifiedSince(lastSync, null, consumer),
+                workOrderSpec(), writer, checkpoint -> { });
+            log.info("Found {} modified work orders", result.recordsProcessed());
 
-            if (workOrders.isEmpty()) {
+            if (result.recordsProcessed() == 0) {
                 return new SyncResult(0, 0);
             }
 
-            // Fetch work logs
-            List<String> workOrderIds = workOrders.stream()
-                .map(WorkOrderRecord::getWorkOrderId)
-                .collect(Collectors.toList());
-
-            Map<String, List<WorkLogEntry>> workLogMap =
-                workLogExtractor.batchExtractWorkOrderWorkLogs(workOrderIds);
-
-            for (WorkOrderRecord workOrder : workOrders) {
-                List<WorkLogEntry> workLogs = workLogMap.get(workOrder.getWorkOrderId());
-                if (workLogs != null) {
-                    workOrder.setWorkLogs(workLogs);
-                }
-            }
-
-            int chunksCreated = 0;
-            long maxTimestamp = lastSync;
-
-            for (WorkOrderRecord workOrder : workOrders) {
-                vectorStoreService.deleteBySourceRecord("WorkOrder", workOrder.getWorkOrderId());
-
-                List<TextChunk> chunks = workOrderChunkStrategy.chunk(workOrder);
-                List<EmbeddedChunk> embedded = embeddingService.embedChunks(chunks);
-                vectorStoreService.storeBatch(embedded);
+            writer.complete();
 
-                chunksCreated += chunks.size();
-
-                if (workOrder.getLastModifiedDate() != null) {
-                    maxTimestamp = Math.max(maxTimestamp, workOrder.getLastModifiedDate().getEpochSecond());
-                }
-            }
-
-            updateSyncTimestamp("WorkOrder", maxTimestamp, workOrders.size());
+            // Update sync state
+            long maxTimestamp = Math.max(lastSync, result.maxLastModified());
+            updateSyncTimestamp("WorkOrder", maxTimestamp, result.recordsProcessed());
 
-            return new SyncResult(workOrders.size(), chunksCreated);
+            return new SyncResult(result.recordsProcessed(), result.chunksCreated());
         });
     }
 
@@ -209,6 +230,10 @@ public class IncrementalSyncService {
      */
     @Transactional
     public SyncResult syncKnowledgeArticles() {
+        return syncKnowledgeArticles(changedChunksWriter());
+    }
+
+    private SyncResult syncKnowledgeArticles(ChunkWriter writer) {
         if (!remedyConfig.isEnabled()) {
             return new SyncResult(0, 0, "Remedy connection disabled");
         }
@@ -216,34 +241,23 @@ public class IncrementalSyncService {
             long lastSync = getLastSyncTimestamp("KnowledgeArticle");
             log.info("Syncing knowledge articles modified since: {}", Instant.ofEpochSecond(lastSync));
 
-            // Only sync published articles
-            List<KnowledgeArticle> articles = knowledgeExtractor.extractPublishedArticles(lastSync);
-            log.info("Found {} modified knowledge articles", articles.size());
+            // Only sync published articles; pages flow into the pipeline as they are read from Remedy
+            SyncPipeline.PipelineResult result = syncPipeline.run("KnowledgeArticle",
+                consumer -> knowledgeExtractor.streamPublishedArticles(lastSync, null, consumer),
+                knowledgeSpec(), writer, checkpoint -> { });
+            log.info("Found {} modified knowledge articles", result.recordsProcessed());
 
-            if (articles.isEmpty()) {
+            if (result.recordsProcessed() == 0) {
                 return new SyncResult(0, 0);
             }
 
-            int chunksCreated = 0;
-            long maxTimestamp = lastSync;
-
-            for (KnowledgeArticle article : articles) {
-                vectorStoreService.deleteBySourceRecord("KnowledgeArticle", article.getArticleId());
+            writer.complete();
 
-                List<TextChunk> chunks = knowledgeChunkStrategy.chunk(article);
-                List<EmbeddedChunk> embedded = embeddingService.embedChunks(chunks);
-                vectorStoreService.storeBatch(embedded);
-
-                chunksCreated += chunks.size();
-
-                if (article.getLastModifiedDate() != null) {
-                    maxTimestamp = Math.max(maxTimestamp, article.getLastModifiedDate().getEpochSecond());
-                }
-            }
-
-            updateSyncTimestamp("KnowledgeArticle", maxTimestamp, articles.size());
+            // Update sync state
+            long maxTimestamp = Math.max(lastSync, result.maxLastModified());
+            updateSyncTimestamp("KnowledgeArticle", maxTimestamp, result.recordsProcessed());
 
-            return new SyncResult(articles.size(), chunksCreated);
+            return new SyncResult(result.recordsProcessed(), result.chunksCreated());
         });
     }
 
@@ -252,6 +266,10 @@ public class IncrementalSyncService {
      */
     @Transactional
     public SyncResult syncChangeRequests() {
+        return syncChangeRequests(changedChunksWriter());
+    }
+
+    private SyncResult syncChangeRequests(ChunkWriter writer) {
         if (!remedyConfig.isEnabled()) {
             return new SyncResult(0, 0, "Remedy connection disabled");
         }
@@ -259,49 +277,117 @@ public class IncrementalSyncService {
             long lastSync = getLastSyncTimestamp("ChangeRequest");
             log.info("Syncing change requests modified since: {}", Instant.ofEpochSecond(lastSync));
 
-            List<ChangeRequestRecord> changes = changeRequestExtractor.extractModifiedSince(lastSync);
-            log.info("Found {} modified change requests", changes.size());
+            // Pages flow into the pipeline as they are read from Remedy
+            SyncPipeline.PipelineResult result = syncPipeline.run("ChangeRequest",
+                consumer -> changeRequestExtractor.streamModifiedSince(lastSync, null, consumer),
+                changeRequestSpec(), writer, checkpoint -> { });
+            log.info("Found {} modified change requests", result.recordsProcessed());
 
-            if (changes.isEmpty()) {
+            if (result.recordsProcessed() == 0) {
                 return new SyncResult(0, 0);
             }
 
-            // Fetch work logs
-            List<String> changeIds = changes.stream()
-                .map(ChangeRequestRecord::getChangeId)
-                .collect(Collectors.toList());
+            writer.complete();
 
-            Map<String, List<WorkLogEntry>> workLogMap =
-                workLogExtractor.batchExtractChangeWorkLogs(changeIds);
+            // Update sync state
+            long maxTimestamp = Math.max(lastSync, result.maxLastModified());
+            updateSyncTimestamp("ChangeRequest", maxTimestamp, result.recordsProcessed());
 
-            for (ChangeRequestRecord change : changes) {
-                List<WorkLogEntry> workLogs = workLogMap.get(change.getChangeId());
-                if (workLogs != null) {
-                    change.setWorkLogs(workLogs);
-                }
-            }
+            return new SyncResult(result.recordsProcessed(), result.chunksCreated());
+        });
+    }
 
-            int chunksCreated = 0;
-            long maxTimestamp = lastSync;
+    private SyncPipeline.SourceSpec<IncidentRecord> incidentSpec() {
+        return new SyncPipeline.SourceSpec<>(
+            IncidentRecord::getIncidentNumber,
+            IncidentRecord::getLastModifiedDate,
+            this::attachIncidentWorkLogs,
+            incidentChunkStrategy::chunk,
+            embeddingService::embedChunks);
+    }
 
-            for (ChangeRequestRecord change : changes) {
-                vectorStoreService.deleteBySourceRecord("ChangeRequest", change.getChangeId());
+    private SyncPipeline.SourceSpec<WorkOrderRecord> workOrderSpec() {
+        return new SyncPipeline.SourceSpec<>(
+            WorkOrderRecord::getWorkOrderId,
+            WorkOrderRecord::getLastModifiedDate,
+            this::attachWorkOrderWorkLogs,
+            workOrderChunkStrategy::chunk,
+            embeddingService::embedChunks);
+    }
 
-                List<TextChunk> chunks = changeRequestChunkStrategy.chunk(change);
-                List<EmbeddedChunk> embedded = embeddingService.embedChunks(chunks);
-                vectorStoreService.storeBatch(embedded);
+    private SyncPipeline.SourceSpec<KnowledgeArticle> knowledgeSpec() {
+        return new SyncPipeline.SourceSpec<>(
+            KnowledgeArticle::getArticleId,
+            KnowledgeArticle::getLastModifiedDate,
+            page -> { },
+            knowledgeChunkStrategy::chunk,
+            embeddingService::embedChunks);
+    }
 
-                chunksCreated += chunks.size();
+    private SyncPipeline.SourceSpec<ChangeRequestRecord> changeRequestSpec() {
+        return new SyncPipeline.SourceSpec<>(
+            ChangeRequestRecord::getChangeId,
+            ChangeRequestRecord::getLastModifiedDate,
+            this::attachChangeWorkLogs,
+            changeRequestChunkStrategy::chunk,
+            embeddingService::embedChunks);
+    }
 
-                if (change.getLastModifiedDate() != null) {
-                    maxTimestamp = Math.max(maxTimestamp, change.getLastModifiedDate().getEpochSecond());
-                }
+    /**
+     * Fetch and attach work logs for a page of incidents.
+     */
+    private void attachIncidentWorkLogs(List<IncidentRecord> incidents) {
+        List<String> incidentNumbers = incidents.stream()
+            .map(IncidentRecord::getIncidentNumber)
+            .collect(Collectors.toList());
+
+        Map<String, List<WorkLogEntry>> workLogMap =
+            workLogExtractor.batchExtractIncidentWorkLogs(incidentNumbers);
+
+        for (IncidentRecord incident : incidents) {
+            List<WorkLogEntry> workLogs = workLogMap.get(incident.getIncidentNumber());
+            if (workLogs != null) {
+                incident.setWorkLogs(workLogs);
             }
+        }
+    }
 
-            updateSyncTimestamp("ChangeRequest", maxTimestamp, changes.size());
+    /**
+     * Fetch and attach work logs for a page of work orders.
+     */
+    private void attachWorkOrderWorkLogs(List<WorkOrderRecord> workOrders) {
+        List<String> workOrderIds = workOrders.stream()
+            .map(WorkOrderRecord::getWorkOrderId)
+            .collect(Collectors.toList());
+
+        Map<String, List<WorkLogEntry>> workLogMap =
+            workLogExtractor.batchExtractWorkOrderWorkLogs(workOrderIds);
+
+        for (WorkOrderRecord workOrder : workOrders) {
+            List<WorkLogEntry> workLogs = workLogMap.get(workOrder.getWorkOrderId());
+            if (workLogs != null) {
+                workOrder.setWorkLogs(workLogs);
+            }
+        }
+    }
 
-            return new SyncResult(changes.size(), chunksCreated);
-        });
+    /**
+     * Fetch and attach work logs for a page of change requests.
+     */
+    private void attachChangeWorkLogs(List<ChangeRequestRecord> changes) {
+        List<String> changeIds = changes.stream()
+            .map(ChangeRequestRecord::getChangeId)
+            .collect(Collectors.toList());
+
+        Map<String, List<WorkLogEntry>> workLogMap =
+            workLogExtractor.batchExtractChangeWorkLogs(changeIds);
+
+        for (ChangeRequestRecord change : changes) {
+            List<WorkLogEntry> workLogs = workLogMap.get(change.getChangeId());
+            if (workLogs != null) {
+                change.setWorkLogs(workLogs);
+            }
+        }
     }
 
     /**
@@ -309,27 +395,226 @@ public class IncrementalSyncService {
      */
     @Transactional
     public SyncResult forceFullSync(String sourceType) {
+        return forceFullSync(sourceType, false, false);
+    }
+
+    /**
+     * Force full sync for a source type (deletes all existing data).
+     *
+     * With bulkLoad the source type is read through the keyset pager like {@link #streamFullSync},
+     * but everything runs in this one transaction and is merged in a single statement at the end.
+     * A failed bulk load therefore rolls back to the previous data and has to be started again;
+     * use {@link #streamFullSync} for a run that can resume.
+     *
+     * @param sourceType The source type to re-ingest
+     * @param bulkLoad Stream chunks with COPY into a staging table and merge them in one statement
+     *                 instead of per-record upserts
+     * @param rebuildIndex With bulkLoad, drop the HNSW indexes before the merge and rebuild them afterwards
+     *                     (large loads only, see {@link BulkEmbeddingLoader})
+     */
+    @Transactional
+    public SyncResult forceFullSync(String sourceType, boolean bulkLoad, boolean rebuildIndex) {
         if (!remedyConfig.isEnabled()) {
             return new SyncResult(0, 0, "Remedy connection disabled");
         }
-        log.warn("Starting FULL sync for {} - this will delete all existing data", sourceType);
+        if (!SOURCE_TYPES.contains(sourceType)) {
+            throw new IllegalArgumentException("Unknown source type: " + sourceType);
+        }
+        log.warn("Starting FULL sync for {} - this will delete all existing data (bulkLoad={}, rebuildIndex={})",
+            sourceType, bulkLoad, rebuildIndex);
 
         // Reset sync timestamp to 0
         syncStateRepository.updateSyncCompleted(sourceType, 0L, 0);
+        syncStateRepository.clearCheckpoint(sourceType);
 
         // Delete all existing embeddings
         vectorStoreService.deleteBySourceType(sourceType);
 
         // Run incremental sync (which will now fetch all records)
+        if (!bulkLoad) {
+            return runSync(sourceType, changedChunksWriter());
+        }
+
+        try (BulkEmbeddingLoader.BulkLoad load = bulkEmbeddingLoader.open(sourceType, rebuildIndex)) {
+            // Existing rows were deleted above, so chunks only need to be staged
+            ChunkWriter writer = new ChunkWriter() {
+                @Override
+                public void write(String type, List<String> sourceIds, List<TextChunk> chunks,
+                                  List<EmbeddedChunk> embedded) {
+                    load.add(embedded);
+                }
+
+                @Override
+                public void complete() {
+                    load.merge();
+                }
+            };
+            return syncSourceType(sourceType, () -> {
+                SyncPipeline.PipelineResult result = runFullSync(sourceType, null, writer, checkpoint -> { });
+                if (result.recordsProcessed() == 0) {
+                    return new SyncResult(0, 0);
+                }
+                writer.complete();
+                updateSyncTimestamp(sourceType, result.maxLastModified(), result.recordsProcessed());
+                return new SyncResult(result.recordsProcessed(), result.chunksCreated());
+            });
+        }
+    }
+
+    /**
+     * Full sync that streams records from Remedy one page at a time instead of extracting
+     * the whole source type into memory first.
+     *
+     * Pages are read in (Last Modified Date, Request ID) order and fed into a single sync
+     * pipeline run, so the next page is fetched while earlier ones are embedded and stored.
+     * Records are upserted through the content-hash writer: existing data stays searchable
+     * during the run and chunks whose text did not change are not re-embedded. Once a page and
+     * every page before it are stored, the key of its last row is saved as a checkpoint in
+     * sync_state. If the run crashes or is stopped, a later call with {@code resume} continues
+     * after the checkpoint. When the run completes, stored records it did not see are deleted;
+     * after a resume only those that no longer exist in Remedy, since the records before the
+     * checkpoint were seen by the earlier run.
+     *
+     * Not transactional: every batch commits on its own. The sync lock of the source type is
+     * held for the whole run, so scheduled incremental syncs of that type are skipped until it
+     * completes. The sync timestamp is only moved when the run completes.
+     *
+     * @param sourceType The source type to re-ingest
+     * @param resume Continue after the checkpoint of an earlier run that did not complete;
+     *               otherwise (or when there is none) start at the beginning
+     */
+    public SyncResult streamFullSync(String sourceType, boolean resume) {
+        if (!remedyConfig.isEnabled()) {
+            return new SyncResult(0, 0, "Remedy connection disabled");
+        }
+        if (!SOURCE_TYPES.contains(sourceType)) {
+            throw new IllegalArgumentException("Unknown source type: " + sourceType);
+        }
+        return syncSourceType(sourceType, () -> {
+            ExtractionCheckpoint resumeFrom = resume ? findCheckpoint(sourceType).orElse(null) : null;
+            if (resumeFrom != null) {
+                log.info("Resuming full sync for {} after {} ({} records done)",
+                    sourceType, resumeFrom.lastEntryId(), resumeFrom.recordsExtracted());
+            } else {
+                log.warn("Starting streamed FULL sync for {}", sourceType);
+                syncStateRepository.clearCheckpoint(sourceType);
+            }
+
+            // Store stage runs on this thread, so the set needs no locking
+            Set<String> seen = new HashSet<>();
+            ChunkWriter hashWriter = changedChunksWriter();
+            ChunkWriter writer = new ChunkWriter() {
+                @Override
+                public List<TextChunk> selectForEmbedding(String type, List<String> sourceIds,
+                                                          List<TextChunk> chunks) {
+                    return hashWriter.selectForEmbedding(type, sourceIds, chunks);
+                }
+
+                @Override
+                public void write(String type, List<String> sourceIds, List<TextChunk> chunks,
+                                  List<EmbeddedChunk> embedded) {
+                    hashWriter.write(type, sourceIds, chunks, embedded);
+                    seen.addAll(sourceIds);
+                }
+
+                @Override
+                public void complete() {
+                    hashWriter.complete();
+                }
+            };
+
+            SyncPipeline.PipelineResult result = runFullSync(sourceType, resumeFrom, writer, checkpoint -> {
+                syncStateRepository.saveCheckpoint(sourceType, checkpoint.lastEntryId(),
+                    checkpoint.lastModified(), checkpoint.recordsExtracted());
+                log.debug("Full sync checkpoint for {}: {} ({} records)",
+                    sourceType, checkpoint.lastEntryId(), checkpoint.recordsExtracted());
+            });
+            writer.complete();
+
+            int removed = removeUnseen(sourceType, seen, resumeFrom != null);
+            log.info("Full sync for {} removed {} records no longer in Remedy", sourceType, removed);
+
+            ExtractionCheckpoint end = Optional.ofNullable(result.checkpoint())
+                .or(() -> Optional.ofNullable(resumeFrom))
+                .orElse(ExtractionCheckpoint.START);
+            long maxTimestamp = Math.max(getLastSyncTimestamp(sourceType), end.lastModified());
+            updateSyncTimestamp(sourceType, maxTimestamp, end.recordsExtracted());
+            syncStateRepository.clearCheckpoint(sourceType);
+
+            return new SyncResult(end.recordsExtracted(), result.chunksCreated());
+        });
+    }
+
+    /**
+     * Run every record of a source type through one pipeline, read with the keyset pager.
+     */
+    private SyncPipeline.PipelineResult runFullSync(String sourceType, ExtractionCheckpoint resumeFrom,
+                                                    ChunkWriter writer,
+                                                    Consumer<ExtractionCheckpoint> onPageStored) {
+        return switch (sourceType) {
+            case "Incident" -> syncPipeline.run(sourceType,
+                consumer -> incidentExtractor.streamWithQualification(null, resumeFrom, consumer),
+                incidentSpec(), writer, onPageStored);
+            case "WorkOrder" -> syncPipeline.run(sourceType,
+                consumer -> workOrderExtractor.streamWithQualification(null, resumeFrom, consumer),
+                workOrderSpec(), writer, onPageStored);
+            case "KnowledgeArticle" -> syncPipeline.run(sourceType,
+                consumer -> knowledgeExtractor.streamPublishedArticles(0L, resumeFrom, consumer),
+                knowledgeSpec(), writer, onPageStored);
+            case "ChangeRequest" -> syncPipeline.run(sourceType,
+                consumer -> changeRequestExtractor.streamWithQualification(null, resumeFrom, consumer),
+                changeRequestSpec(), writer, onPageStored);
+            default -> throw new IllegalArgumentException("Unknown source type: " + sourceType);
+        };
+    }
+
+    /**
+     * Delete the stored records of a source type that a completed full sync did not see.
+     *
+     * @param checkRemedy Only delete records Remedy no longer has (the run did not see every record)
+     * @return Number of records deleted
+     */
+    private int removeUnseen(String sourceType, Set<String> seen, boolean checkRemedy) {
+        Set<String> unseen = new HashSet<>(vectorStoreService.getSourceIds(sourceType));
+        unseen.removeAll(seen);
+        if (checkRemedy && !unseen.isEmpty()) {
+            unseen.removeAll(getActiveRemedyIds(sourceType, unseen));
+        }
+        for (String sourceId : unseen) {
+            vectorStoreService.deleteBySourceRecord(sourceType, sourceId);
+        }
+        return unseen.size();
+    }
+
+    /**
+     * Checkpoint of an unfinished streamed full sync, if any.
+     */
+    private Optional<ExtractionCheckpoint> findCheckpoint(String sourceType) {
+        return syncStateRepository.findBySourceType(sourceType)
+            .filter(state -> state.getCheckpointEntryId() != null)
+            .map(state -> new ExtractionCheckpoint(
+                state.getCheckpointEntryId(),
+                Optional.ofNullable(state.getCheckpointLastModified()).orElse(0L),
+                Optional.ofNullable(state.getCheckpointRecords()).orElse(0)));
+    }
+
+    private SyncResult runSync(String sourceType, ChunkWriter writer) {
         return switch (sourceType) {
-            case "Incident" -> syncIncidents();
-            case "WorkOrder" -> syncWorkOrders();
-            case "KnowledgeArticle" -> syncKnowledgeArticles();
-            case "ChangeRequest" -> syncChangeRequests();
+            case "Incident" -> syncIncidents(writer);
+            case "WorkOrder" -> syncWorkOrders(writer);
+            case "KnowledgeArticle" -> syncKnowledgeArticles(writer);
+            case "ChangeRequest" -> syncChangeRequests(writer);
             default -> throw new IllegalArgumentException("Unknown source type: " + sourceType);
         };
     }
 
+    /**
+     * Writer for the incremental path: only chunks whose text changed are re-embedded.
+     */
+    private ChunkWriter changedChunksWriter() {
+        return new ContentHashChunkWriter(vectorStoreService);
+    }
+
     /**
      * Get the last sync timestamp for a source type.
      */
@@ -354,17 +639,7 @@ public class IncrementalSyncService {
      * Includes stale lock detection and recovery.
      */
     private SyncResult syncSourceType(String sourceType, SyncOperation operation) {
-        // Check for and release stale locks first (e.g., from crashed processes)
-        if (syncStateRepository.hasStalelock(sourceType, LOCK_TIMEOUT_MINUTES)) {
-            log.warn("Detected stale lock for {} (older than {} minutes), releasing it",
-                sourceType, LOCK_TIMEOUT_MINUTES);
-            syncStateRepository.releaseStaleLocksNative(LOCK_TIMEOUT_MINUTES);
-        }
-
-        // Attempt to acquire lock atomically - prevents race conditions
-        int lockAcquired = syncStateRepository.tryAcquireLock(sourceType);
-
-        if (lockAcquired == 0) {
+        if (!acquireLock(sourceType)) {
             log.warn("Failed to acquire sync lock for {} - another sync may be running", sourceType);
             return new SyncResult(0, 0, "Sync already in progress for " + sourceType);
         }
@@ -376,6 +651,9 @@ public class IncrementalSyncService {
 
             log.info("Sync completed for {}: {} records, {} chunks",
                 sourceType, result.recordsProcessed(), result.chunksCreated());
+            if (result.isSuccess()) {
+                syncMetrics.recordSyncCompleted(sourceType, Instant.now());
+            }
 
             return result;
 
@@ -390,6 +668,21 @@ public class IncrementalSyncService {
         }
     }
 
+    /**
+     * Acquire the sync lock for a source type, releasing it first if it is stale.
+     */
+    private boolean acquireLock(String sourceType) {
+        // Check for and release stale locks first (e.g., from crashed processes)
+        if (syncStateRepository.hasStalelock(sourceType, LOCK_TIMEOUT_MINUTES)) {
+            log.warn("Detected stale lock for {} (older than {} minutes), releasing it",
+                sourceType, LOCK_TIMEOUT_MINUTES);
+            syncStateRepository.releaseStaleLocksNative(LOCK_TIMEOUT_MINUTES);
+        }
+
+        // Attempt to acquire lock atomically - prevents race conditions
+        return syncStateRepository.tryAcquireLock(sourceType) != 0;
+    }
+
     /**
      * Functional interface for sync operations.
      */
@@ -518,4 +811,22 @@ public class IncrementalSyncService {
             return errorMessage == null;
         }
     }
+
+    /**
+     * Result of hydrating incidents for the change feed.
+     */
+    public record HydrationResult(int recordsProcessed, int chunksCreated, boolean lockBusy, String errorMessage) {
+        /**
+         * Another sync held the incident lock, nothing was attempted.
+         */
+        public static final HydrationResult LOCK_BUSY = new HydrationResult(0, 0, true, null);
+
+        public static HydrationResult failed(String errorMessage) {
+            return new HydrationResult(0, 0, false, errorMessage != null ? errorMessage : "Hydration failed");
+        }
+
+        public boolean isSuccess() {
+            return !lockBusy && errorMessage == null;
+        }
+    }
 }
@@ -0,0 +1,413 @@
+package com.bmc.rag.store.sync;
+
+import com.bmc.rag.connector.connection.ThreadLocalARContext;
+import com.bmc.rag.connector.extractor.ExtractionCheckpoint;
+import com.bmc.rag.connector.extractor.PageConsumer;
+import com.bmc.rag.vectorization.chunking.TextChunk;
+import com.bmc.rag.vectorization.embedding.LocalEmbeddingService.EmbeddedChunk;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Bounded multi-stage pipeline for syncing one source type:
+ * <pre>
+ *   extract (pages + work logs) -> chunk -> embed (N workers) -> store
+ * </pre>
+ * Stages are connected by bounded queues, so a slow stage applies backpressure
+ * upstream instead of buffering the whole sync in memory. The extract stage pulls
+ * pages from a {@link PageSource} (an extractor's streaming page loop), so Remedy
+ * paging, chunking and ONNX embedding overlap instead of alternating per page, and
+ * only a few pages are in flight at any time.
+ *
+ * The store stage runs on the calling thread so writes join the caller's
+ * transaction. Each source record's chunks are kept together in one embedding
+ * batch, so the {@link ChunkWriter} sees every record exactly once. Workers only
+ * embed the chunks the writer selects (e.g. those whose text changed). Once every
+ * record of a source page has been written, its checkpoint is handed back on the
+ * calling thread, in page order.
+ */
+@Slf4j
+@Component
+public class SyncPipeline {
+
+    private static final Object END = new Object();
+    private static final long POLL_INTERVAL_MS = 200;
+
+    private final SyncPipelineMetrics metrics;
+    private final ThreadLocalARContext arContext;
+
+    @Value("${sync.pipeline.page-size:100}")
+    private int pageSize = 100;
+
+    @Value("${sync.pipeline.embed-batch-size:64}")
+    private int embedBatchSize = 64;
+
+    @Value("${sync.pipeline.embed-workers:2}")
+    private int embedWorkers = 2;
+
+    @Value("${sync.pipeline.queue-capacity:4}")
+    private int queueCapacity = 4;
+
+    public SyncPipeline(SyncPipelineMetrics metrics, ThreadLocalARContext arContext) {
+        this.metrics = metrics;
+        this.arContext = arContext;
+    }
+
+    /**
+     * Run the pipeline over records that are already in memory.
+     *
+     * @param sourceType Source type being synced (used for metrics and thread names)
+     * @param records Records to sync
+     * @param spec How to enrich, chunk and embed the records
+     * @param writer Destination for embedded chunks (called on the calling thread)
+     * @return Counts and the latest last-modified timestamp seen
+     */
+    public <R> PipelineResult run(String sourceType, List<R> records, SourceSpec<R> spec, ChunkWriter writer) {
+        if (records.isEmpty()) {
+            return new PipelineResult(0, 0, 0, 0L, null);
+        }
+        return run(sourceType, consumer -> {
+            consumer.accept(records, null);
+            return null;
+        }, spec, writer, checkpoint -> { });
+    }
+
+    /**
+     * Run the pipeline over the pages of a streaming extraction. The source is read on the
+     * extract stage thread, so the next Remedy page is fetched while earlier ones are chunked,
+     * embedded and stored.
+     *
+     * @param sourceType Source type being synced (used for metrics and thread names)
+     * @param source Page loop of the extraction
+     * @param spec How to enrich, chunk and embed the records
+     * @param writer Destination for embedded chunks (called on the calling thread)
+     * @param onPageStored Called on the calling thread with a page's checkpoint once that page
+     *                     and every page before it have been written
+     * @return Counts, the latest last-modified timestamp seen and the checkpoint the source ended at
+     */
+    public <R> PipelineResult run(String sourceType, PageSource<R> source, SourceSpec<R> spec, ChunkWriter writer,
+                                  Consumer<ExtractionCheckpoint> onPageStored) {
+        int workers = Math.max(1, embedWorkers);
+        BlockingQueue<Object> pages = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Object> chunkBatches = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Object> embeddedBatches = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicLong maxModified = new AtomicLong(0L);
+        AtomicReference<ExtractionCheckpoint> end = new AtomicReference<>();
+
+        metrics.trackQueue(sourceType, "chunk", pages);
+        metrics.trackQueue(sourceType, "embed", chunkBatches);
+        metrics.trackQueue(sourceType, "store", embeddedBatches);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2 + workers, threadFactory(sourceType));
+        long start = System.currentTimeMillis();
+        try {
+            executor.execute(stage(failure, () -> produce(sourceType, source, spec, pages, maxModified, end)));
+            executor.execute(stage(failure, () -> chunk(sourceType, spec, pages, chunkBatches, workers)));
+            for (int i = 0; i < workers; i++) {
+                executor.execute(stage(failure, () -> embed(sourceType, spec, writer, chunkBatches, embeddedBatches)));
+            }
+
+            PipelineResult result = store(sourceType, writer, embeddedBatches, workers, failure, maxModified, end,
+                onPageStored);
+            log.info("Sync pipeline for {} finished: {} records, {} chunks ({} embedded) in {}ms ({} embed workers)",
+                sourceType, result.recordsProcessed(), result.chunksCreated(), result.chunksEmbedded(),
+                System.currentTimeMillis() - start, workers);
+            return result;
+        } finally {
+            executor.shutdownNow();
+            metrics.untrackQueue(sourceType, "chunk");
+            metrics.untrackQueue(sourceType, "embed");
+            metrics.untrackQueue(sourceType, "store");
+        }
+    }
+
+    /**
+     * Extract stage: read pages from the source, split them into pipeline pages and enrich each
+     * one (e.g. batch-fetch work logs). The source page's checkpoint travels with its last piece.
+     */
+    private <R> void produce(String sourceType, PageSource<R> source, SourceSpec<R> spec,
+                             BlockingQueue<Object> pages, AtomicLong maxModified,
+                             AtomicReference<ExtractionCheckpoint> end) throws InterruptedException {
+        try {
+            end.set(source.stream((records, checkpoint) -> {
+                try {
+                    producePage(sourceType, records, checkpoint, spec, pages, maxModified);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Sync pipeline for " + sourceType + " interrupted", e);
+                }
+            }));
+            pages.put(END);
+        } finally {
+            // Remedy paging and work log lookups ran on this pipeline thread
+            arContext.closeContext();
+        }
+    }
+
+    private <R> void producePage(String sourceType, List<R> records, ExtractionCheckpoint checkpoint,
+                                 SourceSpec<R> spec, BlockingQueue<Object> pages,
+                                 AtomicLong maxModified) throws InterruptedException {
+        if (records.isEmpty()) {
+            // Nothing to store, but the checkpoint still has to reach the store stage in order
+            if (checkpoint != null) {
+                pages.put(new Page<>(records, checkpoint));
+            }
+            return;
+        }
+        for (int i = 0; i < records.size(); i += pageSize) {
+            long start = System.nanoTime();
+            int to = Math.min(i + pageSize, records.size());
+            List<R> page = records.subList(i, to);
+            spec.pageEnricher().accept(page);
+            for (R record : page) {
+                Instant modified = spec.lastModifiedOf().apply(record);
+                if (modified != null) {
+                    maxModified.accumulateAndGet(modified.getEpochSecond(), Math::max);
+                }
+            }
+            metrics.recordStage(sourceType, "extract", page.size(), System.nanoTime() - start);
+            pages.put(new Page<>(page, to == records.size() ? checkpoint : null));
+        }
+    }
+
+    /**
+     * Chunk stage: chunk records and group them into embedding batches of whole records.
+     * A batch never spans a checkpoint, and batches are numbered so the store stage can
+     * tell when everything up to a checkpoint has been written.
+     */
+    @SuppressWarnings("unchecked")
+    private <R> void chunk(String sourceType, SourceSpec<R> spec, BlockingQueue<Object> pages,
+                           BlockingQueue<Object> chunkBatches, int workers) throws InterruptedException {
+        List<String> sourceIds = new ArrayList<>();
+        List<TextChunk> chunks = new ArrayList<>();
+        int seq = 0;
+
+        Object item;
+        while ((item = pages.take()) != END) {
+            Page<R> page = (Page<R>) item;
+            for (R record : page.records()) {
+                long start = System.nanoTime();
+                sourceIds.add(spec.idOf().apply(record));
+                chunks.addAll(spec.chunker().apply(record));
+                metrics.recordStage(sourceType, "chunk", 1, System.nanoTime() - start);
+
+                if (chunks.size() >= embedBatchSize) {
+                    chunkBatches.put(new ChunkBatch(seq++, sourceIds, chunks, null));
+                    sourceIds = new ArrayList<>();
+                    chunks = new ArrayList<>();
+                }
+            }
+            if (page.checkpoint() != null) {
+                chunkBatches.put(new ChunkBatch(seq++, sourceIds, chunks, page.checkpoint()));
+                sourceIds = new ArrayList<>();
+                chunks = new ArrayList<>();
+            }
+        }
+
+        if (!sourceIds.isEmpty()) {
+            chunkBatches.put(new ChunkBatch(seq, sourceIds, chunks, null));
+        }
+        for (int i = 0; i < workers; i++) {
+            chunkBatches.put(END);
+        }
+    }
+
+    /**
+     * Embedding stage: one of N workers embedding the chunks the writer selects from each batch.
+     */
+    private <R> void embed(String sourceType, SourceSpec<R> spec, ChunkWriter writer,
+                           BlockingQueue<Object> chunkBatches,
+                           BlockingQueue<Object> embeddedBatches) throws InterruptedException {
+        Object item;
+        while ((item = chunkBatches.take()) != END) {
+            ChunkBatch batch = (ChunkBatch) item;
+            long start = System.nanoTime();
+            List<TextChunk> toEmbed = batch.chunks().isEmpty()
+                ? List.of()
+                : writer.selectForEmbedding(sourceType, batch.sourceIds(), batch.chunks());
+            List<EmbeddedChunk> embedded = toEmbed.isEmpty()
+                ? List.of()
+                : spec.embedder().apply(toEmbed);
+            metrics.recordStage(sourceType, "embed", toEmbed.size(), System.nanoTime() - start);
+            embeddedBatches.put(new EmbeddedBatch(batch.seq(), batch.sourceIds(), batch.chunks(), embedded,
+                batch.checkpoint()));
+        }
+        embeddedBatches.put(END);
+    }
+
+    /**
+     * Store stage: runs on the calling thread until every embedding worker has finished.
+     * Workers finish batches out of order, so checkpoints are released only once every
+     * lower-numbered batch has been written too.
+     */
+    private PipelineResult store(String sourceType, ChunkWriter writer, BlockingQueue<Object> embeddedBatches,
+                                 int workers, AtomicReference<Throwable> failure, AtomicLong maxModified,
+                                 AtomicReference<ExtractionCheckpoint> end,
+                                 Consumer<ExtractionCheckpoint> onPageStored) {
+        int finishedWorkers = 0;
+        int recordsProcessed = 0;
+        int chunksCreated = 0;
+        int chunksEmbedded = 0;
+        int nextSeq = 0;
+        Map<Integer, EmbeddedBatch> written = new HashMap<>();
+
+        try {
+            while (finishedWorkers < workers) {
+                Object item = embeddedBatches.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                rethrowFailure(failure);
+                if (item == null) {
+                    continue;
+                }
+                if (item == END) {
+                    finishedWorkers++;
+                    continue;
+                }
+
+                EmbeddedBatch batch = (EmbeddedBatch) item;
+                if (!batch.sourceIds().isEmpty()) {
+                    long start = System.nanoTime();
+                    writer.write(sourceType, batch.sourceIds(), batch.chunks(), batch.embedded());
+                    metrics.recordStage(sourceType, "store", batch.chunks().size(), System.nanoTime() - start);
+                }
+
+                recordsProcessed += batch.sourceIds().size();
+                chunksCreated += batch.chunks().size();
+                chunksEmbedded += batch.embedded().size();
+
+                written.put(batch.seq(), batch);
+                EmbeddedBatch next;
+                while ((next = written.remove(nextSeq)) != null) {
+                    nextSeq++;
+                    if (next.checkpoint() != null) {
+                        onPageStored.accept(next.checkpoint());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Sync pipeline for " + sourceType + " interrupted", e);
+        }
+
+        return new PipelineResult(recordsProcessed, chunksCreated, chunksEmbedded, maxModified.get(), end.get());
+    }
+
+    private static Runnable stage(AtomicReference<Throwable> failure, InterruptibleStage stage) {
+        return () -> {
+            try {
+                stage.run();
+            } catch (InterruptedException e) {
+                // Pipeline is shutting down after a failure elsewhere
+                failure.compareAndSet(null, e);
+                Thread.currentThread().interrupt();
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+        };
+    }
+
+    private static void rethrowFailure(AtomicReference<Throwable> failure) {
+        Throwable t = failure.get();
+        if (t == null) {
+            return;
+        }
+        if (t instanceof RuntimeException re) {
+            throw re;
+        }
+        if (t instanceof Error error) {
+            throw error;
+        }
+        throw new IllegalStateException(t.getMessage(), t);
+    }
+
+    private static ThreadFactory threadFactory(String sourceType) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "sync-" + sourceType + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    @FunctionalInterface
+    private interface InterruptibleStage {
+        void run() throws InterruptedException;
+    }
+
+    private record Page<R>(List<R> records, ExtractionCheckpoint checkpoint) {
+    }
+
+    private record ChunkBatch(int seq, List<String> sourceIds, List<TextChunk> chunks,
+                              ExtractionCheckpoint checkpoint) {
+    }
+
+    private record EmbeddedBatch(int seq, List<String> sourceIds, List<TextChunk> chunks,
+                                 List<EmbeddedChunk> embedded, ExtractionCheckpoint checkpoint) {
+    }
+
+    /**
+     * Page loop of a streaming extraction, e.g.
+     * {@code consumer -> extractor.streamModifiedSince(lastSync, null, consumer)}.
+     * The pipeline's page consumer returns once the page is queued, not stored.
+     *
+     * @param <R> Record type
+     */
+    @FunctionalInterface
+    public interface PageSource<R> {
+
+        /**
+         * Hand every page to the consumer, on the calling thread.
+         *
+         * @return Checkpoint after the last page, or null if the source has none
+         */
+        ExtractionCheckpoint stream(PageConsumer<R> consumer);
+    }
+
+    /**
+     * Per-source-type hooks used by the pipeline stages.
+     *
+     * @param idOf Business ID of a record (INC..., WO..., ...)
+     * @param lastModifiedOf Last modified date of a record, may return null
+     * @param pageEnricher Called once per page before chunking (e.g. to attach work logs)
+     * @param chunker Chunk strategy for a record
+     * @param embedder Embeds a batch of chunks, preserving order
+     */
+    public record SourceSpec<R>(
+        Function<R, String> idOf,
+        Function<R, Instant> lastModifiedOf,
+        Consumer<List<R>> pageEnricher,
+        Function<R, List<TextChunk>> chunker,
+        Function<List<TextChunk>, List<EmbeddedChunk>> embedder
+    ) {
+    }
+
+    /**
+     * Pipeline outcome.
+     *
+     * @param chunksCreated Chunks produced by the chunk strategies
+     * @param chunksEmbedded Chunks the writer selected for embedding
+     * @param maxLastModified Latest last-modified epoch second seen, 0 if none
+     * @param checkpoint Checkpoint the source ended at, null if it has none
+     */
+    public record PipelineResult(int recordsProcessed, int chunksCreated, int chunksEmbedded, long maxLastModified,
+                                 ExtractionCheckpoint checkpoint) {
+    }
+}
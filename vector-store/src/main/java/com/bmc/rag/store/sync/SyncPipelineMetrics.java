@@ -0,0 +1,111 @@
+package com.bmc.rag.store.sync;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Metrics for the sync pipeline stages.
+ *
+ * <ul>
+ *   <li>{@code rag.sync.pipeline.items} - items processed per stage (rate = stage throughput)</li>
+ *   <li>{@code rag.sync.pipeline.stage.duration} - time spent per stage batch</li>
+ *   <li>{@code rag.sync.pipeline.queue.depth} - current depth of the queue feeding a stage</li>
+ *   <li>{@code rag.sync.freshness.lag} - seconds since the last successful sync of a source type</li>
+ * </ul>
+ * All meters are tagged with {@code source_type}, pipeline meters also with {@code stage}/{@code queue}.
+ */
+@Component
+public class SyncPipelineMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, QueueProbe> queueProbes = new ConcurrentHashMap<>();
+    private final Map<String, AtomicReference<Instant>> lastSuccess = new ConcurrentHashMap<>();
+
+    public SyncPipelineMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Record one batch handled by a stage.
+     */
+    public void recordStage(String sourceType, String stage, int items, long durationNanos) {
+        Counter.builder("rag.sync.pipeline.items")
+            .description("Items processed by sync pipeline stage")
+            .tag("source_type", sourceType)
+            .tag("stage", stage)
+            .register(meterRegistry)
+            .increment(items);
+
+        Timer.builder("rag.sync.pipeline.stage.duration")
+            .description("Time spent per sync pipeline stage batch")
+            .tag("source_type", sourceType)
+            .tag("stage", stage)
+            .register(meterRegistry)
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Expose the depth of a pipeline queue for the duration of a sync run.
+     */
+    public void trackQueue(String sourceType, String queueName, BlockingQueue<?> queue) {
+        queueProbes.computeIfAbsent(sourceType + ":" + queueName, key -> {
+            QueueProbe probe = new QueueProbe();
+            Gauge.builder("rag.sync.pipeline.queue.depth", probe, QueueProbe::depth)
+                .description("Items waiting in sync pipeline queue")
+                .tag("source_type", sourceType)
+                .tag("queue", queueName)
+                .register(meterRegistry);
+            return probe;
+        }).queue = queue;
+    }
+
+    /**
+     * Stop tracking a queue once its sync run has finished (depth reports 0).
+     */
+    public void untrackQueue(String sourceType, String queueName) {
+        QueueProbe probe = queueProbes.get(sourceType + ":" + queueName);
+        if (probe != null) {
+            probe.queue = null;
+        }
+    }
+
+    /**
+     * Record a successful sync of a source type; resets its freshness lag.
+     * The gauge is registered on the first call for a source type.
+     */
+    public void recordSyncCompleted(String sourceType, Instant completedAt) {
+        lastSuccess.computeIfAbsent(sourceType, key -> {
+            AtomicReference<Instant> holder = new AtomicReference<>(completedAt);
+            Gauge.builder("rag.sync.freshness.lag", holder,
+                    ref -> Duration.between(ref.get(), Instant.now()).toMillis() / 1000.0)
+                .description("Seconds since the last successful sync of a source type")
+                .tag("source_type", sourceType)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+            return holder;
+        }).accumulateAndGet(completedAt, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    /**
+     * Holder so the gauge survives across runs while the queue instance changes.
+     */
+    private static final class QueueProbe {
+        private volatile BlockingQueue<?> queue;
+
+        double depth() {
+            BlockingQueue<?> current = queue;
+            return current != null ? current.size() : 0;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+-- V12: Binary pgvector parameters for hybrid search
+-- Adds hybrid_search / hybrid_search_with_groups overloads that take the query
+-- embedding as vector(384) instead of a "[0.1, 0.2, ...]" string. The application
+-- binds the embedding in the binary pgvector wire format (vector-store.binary-transfer),
+-- so no vector literal is built on the client or parsed on the server.
+-- The V4 TEXT signatures are kept for callers still sending string literals and now
+-- delegate to the vector overloads after a single cast.
+
+CREATE OR REPLACE FUNCTION hybrid_search(
+    query_text TEXT,
+    query_embedding vector(384),
+    max_results INT DEFAULT 10,
+    min_score FLOAT DEFAULT 0.3,
+    vector_weight FLOAT DEFAULT 0.7,
+    text_weight FLOAT DEFAULT 0.3,
+    k_rrf INT DEFAULT 60  -- RRF constant (higher = more weight to top results)
+)
+RETURNS TABLE (
+    id UUID,
+    chunk_id VARCHAR,
+    text_segment TEXT,
+    source_type VARCHAR,
+    source_id VARCHAR,
+    entry_id VARCHAR,
+    chunk_type VARCHAR,
+    sequence_number INT,
+    metadata JSONB,
+    vector_score FLOAT,
+    text_score FLOAT,
+    hybrid_score FLOAT
+) AS $$
+BEGIN
+    RETURN QUERY
+    WITH vector_results AS (
+        -- Vector similarity search
+        SELECT
+            e.id,
+            e.chunk_id,
+            e.text_segment,
+            e.source_type,
+            e.source_id,
+            e.entry_id,
+            e.chunk_type,
+            e.sequence_number,
+            e.metadata,
+            (1 - (e.embedding <=> query_embedding))::float as score,
+            ROW_NUMBER() OVER (ORDER BY e.embedding <=> query_embedding) as rank
+        FROM embedding_store e
+        WHERE 1 - (e.embedding <=> query_embedding) >= min_score
+        LIMIT max_results * 2
+    ),
+    text_results AS (
+        -- Full-text search using ts_rank
+        SELECT
+            e.id,
+            e.chunk_id,
+            e.text_segment,
+            e.source_type,
+            e.source_id,
+            e.entry_id,
+            e.chunk_type,
+            e.sequence_number,
+            e.metadata,
+            ts_rank_cd(e.text_search_vector, plainto_tsquery('english', query_text))::float as score,
+            ROW_NUMBER() OVER (ORDER BY ts_rank_cd(e.text_search_vector, plainto_tsquery('english', query_text)) DESC) as rank
+        FROM embedding_store e
+        WHERE e.text_search_vector @@ plainto_tsquery('english', query_text)
+        LIMIT max_results * 2
+    ),
+    combined AS (
+        -- Reciprocal Rank Fusion
+        SELECT
+            COALESCE(v.id, t.id) as id,
+            COALESCE(v.chunk_id, t.chunk_id) as chunk_id,
+            COALESCE(v.text_segment, t.text_segment) as text_segment,
+            COALESCE(v.source_type, t.source_type) as source_type,
+            COALESCE(v.source_id, t.source_id) as source_id,
+            COALESCE(v.entry_id, t.entry_id) as entry_id,
+            COALESCE(v.chunk_type, t.chunk_type) as chunk_type,
+            COALESCE(v.sequence_number, t.sequence_number) as sequence_number,
+            COALESCE(v.metadata, t.metadata) as metadata,
+            COALESCE(v.score, 0)::float as vector_score,
+            COALESCE(t.score, 0)::float as text_score,
+            (
+                vector_weight * COALESCE(1.0 / (k_rrf + v.rank), 0) +
+                text_weight * COALESCE(1.0 / (k_rrf + t.rank), 0)
+            )::float as hybrid_score
+        FROM vector_results v
+        FULL OUTER JOIN text_results t ON v.id = t.id
+    )
+    SELECT
+        c.id,
+        c.chunk_id,
+        c.text_segment,
+        c.source_type,
+        c.source_id,
+        c.entry_id,
+        c.chunk_type,
+        c.sequence_number,
+        c.metadata,
+        c.vector_score,
+        c.text_score,
+        c.hybrid_score
+    FROM combined c
+    ORDER BY c.hybrid_score DESC
+    LIMIT max_results;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION hybrid_search_with_groups(
+    query_text TEXT,
+    query_embedding vector(384),
+    allowed_groups TEXT[],
+    max_results INT DEFAULT 10,
+    min_score FLOAT DEFAULT 0.3,
+    vector_weight FLOAT DEFAULT 0.7,
+    text_weight FLOAT DEFAULT 0.3,
+    k_rrf INT DEFAULT 60
+)
+RETURNS TABLE (
+    id UUID,
+    chunk_id VARCHAR,
+    text_segment TEXT,
+    source_type VARCHAR,
+    source_id VARCHAR,
+    entry_id VARCHAR,
+    chunk_type VARCHAR,
+    sequence_number INT,
+    metadata JSONB,
+    vector_score FLOAT,
+    text_score FLOAT,
+    hybrid_score FLOAT
+) AS $$
+BEGIN
+    RETURN QUERY
+    WITH vector_results AS (
+        SELECT
+            e.id,
+            e.chunk_id,
+            e.text_segment,
+            e.source_type,
+            e.source_id,
+            e.entry_id,
+            e.chunk_type,
+            e.sequence_number,
+            e.metadata,
+            (1 - (e.embedding <=> query_embedding))::float as score,
+            ROW_NUMBER() OVER (ORDER BY e.embedding <=> query_embedding) as rank
+        FROM embedding_store e
+        WHERE 1 - (e.embedding <=> query_embedding) >= min_score
+            AND (
+                e.metadata->>'assigned_group' IS NULL
+                OR e.metadata->>'assigned_group' = ANY(allowed_groups)
+            )
+        LIMIT max_results * 2
+    ),
+    text_results AS (
+        SELECT
+            e.id,
+            e.chunk_id,
+            e.text_segment,
+            e.source_type,
+            e.source_id,
+            e.entry_id,
+            e.chunk_type,
+            e.sequence_number,
+            e.metadata,
+            ts_rank_cd(e.text_search_vector, plainto_tsquery('english', query_text))::float as score,
+            ROW_NUMBER() OVER (ORDER BY ts_rank_cd(e.text_search_vector, plainto_tsquery('english', query_text)) DESC) as rank
+        FROM embedding_store e
+        WHERE e.text_search_vector @@ plainto_tsquery('english', query_text)
+            AND (
+                e.metadata->>'assigned_group' IS NULL
+                OR e.metadata->>'assigned_group' = ANY(allowed_groups)
+            )
+        LIMIT max_results * 2
+    ),
+    combined AS (
+        SELECT
+            COALESCE(v.id, t.id) as id,
+            COALESCE(v.chunk_id, t.chunk_id) as chunk_id,
+            COALESCE(v.text_segment, t.text_segment) as text_segment,
+            COALESCE(v.source_type, t.source_type) as source_type,
+            COALESCE(v.source_id, t.source_id) as source_id,
+            COALESCE(v.entry_id, t.entry_id) as entry_id,
+            COALESCE(v.chunk_type, t.chunk_type) as chunk_type,
+            COALESCE(v.sequence_number, t.sequence_number) as sequence_number,
+            COALESCE(v.metadata, t.metadata) as metadata,
+            COALESCE(v.score, 0)::float as vector_score,
+            COALESCE(t.score, 0)::float as text_score,
+            (
+                vector_weight * COALESCE(1.0 / (k_rrf + v.rank), 0) +
+                text_weight * COALESCE(1.0 / (k_rrf + t.rank), 0)
+            )::float as hybrid_score
+        FROM vector_results v
+        FULL OUTER JOIN text_results t ON v.id = t.id
+    )
+    SELECT
+        c.id,
+        c.chunk_id,
+        c.text_segment,
+        c.source_type,
+        c.source_id,
+        c.entry_id,
+        c.chunk_type,
+        c.sequence_number,
+        c.metadata,
+        c.vector_score,
+        c.text_score,
+        c.hybrid_score
+    FROM combined c
+    ORDER BY c.hybrid_score DESC
+    LIMIT max_results;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION hybrid_search(
+    query_text TEXT,
+    query_embedding TEXT,  -- Vector as string "[0.1, 0.2, ...]"
+    max_results INT DEFAULT 10,
+    min_score FLOAT DEFAULT 0.3,
+    vector_weight FLOAT DEFAULT 0.7,
+    text_weight FLOAT DEFAULT 0.3,
+    k_rrf INT DEFAULT 60
+)
+RETURNS TABLE (
+    id UUID,
+    chunk_id VARCHAR,
+    text_segment TEXT,
+    source_type VARCHAR,
+    source_id VARCHAR,
+    entry_id VARCHAR,
+    chunk_type VARCHAR,
+    sequence_number INT,
+    metadata JSONB,
+    vector_score FLOAT,
+    text_score FLOAT,
+    hybrid_score FLOAT
+) AS $$
+BEGIN
+    RETURN QUERY
+    SELECT * FROM hybrid_search(
+        query_text, cast(query_embedding as vector(384)),
+        max_results, min_score, vector_weight, text_weight, k_rrf
+    );
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION hybrid_search_with_groups(
+    query_text TEXT,
+    query_embedding TEXT,
+    allowed_groups TEXT[],
+    max_results INT DEFAULT 10,
+    min_score FLOAT DEFAULT 0.3,
+    vector_weight FLOAT DEFAULT 0.7,
+    text_weight FLOAT DEFAULT 0.3,
+    k_rrf INT DEFAULT 60
+)
+RETURNS TABLE (
+    id UUID,
+    chunk_id VARCHAR,
+    text_segment TEXT,
+    source_type VARCHAR,
+    source_id VARCHAR,
+    entry_id VARCHAR,
+    chunk_type VARCHAR,
+    sequence_number INT,
+    metadata JSONB,
+    vector_score FLOAT,
+    text_score FLOAT,
+    hybrid_score FLOAT
+) AS $$
+BEGIN
+    RETURN QUERY
+    SELECT * FROM hybrid_search_with_groups(
+        query_text, cast(query_embedding as vector(384)), allowed_groups,
+        max_results, min_score, vector_weight, text_weight, k_rrf
+    );
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION hybrid_search(TEXT, vector, INT, FLOAT, FLOAT, FLOAT, INT) IS
+    'Hybrid search (vector + full-text, RRF) taking a binary-bound query vector';
+COMMENT ON FUNCTION hybrid_search_with_groups(TEXT, vector, TEXT[], INT, FLOAT, FLOAT, FLOAT, INT) IS
+    'Hybrid search with ReBAC group filtering taking a binary-bound query vector';
@@ -0,0 +1,25 @@
+-- V13: Staging table for COPY-based bulk loading
+-- Full re-ingestion streams rows into this table with COPY FROM STDIN and then
+-- merges them into embedding_store with a single INSERT ... SELECT. The table is
+-- UNLOGGED (no WAL) and carries no indexes, constraints or triggers so COPY runs
+-- at disk speed. Rows are tagged with a load_id so concurrent loads for
+-- different source types never see each other's rows.
+
+CREATE UNLOGGED TABLE IF NOT EXISTS embedding_store_staging (
+    load_id UUID NOT NULL,
+    ordinal BIGINT NOT NULL,            -- Write order within a load (last write wins per chunk_id)
+    id UUID NOT NULL,
+    chunk_id VARCHAR(255) NOT NULL,
+    embedding vector(384) NOT NULL,
+    text_segment TEXT NOT NULL,
+    source_type VARCHAR(50) NOT NULL,
+    source_id VARCHAR(100) NOT NULL,
+    entry_id VARCHAR(100),
+    chunk_type VARCHAR(50),
+    sequence_number INTEGER DEFAULT 0,
+    metadata JSONB NOT NULL DEFAULT '{}',
+    detected_language VARCHAR(10) DEFAULT 'en'
+);
+
+COMMENT ON TABLE embedding_store_staging IS
+    'Unlogged staging area for COPY-based bulk loads into embedding_store; rows are removed after each merge';
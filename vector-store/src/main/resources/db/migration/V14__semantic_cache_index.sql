@@ -0,0 +1,28 @@
+-- V14: Nearest-neighbour index for the semantic response cache
+-- The semantic cache used to keep every query embedding in Redis and scan all of
+-- them (one GET per entry) on each lookup. Query embeddings now live here behind an
+-- HNSW index so a lookup is a single indexed query; Redis only keeps the cached
+-- response payloads under the same cache_key.
+-- last_accessed_at / hit_count drive LRU eviction when the cache exceeds max-entries.
+
+CREATE TABLE IF NOT EXISTS semantic_cache_index (
+    cache_key VARCHAR(64) PRIMARY KEY,
+    embedding vector(384) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    last_accessed_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    hit_count BIGINT NOT NULL DEFAULT 0,
+    expires_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_semantic_cache_index_embedding_hnsw ON semantic_cache_index
+USING hnsw (embedding vector_cosine_ops)
+WITH (m = 16, ef_construction = 64);
+
+CREATE INDEX IF NOT EXISTS idx_semantic_cache_index_last_accessed
+    ON semantic_cache_index (last_accessed_at);
+
+CREATE INDEX IF NOT EXISTS idx_semantic_cache_index_expires
+    ON semantic_cache_index (expires_at);
+
+COMMENT ON TABLE semantic_cache_index IS
+    'Query embeddings of semantic cache entries; payloads are stored in Redis under rag:semantic-cache:<cache_key>';
@@ -0,0 +1,16 @@
+-- V15: Partition semantic cache entries by the caller's access groups
+-- Answers are built from ReBAC-filtered retrieval, so an entry may only be served to
+-- callers with the same group set. partition_key is a hash of the (sorted, lower-cased)
+-- groups the answer was generated for; lookups only consider their own partition.
+-- Existing entries were cached without regard to groups and are dropped.
+
+DELETE FROM semantic_cache_index;
+
+ALTER TABLE semantic_cache_index
+    ADD COLUMN IF NOT EXISTS partition_key VARCHAR(64) NOT NULL DEFAULT '';
+
+CREATE INDEX IF NOT EXISTS idx_semantic_cache_index_partition
+    ON semantic_cache_index (partition_key);
+
+COMMENT ON COLUMN semantic_cache_index.partition_key IS
+    'Hash of the access groups the cached answer was generated for';
@@ -0,0 +1,15 @@
+-- V16: Reverse index from cited source records to semantic cache entries
+-- Lets ingestion evict exactly the cached answers that cite a re-chunked or deleted
+-- record ("Incident INC000123") instead of waiting for the TTL to expire them.
+
+CREATE TABLE IF NOT EXISTS semantic_cache_source (
+    cache_key VARCHAR(64) NOT NULL REFERENCES semantic_cache_index (cache_key) ON DELETE CASCADE,
+    source_ref VARCHAR(255) NOT NULL,
+    PRIMARY KEY (cache_key, source_ref)
+);
+
+CREATE INDEX IF NOT EXISTS idx_semantic_cache_source_ref
+    ON semantic_cache_source (source_ref);
+
+COMMENT ON TABLE semantic_cache_source IS
+    'Source references cited by each semantic cache entry; rows go away with their entry';
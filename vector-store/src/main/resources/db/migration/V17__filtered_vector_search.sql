@@ -0,0 +1,76 @@
+-- V17: Single filtered vector search
+-- Replaces the unused V1 search_embeddings with the one function the application now
+-- calls for every vector search. ReBAC groups, source types, chunk types and detected
+-- language are applied in the same HNSW scan, so callers no longer fetch extra rows and
+-- filter them in Java.
+--
+-- allowed_groups NULL disables ReBAC; otherwise rows are visible when they have no
+-- assigned_group or it matches one of the (lower-cased) allowed groups. Other NULL
+-- arrays mean "no restriction".
+--
+-- With pgvector >= 0.8 the scan runs in iterative mode: when filters reject rows the
+-- index keeps returning candidates until LIMIT rows pass, instead of stopping after
+-- ef_search candidates and returning fewer results. Older versions skip the setting.
+
+DROP FUNCTION IF EXISTS search_embeddings(vector, INTEGER, FLOAT, TEXT[], TEXT[], TEXT[]);
+
+CREATE OR REPLACE FUNCTION search_embeddings(
+    query_embedding vector(384),
+    max_results INTEGER DEFAULT 5,
+    min_score FLOAT DEFAULT 0.7,
+    allowed_groups TEXT[] DEFAULT NULL,
+    source_types TEXT[] DEFAULT NULL,
+    chunk_types TEXT[] DEFAULT NULL,
+    languages TEXT[] DEFAULT NULL
+)
+RETURNS TABLE (
+    id UUID,
+    chunk_id VARCHAR,
+    text_segment TEXT,
+    source_type VARCHAR,
+    source_id VARCHAR,
+    entry_id VARCHAR,
+    chunk_type VARCHAR,
+    sequence_number INT,
+    metadata JSONB,
+    created_at TIMESTAMPTZ,
+    updated_at TIMESTAMPTZ,
+    score FLOAT
+) AS $$
+BEGIN
+    IF current_setting('hnsw.iterative_scan', true) IS NOT NULL THEN
+        -- Transaction-local; strict_order keeps results sorted by distance
+        PERFORM set_config('hnsw.iterative_scan', 'strict_order', true);
+    END IF;
+
+    RETURN QUERY
+    SELECT
+        e.id,
+        e.chunk_id,
+        e.text_segment,
+        e.source_type,
+        e.source_id,
+        e.entry_id,
+        e.chunk_type,
+        e.sequence_number,
+        e.metadata,
+        e.created_at,
+        e.updated_at,
+        (1 - (e.embedding <=> query_embedding))::float AS score
+    FROM embedding_store e
+    WHERE
+        -- ReBAC: unassigned records are public
+        (allowed_groups IS NULL
+         OR COALESCE(e.metadata->>'assigned_group', '') = ''
+         OR lower(e.metadata->>'assigned_group') = ANY(allowed_groups))
+        AND (source_types IS NULL OR e.source_type = ANY(source_types))
+        AND (chunk_types IS NULL OR e.chunk_type = ANY(chunk_types))
+        AND (languages IS NULL OR e.detected_language = ANY(languages))
+        AND (1 - (e.embedding <=> query_embedding)) >= min_score
+    ORDER BY e.embedding <=> query_embedding
+    LIMIT max_results;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION search_embeddings(vector, INTEGER, FLOAT, TEXT[], TEXT[], TEXT[], TEXT[]) IS
+    'Vector search with ReBAC, source type, chunk type and language filters applied in one scan';
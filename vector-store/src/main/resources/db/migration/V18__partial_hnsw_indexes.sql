@@ -0,0 +1,118 @@
+-- V18: Partial HNSW indexes per source type
+-- The table-wide HNSW graph is dominated by incidents. A search restricted to a small
+-- source type (knowledge articles, DAMEE_SERVICE catalog entries) walks that graph,
+-- discards most candidates in the filter and returns fewer than LIMIT rows. A partial
+-- index per type holds only that type's vectors, so the same ef_search reaches full recall.
+--
+-- Incident has no partial index: it makes up most of the table, and the full index
+-- already behaves like one for it.
+
+-- DameeIngestionService writes DAMEE_SERVICE (ServiceIntentMatcher searches for it), which
+-- the V10 constraint did not admit
+ALTER TABLE embedding_store DROP CONSTRAINT IF EXISTS valid_source_type;
+ALTER TABLE embedding_store ADD CONSTRAINT valid_source_type CHECK (
+    source_type IN ('Incident', 'WorkOrder', 'KnowledgeArticle', 'ChangeRequest',
+                    'DameeService', 'DAMEE_SERVICE')
+);
+
+-- Same build parameters as idx_embedding_store_embedding_hnsw (V5)
+CREATE INDEX IF NOT EXISTS idx_embedding_hnsw_work_order ON embedding_store
+USING hnsw (embedding vector_cosine_ops)
+WITH (m = 24, ef_construction = 200)
+WHERE source_type = 'WorkOrder';
+
+CREATE INDEX IF NOT EXISTS idx_embedding_hnsw_knowledge_article ON embedding_store
+USING hnsw (embedding vector_cosine_ops)
+WITH (m = 24, ef_construction = 200)
+WHERE source_type = 'KnowledgeArticle';
+
+CREATE INDEX IF NOT EXISTS idx_embedding_hnsw_change_request ON embedding_store
+USING hnsw (embedding vector_cosine_ops)
+WITH (m = 24, ef_construction = 200)
+WHERE source_type = 'ChangeRequest';
+
+CREATE INDEX IF NOT EXISTS idx_embedding_hnsw_damee_service ON embedding_store
+USING hnsw (embedding vector_cosine_ops)
+WITH (m = 24, ef_construction = 200)
+WHERE source_type = 'DAMEE_SERVICE';
+
+-- The planner only uses a partial index when it can prove the query's WHERE clause implies
+-- the index predicate, which it cannot do for bound parameters. search_embeddings now builds
+-- its statement with the source type and language filters inlined as literals, so a search
+-- for a single indexed type is planned against the matching partial index
+-- and everything else falls back to the full index. Groups, chunk types, score and the
+-- query vector stay bound parameters.
+CREATE OR REPLACE FUNCTION search_embeddings(
+    query_embedding vector(384),
+    max_results INTEGER DEFAULT 5,
+    min_score FLOAT DEFAULT 0.7,
+    allowed_groups TEXT[] DEFAULT NULL,
+    source_types TEXT[] DEFAULT NULL,
+    chunk_types TEXT[] DEFAULT NULL,
+    languages TEXT[] DEFAULT NULL
+)
+RETURNS TABLE (
+    id UUID,
+    chunk_id VARCHAR,
+    text_segment TEXT,
+    source_type VARCHAR,
+    source_id VARCHAR,
+    entry_id VARCHAR,
+    chunk_type VARCHAR,
+    sequence_number INT,
+    metadata JSONB,
+    created_at TIMESTAMPTZ,
+    updated_at TIMESTAMPTZ,
+    score FLOAT
+) AS $$
+DECLARE
+    partition_filter TEXT := '';
+BEGIN
+    IF current_setting('hnsw.iterative_scan', true) IS NOT NULL THEN
+        -- Transaction-local; strict_order keeps results sorted by distance
+        PERFORM set_config('hnsw.iterative_scan', 'strict_order', true);
+    END IF;
+
+    IF cardinality(source_types) = 1 THEN
+        partition_filter := partition_filter || format(' AND e.source_type = %L', source_types[1]);
+    ELSIF cardinality(source_types) > 1 THEN
+        partition_filter := partition_filter || format(' AND e.source_type = ANY(%L::text[])', source_types);
+    END IF;
+
+    IF cardinality(languages) = 1 THEN
+        partition_filter := partition_filter || format(' AND e.detected_language = %L', languages[1]);
+    ELSIF cardinality(languages) > 1 THEN
+        partition_filter := partition_filter || format(' AND e.detected_language = ANY(%L::text[])', languages);
+    END IF;
+
+    RETURN QUERY EXECUTE
+        'SELECT
+            e.id,
+            e.chunk_id,
+            e.text_segment,
+            e.source_type,
+            e.source_id,
+            e.entry_id,
+            e.chunk_type,
+            e.sequence_number,
+            e.metadata,
+            e.created_at,
+            e.updated_at,
+            (1 - (e.embedding <=> $1))::float AS score
+        FROM embedding_store e
+        WHERE
+            -- ReBAC: unassigned records are public
+            ($4 IS NULL
+             OR COALESCE(e.metadata->>''assigned_group'', '''') = ''''
+             OR lower(e.metadata->>''assigned_group'') = ANY($4))
+            AND ($5 IS NULL OR e.chunk_type = ANY($5))
+            AND (1 - (e.embedding <=> $1)) >= $3'
+        || partition_filter ||
+        ' ORDER BY e.embedding <=> $1
+        LIMIT $2'
+    USING query_embedding, max_results, min_score, allowed_groups, chunk_types;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION search_embeddings(vector, INTEGER, FLOAT, TEXT[], TEXT[], TEXT[], TEXT[]) IS
+    'Filtered vector search; single source type searches use the matching partial HNSW index';
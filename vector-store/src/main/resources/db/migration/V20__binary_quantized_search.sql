@@ -0,0 +1,117 @@
+-- V20: Binary-quantized HNSW index with exact rerank
+-- The full-precision HNSW index stores 1536 bytes per 384-dim vector and grows with the
+-- incident history. A binary-quantized copy (one bit per dimension, 48 bytes) is indexed
+-- separately, and search_embeddings_quantized runs in two phases: an approximate top-N on
+-- the Hamming-distance index, then an exact cosine rerank of those N rows on the full vectors
+-- still stored in embedding_store. Used when vector-store.quantized-search.enabled is set.
+--
+-- The quantized vector is an index expression rather than a stored column: the heap keeps
+-- only the full vector (needed for the rerank), and every insert path (JPA, upsert, COPY
+-- bulk load) is covered without changes.
+--
+-- binary_quantize and bit_hamming_ops need pgvector 0.7+. On older versions the index is
+-- skipped and the quantized search must stay disabled.
+
+DO $$
+BEGIN
+    IF string_to_array((SELECT extversion FROM pg_extension WHERE extname = 'vector'), '.')::int[]
+            >= ARRAY[0, 7] THEN
+        EXECUTE 'CREATE INDEX IF NOT EXISTS idx_embedding_store_embedding_bq ON embedding_store
+                 USING hnsw ((binary_quantize(embedding)::bit(384)) bit_hamming_ops)
+                 WITH (m = 24, ef_construction = 200)';
+        EXECUTE 'COMMENT ON INDEX idx_embedding_store_embedding_bq IS
+                 ''Binary-quantized HNSW index for two-phase search (Hamming top-N, cosine rerank)''';
+    ELSE
+        RAISE NOTICE 'pgvector < 0.7: skipping binary-quantized index, keep quantized search disabled';
+    END IF;
+END;
+$$;
+
+-- Same filters and result columns as search_embeddings (V19). candidates is the size of the
+-- approximate first phase; min_score and the final order use the exact cosine distance.
+CREATE OR REPLACE FUNCTION search_embeddings_quantized(
+    query_embedding vector(384),
+    max_results INTEGER DEFAULT 5,
+    min_score FLOAT DEFAULT 0.7,
+    allowed_groups TEXT[] DEFAULT NULL,
+    source_types TEXT[] DEFAULT NULL,
+    chunk_types TEXT[] DEFAULT NULL,
+    languages TEXT[] DEFAULT NULL,
+    ef_search INTEGER DEFAULT NULL,
+    candidates INTEGER DEFAULT 40
+)
+RETURNS TABLE (
+    id UUID,
+    chunk_id VARCHAR,
+    text_segment TEXT,
+    source_type VARCHAR,
+    source_id VARCHAR,
+    entry_id VARCHAR,
+    chunk_type VARCHAR,
+    sequence_number INT,
+    metadata JSONB,
+    created_at TIMESTAMPTZ,
+    updated_at TIMESTAMPTZ,
+    score FLOAT
+) AS $$
+DECLARE
+    partition_filter TEXT := '';
+BEGIN
+    IF current_setting('hnsw.iterative_scan', true) IS NOT NULL THEN
+        -- relaxed_order is enough: the rerank below restores the exact order
+        PERFORM set_config('hnsw.iterative_scan', 'relaxed_order', true);
+    END IF;
+
+    -- ef_search must cover the candidate list, not only the final page (pgvector max 1000)
+    PERFORM set_config('hnsw.ef_search', LEAST(GREATEST(
+        COALESCE(ef_search, current_setting('hnsw.ef_search', true)::int, 40), candidates), 1000)::text, true);
+
+    IF cardinality(source_types) = 1 THEN
+        partition_filter := partition_filter || format(' AND e.source_type = %L', source_types[1]);
+    ELSIF cardinality(source_types) > 1 THEN
+        partition_filter := partition_filter || format(' AND e.source_type = ANY(%L::text[])', source_types);
+    END IF;
+
+    IF cardinality(languages) = 1 THEN
+        partition_filter := partition_filter || format(' AND e.detected_language = %L', languages[1]);
+    ELSIF cardinality(languages) > 1 THEN
+        partition_filter := partition_filter || format(' AND e.detected_language = ANY(%L::text[])', languages);
+    END IF;
+
+    RETURN QUERY EXECUTE
+        'WITH candidate AS (
+            SELECT e.*
+            FROM embedding_store e
+            WHERE
+                -- ReBAC: unassigned records are public
+                ($4 IS NULL
+                 OR COALESCE(e.metadata->>''assigned_group'', '''') = ''''
+                 OR lower(e.metadata->>''assigned_group'') = ANY($4))
+                AND ($5 IS NULL OR e.chunk_type = ANY($5))'
+            || partition_filter ||
+            ' ORDER BY binary_quantize(e.embedding)::bit(384) <~> binary_quantize($1)::bit(384)
+            LIMIT $6
+        )
+        SELECT
+            c.id,
+            c.chunk_id,
+            c.text_segment,
+            c.source_type,
+            c.source_id,
+            c.entry_id,
+            c.chunk_type,
+            c.sequence_number,
+            c.metadata,
+            c.created_at,
+            c.updated_at,
+            (1 - (c.embedding <=> $1))::float AS score
+        FROM candidate c
+        WHERE (1 - (c.embedding <=> $1)) >= $3
+        ORDER BY c.embedding <=> $1
+        LIMIT $2'
+    USING query_embedding, max_results, min_score, allowed_groups, chunk_types, candidates;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION search_embeddings_quantized(vector, INTEGER, FLOAT, TEXT[], TEXT[], TEXT[], TEXT[], INTEGER, INTEGER) IS
+    'Two-phase vector search: binary-quantized HNSW top-N, then exact cosine rerank';
@@ -0,0 +1,17 @@
+-- V21: Checkpoints for resumable re-embedding
+-- EmbeddingRefreshService walks embedding_store in id order and records the last id
+-- whose batch (and every batch before it) has been written. An interrupted or failed
+-- run restarts after that id instead of re-embedding the whole table.
+
+CREATE TABLE IF NOT EXISTS embedding_refresh_checkpoint (
+    scope VARCHAR(50) PRIMARY KEY,      -- 'ALL' or a source type
+    last_id UUID,                       -- NULL until the first batch is written
+    refreshed BIGINT NOT NULL DEFAULT 0,
+    failed BIGINT NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL,        -- RUNNING, COMPLETED, FAILED
+    started_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+COMMENT ON TABLE embedding_refresh_checkpoint IS
+    'Progress of the last re-embedding run per scope; runs that did not complete resume after last_id';
@@ -0,0 +1,18 @@
+-- V22: Content hash per chunk for change detection during incremental sync
+-- A record whose Last Modified Date moved is re-chunked, and each chunk's SHA-256
+-- (hex, over the UTF-8 text) is compared with the stored one. Only chunks whose text
+-- changed are re-embedded; unchanged chunks only get their metadata patched.
+-- Rows written before this column existed are backfilled here so the first sync
+-- after the upgrade does not re-embed everything.
+
+ALTER TABLE embedding_store ADD COLUMN IF NOT EXISTS content_hash CHAR(64);
+
+UPDATE embedding_store
+SET content_hash = encode(sha256(convert_to(text_segment, 'UTF8')), 'hex')
+WHERE content_hash IS NULL;
+
+COMMENT ON COLUMN embedding_store.content_hash IS
+    'SHA-256 (hex) of text_segment; a chunk with an unchanged hash is not re-embedded during sync';
+
+-- Bulk loads carry the hash through the staging table
+ALTER TABLE embedding_store_staging ADD COLUMN IF NOT EXISTS content_hash CHAR(64);
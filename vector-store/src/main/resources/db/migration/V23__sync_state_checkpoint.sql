@@ -0,0 +1,13 @@
+-- V23: Extraction checkpoints for resumable full syncs
+-- A streamed full sync reads Remedy in (Last Modified Date, Request ID) order one page at a
+-- time and, after each page has been chunked, embedded and stored, records the key of its
+-- last entry here. A run that crashed or was stopped resumes after that key instead of
+-- starting over.
+-- The columns are cleared when the run completes.
+
+ALTER TABLE sync_state ADD COLUMN IF NOT EXISTS checkpoint_entry_id VARCHAR(30);
+ALTER TABLE sync_state ADD COLUMN IF NOT EXISTS checkpoint_last_modified BIGINT;   -- Unix epoch seconds
+ALTER TABLE sync_state ADD COLUMN IF NOT EXISTS checkpoint_records INTEGER;
+
+COMMENT ON COLUMN sync_state.checkpoint_entry_id IS
+    'Request ID of the last entry stored by an unfinished full sync; NULL when there is nothing to resume';
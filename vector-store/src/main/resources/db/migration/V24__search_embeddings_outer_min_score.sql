@@ -0,0 +1,95 @@
+-- V24: Apply search_embeddings min_score outside the nearest-neighbour scan
+-- In V19 the min_score predicate sat in the same WHERE as the HNSW ORDER BY/LIMIT. Under
+-- hnsw.iterative_scan every candidate below the threshold counted as filtered out, so a query
+-- with few good matches kept the scan iterating up to hnsw.max_scan_tuples to fill the LIMIT
+-- with rows it would reject anyway. The nearest rows are now taken in a subquery with only
+-- the ReBAC/type/language filters, and min_score is applied to that page in the outer query.
+-- Results are the same: rows come in distance order, so everything after the first row under
+-- the threshold is under it too.
+--
+-- search_embeddings_quantized (V20) already applies min_score after its candidate phase.
+
+CREATE OR REPLACE FUNCTION search_embeddings(
+    query_embedding vector(384),
+    max_results INTEGER DEFAULT 5,
+    min_score FLOAT DEFAULT 0.7,
+    allowed_groups TEXT[] DEFAULT NULL,
+    source_types TEXT[] DEFAULT NULL,
+    chunk_types TEXT[] DEFAULT NULL,
+    languages TEXT[] DEFAULT NULL,
+    ef_search INTEGER DEFAULT NULL
+)
+RETURNS TABLE (
+    id UUID,
+    chunk_id VARCHAR,
+    text_segment TEXT,
+    source_type VARCHAR,
+    source_id VARCHAR,
+    entry_id VARCHAR,
+    chunk_type VARCHAR,
+    sequence_number INT,
+    metadata JSONB,
+    created_at TIMESTAMPTZ,
+    updated_at TIMESTAMPTZ,
+    score FLOAT
+) AS $$
+DECLARE
+    partition_filter TEXT := '';
+BEGIN
+    IF current_setting('hnsw.iterative_scan', true) IS NOT NULL THEN
+        -- Transaction-local; strict_order keeps results sorted by distance
+        PERFORM set_config('hnsw.iterative_scan', 'strict_order', true);
+    END IF;
+
+    IF ef_search IS NOT NULL THEN
+        -- SET LOCAL: ends with the caller's transaction (the statement itself under autocommit)
+        PERFORM set_config('hnsw.ef_search', ef_search::text, true);
+    END IF;
+
+    IF cardinality(source_types) = 1 THEN
+        partition_filter := partition_filter || format(' AND e.source_type = %L', source_types[1]);
+    ELSIF cardinality(source_types) > 1 THEN
+        partition_filter := partition_filter || format(' AND e.source_type = ANY(%L::text[])', source_types);
+    END IF;
+
+    IF cardinality(languages) = 1 THEN
+        partition_filter := partition_filter || format(' AND e.detected_language = %L', languages[1]);
+    ELSIF cardinality(languages) > 1 THEN
+        partition_filter := partition_filter || format(' AND e.detected_language = ANY(%L::text[])', languages);
+    END IF;
+
+    RETURN QUERY EXECUTE
+        'SELECT nearest.*
+        FROM (
+            SELECT
+                e.id,
+                e.chunk_id,
+                e.text_segment,
+                e.source_type,
+                e.source_id,
+                e.entry_id,
+                e.chunk_type,
+                e.sequence_number,
+                e.metadata,
+                e.created_at,
+                e.updated_at,
+                (1 - (e.embedding <=> $1))::float AS score
+            FROM embedding_store e
+            WHERE
+                -- ReBAC: unassigned records are public
+                ($4 IS NULL
+                 OR COALESCE(e.metadata->>''assigned_group'', '''') = ''''
+                 OR lower(e.metadata->>''assigned_group'') = ANY($4))
+                AND ($5 IS NULL OR e.chunk_type = ANY($5))'
+            || partition_filter ||
+            ' ORDER BY e.embedding <=> $1
+            LIMIT $2
+        ) nearest
+        WHERE nearest.score >= $3
+        ORDER BY nearest.score DESC'
+    USING query_embedding, max_results, min_score, allowed_groups, chunk_types;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION search_embeddings(vector, INTEGER, FLOAT, TEXT[], TEXT[], TEXT[], TEXT[], INTEGER) IS
+    'Filtered vector search with per-call hnsw.ef_search (NULL keeps the server setting); min_score applied after the nearest-neighbour scan';
@@ -0,0 +1,154 @@
+package com.bmc.rag.store.benchmark;
+
+import com.bmc.rag.store.benchmark.SyntheticCorpus.Timings;
+import com.pgvector.PGvector;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Recall and latency of source-type filtered searches with only the table-wide HNSW index
+ * (before V18) versus with the per-type partial HNSW indexes (after V18).
+ *
+ * Loads {@value #ROWS} synthetic 384-dim vectors with the production skew (mostly incidents),
+ * then for each minority source type runs {@value #QUERIES} filtered top-{@value #K} searches:
+ * exact (sequential scan, ground truth), full index only, and full + partial indexes. The query
+ * text has the type inlined as a literal, as search_embeddings (V18) builds it.
+ *
+ * Reported per type: recall@K against the exact result, average rows returned (a filtered HNSW
+ * scan can return fewer than K), mean and p95 latency.
+ *
+ * Starts pgvector/pgvector:pg16 through Testcontainers, or uses an existing database given by
+ * -Dbenchmark.jdbc.url / .user / .password. -Dbenchmark.iterativeScan=off|strict_order sets
+ * hnsw.iterative_scan on pgvector 0.8+ (default off, to show the raw graph behaviour).
+ *
+ * Run with:
+ * <pre>
+ * mvn -pl vector-store -am test-compile
+ * java -cp "vector-store/target/test-classes:vector-store/target/classes:$(mvn -q -pl vector-store \
+ *     dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.bmc.rag.store.benchmark.PartialHnswIndexBenchmark
+ * </pre>
+ */
+public class PartialHnswIndexBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int QUERIES = 200;
+    private static final int K = 10;
+    private static final int EF_SEARCH = 100;
+
+    /** Share of rows per source type, roughly the production mix. */
+    private static final Map<String, Double> SOURCE_TYPE_SHARE = new LinkedHashMap<>();
+
+    static {
+        SOURCE_TYPE_SHARE.put("Incident", 0.82);
+        SOURCE_TYPE_SHARE.put("WorkOrder", 0.10);
+        SOURCE_TYPE_SHARE.put("KnowledgeArticle", 0.05);
+        SOURCE_TYPE_SHARE.put("DAMEE_SERVICE", 0.03);
+    }
+
+    private static final String SEARCH = """
+        SELECT id FROM bench_embedding
+        WHERE source_type = '%s'
+        ORDER BY embedding <=> ?
+        LIMIT %d
+        """;
+
+    private final SyntheticCorpus corpus = new SyntheticCorpus();
+    private final Map<String, float[]> centroids = new LinkedHashMap<>();
+
+    public static void main(String[] args) throws Exception {
+        SyntheticCorpus.withDatabase(connection -> new PartialHnswIndexBenchmark().run(connection));
+    }
+
+    private void run(Connection connection) throws SQLException {
+        load(connection);
+
+        Map<String, List<float[]>> queries = new LinkedHashMap<>();
+        for (String sourceType : SOURCE_TYPE_SHARE.keySet()) {
+            if (!"Incident".equals(sourceType)) {
+                List<float[]> typeQueries = new ArrayList<>(QUERIES);
+                for (int i = 0; i < QUERIES; i++) {
+                    typeQueries.add(corpus.sample(centroids.get(sourceType)));
+                }
+                queries.put(sourceType, typeQueries);
+            }
+        }
+
+        // No index yet: sequential scans give the exact top K
+        Map<String, List<Set<Long>>> exact = new LinkedHashMap<>();
+        for (var entry : queries.entrySet()) {
+            exact.put(entry.getKey(), search(connection, entry.getKey(), entry.getValue()).results());
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET hnsw.ef_search = " + EF_SEARCH);
+            String iterativeScan = System.getProperty("benchmark.iterativeScan", "off");
+            try {
+                statement.execute("SET hnsw.iterative_scan = " + iterativeScan);
+            } catch (SQLException e) {
+                System.out.println("hnsw.iterative_scan not supported by this pgvector version");
+            }
+        }
+
+        SyntheticCorpus.execute(connection, """
+            CREATE INDEX bench_embedding_hnsw ON bench_embedding
+            USING hnsw (embedding vector_cosine_ops) WITH (m = 24, ef_construction = 200)
+            """);
+        System.out.printf("%nBefore: table-wide HNSW index only (ef_search=%d)%n", EF_SEARCH);
+        for (var entry : queries.entrySet()) {
+            print(entry.getKey(), search(connection, entry.getKey(), entry.getValue()), exact.get(entry.getKey()));
+        }
+
+        for (String sourceType : queries.keySet()) {
+            SyntheticCorpus.execute(connection, String.format("""
+                CREATE INDEX bench_embedding_hnsw_%s ON bench_embedding
+                USING hnsw (embedding vector_cosine_ops) WITH (m = 24, ef_construction = 200)
+                WHERE source_type = '%s'
+                """, sourceType.toLowerCase(), sourceType));
+        }
+        System.out.printf("%nAfter: partial HNSW index per source type (ef_search=%d)%n", EF_SEARCH);
+        for (var entry : queries.entrySet()) {
+            print(entry.getKey(), search(connection, entry.getKey(), entry.getValue()), exact.get(entry.getKey()));
+        }
+    }
+
+    private void load(Connection connection) throws SQLException {
+        SyntheticCorpus.createTable(connection, "source_type VARCHAR(50) NOT NULL,");
+
+        for (String sourceType : SOURCE_TYPE_SHARE.keySet()) {
+            centroids.put(sourceType, corpus.randomUnitVector());
+        }
+
+        List<String> rowTypes = new ArrayList<>(ROWS);
+        for (var entry : SOURCE_TYPE_SHARE.entrySet()) {
+            int rows = (int) (ROWS * entry.getValue());
+            for (int i = 0; i < rows; i++) {
+                rowTypes.add(entry.getKey());
+            }
+        }
+        // Minority types sit among incidents around the same topics, as they do in production
+        SyntheticCorpus.insert(connection, "INSERT INTO bench_embedding (source_type, embedding) VALUES (?, ?)",
+            rowTypes.size(), (insert, row) -> {
+                String sourceType = rowTypes.get(row);
+                insert.setString(1, sourceType);
+                insert.setObject(2, new PGvector(corpus.sample(centroids.get(sourceType))));
+            });
+        System.out.printf("Loaded %d rows: %s%n", ROWS, SOURCE_TYPE_SHARE);
+    }
+
+    private Timings search(Connection connection, String sourceType, List<float[]> queries) throws SQLException {
+        return SyntheticCorpus.time(connection, String.format(SEARCH, sourceType, K), queries, 1);
+    }
+
+    private static void print(String sourceType, Timings timings, List<Set<Long>> exact) {
+        System.out.printf("  %-18s recall@%d=%.3f  rows=%.1f  mean=%.2f ms  p95=%.2f ms%n",
+            sourceType, K, timings.recall(exact), timings.meanRows(), timings.meanMs(), timings.p95Ms());
+    }
+}
@@ -0,0 +1,77 @@
+package com.bmc.rag.store.benchmark;
+
+import com.bmc.rag.store.repository.PgVectorSupport;
+import com.pgvector.PGvector;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the client-side cost of sending a 384-dim embedding to Postgres:
+ * the legacy "[0.1,...]" text literal versus the binary pgvector wire format.
+ *
+ * Each benchmark produces the bytes that pgjdbc puts on the wire for one parameter.
+ * The server-side saving (no vector_in text parsing) comes on top of this and is not measured here.
+ *
+ * Run with:
+ * <pre>
+ * mvn -pl vector-store -am test-compile
+ * java -cp "vector-store/target/test-classes:vector-store/target/classes:$(mvn -q -pl vector-store \
+ *     dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.bmc.rag.store.benchmark.PgVectorEncodingBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PgVectorEncodingBenchmark {
+
+    private static final int DIMENSIONS = 384;
+
+    private float[] embedding;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        embedding = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            embedding[i] = random.nextFloat() * 2 - 1;
+        }
+    }
+
+    /**
+     * Current string path: format the literal, then encode it for the text protocol.
+     */
+    @Benchmark
+    public byte[] textLiteral() {
+        return PgVectorSupport.toLiteral(embedding).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Binary path: PGvector.toBytes into the send buffer (4 + 4 * dim bytes).
+     */
+    @Benchmark
+    public byte[] binaryWireFormat() {
+        PGvector vector = new PGvector(embedding);
+        byte[] bytes = new byte[vector.lengthInBytes()];
+        vector.toBytes(bytes, 0);
+        return bytes;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(PgVectorEncodingBenchmark.class.getSimpleName())
+            .addProfiler("gc")
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,132 @@
+package com.bmc.rag.store.benchmark;
+
+import com.bmc.rag.store.benchmark.SyntheticCorpus.Timings;
+import com.pgvector.PGvector;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Recall, latency and index size of the full-precision HNSW index versus the binary-quantized
+ * HNSW index with exact rerank (V20, vector-store.quantized-search).
+ *
+ * Loads {@value #ROWS} synthetic 384-dim vectors clustered around shared topics, then runs
+ * {@value #QUERIES} top-{@value #K} searches:
+ * <ul>
+ *   <li>exact - sequential scan, ground truth</li>
+ *   <li>full - HNSW on vector(384) with vector_cosine_ops</li>
+ *   <li>quantized xN - HNSW on binary_quantize(embedding)::bit(384), N * K candidates reranked
+ *       by exact cosine distance, for each N in {@link #RERANK_FACTORS}</li>
+ * </ul>
+ * Reported: recall@K against the exact result, mean and p95 latency, and the size of each index.
+ *
+ * Starts pgvector/pgvector:pg16 through Testcontainers, or uses an existing database (pgvector
+ * 0.7+) given by -Dbenchmark.jdbc.url / .user / .password.
+ *
+ * Run with:
+ * <pre>
+ * mvn -pl vector-store -am test-compile
+ * java -cp "vector-store/target/test-classes:vector-store/target/classes:$(mvn -q -pl vector-store \
+ *     dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.bmc.rag.store.benchmark.QuantizedSearchBenchmark
+ * </pre>
+ */
+public class QuantizedSearchBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int QUERIES = 200;
+    private static final int K = 10;
+    private static final int EF_SEARCH = 100;
+    private static final int[] RERANK_FACTORS = {2, 4, 8, 16};
+
+    private static final String EXACT_OR_FULL = """
+        SELECT id FROM bench_embedding
+        ORDER BY embedding <=> ?
+        LIMIT %d
+        """;
+
+    private static final String QUANTIZED = """
+        SELECT id FROM (
+            SELECT id, embedding FROM bench_embedding
+            ORDER BY binary_quantize(embedding)::bit(%1$d) <~> binary_quantize(cast(? as vector))::bit(%1$d)
+            LIMIT %2$d
+        ) candidate
+        ORDER BY embedding <=> cast(? as vector)
+        LIMIT %3$d
+        """;
+
+    private final SyntheticCorpus corpus = new SyntheticCorpus();
+
+    public static void main(String[] args) throws Exception {
+        SyntheticCorpus.withDatabase(connection -> new QuantizedSearchBenchmark().run(connection));
+    }
+
+    private void run(Connection connection) throws SQLException {
+        load(connection);
+
+        List<float[]> queries = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            queries.add(corpus.sample());
+        }
+
+        // No index yet: sequential scans give the exact top K
+        List<Set<Long>> exact = SyntheticCorpus.time(connection, String.format(EXACT_OR_FULL, K), queries, 1).results();
+
+        SyntheticCorpus.execute(connection, "SET hnsw.ef_search = " + EF_SEARCH);
+
+        SyntheticCorpus.execute(connection, """
+            CREATE INDEX bench_embedding_hnsw ON bench_embedding
+            USING hnsw (embedding vector_cosine_ops) WITH (m = 24, ef_construction = 200)
+            """);
+        System.out.printf("%nFull-precision HNSW (ef_search=%d), index size %s%n",
+            EF_SEARCH, indexSize(connection, "bench_embedding_hnsw"));
+        print("full", SyntheticCorpus.time(connection, String.format(EXACT_OR_FULL, K), queries, 1), exact);
+        SyntheticCorpus.execute(connection, "DROP INDEX bench_embedding_hnsw");
+
+        SyntheticCorpus.execute(connection, String.format("""
+            CREATE INDEX bench_embedding_bq ON bench_embedding
+            USING hnsw ((binary_quantize(embedding)::bit(%d)) bit_hamming_ops) WITH (m = 24, ef_construction = 200)
+            """, SyntheticCorpus.DIMENSIONS));
+        System.out.printf("%nBinary-quantized HNSW + exact rerank, index size %s%n",
+            indexSize(connection, "bench_embedding_bq"));
+        for (int factor : RERANK_FACTORS) {
+            int candidates = K * factor;
+            // Same rule as search_embeddings_quantized: ef_search covers the candidate list
+            SyntheticCorpus.execute(connection, "SET hnsw.ef_search = " + Math.min(Math.max(EF_SEARCH, candidates), 1000));
+            print("quantized x" + factor, SyntheticCorpus.time(connection,
+                String.format(QUANTIZED, SyntheticCorpus.DIMENSIONS, candidates, K), queries, 2), exact);
+        }
+    }
+
+    private void load(Connection connection) throws SQLException {
+        SyntheticCorpus.createTable(connection, "");
+        SyntheticCorpus.insert(connection, "INSERT INTO bench_embedding (embedding) VALUES (?)", ROWS,
+            (insert, row) -> insert.setObject(1, new PGvector(corpus.sample())));
+        System.out.printf("Loaded %d rows, table size %s%n", ROWS, tableSize(connection));
+    }
+
+    private static void print(String label, Timings timings, List<Set<Long>> exact) {
+        System.out.printf("  %-14s recall@%d=%.3f  mean=%.2f ms  p95=%.2f ms%n",
+            label, K, timings.recall(exact), timings.meanMs(), timings.p95Ms());
+    }
+
+    private static String indexSize(Connection connection, String index) throws SQLException {
+        return queryString(connection, "SELECT pg_size_pretty(pg_relation_size('" + index + "'))");
+    }
+
+    private static String tableSize(Connection connection) throws SQLException {
+        return queryString(connection, "SELECT pg_size_pretty(pg_table_size('bench_embedding'))");
+    }
+
+    private static String queryString(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.bmc.rag.store.benchmark;
+
+import com.pgvector.PGvector;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Synthetic 384-dim corpus and database plumbing shared by the pgvector search benchmarks.
+ *
+ * Vectors cluster around {@value #TOPICS} shared topics (VPN, email, ...), like chunks about
+ * the same kind of issue, optionally shifted by a per-group offset. The generator is seeded,
+ * so every run loads the same rows and queries.
+ */
+final class SyntheticCorpus {
+
+    static final int DIMENSIONS = 384;
+    static final int TOPICS = 50;
+
+    private final Random random = new Random(42);
+    private final List<float[]> topics = new ArrayList<>(TOPICS);
+
+    SyntheticCorpus() {
+        for (int i = 0; i < TOPICS; i++) {
+            topics.add(randomUnitVector());
+        }
+    }
+
+    /**
+     * A vector around one of the shared topics.
+     */
+    float[] sample() {
+        return sample(null);
+    }
+
+    /**
+     * A vector around one of the shared topics with a small offset towards {@code centroid}
+     * (null for none).
+     */
+    float[] sample(float[] centroid) {
+        float[] topic = topics.get(random.nextInt(TOPICS));
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            float offset = centroid != null ? centroid[i] * 0.15f : 0f;
+            vector[i] = topic[i] * 0.6f + offset + (float) (random.nextGaussian() * 0.5 / Math.sqrt(DIMENSIONS));
+        }
+        return normalize(vector);
+    }
+
+    float[] randomUnitVector() {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return normalize(vector);
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+        return vector;
+    }
+
+    /**
+     * Run a benchmark against the database given by -Dbenchmark.jdbc.url / .user / .password,
+     * or against pgvector/pgvector:pg16 started through Testcontainers.
+     */
+    static void withDatabase(DatabaseTask task) throws Exception {
+        String url = System.getProperty("benchmark.jdbc.url");
+        if (url != null) {
+            try (Connection connection = DriverManager.getConnection(url,
+                    System.getProperty("benchmark.jdbc.user", "postgres"),
+                    System.getProperty("benchmark.jdbc.password", "postgres"))) {
+                task.run(connection);
+            }
+            return;
+        }
+
+        DockerImageName image = DockerImageName.parse("pgvector/pgvector:pg16")
+            .asCompatibleSubstituteFor("postgres");
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(image)) {
+            postgres.start();
+            try (Connection connection = DriverManager.getConnection(
+                    postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+                task.run(connection);
+            }
+        }
+    }
+
+    /**
+     * (Re)create bench_embedding with an id, the given extra columns and the embedding.
+     *
+     * @param extraColumns Column definitions placed before the embedding, e.g.
+     *                     {@code "source_type VARCHAR(50) NOT NULL,"}; empty for none
+     */
+    static void createTable(Connection connection, String extraColumns) throws SQLException {
+        execute(connection, "CREATE EXTENSION IF NOT EXISTS vector");
+        PGvector.addVectorType(connection);
+        execute(connection, "DROP TABLE IF EXISTS bench_embedding");
+        execute(connection, String.format("""
+            CREATE TABLE bench_embedding (
+                id BIGSERIAL PRIMARY KEY,
+                %s
+                embedding vector(%d) NOT NULL
+            )
+            """, extraColumns, DIMENSIONS));
+    }
+
+    /**
+     * Insert {@code rows} rows in one transaction, executing the batch every 1000 rows,
+     * then ANALYZE bench_embedding.
+     */
+    static void insert(Connection connection, String sql, int rows, RowBinder binder) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 0; i < rows; i++) {
+                binder.bind(insert, i);
+                insert.addBatch();
+                if ((i + 1) % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        execute(connection, "ANALYZE bench_embedding");
+    }
+
+    /**
+     * Run a search returning ids once per query, binding the query vector to the first
+     * {@code vectorParameters} parameters.
+     */
+    static Timings time(Connection connection, String sql, List<float[]> queries,
+                        int vectorParameters) throws SQLException {
+        List<Set<Long>> results = new ArrayList<>(queries.size());
+        long[] latencies = new long[queries.size()];
+
+        try (PreparedStatement search = connection.prepareStatement(sql)) {
+            for (int i = 0; i < queries.size(); i++) {
+                PGvector vector = new PGvector(queries.get(i));
+                for (int p = 1; p <= vectorParameters; p++) {
+                    search.setObject(p, vector);
+                }
+                long start = System.nanoTime();
+                Set<Long> ids = new HashSet<>();
+                try (ResultSet rs = search.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getLong(1));
+                    }
+                }
+                latencies[i] = System.nanoTime() - start;
+                results.add(ids);
+            }
+        }
+        return new Timings(results, latencies);
+    }
+
+    static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    @FunctionalInterface
+    interface DatabaseTask {
+        void run(Connection connection) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface RowBinder {
+        void bind(PreparedStatement insert, int row) throws SQLException;
+    }
+
+    /**
+     * Ids returned and latency of each query, in query order.
+     */
+    record Timings(List<Set<Long>> results, long[] latencies) {
+
+        /**
+         * Mean share of the exact top ids found per query.
+         */
+        double recall(List<Set<Long>> exact) {
+            double recall = 0;
+            for (int i = 0; i < results.size(); i++) {
+                Set<Long> found = new HashSet<>(results.get(i));
+                found.retainAll(exact.get(i));
+                recall += exact.get(i).isEmpty() ? 1.0 : (double) found.size() / exact.get(i).size();
+            }
+            return recall / results.size();
+        }
+
+        /**
+         * Mean number of rows returned per query.
+         */
+        double meanRows() {
+            return results.stream().mapToInt(Set::size).average().orElse(0);
+        }
+
+        double meanMs() {
+            return Arrays.stream(latencies).average().orElse(0) / 1_000_000;
+        }
+
+        double p95Ms() {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return sorted[(int) Math.ceil(sorted.length * 0.95) - 1] / 1_000_000.0;
+        }
+    }
+}
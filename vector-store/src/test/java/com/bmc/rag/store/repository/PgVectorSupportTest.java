@@ -0,0 +1,84 @@
+package com.bmc.rag.store.repository;
+
+import com.pgvector.PGvector;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.postgresql.PGConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PgVectorSupport.
+ */
+class PgVectorSupportTest {
+
+    @Test
+    void toLiteral_formatsAsVectorString() {
+        assertEquals("[0.1,0.2,0.3]", PgVectorSupport.toLiteral(new float[]{0.1f, 0.2f, 0.3f}));
+    }
+
+    @Test
+    void toLiteral_emptyArray_returnsEmptyBrackets() {
+        assertEquals("[]", PgVectorSupport.toLiteral(new float[0]));
+    }
+
+    @Test
+    void bind_pgConnection_registersTypeAndSetsPgVector() throws Exception {
+        // Given
+        PreparedStatement ps = mock(PreparedStatement.class);
+        Connection connection = mock(Connection.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        when(ps.getConnection()).thenReturn(connection);
+        when(connection.isWrapperFor(PGConnection.class)).thenReturn(true);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        float[] embedding = {0.5f, -0.25f};
+
+        // When
+        PgVectorSupport.bind(ps, 3, embedding);
+
+        // Then
+        verify(pgConnection).addDataType("vector", PGvector.class);
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(ps).setObject(eq(3), captor.capture());
+        PGvector bound = assertInstanceOf(PGvector.class, captor.getValue());
+        assertArrayEquals(embedding, bound.toArray());
+    }
+
+    @Test
+    void bind_nonPgConnection_stillBindsVector() throws Exception {
+        // Given
+        PreparedStatement ps = mock(PreparedStatement.class);
+        Connection connection = mock(Connection.class);
+        when(ps.getConnection()).thenReturn(connection);
+        when(connection.isWrapperFor(PGConnection.class)).thenReturn(false);
+
+        // When
+        PgVectorSupport.bind(ps, 1, new float[]{1f});
+
+        // Then
+        verify(connection, never()).unwrap(any());
+        verify(ps).setObject(eq(1), any(PGvector.class));
+    }
+
+    @Test
+    void binaryEncoding_isSmallerThanTextLiteral() {
+        // Given
+        float[] embedding = new float[384];
+        for (int i = 0; i < embedding.length; i++) {
+            embedding[i] = (i % 7) * 0.0123456f - 0.05f;
+        }
+
+        // When
+        int binaryLength = new PGvector(embedding).lengthInBytes();
+        int textLength = PgVectorSupport.toLiteral(embedding).length();
+
+        // Then - 2 + 2 header bytes plus 4 bytes per dimension
+        assertEquals(4 + 4 * 384, binaryLength);
+        assertTrue(binaryLength < textLength);
+    }
+}
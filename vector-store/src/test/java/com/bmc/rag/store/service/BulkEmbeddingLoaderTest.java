@@ -0,0 +1,240 @@
+package com.bmc.rag.store.service;
+
+import com.bmc.rag.vectorization.chunking.TextChunk;
+import com.bmc.rag.vectorization.embedding.LocalEmbeddingService.EmbeddedChunk;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.Reader;
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BulkEmbeddingLoader.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BulkEmbeddingLoaderTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PGConnection pgConnection;
+
+    @Mock
+    private CopyManager copyManager;
+
+    private BulkEmbeddingLoader loader;
+
+    private final List<String> copiedData = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        loader = new BulkEmbeddingLoader(jdbcTemplate, new ObjectMapper());
+
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString(), any(Reader.class))).thenAnswer(invocation -> {
+            StringWriter out = new StringWriter();
+            invocation.getArgument(1, Reader.class).transferTo(out);
+            copiedData.add(out.toString());
+            return (long) out.toString().lines().count();
+        });
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation ->
+            invocation.getArgument(0, ConnectionCallback.class).doInConnection(connection));
+    }
+
+    @Test
+    void add_belowFlushThreshold_doesNotCopy() {
+        // When
+        loader.open("Incident", false).add(List.of(embedded("chunk-1", "Content")));
+
+        // Then
+        assertTrue(copiedData.isEmpty());
+    }
+
+    @Test
+    void add_reachesFlushThreshold_copiesBufferedRows() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(loader, "flushRows", 2);
+        BulkEmbeddingLoader.BulkLoad load = loader.open("Incident", false);
+
+        // When
+        load.add(List.of(embedded("chunk-1", "a"), embedded("chunk-2", "b"), embedded("chunk-3", "c")));
+
+        // Then
+        verify(copyManager, times(1)).copyIn(contains("COPY embedding_store_staging"), any(Reader.class));
+        assertEquals(2, copiedData.get(0).lines().count());
+    }
+
+    @Test
+    void merge_copiesRemainingRowsThenMergesAndClearsStaging() {
+        // Given
+        when(jdbcTemplate.update(contains("INSERT INTO embedding_store"), any(Object.class))).thenReturn(1);
+        BulkEmbeddingLoader.BulkLoad load = loader.open("Incident", false);
+        load.add(List.of(embedded("chunk-1", "Content")));
+
+        // When
+        int merged = load.merge();
+
+        // Then
+        assertEquals(1, merged);
+        assertEquals(1, copiedData.size());
+        verify(jdbcTemplate).update(contains("ON CONFLICT (chunk_id)"), eq(load.getLoadId()));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM embedding_store_staging"), eq(load.getLoadId()));
+        verify(jdbcTemplate, never()).queryForList(anyString());
+    }
+
+    @Test
+    void merge_rebuildIndex_dropsAndRecreatesHnswIndexes() {
+        // Given
+        ReflectionTestUtils.setField(loader, "rebuildIndexMinRows", 1L);
+        String indexDef = "CREATE INDEX idx_embedding_hnsw ON public.embedding_store "
+            + "USING hnsw (embedding vector_cosine_ops) WITH (m='16', ef_construction='64')";
+        when(jdbcTemplate.queryForList(contains("pg_indexes")))
+            .thenReturn(List.of(Map.of("indexname", "idx_embedding_hnsw", "indexdef", indexDef)));
+        BulkEmbeddingLoader.BulkLoad load = loader.open("Incident", true);
+        load.add(List.of(embedded("chunk-1", "Content")));
+
+        // When
+        load.merge();
+
+        // Then
+        var order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute("DROP INDEX IF EXISTS \"idx_embedding_hnsw\"");
+        order.verify(jdbcTemplate).update(contains("INSERT INTO embedding_store"), eq(load.getLoadId()));
+        order.verify(jdbcTemplate).execute(indexDef);
+    }
+
+    @Test
+    void merge_rebuildIndex_keepsPartialIndexesOfOtherSourceTypes() {
+        // Given
+        ReflectionTestUtils.setField(loader, "rebuildIndexMinRows", 1L);
+        String fullDef = "CREATE INDEX idx_embedding_store_embedding_hnsw ON public.embedding_store "
+            + "USING hnsw (embedding vector_cosine_ops)";
+        String workOrderDef = "CREATE INDEX idx_embedding_hnsw_work_order ON public.embedding_store "
+            + "USING hnsw (embedding vector_cosine_ops) WHERE ((source_type)::text = 'WorkOrder'::text)";
+        when(jdbcTemplate.queryForList(contains("pg_indexes"))).thenReturn(List.of(
+            Map.of("indexname", "idx_embedding_store_embedding_hnsw", "indexdef", fullDef),
+            Map.of("indexname", "idx_embedding_hnsw_work_order", "indexdef", workOrderDef)));
+        BulkEmbeddingLoader.BulkLoad load = loader.open("Incident", true);
+        load.add(List.of(embedded("chunk-1", "Content")));
+
+        // When
+        load.merge();
+
+        // Then
+        verify(jdbcTemplate).execute("DROP INDEX IF EXISTS \"idx_embedding_store_embedding_hnsw\"");
+        verify(jdbcTemplate).execute(fullDef);
+        verify(jdbcTemplate, never()).execute("DROP INDEX IF EXISTS \"idx_embedding_hnsw_work_order\"");
+        verify(jdbcTemplate, never()).execute(workOrderDef);
+    }
+
+    @Test
+    void merge_rebuildIndexBelowMinRows_mergesIntoLiveIndexes() {
+        // Given - default threshold is far above one staged row
+        BulkEmbeddingLoader.BulkLoad load = loader.open("Incident", true);
+        load.add(List.of(embedded("chunk-1", "Content")));
+
+        // When
+        load.merge();
+
+        // Then
+        verify(jdbcTemplate, never()).queryForList(anyString());
+        verify(jdbcTemplate, never()).execute(startsWith("DROP INDEX"));
+        verify(jdbcTemplate).update(contains("INSERT INTO embedding_store"), eq(load.getLoadId()));
+    }
+
+    @Test
+    void merge_failure_leavesIndexRestoreToRollback() {
+        // Given
+        ReflectionTestUtils.setField(loader, "rebuildIndexMinRows", 1L);
+        String indexDef = "CREATE INDEX idx_embedding_hnsw ON public.embedding_store USING hnsw (embedding vector_cosine_ops)";
+        when(jdbcTemplate.queryForList(contains("pg_indexes")))
+            .thenReturn(List.of(Map.of("indexname", "idx_embedding_hnsw", "indexdef", indexDef)));
+        when(jdbcTemplate.update(contains("INSERT INTO embedding_store"), any(Object.class)))
+            .thenThrow(new RuntimeException("merge failed"));
+        BulkEmbeddingLoader.BulkLoad load = loader.open("Incident", true);
+        load.add(List.of(embedded("chunk-1", "Content")));
+
+        // When & Then - the original error surfaces and no DDL runs in the aborted transaction
+        RuntimeException e = assertThrows(RuntimeException.class, load::merge);
+        assertEquals("merge failed", e.getMessage());
+        verify(jdbcTemplate, never()).execute(indexDef);
+    }
+
+    @Test
+    void add_writesQuotedCsvWithNullsAndLanguage() {
+        // Given
+        BulkEmbeddingLoader.BulkLoad load = loader.open("Incident", false);
+        TextChunk chunk = TextChunk.builder()
+            .chunkId("chunk-1")
+            .content("Line \"one\",\nline two")
+            .sourceType("Incident")
+            .sourceId("INC000001")
+            .entryId(null)
+            .chunkType(null)
+            .sequenceNumber(3)
+            .metadata(Map.of("assigned_group", "Network"))
+            .build();
+
+        // When
+        load.add(List.of(new EmbeddedChunk(chunk, new float[]{0.5f, -0.25f})));
+        load.flush();
+
+        // Then
+        String row = copiedData.get(0);
+        assertTrue(row.startsWith("\"" + load.getLoadId() + "\",\"0\","));
+        assertTrue(row.contains(",\"chunk-1\",\"[0.5,-0.25]\",\"Line \"\"one\"\",\nline two\","));
+        assertTrue(row.contains(",\"Incident\",\"INC000001\",,,\"3\","));
+        assertTrue(row.contains("\"{\"\"assigned_group\"\":\"\"Network\"\"}\""));
+        assertTrue(row.endsWith(",\"en\"\n"));
+    }
+
+    @Test
+    void close_clearsStagingRows() {
+        // Given
+        BulkEmbeddingLoader.BulkLoad load = loader.open("Incident", false);
+
+        // When
+        load.close();
+
+        // Then
+        verify(jdbcTemplate).update(startsWith("DELETE FROM embedding_store_staging"), eq(load.getLoadId()));
+    }
+
+    private EmbeddedChunk embedded(String chunkId, String content) {
+        TextChunk chunk = TextChunk.builder()
+            .chunkId(chunkId)
+            .content(content)
+            .sourceType("Incident")
+            .sourceId("INC000001")
+            .chunkType(TextChunk.ChunkType.DESCRIPTION)
+            .metadata(Map.of())
+            .build();
+        return new EmbeddedChunk(chunk, new float[]{0.1f, 0.2f});
+    }
+}
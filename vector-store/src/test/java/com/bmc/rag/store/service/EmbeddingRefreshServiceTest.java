@@ -1,22 +1,27 @@
 package com.bmc.rag.store.service;
 
-import com.bmc.rag.store.entity.EmbeddingEntity;
-import com.bmc.rag.store.repository.EmbeddingRepository;
+import com.bmc.rag.store.repository.EmbeddingRefreshRepository;
+import com.bmc.rag.store.repository.EmbeddingRefreshRepository.Checkpoint;
+import com.bmc.rag.store.repository.EmbeddingRefreshRepository.PendingEmbedding;
+import com.bmc.rag.store.service.EmbeddingRefreshService.RefreshProgress;
+import com.bmc.rag.store.service.EmbeddingRefreshService.RefreshStatus;
+import com.bmc.rag.vectorization.embedding.EmbeddingPriority;
 import com.bmc.rag.vectorization.embedding.LocalEmbeddingService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -24,328 +29,327 @@ import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for EmbeddingRefreshService.
- * Tests embedding refresh logic, pagination, and error handling.
+ * Tests keyset pagination, batched re-embedding, checkpoints/resume and error handling.
  */
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
 class EmbeddingRefreshServiceTest {
 
     @Mock
-    private EmbeddingRepository repository;
+    private EmbeddingRefreshRepository refreshRepository;
 
     @Mock
     private LocalEmbeddingService embeddingService;
 
-    @InjectMocks
     private EmbeddingRefreshService refreshService;
 
-    private float[] mockEmbedding;
+    private List<PendingEmbedding> table;
 
     @BeforeEach
     void setUp() {
-        // Create a 384-dimensional mock embedding
-        mockEmbedding = new float[384];
-        Arrays.fill(mockEmbedding, 0.1f);
+        refreshService = new EmbeddingRefreshService(refreshRepository, embeddingService);
+        ReflectionTestUtils.setField(refreshService, "batchSize", 3);
+        ReflectionTestUtils.setField(refreshService, "workers", 2);
+        ReflectionTestUtils.setField(refreshService, "binaryTransfer", true);
+
+        table = new ArrayList<>();
+        // Serve pages from the in-memory table in list order, like ORDER BY id with id > after
+        when(refreshRepository.findPage(any(), any(), anyInt())).thenAnswer(invocation -> {
+            List<PendingEmbedding> rows = rowsAfter(invocation.getArgument(0));
+            return new ArrayList<>(rows.subList(0, Math.min(invocation.<Integer>getArgument(2), rows.size())));
+        });
+        when(refreshRepository.countAfter(any(), any())).thenAnswer(invocation ->
+            (long) rowsAfter(invocation.getArgument(0)).size());
+        when(refreshRepository.findCheckpoint(anyString())).thenReturn(Optional.empty());
+        when(embeddingService.embedBatch(anyList(), eq(EmbeddingPriority.BULK))).thenAnswer(invocation -> {
+            List<String> texts = invocation.getArgument(0);
+            return texts.stream().map(text -> new float[384]).toList();
+        });
+        when(refreshRepository.updateEmbeddings(anyList(), anyList(), anyBoolean()))
+            .thenAnswer(invocation -> invocation.<List<UUID>>getArgument(0).size());
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshService.shutdown();
     }
 
     @Test
     void refreshAllEmbeddings_emptyDatabase_returnsZero() {
-        // Given
-        Page<EmbeddingEntity> emptyPage = Page.empty();
-        when(repository.findAll(any(PageRequest.class))).thenReturn(emptyPage);
-
         // When
         int result = refreshService.refreshAllEmbeddings();
 
         // Then
         assertEquals(0, result);
-        verify(repository, times(1)).findAll(any(PageRequest.class));
-        verify(embeddingService, never()).embed(anyString());
+        verify(refreshRepository, times(1)).findPage(isNull(), isNull(), eq(3));
+        verify(embeddingService, never()).embedBatch(anyList(), any());
+        assertEquals(RefreshStatus.COMPLETED, refreshService.getProgress().orElseThrow().getStatus());
     }
 
     @Test
-    void refreshAllEmbeddings_singlePage_refreshesAll() {
+    void refreshAllEmbeddings_embedsEachPageAsOneBatch() {
         // Given
-        List<EmbeddingEntity> entities = createMockEntities(50);
-        Page<EmbeddingEntity> page = new PageImpl<>(entities, PageRequest.of(0, 100), 50);
-        when(repository.findAll(any(PageRequest.class))).thenReturn(page);
-        when(embeddingService.embed(anyString())).thenReturn(mockEmbedding);
+        addRows(3);
 
         // When
         int result = refreshService.refreshAllEmbeddings();
 
-        // Then
-        assertEquals(50, result);
-        verify(repository, times(1)).findAll(any(PageRequest.class));
-        verify(embeddingService, times(50)).embed(anyString());
-        verify(repository, times(50)).updateEmbedding(any(UUID.class), anyString());
+        // Then - one embed call and one UPDATE for the page
+        assertEquals(3, result);
+        verify(embeddingService, times(1)).embedBatch(
+            List.of("Content 0", "Content 1", "Content 2"), EmbeddingPriority.BULK);
+        verify(refreshRepository, times(1)).updateEmbeddings(
+            eq(table.stream().map(PendingEmbedding::id).toList()), anyList(), eq(true));
     }
 
     @Test
-    void refreshAllEmbeddings_multiplePages_processesPaginated() {
-        // Given - 250 records across 3 pages (100, 100, 50)
-        List<EmbeddingEntity> page1 = createMockEntities(100);
-        List<EmbeddingEntity> page2 = createMockEntities(100);
-        List<EmbeddingEntity> page3 = createMockEntities(50);
-
-        when(repository.findAll(PageRequest.of(0, 100)))
-            .thenReturn(new PageImpl<>(page1, PageRequest.of(0, 100), 250));
-        when(repository.findAll(PageRequest.of(1, 100)))
-            .thenReturn(new PageImpl<>(page2, PageRequest.of(1, 100), 250));
-        when(repository.findAll(PageRequest.of(2, 100)))
-            .thenReturn(new PageImpl<>(page3, PageRequest.of(2, 100), 250));
-
-        when(embeddingService.embed(anyString())).thenReturn(mockEmbedding);
+    void refreshAllEmbeddings_multiplePages_paginatesByLastId() {
+        // Given - 8 rows, pages of 3, 3, 2
+        addRows(8);
 
         // When
         int result = refreshService.refreshAllEmbeddings();
 
         // Then
-        assertEquals(250, result);
-        verify(repository, times(3)).findAll(any(PageRequest.class));
-        verify(embeddingService, times(250)).embed(anyString());
-        verify(repository, times(250)).updateEmbedding(any(UUID.class), anyString());
+        assertEquals(8, result);
+        verify(refreshRepository).findPage(isNull(), isNull(), eq(3));
+        verify(refreshRepository).findPage(eq(table.get(2).id()), isNull(), eq(3));
+        verify(refreshRepository).findPage(eq(table.get(5).id()), isNull(), eq(3));
+        verify(refreshRepository, times(3)).findPage(any(), any(), anyInt());
+        verify(embeddingService, times(3)).embedBatch(anyList(), eq(EmbeddingPriority.BULK));
+
+        RefreshProgress progress = refreshService.getProgress().orElseThrow();
+        assertEquals(8, progress.getTotal());
+        assertEquals(8, progress.getRefreshed());
+        assertEquals(100.0, progress.getPercentComplete(), 0.001);
+        assertEquals(table.get(7).id(), progress.getLastId());
     }
 
     @Test
-    void refreshAllEmbeddings_partialFailure_continuesAndCountsSuccesses() {
+    void refreshAllEmbeddings_savesCheckpointAfterEachBatch() {
         // Given
-        List<EmbeddingEntity> entities = createMockEntities(10);
-        Page<EmbeddingEntity> page = new PageImpl<>(entities, PageRequest.of(0, 100), 10);
-        when(repository.findAll(any(PageRequest.class))).thenReturn(page);
-        when(embeddingService.embed(anyString())).thenReturn(mockEmbedding);
-
-        // Simulate failure on 3rd entity
-        doNothing().doNothing()
-            .doThrow(new RuntimeException("Database error"))
-            .doNothing().doNothing().doNothing().doNothing().doNothing().doNothing().doNothing()
-            .when(repository).updateEmbedding(any(UUID.class), anyString());
+        addRows(6);
 
         // When
-        int result = refreshService.refreshAllEmbeddings();
-
-        // Then
-        assertEquals(9, result);  // 10 - 1 failure
-        verify(embeddingService, times(10)).embed(anyString());
+        refreshService.refreshAllEmbeddings();
+
+        // Then - start, one per batch, final
+        ArgumentCaptor<Checkpoint> captor = ArgumentCaptor.forClass(Checkpoint.class);
+        verify(refreshRepository, atLeast(4)).saveCheckpoint(captor.capture());
+        List<Checkpoint> saved = captor.getAllValues();
+        assertNull(saved.get(0).lastId());
+        assertEquals("RUNNING", saved.get(0).status());
+        assertTrue(saved.stream().anyMatch(c -> table.get(2).id().equals(c.lastId()) && c.refreshed() == 3));
+        Checkpoint last = saved.get(saved.size() - 1);
+        assertEquals(EmbeddingRefreshService.ALL_SOURCES, last.scope());
+        assertEquals(table.get(5).id(), last.lastId());
+        assertEquals(6, last.refreshed());
+        assertEquals("COMPLETED", last.status());
     }
 
     @Test
-    void refreshEmbeddingsBySourceType_specificType_filtersCorrectly() {
-        // Given
-        String sourceType = "Incident";
-        List<EmbeddingEntity> incidents = createMockEntitiesOfType(50, sourceType);
-        Page<EmbeddingEntity> page = new PageImpl<>(incidents, PageRequest.of(0, 100), 50);
-
-        when(repository.findBySourceType(eq(sourceType), any(PageRequest.class))).thenReturn(page);
-        when(embeddingService.embed(anyString())).thenReturn(mockEmbedding);
+    void refreshAllEmbeddings_batchFailure_countsFailedAndContinues() {
+        // Given - the second page fails to embed
+        addRows(9);
+        when(embeddingService.embedBatch(eq(List.of("Content 3", "Content 4", "Content 5")), any()))
+            .thenThrow(new RuntimeException("ONNX error"));
 
         // When
-        int result = refreshService.refreshEmbeddingsBySourceType(sourceType);
+        int result = refreshService.refreshAllEmbeddings();
 
         // Then
-        assertEquals(50, result);
-        verify(repository, times(1)).findBySourceType(eq(sourceType), any(PageRequest.class));
-        verify(embeddingService, times(50)).embed(anyString());
+        assertEquals(6, result);
+        RefreshProgress progress = refreshService.getProgress().orElseThrow();
+        assertEquals(3, progress.getFailed());
+        assertEquals(RefreshStatus.COMPLETED, progress.getStatus());
+        assertEquals(table.get(8).id(), progress.getLastId());
     }
 
     @Test
-    void refreshEmbeddingsBySourceType_noEntities_returnsZero() {
-        // Given
-        String sourceType = "WorkOrder";
-        Page<EmbeddingEntity> emptyPage = Page.empty();
-        when(repository.findBySourceType(eq(sourceType), any(PageRequest.class))).thenReturn(emptyPage);
+    void refreshAllEmbeddings_readFailure_marksRunFailedWithCheckpoint() {
+        // Given - reading the second page fails
+        addRows(6);
+        when(refreshRepository.findPage(eq(table.get(2).id()), any(), anyInt()))
+            .thenThrow(new RuntimeException("connection reset"));
 
         // When
-        int result = refreshService.refreshEmbeddingsBySourceType(sourceType);
+        int result = refreshService.refreshAllEmbeddings();
 
-        // Then
-        assertEquals(0, result);
-        verify(embeddingService, never()).embed(anyString());
+        // Then - the first page is written and is the resume point
+        assertEquals(3, result);
+        RefreshProgress progress = refreshService.getProgress().orElseThrow();
+        assertEquals(RefreshStatus.FAILED, progress.getStatus());
+        assertEquals("connection reset", progress.getError());
+        assertEquals(table.get(2).id(), progress.getLastId());
     }
 
     @Test
-    void refreshEmbeddingsBySourceType_multiplePages_processesAll() {
+    void refreshEmbeddingsBySourceType_passesSourceTypeAndScope() {
         // Given
-        String sourceType = "KnowledgeArticle";
-        List<EmbeddingEntity> page1 = createMockEntitiesOfType(100, sourceType);
-        List<EmbeddingEntity> page2 = createMockEntitiesOfType(75, sourceType);
-
-        when(repository.findBySourceType(eq(sourceType), eq(PageRequest.of(0, 100))))
-            .thenReturn(new PageImpl<>(page1, PageRequest.of(0, 100), 175));
-        when(repository.findBySourceType(eq(sourceType), eq(PageRequest.of(1, 100))))
-            .thenReturn(new PageImpl<>(page2, PageRequest.of(1, 100), 175));
-
-        when(embeddingService.embed(anyString())).thenReturn(mockEmbedding);
+        addRows(2);
 
         // When
-        int result = refreshService.refreshEmbeddingsBySourceType(sourceType);
+        int result = refreshService.refreshEmbeddingsBySourceType("KnowledgeArticle");
 
         // Then
-        assertEquals(175, result);
-        verify(repository, times(2)).findBySourceType(eq(sourceType), any(PageRequest.class));
+        assertEquals(2, result);
+        verify(refreshRepository).findPage(isNull(), eq("KnowledgeArticle"), eq(3));
+        assertEquals("KnowledgeArticle", refreshService.getProgress().orElseThrow().getScope());
     }
 
     @Test
-    void refreshSingleEmbedding_validEntity_updatesEmbedding() {
+    void refreshAllEmbeddings_textTransfer_writesLiteralsFlag() {
         // Given
-        EmbeddingEntity entity = createMockEntity("INC000123", "VPN connection failed");
-        when(embeddingService.embed(entity.getTextSegment())).thenReturn(mockEmbedding);
+        ReflectionTestUtils.setField(refreshService, "binaryTransfer", false);
+        addRows(1);
 
         // When
-        refreshService.refreshSingleEmbedding(entity);
+        refreshService.refreshAllEmbeddings();
 
         // Then
-        verify(embeddingService).embed("VPN connection failed");
-        ArgumentCaptor<String> embeddingCaptor = ArgumentCaptor.forClass(String.class);
-        verify(repository).updateEmbedding(eq(entity.getId()), embeddingCaptor.capture());
-
-        // Verify embedding format
-        String embeddingStr = embeddingCaptor.getValue();
-        assertTrue(embeddingStr.startsWith("["));
-        assertTrue(embeddingStr.endsWith("]"));
-        assertTrue(embeddingStr.contains(","));
+        verify(refreshRepository).updateEmbeddings(anyList(), anyList(), eq(false));
     }
 
     @Test
-    void formatEmbedding_correctFormat_producesValidString() {
+    void refreshAllEmbeddings_nullTextSegment_embedsEmptyString() {
         // Given
-        EmbeddingEntity entity = createMockEntity("INC000123", "test");
-        float[] embedding = new float[]{0.1f, 0.2f, 0.3f};
-        when(embeddingService.embed(anyString())).thenReturn(embedding);
+        table.add(new PendingEmbedding(UUID.randomUUID(), null));
 
         // When
-        refreshService.refreshSingleEmbedding(entity);
+        int result = refreshService.refreshAllEmbeddings();
 
         // Then
-        ArgumentCaptor<String> embeddingCaptor = ArgumentCaptor.forClass(String.class);
-        verify(repository).updateEmbedding(any(UUID.class), embeddingCaptor.capture());
-        assertEquals("[0.1,0.2,0.3]", embeddingCaptor.getValue());
+        assertEquals(1, result);
+        verify(embeddingService).embedBatch(List.of(""), EmbeddingPriority.BULK);
     }
 
     @Test
-    void refreshAllEmbeddings_progressLogging_logsEvery50() {
-        // Given - Create exactly 150 entities to test logging at 50, 100, 150
-        List<EmbeddingEntity> page1 = createMockEntities(100);
-        List<EmbeddingEntity> page2 = createMockEntities(50);
-
-        when(repository.findAll(PageRequest.of(0, 100)))
-            .thenReturn(new PageImpl<>(page1, PageRequest.of(0, 100), 150));
-        when(repository.findAll(PageRequest.of(1, 100)))
-            .thenReturn(new PageImpl<>(page2, PageRequest.of(1, 100), 150));
-
-        when(embeddingService.embed(anyString())).thenReturn(mockEmbedding);
+    void start_resume_continuesAfterIncompleteCheckpoint() throws Exception {
+        // Given - an earlier run stopped after the first 3 rows
+        addRows(5);
+        Instant startedAt = Instant.parse("2026-01-01T00:00:00Z");
+        when(refreshRepository.findCheckpoint(EmbeddingRefreshService.ALL_SOURCES)).thenReturn(Optional.of(
+            new Checkpoint(EmbeddingRefreshService.ALL_SOURCES, table.get(2).id(), 3, 0, "FAILED", startedAt)));
 
         // When
-        int result = refreshService.refreshAllEmbeddings();
+        RefreshProgress started = refreshService.start(null, true);
+        RefreshProgress finished = awaitFinished();
 
         // Then
-        assertEquals(150, result);
-        // Progress logs would occur at 50, 100, 150 (verified through log inspection in practice)
+        assertEquals(5, started.getTotal());
+        assertEquals(3, started.getRefreshed());
+        verify(refreshRepository).findPage(eq(table.get(2).id()), isNull(), eq(3));
+        verify(refreshRepository, never()).findPage(isNull(), any(), anyInt());
+        assertEquals(5, finished.getRefreshed());
+        assertEquals(startedAt, finished.getStartedAt());
+        assertEquals(RefreshStatus.COMPLETED, finished.getStatus());
     }
 
     @Test
-    void refreshEmbeddingsBySourceType_partialFailure_countsCorrectly() {
+    void start_resume_completedCheckpoint_startsFromBeginning() throws Exception {
         // Given
-        String sourceType = "ChangeRequest";
-        List<EmbeddingEntity> entities = createMockEntitiesOfType(5, sourceType);
-        Page<EmbeddingEntity> page = new PageImpl<>(entities, PageRequest.of(0, 100), 5);
-
-        when(repository.findBySourceType(eq(sourceType), any(PageRequest.class))).thenReturn(page);
-        when(embeddingService.embed(anyString())).thenReturn(mockEmbedding);
-
-        // Simulate 2 failures
-        doNothing()
-            .doThrow(new RuntimeException("Error 1"))
-            .doNothing()
-            .doThrow(new RuntimeException("Error 2"))
-            .doNothing()
-            .when(repository).updateEmbedding(any(UUID.class), anyString());
+        addRows(2);
+        when(refreshRepository.findCheckpoint(EmbeddingRefreshService.ALL_SOURCES)).thenReturn(Optional.of(
+            new Checkpoint(EmbeddingRefreshService.ALL_SOURCES, table.get(1).id(), 2, 0, "COMPLETED", Instant.now())));
 
         // When
-        int result = refreshService.refreshEmbeddingsBySourceType(sourceType);
+        refreshService.start(null, true);
+        RefreshProgress finished = awaitFinished();
 
         // Then
-        assertEquals(3, result);  // 5 - 2 failures
+        verify(refreshRepository).findPage(isNull(), isNull(), eq(3));
+        assertEquals(2, finished.getRefreshed());
     }
 
     @Test
-    void refreshAllEmbeddings_nullTextSegment_handlesGracefully() {
-        // Given
-        EmbeddingEntity entityWithNullText = EmbeddingEntity.builder()
-            .id(UUID.randomUUID())
-            .chunkId("chunk-1")
-            .textSegment(null)
-            .sourceType("Incident")
-            .sourceId("INC000123")
-            .build();
-
-        Page<EmbeddingEntity> page = new PageImpl<>(List.of(entityWithNullText));
-        when(repository.findAll(any(PageRequest.class))).thenReturn(page);
-        when(embeddingService.embed((String) null)).thenReturn(mockEmbedding);
-
-        // When
-        int result = refreshService.refreshAllEmbeddings();
+    void start_whileRunning_throws() throws Exception {
+        // Given - a run blocked inside its first batch
+        addRows(3);
+        CountDownLatch embedding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(embeddingService.embedBatch(anyList(), eq(EmbeddingPriority.BULK))).thenAnswer(invocation -> {
+            embedding.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(new float[384], new float[384], new float[384]);
+        });
+        refreshService.start(null, false);
+        assertTrue(embedding.await(5, TimeUnit.SECONDS));
+
+        // When / Then
+        assertEquals(RefreshStatus.RUNNING, refreshService.getProgress().orElseThrow().getStatus());
+        assertThrows(IllegalStateException.class, () -> refreshService.start("Incident", false));
+
+        release.countDown();
+        assertEquals(RefreshStatus.COMPLETED, awaitFinished().getStatus());
+    }
 
-        // Then
-        assertEquals(1, result);
-        verify(embeddingService).embed((String) null);
+    @Test
+    void start_checkpointNotSaved_doesNotBlockLaterRuns() throws Exception {
+        // Given - the RUNNING checkpoint cannot be written once
+        addRows(3);
+        doThrow(new RuntimeException("connection reset")).doNothing()
+            .when(refreshRepository).saveCheckpoint(any(Checkpoint.class));
+
+        // When / Then - the failed claim is not the current run, so the next start goes ahead
+        assertThrows(RuntimeException.class, () -> refreshService.start(null, false));
+        assertTrue(refreshService.getProgress().isEmpty());
+
+        refreshService.start(null, false);
+        assertEquals(RefreshStatus.COMPLETED, awaitFinished().getStatus());
     }
 
     @Test
-    void refreshAllEmbeddings_emptyTextSegment_embedsEmptyString() {
+    void start_executorShutDown_marksRunFailed() {
         // Given
-        EmbeddingEntity entityWithEmptyText = createMockEntity("INC000123", "");
-        Page<EmbeddingEntity> page = new PageImpl<>(List.of(entityWithEmptyText));
-
-        when(repository.findAll(any(PageRequest.class))).thenReturn(page);
-        when(embeddingService.embed(eq(""))).thenReturn(mockEmbedding);
-
-        // When
-        int result = refreshService.refreshAllEmbeddings();
+        addRows(3);
+        refreshService.shutdown();
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> refreshService.start(null, false));
+        RefreshProgress progress = refreshService.getProgress().orElseThrow();
+        assertEquals(RefreshStatus.FAILED, progress.getStatus());
+        ArgumentCaptor<Checkpoint> saved = ArgumentCaptor.forClass(Checkpoint.class);
+        verify(refreshRepository, times(2)).saveCheckpoint(saved.capture());
+        assertEquals(RefreshStatus.FAILED.name(), saved.getValue().status());
+    }
 
-        // Then
-        assertEquals(1, result);
-        verify(embeddingService).embed(eq(""));
+    @Test
+    void getProgress_noRun_isEmpty() {
+        assertTrue(refreshService.getProgress().isEmpty());
     }
 
-    /**
-     * Helper: Create mock entities with sequential IDs.
-     */
-    private List<EmbeddingEntity> createMockEntities(int count) {
-        List<EmbeddingEntity> entities = new ArrayList<>();
-        for (int i = 0; i < count; i++) {
-            entities.add(createMockEntity("INC" + i, "Content " + i));
+    private RefreshProgress awaitFinished() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            RefreshProgress progress = refreshService.getProgress().orElseThrow();
+            if (progress.getStatus() != RefreshStatus.RUNNING) {
+                return progress;
+            }
+            Thread.sleep(10);
         }
-        return entities;
+        fail("Re-embedding did not finish");
+        return null;
     }
 
     /**
-     * Helper: Create mock entities of a specific source type.
+     * Rows after the given id in table order; the source type filter is checked through the
+     * findPage arguments instead of being modelled per row.
      */
-    private List<EmbeddingEntity> createMockEntitiesOfType(int count, String sourceType) {
-        List<EmbeddingEntity> entities = new ArrayList<>();
-        for (int i = 0; i < count; i++) {
-            EmbeddingEntity entity = createMockEntity(sourceType + i, "Content " + i);
-            entity.setSourceType(sourceType);
-            entities.add(entity);
+    private List<PendingEmbedding> rowsAfter(UUID afterId) {
+        int from = 0;
+        if (afterId != null) {
+            for (int i = 0; i < table.size(); i++) {
+                if (table.get(i).id().equals(afterId)) {
+                    from = i + 1;
+                }
+            }
         }
-        return entities;
+        return table.subList(from, table.size());
     }
 
-    /**
-     * Helper: Create a single mock entity.
-     */
-    private EmbeddingEntity createMockEntity(String sourceId, String textSegment) {
-        return EmbeddingEntity.builder()
-            .id(UUID.randomUUID())
-            .chunkId("chunk-" + sourceId)
-            .textSegment(textSegment)
-            .sourceType("Incident")
-            .sourceId(sourceId)
-            .entryId("entry-" + sourceId)
-            .chunkType("DESCRIPTION")
-            .sequenceNumber(1)
-            .metadata(new HashMap<>())
-            .build();
+    private void addRows(int count) {
+        for (int i = 0; i < count; i++) {
+            table.add(new PendingEmbedding(UUID.randomUUID(), "Content " + i));
+        }
     }
 }
@@ -1,18 +1,23 @@
 package com.bmc.rag.store.service;
 
-import com.bmc.rag.store.service.HybridSearchService.RecallLevel;
-import com.bmc.rag.vectorization.embedding.LocalEmbeddingService;
+import com.bmc.rag.store.repository.VectorSearchRepository;
+import com.bmc.rag.vectorization.embedding.QueryEmbeddingCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -28,9 +33,13 @@ class HybridSearchServiceTest {
     private JdbcTemplate jdbcTemplate;
 
     @Mock(lenient = true)
-    private LocalEmbeddingService embeddingService;
+    private QueryEmbeddingCache queryEmbeddingCache;
+
+    @Mock(lenient = true)
+    private VectorSearchRepository vectorSearchRepository;
+
+    private SimpleMeterRegistry meterRegistry;
 
-    @InjectMocks
     private HybridSearchService hybridSearchService;
 
     private float[] mockEmbedding;
@@ -41,359 +50,257 @@ class HybridSearchServiceTest {
         mockEmbedding = new float[384];
         Arrays.fill(mockEmbedding, 0.1f);
 
+        meterRegistry = new SimpleMeterRegistry();
+        hybridSearchService = new HybridSearchService(
+            jdbcTemplate, queryEmbeddingCache, vectorSearchRepository, new ObjectMapper(), meterRegistry);
+
         // Set the @Value injected fields
         ReflectionTestUtils.setField(hybridSearchService, "vectorWeight", 0.7f);
         ReflectionTestUtils.setField(hybridSearchService, "textWeight", 0.3f);
         ReflectionTestUtils.setField(hybridSearchService, "rrfK", 60);
+        ReflectionTestUtils.setField(hybridSearchService, "textLegThreads", 2);
+        ReflectionTestUtils.setField(hybridSearchService, "binaryTransfer", true);
+        ReflectionTestUtils.setField(hybridSearchService, "textLegTimeoutSeconds", 5);
+        hybridSearchService.start();
+
+        when(queryEmbeddingCache.embed(anyString())).thenReturn(mockEmbedding);
+        when(vectorSearchRepository.search(any(float[].class), any(SearchFilter.class))).thenReturn(List.of());
+        when(vectorSearchRepository.searchText(anyString(), any(SearchFilter.class), anyInt())).thenReturn(List.of());
     }
 
-    @Test
-    void setEfSearch_validValue_executesSuccessfully() {
-        // Given
-        int efSearch = 100;
-
-        // When
-        hybridSearchService.setEfSearch(efSearch);
-
-        // Then
-        verify(jdbcTemplate).execute("SET hnsw.ef_search = 100");
+    @AfterEach
+    void tearDown() {
+        hybridSearchService.shutdown();
     }
 
     @Test
-    void setEfSearch_minimumBoundary_executesSuccessfully() {
+    void search_validQuery_fusesBothLegs() {
         // Given
-        int efSearch = 1;
+        String query = "VPN connection issue";
+        UUID both = UUID.randomUUID();
+        UUID vectorOnly = UUID.randomUUID();
+        UUID textOnly = UUID.randomUUID();
+        when(vectorSearchRepository.search(any(float[].class), any(SearchFilter.class))).thenReturn(List.of(
+            row(vectorOnly, "INC000124", 0.91f),
+            row(both, "INC000123", 0.88f)));
+        when(vectorSearchRepository.searchText(eq(query), any(SearchFilter.class), anyInt())).thenReturn(List.of(
+            row(both, "INC000123", 0.40f),
+            row(textOnly, "INC000125", 0.20f)));
 
         // When
-        hybridSearchService.setEfSearch(efSearch);
-
-        // Then
-        verify(jdbcTemplate).execute("SET hnsw.ef_search = 1");
+        List<HybridSearchService.HybridSearchResult> results = hybridSearchService.search(query, 10, 0.5f);
+
+        // Then - the row found by both legs ranks first, each leg keeps its own score
+        assertEquals(3, results.size());
+        HybridSearchService.HybridSearchResult first = results.get(0);
+        assertEquals(both, first.getId());
+        assertEquals("INC000123", first.getSourceId());
+        assertEquals(0.88f, first.getVectorScore(), 0.001f);
+        assertEquals(0.40f, first.getTextScore(), 0.001f);
+        assertEquals(0.7f / 62 + 0.3f / 61, first.getHybridScore(), 1e-6f);
+
+        assertEquals(vectorOnly, results.get(1).getId());
+        assertEquals(0f, results.get(1).getTextScore());
+        assertEquals(textOnly, results.get(2).getId());
+        assertEquals(0f, results.get(2).getVectorScore());
+        verify(queryEmbeddingCache).embed(query);
     }
 
     @Test
-    void setEfSearch_maximumBoundary_executesSuccessfully() {
-        // Given
-        int efSearch = 1000;
-
-        // When
-        hybridSearchService.setEfSearch(efSearch);
+    void search_weights_decideBetweenSingleLegMatches() {
+        // Given - each row is first in its own leg only
+        UUID vectorHit = UUID.randomUUID();
+        UUID textHit = UUID.randomUUID();
+        when(vectorSearchRepository.search(any(float[].class), any(SearchFilter.class)))
+            .thenReturn(List.<Object[]>of(row(vectorHit, "INC000001", 0.9f)));
+        when(vectorSearchRepository.searchText(anyString(), any(SearchFilter.class), anyInt()))
+            .thenReturn(List.<Object[]>of(row(textHit, "INC000002", 0.5f)));
+
+        // When - text weighted above vector
+        ReflectionTestUtils.setField(hybridSearchService, "vectorWeight", 0.2f);
+        ReflectionTestUtils.setField(hybridSearchService, "textWeight", 0.8f);
+        var results = hybridSearchService.search("INC000002", 10, 0.5f);
 
         // Then
-        verify(jdbcTemplate).execute("SET hnsw.ef_search = 1000");
+        assertEquals(textHit, results.get(0).getId());
+        assertEquals(0.8f / 61, results.get(0).getHybridScore(), 1e-6f);
+        assertEquals(vectorHit, results.get(1).getId());
     }
 
     @Test
-    void setEfSearch_belowMinimum_throwsException() {
+    void search_limitsFusedResultsAndFetchesTwicePerLeg() {
         // Given
-        int efSearch = 0;
+        List<Object[]> vectorRows = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            vectorRows.add(row(UUID.randomUUID(), "INC00000" + i, 0.9f - i * 0.01f));
+        }
+        when(vectorSearchRepository.search(any(float[].class), any(SearchFilter.class))).thenReturn(vectorRows);
 
-        // When & Then
-        IllegalArgumentException exception = assertThrows(
-            IllegalArgumentException.class,
-            () -> hybridSearchService.setEfSearch(efSearch)
-        );
+        // When
+        var results = hybridSearchService.search("printer", 3, 0.4f);
 
-        assertTrue(exception.getMessage().contains("ef_search must be between 1 and 1000"));
-        assertTrue(exception.getMessage().contains("got: 0"));
-        verify(jdbcTemplate, never()).execute(anyString());
+        // Then
+        assertEquals(3, results.size());
+        assertEquals("INC000000", results.get(0).getSourceId());
+
+        ArgumentCaptor<SearchFilter> vectorFilter = ArgumentCaptor.forClass(SearchFilter.class);
+        ArgumentCaptor<SearchFilter> textFilter = ArgumentCaptor.forClass(SearchFilter.class);
+        verify(vectorSearchRepository).search(any(float[].class), vectorFilter.capture());
+        verify(vectorSearchRepository).searchText(eq("printer"), textFilter.capture(), anyInt());
+        assertEquals(6, vectorFilter.getValue().getMaxResults());
+        assertEquals(0.4f, vectorFilter.getValue().getMinScore(), 0.001f);
+        assertNull(vectorFilter.getValue().getAllowedGroups());
+        assertEquals(6, textFilter.getValue().getMaxResults());
     }
 
     @Test
-    void setEfSearch_aboveMaximum_throwsException() {
-        // Given
-        int efSearch = 1001;
-
-        // When & Then
-        IllegalArgumentException exception = assertThrows(
-            IllegalArgumentException.class,
-            () -> hybridSearchService.setEfSearch(efSearch)
-        );
+    void search_emptyQuery_returnsEmpty() {
+        // When
+        var results = hybridSearchService.search("", 10, 0.5f);
 
-        assertTrue(exception.getMessage().contains("ef_search must be between 1 and 1000"));
-        assertTrue(exception.getMessage().contains("got: 1001"));
-        verify(jdbcTemplate, never()).execute(anyString());
+        // Then
+        assertNotNull(results);
+        assertTrue(results.isEmpty());
     }
 
     @Test
-    void setEfSearch_negativeValue_throwsException() {
-        // Given
-        int efSearch = -1;
+    void search_legsRunConcurrently() {
+        // Given - the text leg only finishes once the vector leg has started
+        CountDownLatch vectorStarted = new CountDownLatch(1);
+        UUID textHit = UUID.randomUUID();
+        when(vectorSearchRepository.search(any(float[].class), any(SearchFilter.class))).thenAnswer(invocation -> {
+            vectorStarted.countDown();
+            return List.of();
+        });
+        when(vectorSearchRepository.searchText(anyString(), any(SearchFilter.class), anyInt())).thenAnswer(invocation -> {
+            if (!vectorStarted.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("vector leg did not start while the text leg ran");
+            }
+            return List.<Object[]>of(row(textHit, "KB0001", 0.3f));
+        });
 
-        // When & Then
-        IllegalArgumentException exception = assertThrows(
-            IllegalArgumentException.class,
-            () -> hybridSearchService.setEfSearch(efSearch)
-        );
+        // When
+        var results = hybridSearchService.search("outlook crash", 5, 0.5f);
 
-        assertTrue(exception.getMessage().contains("ef_search must be between 1 and 1000"));
-        assertTrue(exception.getMessage().contains("got: -1"));
-        verify(jdbcTemplate, never()).execute(anyString());
+        // Then
+        assertEquals(1, results.size());
+        assertEquals(textHit, results.get(0).getId());
     }
 
     @Test
-    void search_validQuery_returnsResults() {
-        // Given
-        String query = "VPN connection issue";
-        int maxResults = 10;
-        float minScore = 0.5f;
-
-        when(embeddingService.embed(query)).thenReturn(mockEmbedding);
-
-        // Mock database response
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> mockDbResults = createMockSearchResults();
-
-        // Use doReturn to avoid strict stubbing issues with argument matchers
-        doReturn(mockDbResults).when(jdbcTemplate)
-            .queryForList(anyString(), anyString(), anyString(), anyInt(), anyFloat(), anyFloat(), anyFloat(), anyInt());
-
+    void search_recordsTimerPerLeg() {
         // When
-        List<HybridSearchService.HybridSearchResult> results = hybridSearchService.search(query, maxResults, minScore);
+        hybridSearchService.search("vpn", 5, 0.5f);
 
         // Then
-        assertNotNull(results);
-        assertEquals(2, results.size());
-
-        // Verify first result
-        HybridSearchService.HybridSearchResult firstResult = results.get(0);
-        assertEquals("INC000123", firstResult.getSourceId());
-        assertEquals("Incident", firstResult.getSourceType());
-        assertEquals("VPN authentication failed", firstResult.getTextSegment());
-        assertEquals(0.95f, firstResult.getHybridScore(), 0.001f);
-
-        // Verify embedding service was called
-        verify(embeddingService).embed(query);
-
-        // Verify JDBC template was called with correct parameters
-        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
-        verify(jdbcTemplate).queryForList(
-            sqlCaptor.capture(),
-            eq(query),
-            anyString(), // embedding string
-            eq(maxResults),
-            eq(minScore),
-            anyFloat(), // vector weight
-            anyFloat(), // text weight
-            anyInt()    // rrf k
-        );
-
-        assertTrue(sqlCaptor.getValue().contains("hybrid_search"));
+        Timer vector = meterRegistry.find("rag.hybrid-search.leg.duration").tag("leg", "vector").timer();
+        Timer text = meterRegistry.find("rag.hybrid-search.leg.duration").tag("leg", "text").timer();
+        assertNotNull(vector);
+        assertNotNull(text);
+        assertEquals(1, vector.count());
+        assertEquals(1, text.count());
     }
 
     @Test
-    void getRecommendedEfSearch_allLevels_returnsExpectedValues() {
-        // Test LOW recall level
-        assertEquals(40, hybridSearchService.getRecommendedEfSearch(RecallLevel.LOW));
-
-        // Test MEDIUM recall level
-        assertEquals(64, hybridSearchService.getRecommendedEfSearch(RecallLevel.MEDIUM));
-
-        // Test HIGH recall level
-        assertEquals(100, hybridSearchService.getRecommendedEfSearch(RecallLevel.HIGH));
-
-        // Test MAXIMUM recall level
-        assertEquals(200, hybridSearchService.getRecommendedEfSearch(RecallLevel.MAXIMUM));
-    }
+    void search_textLegFails_propagatesFailure() {
+        // Given
+        when(vectorSearchRepository.searchText(anyString(), any(SearchFilter.class), anyInt()))
+            .thenThrow(new IllegalStateException("tsquery failed"));
 
-    /**
-     * Create mock search results from database.
-     */
-    private List<Map<String, Object>> createMockSearchResults() {
-        List<Map<String, Object>> results = new ArrayList<>();
-
-        // First result
-        Map<String, Object> result1 = new HashMap<>();
-        result1.put("id", UUID.randomUUID());
-        result1.put("chunk_id", "chunk-1");
-        result1.put("text_segment", "VPN authentication failed");
-        result1.put("source_type", "Incident");
-        result1.put("source_id", "INC000123");
-        result1.put("entry_id", "entry-1");
-        result1.put("chunk_type", "RESOLUTION");
-        result1.put("sequence_number", 1);
-        result1.put("metadata", new HashMap<String, String>());
-        result1.put("vector_score", 0.92f);
-        result1.put("text_score", 0.98f);
-        result1.put("hybrid_score", 0.95f);
-        results.add(result1);
-
-        // Second result
-        Map<String, Object> result2 = new HashMap<>();
-        result2.put("id", UUID.randomUUID());
-        result2.put("chunk_id", "chunk-2");
-        result2.put("text_segment", "Network connectivity problem");
-        result2.put("source_type", "Incident");
-        result2.put("source_id", "INC000124");
-        result2.put("entry_id", "entry-2");
-        result2.put("chunk_type", "DESCRIPTION");
-        result2.put("sequence_number", 1);
-        result2.put("metadata", new HashMap<String, String>());
-        result2.put("vector_score", 0.85f);
-        result2.put("text_score", 0.80f);
-        result2.put("hybrid_score", 0.83f);
-        results.add(result2);
-
-        return results;
+        // When / Then
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+            () -> hybridSearchService.search("vpn", 5, 0.5f));
+        assertEquals("tsquery failed", e.getMessage());
     }
 
-    // ========== Edge case tests for enhanced coverage ==========
-
     @Test
-    void search_emptyQuery_returnsResults() {
+    void search_textTransfer_passesVectorLiteral() {
         // Given
-        String query = "";
-        when(embeddingService.embed(query)).thenReturn(mockEmbedding);
-        when(jdbcTemplate.queryForList(anyString(), anyString(), anyString(), anyInt(), anyFloat(), anyFloat(), anyFloat(), anyInt()))
-            .thenReturn(Collections.emptyList());
+        ReflectionTestUtils.setField(hybridSearchService, "binaryTransfer", false);
+        when(queryEmbeddingCache.embed(anyString())).thenReturn(new float[]{0.1f, 0.2f, 0.3f});
+        when(vectorSearchRepository.search(anyString(), any(SearchFilter.class))).thenReturn(List.of());
 
         // When
-        var results = hybridSearchService.search(query, 10, 0.5f);
+        hybridSearchService.search("test", 10, 0.5f);
 
         // Then
-        assertNotNull(results);
-        assertTrue(results.isEmpty());
+        verify(vectorSearchRepository).search(eq("[0.1,0.2,0.3]"), any(SearchFilter.class));
+        verify(vectorSearchRepository, never()).search(any(float[].class), any(SearchFilter.class));
     }
 
     @Test
-    void search_keywordOnlyScenario_usesTextScoring() {
-        // Given - mock result with high text score, low vector score
-        String query = "INC000123";
-        when(embeddingService.embed(query)).thenReturn(mockEmbedding);
-
-        List<Map<String, Object>> mockResults = new ArrayList<>();
-        Map<String, Object> result = new HashMap<>();
-        result.put("id", UUID.randomUUID());
-        result.put("chunk_id", "chunk-1");
-        result.put("text_segment", "Incident INC000123");
-        result.put("source_type", "Incident");
-        result.put("source_id", "INC000123");
-        result.put("entry_id", "entry-1");
-        result.put("chunk_type", "DESCRIPTION");
-        result.put("sequence_number", 1);
-        result.put("metadata", new HashMap<String, String>());
-        result.put("vector_score", 0.3f);  // Low vector score
-        result.put("text_score", 0.95f);   // High text score
-        result.put("hybrid_score", 0.75f); // Combined via RRF
-        mockResults.add(result);
-
-        doReturn(mockResults).when(jdbcTemplate)
-            .queryForList(anyString(), anyString(), anyString(), anyInt(), anyFloat(), anyFloat(), anyFloat(), anyInt());
+    void searchWithGroups_passesGroupsToBothLegsForExactMatching() {
+        // Given
+        List<String> groups = List.of("Network Support", "Application Support");
 
         // When
-        var results = hybridSearchService.search(query, 10, 0.5f);
+        hybridSearchService.searchWithGroups("test query", 10, 0.5f, groups);
 
         // Then
-        assertNotNull(results);
-        assertEquals(1, results.size());
-        assertEquals(0.95f, results.get(0).getTextScore(), 0.001f);
-        assertEquals(0.3f, results.get(0).getVectorScore(), 0.001f);
+        ArgumentCaptor<SearchFilter> vectorFilter = ArgumentCaptor.forClass(SearchFilter.class);
+        ArgumentCaptor<SearchFilter> textFilter = ArgumentCaptor.forClass(SearchFilter.class);
+        verify(vectorSearchRepository).search(any(float[].class), vectorFilter.capture());
+        verify(vectorSearchRepository).searchText(anyString(), textFilter.capture(), anyInt());
+        assertTrue(vectorFilter.getValue().isExactGroupMatch());
+        assertTrue(textFilter.getValue().isExactGroupMatch());
+        assertEquals(groups, vectorFilter.getValue().normalizedGroups());
+        assertEquals(groups, textFilter.getValue().normalizedGroups());
     }
 
     @Test
-    void search_semanticOnlyScenario_usesVectorScoring() {
-        // Given - mock result with high vector score, low text score
-        String query = "network connectivity problems";
-        when(embeddingService.embed(query)).thenReturn(mockEmbedding);
-
-        List<Map<String, Object>> mockResults = new ArrayList<>();
-        Map<String, Object> result = new HashMap<>();
-        result.put("id", UUID.randomUUID());
-        result.put("chunk_id", "chunk-1");
-        result.put("text_segment", "VPN authentication issue");
-        result.put("source_type", "Incident");
-        result.put("source_id", "INC000123");
-        result.put("entry_id", "entry-1");
-        result.put("chunk_type", "DESCRIPTION");
-        result.put("sequence_number", 1);
-        result.put("metadata", new HashMap<String, String>());
-        result.put("vector_score", 0.92f);  // High vector score (semantic match)
-        result.put("text_score", 0.4f);     // Low text score (no keyword match)
-        result.put("hybrid_score", 0.85f);  // Combined via RRF
-        mockResults.add(result);
-
-        doReturn(mockResults).when(jdbcTemplate)
-            .queryForList(anyString(), anyString(), anyString(), anyInt(), anyFloat(), anyFloat(), anyFloat(), anyInt());
+    void search_textLegRunsWithStatementTimeout() {
+        // Given
+        ReflectionTestUtils.setField(hybridSearchService, "textLegTimeoutSeconds", 3);
 
         // When
-        var results = hybridSearchService.search(query, 10, 0.5f);
+        hybridSearchService.search("printer jam", 5, 0.5f);
 
         // Then
-        assertNotNull(results);
-        assertEquals(1, results.size());
-        assertEquals(0.92f, results.get(0).getVectorScore(), 0.001f);
-        assertEquals(0.4f, results.get(0).getTextScore(), 0.001f);
+        verify(vectorSearchRepository).searchText(eq("printer jam"), any(SearchFilter.class), eq(3));
     }
 
     @Test
-    void search_combinedScoring_balancesBothScores() {
-        // Given - mock result with balanced scores
-        String query = "VPN connection issue";
-        when(embeddingService.embed(query)).thenReturn(mockEmbedding);
-
-        List<Map<String, Object>> mockResults = new ArrayList<>();
-        Map<String, Object> result = new HashMap<>();
-        result.put("id", UUID.randomUUID());
-        result.put("chunk_id", "chunk-1");
-        result.put("text_segment", "VPN connection failure");
-        result.put("source_type", "Incident");
-        result.put("source_id", "INC000123");
-        result.put("entry_id", "entry-1");
-        result.put("chunk_type", "DESCRIPTION");
-        result.put("sequence_number", 1);
-        result.put("metadata", new HashMap<String, String>());
-        result.put("vector_score", 0.85f);  // Good semantic match
-        result.put("text_score", 0.80f);    // Good keyword match
-        result.put("hybrid_score", 0.90f);  // High combined score
-        mockResults.add(result);
-
-        doReturn(mockResults).when(jdbcTemplate)
-            .queryForList(anyString(), anyString(), anyString(), anyInt(), anyFloat(), anyFloat(), anyFloat(), anyInt());
-
+    void searchWithGroups_nullGroups_restrictsToUnassignedRecords() {
         // When
-        var results = hybridSearchService.search(query, 10, 0.5f);
+        hybridSearchService.searchWithGroups("test query", 10, 0.5f, null);
 
-        // Then
-        assertNotNull(results);
-        assertEquals(1, results.size());
-        assertEquals(0.85f, results.get(0).getVectorScore(), 0.001f);
-        assertEquals(0.80f, results.get(0).getTextScore(), 0.001f);
-        assertEquals(0.90f, results.get(0).getHybridScore(), 0.001f);
+        // Then - empty, not null: ReBAC stays on
+        ArgumentCaptor<SearchFilter> filter = ArgumentCaptor.forClass(SearchFilter.class);
+        verify(vectorSearchRepository).search(any(float[].class), filter.capture());
+        assertNotNull(filter.getValue().getAllowedGroups());
+        assertTrue(filter.getValue().normalizedGroups().isEmpty());
     }
 
     @Test
-    void searchWithGroups_emptyGroups_filtersCorrectly() {
+    void search_jsonMetadata_isParsed() {
         // Given
-        String query = "test query";
-        when(embeddingService.embed(query)).thenReturn(mockEmbedding);
-        when(jdbcTemplate.queryForList(anyString(), anyString(), anyString(), eq("{}"), anyInt(), anyFloat(), anyFloat(), anyFloat(), anyInt()))
-            .thenReturn(Collections.emptyList());
+        Object[] row = row(UUID.randomUUID(), "INC000123", 0.8f);
+        row[8] = "{\"assigned_group\":\"Network Support\"}";
+        when(vectorSearchRepository.search(any(float[].class), any(SearchFilter.class)))
+            .thenReturn(List.<Object[]>of(row));
 
         // When
-        var results = hybridSearchService.searchWithGroups(query, 10, 0.5f, Collections.emptyList());
+        var results = hybridSearchService.search("test", 10, 0.5f);
 
         // Then
-        assertNotNull(results);
-        assertTrue(results.isEmpty());
-        verify(jdbcTemplate).queryForList(anyString(), anyString(), anyString(), eq("{}"), anyInt(), anyFloat(), anyFloat(), anyFloat(), anyInt());
+        assertEquals("Network Support", results.get(0).getMetadata().get("assigned_group"));
     }
 
     @Test
-    void searchWithGroups_multipleGroups_formatsArrayCorrectly() {
+    void search_nullMetadata_handlesGracefully() {
         // Given
-        String query = "test query";
-        List<String> groups = List.of("Network Support", "Application Support");
-        when(embeddingService.embed(query)).thenReturn(mockEmbedding);
-        when(jdbcTemplate.queryForList(anyString(), anyString(), anyString(), anyString(), anyInt(), anyFloat(), anyFloat(), anyFloat(), anyInt()))
-            .thenReturn(Collections.emptyList());
+        Object[] row = row(UUID.randomUUID(), "INC000123", 0.8f);
+        row[8] = null;
+        when(vectorSearchRepository.search(any(float[].class), any(SearchFilter.class)))
+            .thenReturn(List.<Object[]>of(row));
 
         // When
-        hybridSearchService.searchWithGroups(query, 10, 0.5f, groups);
+        var results = hybridSearchService.search("test", 10, 0.5f);
 
         // Then
-        ArgumentCaptor<String> groupsCaptor = ArgumentCaptor.forClass(String.class);
-        verify(jdbcTemplate).queryForList(anyString(), anyString(), anyString(), groupsCaptor.capture(), anyInt(), anyFloat(), anyFloat(), anyFloat(), anyInt());
-        assertEquals("{\"Network Support\",\"Application Support\"}", groupsCaptor.getValue());
+        assertEquals(1, results.size());
+        assertNotNull(results.get(0).getMetadata());
+        assertTrue(results.get(0).getMetadata().isEmpty());
     }
 
     @Test
@@ -426,7 +333,8 @@ class HybridSearchServiceTest {
         assertNotNull(results);
         assertEquals(1, results.size());
         assertEquals("INC000123", results.get(0).getSourceId());
-        verify(embeddingService, never()).embed(anyString()); // Should not fall back to hybrid search
+        assertEquals(1.0f, results.get(0).getHybridScore(), 0.001f);
+        verify(queryEmbeddingCache, never()).embed(anyString()); // Should not fall back to hybrid search
     }
 
     @Test
@@ -435,68 +343,17 @@ class HybridSearchServiceTest {
         String query = "nonexistent";
         when(jdbcTemplate.queryForList(contains("ILIKE"), anyString(), anyInt()))
             .thenReturn(Collections.emptyList());
-        when(embeddingService.embed(query)).thenReturn(mockEmbedding);
-        when(jdbcTemplate.queryForList(contains("hybrid_search"), anyString(), anyString(), anyInt(), anyFloat(), anyFloat(), anyFloat(), anyInt()))
-            .thenReturn(Collections.emptyList());
 
         // When
         var results = hybridSearchService.searchExact(query, 10);
 
         // Then
         assertNotNull(results);
-        verify(embeddingService).embed(query); // Should fall back to hybrid search
-    }
-
-    @Test
-    void search_nullMetadata_handlesGracefully() {
-        // Given
-        String query = "test";
-        when(embeddingService.embed(query)).thenReturn(mockEmbedding);
-
-        List<Map<String, Object>> mockResults = new ArrayList<>();
-        Map<String, Object> result = new HashMap<>();
-        result.put("id", UUID.randomUUID());
-        result.put("chunk_id", "chunk-1");
-        result.put("text_segment", "test content");
-        result.put("source_type", "Incident");
-        result.put("source_id", "INC000123");
-        result.put("entry_id", "entry-1");
-        result.put("chunk_type", "DESCRIPTION");
-        result.put("sequence_number", 1);
-        result.put("metadata", null);  // Null metadata
-        result.put("vector_score", 0.8f);
-        result.put("text_score", 0.7f);
-        result.put("hybrid_score", 0.75f);
-        mockResults.add(result);
-
-        doReturn(mockResults).when(jdbcTemplate)
-            .queryForList(anyString(), anyString(), anyString(), anyInt(), anyFloat(), anyFloat(), anyFloat(), anyInt());
-
-        // When
-        var results = hybridSearchService.search(query, 10, 0.5f);
-
-        // Then
-        assertNotNull(results);
-        assertEquals(1, results.size());
-        assertNotNull(results.get(0).getMetadata());
-        assertTrue(results.get(0).getMetadata().isEmpty());
-    }
-
-    @Test
-    void formatEmbedding_correctlyFormatsFloatArray() {
-        // Given
-        float[] embedding = new float[]{0.1f, 0.2f, 0.3f};
-        when(embeddingService.embed(anyString())).thenReturn(embedding);
-        when(jdbcTemplate.queryForList(anyString(), anyString(), anyString(), anyInt(), anyFloat(), anyFloat(), anyFloat(), anyInt()))
-            .thenReturn(Collections.emptyList());
-
-        // When
-        hybridSearchService.search("test", 10, 0.5f);
-
-        // Then
-        ArgumentCaptor<String> embeddingCaptor = ArgumentCaptor.forClass(String.class);
-        verify(jdbcTemplate).queryForList(anyString(), anyString(), embeddingCaptor.capture(), anyInt(), anyFloat(), anyFloat(), anyFloat(), anyInt());
-        assertEquals("[0.1,0.2,0.3]", embeddingCaptor.getValue());
+        verify(queryEmbeddingCache).embed(query); // Should fall back to hybrid search
+        ArgumentCaptor<SearchFilter> filter = ArgumentCaptor.forClass(SearchFilter.class);
+        verify(vectorSearchRepository).search(any(float[].class), filter.capture());
+        assertEquals(0.3f, filter.getValue().getMinScore(), 0.001f);
+        verify(vectorSearchRepository).searchText(eq(query), any(SearchFilter.class), anyInt());
     }
 
     @Test
@@ -513,4 +370,14 @@ class HybridSearchServiceTest {
         // Then
         assertEquals("WorkOrder WO000456", reference);
     }
+
+    /**
+     * A search row in the VectorSearchRepository layout.
+     */
+    private static Object[] row(UUID id, String sourceId, float score) {
+        return new Object[] {
+            id, "chunk-" + sourceId, "text of " + sourceId, "Incident", sourceId, "entry-1",
+            "DESCRIPTION", 1, "{}", null, null, score
+        };
+    }
 }
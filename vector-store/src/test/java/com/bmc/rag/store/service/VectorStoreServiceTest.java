@@ -1,10 +1,12 @@
 package com.bmc.rag.store.service;
 
+import com.bmc.rag.store.event.SourceRecordsChangedEvent;
 import com.bmc.rag.store.repository.EmbeddingRepository;
+import com.bmc.rag.store.repository.VectorSearchRepository;
 import com.bmc.rag.store.service.VectorStoreService.SearchResult;
 import com.bmc.rag.vectorization.chunking.TextChunk;
-import com.bmc.rag.vectorization.embedding.LocalEmbeddingService;
 import com.bmc.rag.vectorization.embedding.LocalEmbeddingService.EmbeddedChunk;
+import com.bmc.rag.vectorization.embedding.QueryEmbeddingCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,7 +15,10 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.*;
@@ -32,7 +37,7 @@ class VectorStoreServiceTest {
     private EmbeddingRepository embeddingRepository;
 
     @Mock(lenient = true)
-    private LocalEmbeddingService embeddingService;
+    private QueryEmbeddingCache queryEmbeddingCache;
 
     @Mock(lenient = true)
     private ObjectMapper objectMapper;
@@ -40,6 +45,12 @@ class VectorStoreServiceTest {
     @Mock(lenient = true)
     private JdbcTemplate jdbcTemplate;
 
+    @Mock(lenient = true)
+    private VectorSearchRepository vectorSearchRepository;
+
+    @Mock(lenient = true)
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private VectorStoreService vectorStoreService;
 
@@ -72,11 +83,11 @@ class VectorStoreServiceTest {
         int maxResults = 10;
         float minScore = 0.7f;
 
-        when(embeddingService.embed(query)).thenReturn(mockEmbedding);
+        when(queryEmbeddingCache.embed(query)).thenReturn(mockEmbedding);
 
         // Mock repository response
         List<Object[]> mockDbResults = createMockDbResults();
-        when(embeddingRepository.searchSimilar(anyString(), eq(maxResults), eq(minScore)))
+        when(vectorSearchRepository.search(anyString(), any(SearchFilter.class)))
             .thenReturn(mockDbResults);
 
         // When
@@ -94,11 +105,16 @@ class VectorStoreServiceTest {
         assertEquals(0.92f, firstResult.getScore(), 0.001f);
 
         // Verify embedding service was called
-        verify(embeddingService).embed(query);
+        verify(queryEmbeddingCache).embed(query);
 
-        // Verify repository was called
+        // Verify repository was called with an unrestricted filter
         ArgumentCaptor<String> embeddingCaptor = ArgumentCaptor.forClass(String.class);
-        verify(embeddingRepository).searchSimilar(embeddingCaptor.capture(), eq(maxResults), eq(minScore));
+        ArgumentCaptor<SearchFilter> filterCaptor = ArgumentCaptor.forClass(SearchFilter.class);
+        verify(vectorSearchRepository).search(embeddingCaptor.capture(), filterCaptor.capture());
+        assertEquals(maxResults, filterCaptor.getValue().getMaxResults());
+        assertEquals(minScore, filterCaptor.getValue().getMinScore(), 0.0001f);
+        assertNull(filterCaptor.getValue().getAllowedGroups());
+        assertNull(filterCaptor.getValue().getSourceTypes());
 
         // Verify embedding format
         String embeddingStr = embeddingCaptor.getValue();
@@ -113,114 +129,198 @@ class VectorStoreServiceTest {
         float[] embedding = new float[]{0.1f, 0.2f, 0.3f};
 
         // When - call through a public method that uses formatEmbedding
-        when(embeddingService.embed(anyString())).thenReturn(embedding);
-        when(embeddingRepository.searchSimilar(anyString(), anyInt(), anyFloat()))
+        when(queryEmbeddingCache.embed(anyString())).thenReturn(embedding);
+        when(vectorSearchRepository.search(anyString(), any(SearchFilter.class)))
             .thenReturn(Collections.emptyList());
 
         vectorStoreService.search("test", 1, 0.5f);
 
         // Then - capture the formatted embedding
         ArgumentCaptor<String> embeddingCaptor = ArgumentCaptor.forClass(String.class);
-        verify(embeddingRepository).searchSimilar(embeddingCaptor.capture(), anyInt(), anyFloat());
+        verify(vectorSearchRepository).search(embeddingCaptor.capture(), any(SearchFilter.class));
 
         String formattedEmbedding = embeddingCaptor.getValue();
         assertEquals("[0.1,0.2,0.3]", formattedEmbedding);
     }
 
     @Test
-    void formatPostgresArray_emptyList_returnsEmptyArray() {
+    void search_binaryTransfer_passesRawEmbedding() {
         // Given
-        List<String> emptyList = Collections.emptyList();
-
-        // When - test through searchWithGroups
-        when(embeddingService.embed(anyString())).thenReturn(mockEmbedding);
-        when(embeddingRepository.searchSimilarWithGroups(anyString(), anyInt(), anyFloat(), anyString()))
-            .thenReturn(Collections.emptyList());
-
-        vectorStoreService.searchWithGroups("test", 10, 0.5f, emptyList);
+        ReflectionTestUtils.setField(vectorStoreService, "binaryTransfer", true);
+        when(queryEmbeddingCache.embed("VPN")).thenReturn(mockEmbedding);
+        when(vectorSearchRepository.search(eq(mockEmbedding), any(SearchFilter.class)))
+            .thenReturn(createMockDbResults());
 
-        // Then - verify format
-        ArgumentCaptor<String> arrayCaptor = ArgumentCaptor.forClass(String.class);
-        verify(embeddingRepository).searchSimilarWithGroups(anyString(), anyInt(), anyFloat(), arrayCaptor.capture());
+        // When
+        List<SearchResult> results = vectorStoreService.search("VPN", 5, 0.5f);
 
-        assertEquals("{}", arrayCaptor.getValue());
+        // Then
+        assertEquals(2, results.size());
+        verify(vectorSearchRepository).search(eq(mockEmbedding), any(SearchFilter.class));
+        verify(vectorSearchRepository, never()).search(anyString(), any(SearchFilter.class));
     }
 
     @Test
-    void formatPostgresArray_singleElement_returnsFormattedArray() {
+    void searchWithGroups_binaryTransfer_passesGroupList() {
         // Given
-        List<String> singleList = List.of("Network Support");
+        ReflectionTestUtils.setField(vectorStoreService, "binaryTransfer", true);
+        List<String> groups = List.of("Network Support", "Service Desk");
+        when(queryEmbeddingCache.embed(anyString())).thenReturn(mockEmbedding);
+        when(vectorSearchRepository.search(any(float[].class), any(SearchFilter.class)))
+            .thenReturn(createMockDbResults());
 
         // When
-        when(embeddingService.embed(anyString())).thenReturn(mockEmbedding);
-        when(embeddingRepository.searchSimilarWithGroups(anyString(), anyInt(), anyFloat(), anyString()))
+        vectorStoreService.searchWithGroups("VPN", 5, 0.5f, groups);
+
+        // Then
+        ArgumentCaptor<SearchFilter> filterCaptor = ArgumentCaptor.forClass(SearchFilter.class);
+        verify(vectorSearchRepository).search(eq(mockEmbedding), filterCaptor.capture());
+        assertEquals(groups, filterCaptor.getValue().getAllowedGroups());
+    }
+
+    @Test
+    void searchBySourceTypes_binaryTransfer_passesTypeList() {
+        // Given
+        ReflectionTestUtils.setField(vectorStoreService, "binaryTransfer", true);
+        List<String> types = List.of("Incident", "KnowledgeArticle");
+        when(queryEmbeddingCache.embed(anyString())).thenReturn(mockEmbedding);
+        when(vectorSearchRepository.search(any(float[].class), any(SearchFilter.class)))
             .thenReturn(Collections.emptyList());
 
-        vectorStoreService.searchWithGroups("test", 10, 0.5f, singleList);
+        // When
+        vectorStoreService.searchBySourceTypes("VPN", 5, 0.5f, types);
 
         // Then
-        ArgumentCaptor<String> arrayCaptor = ArgumentCaptor.forClass(String.class);
-        verify(embeddingRepository).searchSimilarWithGroups(anyString(), anyInt(), anyFloat(), arrayCaptor.capture());
-
-        assertEquals("{\"Network Support\"}", arrayCaptor.getValue());
+        ArgumentCaptor<SearchFilter> filterCaptor = ArgumentCaptor.forClass(SearchFilter.class);
+        verify(vectorSearchRepository).search(eq(mockEmbedding), filterCaptor.capture());
+        assertEquals(types, filterCaptor.getValue().getSourceTypes());
+        assertNull(filterCaptor.getValue().getAllowedGroups());
     }
 
     @Test
-    void formatPostgresArray_multipleElements_returnsFormattedArray() {
+    void search_combinedFilter_passesAllFiltersInOneCall() {
         // Given
-        List<String> multipleList = List.of("Network Support", "Application Support");
+        when(queryEmbeddingCache.embed(anyString())).thenReturn(mockEmbedding);
+        when(vectorSearchRepository.search(anyString(), any(SearchFilter.class)))
+            .thenReturn(createMockDbResults());
+        SearchFilter filter = SearchFilter.builder()
+            .maxResults(3)
+            .minScore(0.6f)
+            .allowedGroups(List.of("Network Support"))
+            .sourceTypes(List.of("Incident"))
+            .chunkTypes(List.of("RESOLUTION"))
+            .languages(List.of("en"))
+            .build();
 
         // When
-        when(embeddingService.embed(anyString())).thenReturn(mockEmbedding);
-        when(embeddingRepository.searchSimilarWithGroups(anyString(), anyInt(), anyFloat(), anyString()))
-            .thenReturn(Collections.emptyList());
+        List<SearchResult> results = vectorStoreService.search("VPN", filter);
 
-        vectorStoreService.searchWithGroups("test", 10, 0.5f, multipleList);
+        // Then - one repository call, no post-filtering of the returned rows
+        assertEquals(2, results.size());
+        verify(vectorSearchRepository, times(1)).search(anyString(), eq(filter));
+    }
 
-        // Then
-        ArgumentCaptor<String> arrayCaptor = ArgumentCaptor.forClass(String.class);
-        verify(embeddingRepository).searchSimilarWithGroups(anyString(), anyInt(), anyFloat(), arrayCaptor.capture());
+    @Test
+    void search_shortFirstPass_escalatesRecallUntilFull() {
+        // Given - 2 of 5 rows at LOW, still 2 at MEDIUM, 5 at HIGH
+        when(queryEmbeddingCache.embed(anyString())).thenReturn(mockEmbedding);
+        List<Object[]> fullPage = new ArrayList<>(createMockDbResults());
+        fullPage.addAll(createMockDbResults());
+        fullPage.add(createMockDbResults().get(0));
+        when(vectorSearchRepository.search(anyString(), any(SearchFilter.class)))
+            .thenReturn(createMockDbResults(), createMockDbResults(), fullPage);
+        SearchFilter filter = SearchFilter.builder()
+            .maxResults(5)
+            .recallLevel(RecallLevel.LOW)
+            .maxRecallLevel(RecallLevel.MAXIMUM)
+            .build();
 
-        assertEquals("{\"Network Support\",\"Application Support\"}", arrayCaptor.getValue());
+        // When
+        List<SearchResult> results = vectorStoreService.search("VPN", filter);
+
+        // Then - embedded once, stopped as soon as the page was full
+        assertEquals(5, results.size());
+        verify(queryEmbeddingCache, times(1)).embed("VPN");
+        ArgumentCaptor<SearchFilter> filterCaptor = ArgumentCaptor.forClass(SearchFilter.class);
+        verify(vectorSearchRepository, times(3)).search(anyString(), filterCaptor.capture());
+        assertEquals(List.of(RecallLevel.LOW, RecallLevel.MEDIUM, RecallLevel.HIGH),
+            filterCaptor.getAllValues().stream().map(SearchFilter::getRecallLevel).toList());
     }
 
     @Test
-    void formatPostgresArray_elementWithQuotes_escapesQuotes() {
+    void search_shortResult_stopsAtMaxRecallLevel() {
         // Given
-        List<String> quotedList = List.of("Support \"VIP\" Team");
-
-        // When
-        when(embeddingService.embed(anyString())).thenReturn(mockEmbedding);
-        when(embeddingRepository.searchSimilarWithGroups(anyString(), anyInt(), anyFloat(), anyString()))
+        when(queryEmbeddingCache.embed(anyString())).thenReturn(mockEmbedding);
+        when(vectorSearchRepository.search(anyString(), any(SearchFilter.class)))
             .thenReturn(Collections.emptyList());
+        SearchFilter filter = SearchFilter.builder()
+            .maxResults(5)
+            .recallLevel(RecallLevel.LOW)
+            .maxRecallLevel(RecallLevel.MEDIUM)
+            .build();
 
-        vectorStoreService.searchWithGroups("test", 10, 0.5f, quotedList);
+        // When
+        vectorStoreService.search("VPN", filter);
 
         // Then
-        ArgumentCaptor<String> arrayCaptor = ArgumentCaptor.forClass(String.class);
-        verify(embeddingRepository).searchSimilarWithGroups(anyString(), anyInt(), anyFloat(), arrayCaptor.capture());
+        verify(vectorSearchRepository, times(2)).search(anyString(), any(SearchFilter.class));
+    }
+
+    @Test
+    void search_withoutRecallLevel_runsSinglePass() {
+        // Given
+        when(queryEmbeddingCache.embed(anyString())).thenReturn(mockEmbedding);
+        when(vectorSearchRepository.search(anyString(), any(SearchFilter.class)))
+            .thenReturn(Collections.emptyList());
 
-        // PostgreSQL escapes quotes by doubling them
-        assertEquals("{\"Support \"\"VIP\"\" Team\"}", arrayCaptor.getValue());
+        // When
+        vectorStoreService.search("VPN", 5, 0.5f);
+
+        // Then - server ef_search, no retry
+        ArgumentCaptor<SearchFilter> filterCaptor = ArgumentCaptor.forClass(SearchFilter.class);
+        verify(vectorSearchRepository, times(1)).search(anyString(), filterCaptor.capture());
+        assertNull(filterCaptor.getValue().getRecallLevel());
     }
 
     @Test
-    void formatPostgresArray_nullList_returnsEmptyArray() {
-        // Given - null list
-        List<String> nullList = null;
+    void search_quantizedEnabled_usesTwoPhaseSearchWithScaledCandidates() {
+        // Given
+        ReflectionTestUtils.setField(vectorStoreService, "binaryTransfer", true);
+        ReflectionTestUtils.setField(vectorStoreService, "quantizedSearch", true);
+        ReflectionTestUtils.setField(vectorStoreService, "quantizedRerankFactor", 8);
+        when(queryEmbeddingCache.embed("VPN")).thenReturn(mockEmbedding);
+        when(vectorSearchRepository.searchQuantized(eq(mockEmbedding), any(SearchFilter.class), anyInt()))
+            .thenReturn(createMockDbResults());
 
         // When
-        when(embeddingService.embed(anyString())).thenReturn(mockEmbedding);
-        when(embeddingRepository.searchSimilarWithGroups(anyString(), anyInt(), anyFloat(), anyString()))
-            .thenReturn(Collections.emptyList());
+        List<SearchResult> results = vectorStoreService.search("VPN", 5, 0.5f);
 
-        vectorStoreService.searchWithGroups("test", 10, 0.5f, nullList);
+        // Then - 5 results requested, 40 quantized candidates reranked
+        assertEquals(2, results.size());
+        verify(vectorSearchRepository).searchQuantized(eq(mockEmbedding), any(SearchFilter.class), eq(40));
+        verify(vectorSearchRepository, never()).search(any(float[].class), any(SearchFilter.class));
+    }
 
-        // Then
-        ArgumentCaptor<String> arrayCaptor = ArgumentCaptor.forClass(String.class);
-        verify(embeddingRepository).searchSimilarWithGroups(anyString(), anyInt(), anyFloat(), arrayCaptor.capture());
+    @Test
+    void recallLevel_mapsToEfSearchAndEscalatesInOrder() {
+        assertEquals(40, RecallLevel.LOW.efSearch());
+        assertEquals(64, RecallLevel.MEDIUM.efSearch());
+        assertEquals(100, RecallLevel.HIGH.efSearch());
+        assertEquals(200, RecallLevel.MAXIMUM.efSearch());
+
+        assertEquals(RecallLevel.MEDIUM, RecallLevel.LOW.next());
+        assertEquals(RecallLevel.MAXIMUM, RecallLevel.MAXIMUM.next());
+    }
 
-        assertEquals("{}", arrayCaptor.getValue());
+    @Test
+    void searchFilter_normalizedGroups_lowerCasesAndDropsBlanks() {
+        SearchFilter filter = SearchFilter.builder()
+            .allowedGroups(Arrays.asList("Network Support", "network support", " ", null, "IT"))
+            .build();
+
+        assertEquals(List.of("network support", "it"), filter.normalizedGroups());
+        assertNull(SearchFilter.builder().build().normalizedGroups());
+        assertEquals(List.of(), SearchFilter.builder().allowedGroups(List.of()).build().normalizedGroups());
     }
 
     /**
@@ -230,7 +330,7 @@ class VectorStoreServiceTest {
         List<Object[]> results = new ArrayList<>();
 
         // First result - matching repository query structure
-        // Based on searchSimilar query: id, chunk_id, text_segment, source_type, source_id,
+        // Based on search_embeddings columns: id, chunk_id, text_segment, source_type, source_id,
         // entry_id, chunk_type, sequence_number, metadata, created_at, updated_at, score
         Object[] result1 = new Object[]{
             UUID.randomUUID(),              // 0: id
@@ -319,8 +419,8 @@ class VectorStoreServiceTest {
     void search_emptyResults_returnsEmptyList() {
         // Given
         String query = "nonexistent query";
-        when(embeddingService.embed(query)).thenReturn(mockEmbedding);
-        when(embeddingRepository.searchSimilar(anyString(), anyInt(), anyFloat()))
+        when(queryEmbeddingCache.embed(query)).thenReturn(mockEmbedding);
+        when(vectorSearchRepository.search(anyString(), any(SearchFilter.class)))
             .thenReturn(Collections.emptyList());
         when(embeddingRepository.count()).thenReturn(100L);
 
@@ -337,7 +437,7 @@ class VectorStoreServiceTest {
     void search_nullEmbedding_handlesGracefully() {
         // Given
         String query = "test query";
-        when(embeddingService.embed(query)).thenReturn(null);
+        when(queryEmbeddingCache.embed(query)).thenReturn(null);
 
         // When & Then - should throw NullPointerException when trying to format null embedding
         assertThrows(NullPointerException.class, () -> {
@@ -397,6 +497,115 @@ class VectorStoreServiceTest {
         verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyList(), anyInt(), any());
     }
 
+    @Test
+    void storeBatch_publishesOneChangeEventPerSourceType() throws Exception {
+        // Given
+        List<EmbeddedChunk> chunks = List.of(
+            new EmbeddedChunk(chunkFor("Incident", "INC1", 0), mockEmbedding),
+            new EmbeddedChunk(chunkFor("Incident", "INC1", 1), mockEmbedding),
+            new EmbeddedChunk(chunkFor("Incident", "INC2", 0), mockEmbedding),
+            new EmbeddedChunk(chunkFor("WorkOrder", "WO1", 0), mockEmbedding));
+        when(objectMapper.writeValueAsString(anyMap())).thenReturn("{}");
+
+        // When
+        vectorStoreService.storeBatch(chunks);
+
+        // Then
+        verify(eventPublisher).publishEvent(SourceRecordsChangedEvent.of("Incident", Set.of("INC1", "INC2")));
+        verify(eventPublisher).publishEvent(SourceRecordsChangedEvent.of("WorkOrder", Set.of("WO1")));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void storeBatch_emptyList_publishesNothing() {
+        // When
+        vectorStoreService.storeBatch(Collections.emptyList());
+
+        // Then
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void contentHash_isSha256HexOfUtf8Text() {
+        // Then - same value as encode(sha256(convert_to(text, 'UTF8')), 'hex') in V22
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+            VectorStoreService.contentHash("abc"));
+        assertEquals(64, VectorStoreService.contentHash("\u0639\u0631\u0628\u064a").length());
+        assertNotEquals(VectorStoreService.contentHash("a"), VectorStoreService.contentHash("b"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void syncSourceRecords_deletesRemovedPatchesMetadataAndUpsertsEmbedded() throws Exception {
+        // Given - INC1 has a metadata-only change, INC2 lost a chunk, INC3 has new text
+        TextChunk unchanged = chunkFor("Incident", "INC1", 0);
+        TextChunk changed = chunkFor("Incident", "INC3", 0);
+        EmbeddedChunk embedded = new EmbeddedChunk(changed, mockEmbedding);
+        when(objectMapper.writeValueAsString(anyMap())).thenReturn("{}");
+        when(jdbcTemplate.query(contains("DELETE FROM embedding_store"), any(PreparedStatementSetter.class),
+            any(RowMapper.class))).thenReturn(List.of("INC2"));
+        when(jdbcTemplate.query(contains("UPDATE embedding_store"), any(PreparedStatementSetter.class),
+            any(RowMapper.class))).thenReturn(List.of("INC1"));
+
+        // When
+        vectorStoreService.syncSourceRecords("Incident", List.of("INC1", "INC2", "INC3"),
+            List.of(unchanged, changed), List.of(embedded));
+
+        // Then
+        verify(jdbcTemplate).query(contains("UPDATE embedding_store"), any(PreparedStatementSetter.class),
+            any(RowMapper.class));
+        verify(jdbcTemplate).batchUpdate(contains("content_hash"), eq(List.of(embedded)), eq(1), any());
+        verify(eventPublisher).publishEvent(SourceRecordsChangedEvent.of("Incident", Set.of("INC1", "INC2", "INC3")));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void syncSourceRecords_nothingChanged_writesNoEmbeddingsAndPublishesNothing() throws Exception {
+        // Given
+        TextChunk unchanged = chunkFor("Incident", "INC1", 0);
+        when(objectMapper.writeValueAsString(anyMap())).thenReturn("{}");
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+            .thenReturn(List.of());
+
+        // When
+        vectorStoreService.syncSourceRecords("Incident", List.of("INC1"), List.of(unchanged), List.of());
+
+        // Then
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void deleteBySourceRecord_publishesChangeEvent() {
+        // When
+        vectorStoreService.deleteBySourceRecord("Incident", "INC000123");
+
+        // Then
+        verify(eventPublisher).publishEvent(SourceRecordsChangedEvent.of("Incident", Set.of("INC000123")));
+    }
+
+    @Test
+    void deleteBySourceType_publishesWholeTypeEvent() {
+        // When
+        vectorStoreService.deleteBySourceType("Incident");
+
+        // Then
+        verify(eventPublisher).publishEvent(SourceRecordsChangedEvent.allOf("Incident"));
+    }
+
+    private TextChunk chunkFor(String sourceType, String sourceId, int sequence) {
+        return TextChunk.builder()
+            .chunkId(sourceId + "-" + sequence)
+            .content("Content")
+            .sourceType(sourceType)
+            .sourceId(sourceId)
+            .chunkType(TextChunk.ChunkType.DESCRIPTION)
+            .sequenceNumber(sequence)
+            .metadata(Map.of())
+            .build();
+    }
+
     @Test
     void deleteBySourceRecord_callsRepository() {
         // Given
@@ -425,25 +634,44 @@ class VectorStoreServiceTest {
     @Test
     void searchWithGroups_emptyGroups_returnsFilteredResults() {
         // Given
-        when(embeddingService.embed(anyString())).thenReturn(mockEmbedding);
-        when(embeddingRepository.searchSimilarWithGroups(anyString(), anyInt(), anyFloat(), eq("{}")))
+        when(queryEmbeddingCache.embed(anyString())).thenReturn(mockEmbedding);
+        when(vectorSearchRepository.search(anyString(), any(SearchFilter.class)))
             .thenReturn(Collections.emptyList());
 
         // When
         List<SearchResult> results = vectorStoreService.searchWithGroups("test", 10, 0.5f, Collections.emptyList());
 
-        // Then
+        // Then - empty groups still restrict to records without an assigned group
         assertNotNull(results);
         assertTrue(results.isEmpty());
-        verify(embeddingRepository).searchSimilarWithGroups(anyString(), anyInt(), anyFloat(), eq("{}"));
+        ArgumentCaptor<SearchFilter> filterCaptor = ArgumentCaptor.forClass(SearchFilter.class);
+        verify(vectorSearchRepository).search(anyString(), filterCaptor.capture());
+        assertEquals(List.of(), filterCaptor.getValue().normalizedGroups());
+    }
+
+    @Test
+    void searchWithGroups_nullGroups_restrictsToPublicRecords() {
+        // Given
+        when(queryEmbeddingCache.embed(anyString())).thenReturn(mockEmbedding);
+        when(vectorSearchRepository.search(anyString(), any(SearchFilter.class)))
+            .thenReturn(Collections.emptyList());
+
+        // When
+        vectorStoreService.searchWithGroups("test", 10, 0.5f, null);
+
+        // Then
+        ArgumentCaptor<SearchFilter> filterCaptor = ArgumentCaptor.forClass(SearchFilter.class);
+        verify(vectorSearchRepository).search(anyString(), filterCaptor.capture());
+        assertNotNull(filterCaptor.getValue().getAllowedGroups());
+        assertTrue(filterCaptor.getValue().getAllowedGroups().isEmpty());
     }
 
     @Test
     void searchBySourceTypes_multipleTypes_callsRepository() {
         // Given
         List<String> sourceTypes = List.of("Incident", "WorkOrder");
-        when(embeddingService.embed(anyString())).thenReturn(mockEmbedding);
-        when(embeddingRepository.searchSimilarBySourceTypes(anyString(), anyInt(), anyFloat(), anyString()))
+        when(queryEmbeddingCache.embed(anyString())).thenReturn(mockEmbedding);
+        when(vectorSearchRepository.search(anyString(), any(SearchFilter.class)))
             .thenReturn(Collections.emptyList());
 
         // When
@@ -451,16 +679,16 @@ class VectorStoreServiceTest {
 
         // Then
         assertNotNull(results);
-        ArgumentCaptor<String> typesCaptor = ArgumentCaptor.forClass(String.class);
-        verify(embeddingRepository).searchSimilarBySourceTypes(anyString(), anyInt(), anyFloat(), typesCaptor.capture());
-        assertEquals("{\"Incident\",\"WorkOrder\"}", typesCaptor.getValue());
+        ArgumentCaptor<SearchFilter> filterCaptor = ArgumentCaptor.forClass(SearchFilter.class);
+        verify(vectorSearchRepository).search(anyString(), filterCaptor.capture());
+        assertEquals(sourceTypes, filterCaptor.getValue().getSourceTypes());
     }
 
     @Test
     void searchByType_singleType_callsSearchBySourceTypes() {
         // Given
-        when(embeddingService.embed(anyString())).thenReturn(mockEmbedding);
-        when(embeddingRepository.searchSimilarBySourceTypes(anyString(), anyInt(), anyFloat(), anyString()))
+        when(queryEmbeddingCache.embed(anyString())).thenReturn(mockEmbedding);
+        when(vectorSearchRepository.search(anyString(), any(SearchFilter.class)))
             .thenReturn(Collections.emptyList());
 
         // When
@@ -468,7 +696,11 @@ class VectorStoreServiceTest {
 
         // Then
         assertNotNull(results);
-        verify(embeddingRepository).searchSimilarBySourceTypes(anyString(), eq(10), eq(0.8f), eq("{\"Incident\"}"));
+        ArgumentCaptor<SearchFilter> filterCaptor = ArgumentCaptor.forClass(SearchFilter.class);
+        verify(vectorSearchRepository).search(anyString(), filterCaptor.capture());
+        assertEquals(10, filterCaptor.getValue().getMaxResults());
+        assertEquals(0.8f, filterCaptor.getValue().getMinScore(), 0.0001f);
+        assertEquals(List.of("Incident"), filterCaptor.getValue().getSourceTypes());
     }
 
     @Test
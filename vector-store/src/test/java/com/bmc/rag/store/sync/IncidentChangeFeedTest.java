@@ -0,0 +1,184 @@
+package com.bmc.rag.store.sync;
+
+import com.bmc.rag.connector.extractor.ChangedEntry;
+import com.bmc.rag.connector.extractor.ExtractionCheckpoint;
+import com.bmc.rag.connector.extractor.IncidentExtractor;
+import com.bmc.rag.store.repository.SyncStateRepository;
+import com.bmc.rag.store.sync.IncrementalSyncService.HydrationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for IncidentChangeFeed.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class IncidentChangeFeedTest {
+
+    @Mock
+    private IncrementalSyncService syncService;
+
+    @Mock
+    private IncidentExtractor incidentExtractor;
+
+    @Mock
+    private SyncStateRepository syncStateRepository;
+
+    @InjectMocks
+    private IncidentChangeFeed changeFeed;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(changeFeed, "enabled", true);
+        ReflectionTestUtils.setField(changeFeed, "batchSize", 2);
+        ReflectionTestUtils.setField(changeFeed, "maxKeysPerPoll", 500);
+        ReflectionTestUtils.setField(changeFeed, "maxAttempts", 2);
+        when(syncService.isRemedyEnabled()).thenReturn(true);
+        when(syncStateRepository.getLastSyncTimestamp("Incident")).thenReturn(Optional.of(1700000000L));
+        when(incidentExtractor.pollChanges(any(), anyInt())).thenReturn(List.of());
+        when(syncService.hydrateIncidents(anyList())).thenReturn(new HydrationResult(1, 1, false, null));
+    }
+
+    @Test
+    void poll_disabled_doesNotTouchRemedy() {
+        // Given
+        ReflectionTestUtils.setField(changeFeed, "enabled", false);
+
+        // When
+        changeFeed.poll();
+
+        // Then
+        verifyNoInteractions(incidentExtractor);
+    }
+
+    @Test
+    void poll_noCompletedSync_waitsForOne() {
+        // Given
+        when(syncStateRepository.getLastSyncTimestamp("Incident")).thenReturn(Optional.empty());
+
+        // When
+        changeFeed.poll();
+
+        // Then
+        verify(incidentExtractor, never()).pollChanges(any(), anyInt());
+    }
+
+    @Test
+    void poll_firstPoll_startsAtLastSyncTimestamp() {
+        // When
+        changeFeed.poll();
+
+        // Then
+        verify(incidentExtractor).pollChanges(new ExtractionCheckpoint("", 1700000000L, 0), 500);
+    }
+
+    @Test
+    void poll_changes_hydratesInBatchesAndAdvancesCursor() {
+        // Given
+        when(incidentExtractor.pollChanges(any(), anyInt())).thenReturn(List.of(
+            new ChangedEntry("000000000000001", 1700000010L),
+            new ChangedEntry("000000000000002", 1700000020L),
+            new ChangedEntry("000000000000003", 1700000030L)), List.of());
+
+        // When
+        changeFeed.poll();
+        changeFeed.poll();
+
+        // Then
+        verify(syncService).hydrateIncidents(List.of("000000000000001", "000000000000002"));
+        verify(syncService).hydrateIncidents(List.of("000000000000003"));
+        verify(incidentExtractor).pollChanges(new ExtractionCheckpoint("000000000000003", 1700000030L, 3), 500);
+        assertThat(changeFeed.getPendingCount()).isZero();
+    }
+
+    @Test
+    void poll_batchDeferred_keepsQueueAndDedupesRepeatedChanges() {
+        // Given - The incident lock is held by a scheduled sync
+        when(syncService.hydrateIncidents(anyList()))
+            .thenReturn(HydrationResult.LOCK_BUSY);
+        when(incidentExtractor.pollChanges(any(), anyInt())).thenReturn(
+            List.of(new ChangedEntry("000000000000001", 1700000010L), new ChangedEntry("000000000000002", 1700000020L)),
+            List.of(new ChangedEntry("000000000000001", 1700000040L)));
+
+        // When
+        changeFeed.poll();
+        changeFeed.poll();
+
+        // Then - The incident changed again but is queued once
+        assertThat(changeFeed.getPendingCount()).isEqualTo(2);
+    }
+
+    @Test
+    void poll_batchFails_retriesIncidentsAloneBehindTheQueue() {
+        // Given - The first batch fails, everything after it succeeds
+        when(incidentExtractor.pollChanges(any(), anyInt())).thenReturn(List.of(
+            new ChangedEntry("000000000000001", 1700000010L),
+            new ChangedEntry("000000000000002", 1700000020L),
+            new ChangedEntry("000000000000003", 1700000030L)), List.of());
+        when(syncService.hydrateIncidents(List.of("000000000000001", "000000000000002")))
+            .thenReturn(HydrationResult.failed("ARERR 302"));
+
+        // When
+        changeFeed.poll();
+        changeFeed.poll();
+
+        // Then - The untried incident goes first, then each failed incident on its own
+        InOrder inOrder = inOrder(syncService);
+        inOrder.verify(syncService).hydrateIncidents(List.of("000000000000001", "000000000000002"));
+        inOrder.verify(syncService).hydrateIncidents(List.of("000000000000003"));
+        inOrder.verify(syncService).hydrateIncidents(List.of("000000000000001"));
+        inOrder.verify(syncService).hydrateIncidents(List.of("000000000000002"));
+        assertThat(changeFeed.getPendingCount()).isZero();
+        assertThat(changeFeed.getDroppedCount()).isZero();
+    }
+
+    @Test
+    void poll_incidentKeepsFailing_isDroppedAfterMaxAttempts() {
+        // Given - One incident can never be hydrated
+        when(incidentExtractor.pollChanges(any(), anyInt())).thenReturn(List.of(
+            new ChangedEntry("000000000000001", 1700000010L),
+            new ChangedEntry("000000000000002", 1700000020L)), List.of());
+        when(syncService.hydrateIncidents(anyList())).thenAnswer(invocation ->
+            invocation.<List<String>>getArgument(0).contains("000000000000001")
+                ? HydrationResult.failed("ARERR 302")
+                : new HydrationResult(1, 1, false, null));
+
+        // When
+        changeFeed.poll();
+        changeFeed.poll();
+        changeFeed.poll();
+
+        // Then - The other incident was stored and the failing one left the queue
+        verify(syncService).hydrateIncidents(List.of("000000000000002"));
+        verify(syncService, times(1)).hydrateIncidents(List.of("000000000000001"));
+        assertThat(changeFeed.getPendingCount()).isZero();
+        assertThat(changeFeed.getDroppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void poll_pollFails_keepsRunning() {
+        // Given
+        when(incidentExtractor.pollChanges(any(), anyInt())).thenThrow(new RuntimeException("ARERR 90"));
+
+        // When
+        changeFeed.poll();
+
+        // Then
+        verify(syncService, never()).hydrateIncidents(anyList());
+    }
+}
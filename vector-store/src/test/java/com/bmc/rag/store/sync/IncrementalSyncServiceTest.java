@@ -1,22 +1,29 @@
 package com.bmc.rag.store.sync;
 
 import com.bmc.rag.connector.config.RemedyConnectionConfig;
+import com.bmc.rag.connector.connection.ThreadLocalARContext;
 import com.bmc.rag.connector.extractor.*;
 import com.bmc.rag.connector.model.*;
+import com.bmc.rag.store.entity.SyncStateEntity;
 import com.bmc.rag.store.repository.SyncStateRepository;
+import com.bmc.rag.store.service.BulkEmbeddingLoader;
 import com.bmc.rag.store.service.VectorStoreService;
+import com.bmc.rag.store.sync.IncrementalSyncService.HydrationResult;
 import com.bmc.rag.store.sync.IncrementalSyncService.SyncResult;
 import com.bmc.rag.vectorization.chunking.*;
 import com.bmc.rag.vectorization.embedding.LocalEmbeddingService;
 import com.bmc.rag.vectorization.embedding.LocalEmbeddingService.EmbeddedChunk;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.mockito.stubbing.Answer;
 
 import java.time.Instant;
 import java.util.*;
@@ -72,6 +79,18 @@ class IncrementalSyncServiceTest {
     @Mock
     private ChangeRequestChunkStrategy changeRequestChunkStrategy;
 
+    @Mock
+    private BulkEmbeddingLoader bulkEmbeddingLoader;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private SyncPipelineMetrics syncMetrics = new SyncPipelineMetrics(meterRegistry);
+
+    @Spy
+    private SyncPipeline syncPipeline =
+        new SyncPipeline(new SyncPipelineMetrics(new SimpleMeterRegistry()), mock(ThreadLocalARContext.class));
+
     @InjectMocks
     private IncrementalSyncService syncService;
 
@@ -131,7 +150,7 @@ class IncrementalSyncServiceTest {
         // Given
         when(syncStateRepository.tryAcquireLock("Incident")).thenReturn(1);
         when(syncStateRepository.getLastSyncTimestamp("Incident")).thenReturn(Optional.of(1000L));
-        when(incidentExtractor.extractModifiedSince(1000L)).thenReturn(Collections.emptyList());
+        when(incidentExtractor.streamModifiedSince(eq(1000L), isNull(), any())).thenReturn(ExtractionCheckpoint.START);
 
         // When
         SyncResult result = syncService.syncIncidents();
@@ -151,7 +170,7 @@ class IncrementalSyncServiceTest {
         when(syncStateRepository.getLastSyncTimestamp("Incident")).thenReturn(Optional.of(1000L));
 
         IncidentRecord incident = createMockIncident("INC000123");
-        when(incidentExtractor.extractModifiedSince(1000L)).thenReturn(List.of(incident));
+        when(incidentExtractor.streamModifiedSince(eq(1000L), isNull(), any())).thenAnswer(streamsPage(List.of(incident)));
         when(workLogExtractor.batchExtractIncidentWorkLogs(anyList())).thenReturn(Map.of());
 
         TextChunk chunk = createMockChunk("chunk-1", "Content");
@@ -168,12 +187,184 @@ class IncrementalSyncServiceTest {
         assertEquals(1, result.recordsProcessed());
         assertEquals(1, result.chunksCreated());
         assertTrue(result.isSuccess());
-        verify(vectorStoreService).deleteBySourceRecord("Incident", "INC000123");
-        verify(vectorStoreService).storeBatch(anyList());
+        verify(vectorStoreService).syncSourceRecords("Incident", List.of("INC000123"), List.of(chunk), List.of(embeddedChunk));
         verify(syncStateRepository).updateSyncCompleted(eq("Incident"), anyLong(), eq(1));
         verify(syncStateRepository).releaseLock("Incident");
     }
 
+    @Test
+    void hydrateIncidents_storesWithoutTouchingSyncState() {
+        // Given
+        when(syncStateRepository.tryAcquireLock("Incident")).thenReturn(1);
+        IncidentRecord incident = createMockIncident("INC000123");
+        when(incidentExtractor.extractByRequestIds(List.of("000000000000123"))).thenReturn(List.of(incident));
+        when(workLogExtractor.batchExtractIncidentWorkLogs(anyList())).thenReturn(Map.of());
+
+        TextChunk chunk = createMockChunk("chunk-1", "Content");
+        when(incidentChunkStrategy.chunk(incident)).thenReturn(List.of(chunk));
+        EmbeddedChunk embeddedChunk = new EmbeddedChunk(chunk, mockEmbedding);
+        when(embeddingService.embedChunks(anyList())).thenReturn(List.of(embeddedChunk));
+
+        // When
+        HydrationResult result = syncService.hydrateIncidents(List.of("000000000000123"));
+
+        // Then
+        assertTrue(result.isSuccess());
+        assertEquals(1, result.recordsProcessed());
+        verify(vectorStoreService).syncSourceRecords("Incident", List.of("INC000123"), List.of(chunk), List.of(embeddedChunk));
+        verify(syncStateRepository, never()).updateSyncCompleted(anyString(), anyLong(), anyInt());
+        verify(syncMetrics, never()).recordSyncCompleted(anyString(), any());
+        verify(syncStateRepository).releaseLock("Incident");
+    }
+
+    @Test
+    void hydrateIncidents_lockHeld_reportsLockBusyWithoutExtracting() {
+        // Given
+        when(syncStateRepository.tryAcquireLock("Incident")).thenReturn(0);
+
+        // When
+        HydrationResult result = syncService.hydrateIncidents(List.of("000000000000123"));
+
+        // Then
+        assertTrue(result.lockBusy());
+        assertFalse(result.isSuccess());
+        verify(incidentExtractor, never()).extractByRequestIds(anyList());
+        verify(syncStateRepository, never()).releaseLock(anyString());
+    }
+
+    @Test
+    void hydrateIncidents_extractFails_reportsFailureWithoutMarkingSyncFailed() {
+        // Given
+        when(syncStateRepository.tryAcquireLock("Incident")).thenReturn(1);
+        when(incidentExtractor.extractByRequestIds(anyList())).thenThrow(new RuntimeException("ARERR 302"));
+
+        // When
+        HydrationResult result = syncService.hydrateIncidents(List.of("000000000000123"));
+
+        // Then
+        assertFalse(result.isSuccess());
+        assertFalse(result.lockBusy());
+        assertEquals("ARERR 302", result.errorMessage());
+        verify(syncStateRepository, never()).markSyncFailed(anyString(), anyString());
+        verify(syncStateRepository).releaseLock("Incident");
+    }
+
+    @Test
+    void syncIncidents_unchangedChunkText_skipsEmbeddingAndPatchesInPlace() {
+        // Given - stored hash matches, only the status (metadata) moved
+        when(syncStateRepository.tryAcquireLock("Incident")).thenReturn(1);
+        when(syncStateRepository.getLastSyncTimestamp("Incident")).thenReturn(Optional.of(1000L));
+
+        IncidentRecord incident = createMockIncident("INC000123");
+        when(incidentExtractor.streamModifiedSince(eq(1000L), isNull(), any())).thenAnswer(streamsPage(List.of(incident)));
+        when(workLogExtractor.batchExtractIncidentWorkLogs(anyList())).thenReturn(Map.of());
+
+        TextChunk unchanged = createMockChunk("chunk-1", "Content");
+        unchanged.addMetadata("status", "Resolved");
+        TextChunk changed = createMockChunk("chunk-2", "New work log");
+        when(incidentChunkStrategy.chunk(incident)).thenReturn(List.of(unchanged, changed));
+        when(vectorStoreService.findContentHashes("Incident", List.of("INC000123"))).thenReturn(Map.of(
+            "chunk-1", VectorStoreService.contentHash("Content"),
+            "chunk-2", VectorStoreService.contentHash("Old work log")));
+
+        EmbeddedChunk embeddedChunk = new EmbeddedChunk(changed, mockEmbedding);
+        when(embeddingService.embedChunks(List.of(changed))).thenReturn(List.of(embeddedChunk));
+
+        // When
+        SyncResult result = syncService.syncIncidents();
+
+        // Then
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.chunksCreated());
+        verify(embeddingService).embedChunks(List.of(changed));
+        verify(vectorStoreService).syncSourceRecords(
+            "Incident", List.of("INC000123"), List.of(unchanged, changed), List.of(embeddedChunk));
+        verify(vectorStoreService, never()).deleteBySourceRecord(anyString(), anyString());
+    }
+
+    @Test
+    void syncIncidents_allChunksUnchanged_doesNotEmbed() {
+        // Given
+        when(syncStateRepository.tryAcquireLock("Incident")).thenReturn(1);
+        when(syncStateRepository.getLastSyncTimestamp("Incident")).thenReturn(Optional.of(1000L));
+
+        IncidentRecord incident = createMockIncident("INC000123");
+        when(incidentExtractor.streamModifiedSince(eq(1000L), isNull(), any())).thenAnswer(streamsPage(List.of(incident)));
+        when(workLogExtractor.batchExtractIncidentWorkLogs(anyList())).thenReturn(Map.of());
+
+        TextChunk chunk = createMockChunk("chunk-1", "Content");
+        when(incidentChunkStrategy.chunk(incident)).thenReturn(List.of(chunk));
+        when(vectorStoreService.findContentHashes("Incident", List.of("INC000123")))
+            .thenReturn(Map.of("chunk-1", VectorStoreService.contentHash("Content")));
+
+        // When
+        SyncResult result = syncService.syncIncidents();
+
+        // Then
+        assertTrue(result.isSuccess());
+        verify(embeddingService, never()).embedChunks(anyList());
+        verify(vectorStoreService).syncSourceRecords("Incident", List.of("INC000123"), List.of(chunk), List.of());
+        verify(syncStateRepository).updateSyncCompleted(eq("Incident"), anyLong(), eq(1));
+    }
+
+    @Test
+    void syncIncidents_success_resetsFreshnessLag() {
+        // Given
+        when(syncStateRepository.tryAcquireLock("Incident")).thenReturn(1);
+        when(syncStateRepository.getLastSyncTimestamp("Incident")).thenReturn(Optional.of(1000L));
+        when(incidentExtractor.streamModifiedSince(eq(1000L), isNull(), any())).thenReturn(ExtractionCheckpoint.START);
+
+        // When
+        syncService.syncIncidents();
+
+        // Then
+        verify(syncMetrics).recordSyncCompleted(eq("Incident"), any(Instant.class));
+        double lag = meterRegistry.get("rag.sync.freshness.lag").tag("source_type", "Incident").gauge().value();
+        assertTrue(lag >= 0 && lag < 60, "lag=" + lag);
+    }
+
+    @Test
+    void syncIncidents_failure_doesNotResetFreshnessLag() {
+        // Given
+        when(syncStateRepository.tryAcquireLock("Incident")).thenReturn(1);
+        when(syncStateRepository.getLastSyncTimestamp("Incident")).thenReturn(Optional.of(1000L));
+        when(incidentExtractor.streamModifiedSince(eq(1000L), isNull(), any())).thenThrow(new RuntimeException("Remedy down"));
+
+        // When
+        SyncResult result = syncService.syncIncidents();
+
+        // Then
+        assertFalse(result.isSuccess());
+        verify(syncMetrics, never()).recordSyncCompleted(anyString(), any());
+    }
+
+    @Test
+    void initFreshness_seedsLagFromCompletedSyncState() {
+        // Given
+        SyncStateEntity completed = SyncStateEntity.builder()
+            .sourceType("KnowledgeArticle")
+            .status("completed")
+            .lastSyncAt(Instant.now().minusSeconds(3600))
+            .build();
+        SyncStateEntity failed = SyncStateEntity.builder()
+            .sourceType("ChangeRequest")
+            .status("failed")
+            .lastSyncAt(Instant.now())
+            .build();
+        when(syncStateRepository.findBySourceType(anyString())).thenReturn(Optional.empty());
+        when(syncStateRepository.findBySourceType("KnowledgeArticle")).thenReturn(Optional.of(completed));
+        when(syncStateRepository.findBySourceType("ChangeRequest")).thenReturn(Optional.of(failed));
+
+        // When
+        syncService.initFreshness();
+
+        // Then
+        double lag = meterRegistry.get("rag.sync.freshness.lag")
+            .tag("source_type", "KnowledgeArticle").gauge().value();
+        assertTrue(lag >= 3600 && lag < 3660, "lag=" + lag);
+        assertNull(meterRegistry.find("rag.sync.freshness.lag").tag("source_type", "ChangeRequest").gauge());
+    }
+
     @Test
     void syncIncidents_withWorkLogs_attachesWorkLogs() {
         // Given
@@ -181,7 +372,7 @@ class IncrementalSyncServiceTest {
         when(syncStateRepository.getLastSyncTimestamp("Incident")).thenReturn(Optional.of(1000L));
 
         IncidentRecord incident = createMockIncident("INC000123");
-        when(incidentExtractor.extractModifiedSince(1000L)).thenReturn(List.of(incident));
+        when(incidentExtractor.streamModifiedSince(eq(1000L), isNull(), any())).thenAnswer(streamsPage(List.of(incident)));
 
         WorkLogEntry workLog = WorkLogEntry.builder()
             .workLogId("WL001")
@@ -218,7 +409,7 @@ class IncrementalSyncServiceTest {
         assertNotNull(result);
         assertEquals(0, result.recordsProcessed());
         assertEquals("Sync already in progress for Incident", result.errorMessage());
-        verify(incidentExtractor, never()).extractModifiedSince(anyLong());
+        verify(incidentExtractor, never()).streamModifiedSince(anyLong(), any(), any());
         verify(syncStateRepository, never()).releaseLock("Incident");
     }
 
@@ -228,7 +419,7 @@ class IncrementalSyncServiceTest {
         when(syncStateRepository.hasStalelock("Incident", 60)).thenReturn(true);
         when(syncStateRepository.tryAcquireLock("Incident")).thenReturn(1);
         when(syncStateRepository.getLastSyncTimestamp("Incident")).thenReturn(Optional.of(1000L));
-        when(incidentExtractor.extractModifiedSince(anyLong())).thenReturn(Collections.emptyList());
+        when(incidentExtractor.streamModifiedSince(anyLong(), any(), any())).thenReturn(ExtractionCheckpoint.START);
 
         // When
         syncService.syncIncidents();
@@ -243,7 +434,7 @@ class IncrementalSyncServiceTest {
         // Given
         when(syncStateRepository.tryAcquireLock("Incident")).thenReturn(1);
         when(syncStateRepository.getLastSyncTimestamp("Incident")).thenReturn(Optional.of(1000L));
-        when(incidentExtractor.extractModifiedSince(anyLong()))
+        when(incidentExtractor.streamModifiedSince(anyLong(), any(), any()))
             .thenThrow(new RuntimeException("ARERR 93: Timeout"));
 
         // When
@@ -266,7 +457,7 @@ class IncrementalSyncServiceTest {
 
         IncidentRecord incident1 = createMockIncidentWithTimestamp("INC001", 2000L);
         IncidentRecord incident2 = createMockIncidentWithTimestamp("INC002", 3000L);
-        when(incidentExtractor.extractModifiedSince(1000L)).thenReturn(List.of(incident1, incident2));
+        when(incidentExtractor.streamModifiedSince(eq(1000L), isNull(), any())).thenAnswer(streamsPage(List.of(incident1, incident2)));
         when(workLogExtractor.batchExtractIncidentWorkLogs(anyList())).thenReturn(Map.of());
 
         TextChunk chunk = createMockChunk("chunk-1", "Content");
@@ -289,7 +480,7 @@ class IncrementalSyncServiceTest {
         when(syncStateRepository.getLastSyncTimestamp("WorkOrder")).thenReturn(Optional.of(1000L));
 
         WorkOrderRecord workOrder = createMockWorkOrder("WO000123");
-        when(workOrderExtractor.extractModifiedSince(1000L)).thenReturn(List.of(workOrder));
+        when(workOrderExtractor.streamModifiedSince(eq(1000L), isNull(), any())).thenAnswer(streamsPage(List.of(workOrder)));
         when(workLogExtractor.batchExtractWorkOrderWorkLogs(anyList())).thenReturn(Map.of());
 
         TextChunk chunk = createMockChunk("chunk-1", "Work order content");
@@ -305,7 +496,8 @@ class IncrementalSyncServiceTest {
         assertEquals(1, result.recordsProcessed());
         assertEquals(1, result.chunksCreated());
         assertTrue(result.isSuccess());
-        verify(vectorStoreService).deleteBySourceRecord("WorkOrder", "WO000123");
+        verify(vectorStoreService).syncSourceRecords(
+            "WorkOrder", List.of("WO000123"), List.of(chunk), List.of(embeddedChunk));
     }
 
     @Test
@@ -315,7 +507,7 @@ class IncrementalSyncServiceTest {
         when(syncStateRepository.getLastSyncTimestamp("KnowledgeArticle")).thenReturn(Optional.of(1000L));
 
         KnowledgeArticle article = createMockKnowledgeArticle("KA000123");
-        when(knowledgeExtractor.extractPublishedArticles(1000L)).thenReturn(List.of(article));
+        when(knowledgeExtractor.streamPublishedArticles(eq(1000L), isNull(), any())).thenAnswer(streamsPage(List.of(article)));
 
         TextChunk chunk = createMockChunk("chunk-1", "Article content");
         when(knowledgeChunkStrategy.chunk(article)).thenReturn(List.of(chunk));
@@ -329,7 +521,7 @@ class IncrementalSyncServiceTest {
         // Then
         assertEquals(1, result.recordsProcessed());
         assertTrue(result.isSuccess());
-        verify(knowledgeExtractor).extractPublishedArticles(1000L);
+        verify(knowledgeExtractor).streamPublishedArticles(eq(1000L), isNull(), any());
     }
 
     @Test
@@ -339,7 +531,7 @@ class IncrementalSyncServiceTest {
         when(syncStateRepository.getLastSyncTimestamp("ChangeRequest")).thenReturn(Optional.of(1000L));
 
         ChangeRequestRecord changeRequest = createMockChangeRequest("CHG000123");
-        when(changeRequestExtractor.extractModifiedSince(1000L)).thenReturn(List.of(changeRequest));
+        when(changeRequestExtractor.streamModifiedSince(eq(1000L), isNull(), any())).thenAnswer(streamsPage(List.of(changeRequest)));
         when(workLogExtractor.batchExtractChangeWorkLogs(anyList())).thenReturn(Map.of());
 
         TextChunk chunk = createMockChunk("chunk-1", "Change request content");
@@ -366,7 +558,7 @@ class IncrementalSyncServiceTest {
 
         // Then
         verify(syncStateRepository, never()).isAnySyncRunning();
-        verify(incidentExtractor, never()).extractModifiedSince(anyLong());
+        verify(incidentExtractor, never()).streamModifiedSince(anyLong(), any(), any());
     }
 
     @Test
@@ -378,7 +570,7 @@ class IncrementalSyncServiceTest {
         syncService.runIncrementalSync();
 
         // Then
-        verify(incidentExtractor, never()).extractModifiedSince(anyLong());
+        verify(incidentExtractor, never()).streamModifiedSince(anyLong(), any(), any());
     }
 
     @Test
@@ -386,7 +578,7 @@ class IncrementalSyncServiceTest {
         // Given
         when(syncStateRepository.tryAcquireLock("Incident")).thenReturn(1);
         when(syncStateRepository.getLastSyncTimestamp("Incident")).thenReturn(Optional.of(0L));
-        when(incidentExtractor.extractModifiedSince(0L)).thenReturn(Collections.emptyList());
+        when(incidentExtractor.streamModifiedSince(eq(0L), isNull(), any())).thenReturn(ExtractionCheckpoint.START);
 
         // When
         syncService.forceFullSync("Incident");
@@ -396,6 +588,158 @@ class IncrementalSyncServiceTest {
         verify(vectorStoreService).deleteBySourceType("Incident");
     }
 
+    @Test
+    void forceFullSync_bulkLoad_stagesChunksAndMergesOnce() {
+        // Given
+        when(syncStateRepository.tryAcquireLock("Incident")).thenReturn(1);
+        when(syncStateRepository.getLastSyncTimestamp("Incident")).thenReturn(Optional.of(0L));
+
+        IncidentRecord first = createMockIncident("INC000001");
+        IncidentRecord second = createMockIncident("INC000002");
+        when(incidentExtractor.streamWithQualification(isNull(), isNull(), any()))
+            .thenAnswer(streamsPage(List.of(first, second)));
+        when(workLogExtractor.batchExtractIncidentWorkLogs(anyList())).thenReturn(Map.of());
+
+        TextChunk chunk = createMockChunk("chunk-1", "Content");
+        when(incidentChunkStrategy.chunk(any(IncidentRecord.class))).thenReturn(List.of(chunk));
+        List<EmbeddedChunk> embedded = List.of(new EmbeddedChunk(chunk, mockEmbedding));
+        when(embeddingService.embedChunks(anyList())).thenReturn(embedded);
+
+        BulkEmbeddingLoader.BulkLoad load = mock(BulkEmbeddingLoader.BulkLoad.class);
+        when(bulkEmbeddingLoader.open("Incident", true)).thenReturn(load);
+
+        // When
+        SyncResult result = syncService.forceFullSync("Incident", true, true);
+
+        // Then
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.recordsProcessed());
+        verify(vectorStoreService).deleteBySourceType("Incident");
+        verify(load).add(embedded);
+        verify(load).merge();
+        verify(load).close();
+        verify(incidentExtractor, never()).streamModifiedSince(anyLong(), any(), any());
+        verify(vectorStoreService, never()).storeBatch(anyList());
+        verify(vectorStoreService, never()).deleteBySourceRecord(anyString(), anyString());
+        verify(syncStateRepository).updateSyncCompleted(eq("Incident"), anyLong(), eq(2));
+    }
+
+    @Test
+    void forceFullSync_bulkLoadFails_doesNotAdvanceTimestamp() {
+        // Given
+        when(syncStateRepository.tryAcquireLock("Incident")).thenReturn(1);
+        when(syncStateRepository.getLastSyncTimestamp("Incident")).thenReturn(Optional.of(0L));
+
+        IncidentRecord incident = createMockIncident("INC000001");
+        when(incidentExtractor.streamWithQualification(isNull(), isNull(), any()))
+            .thenAnswer(streamsPage(List.of(incident)));
+        when(workLogExtractor.batchExtractIncidentWorkLogs(anyList())).thenReturn(Map.of());
+        TextChunk chunk = createMockChunk("chunk-1", "Content");
+        when(incidentChunkStrategy.chunk(incident)).thenReturn(List.of(chunk));
+        when(embeddingService.embedChunks(anyList())).thenReturn(List.of(new EmbeddedChunk(chunk, mockEmbedding)));
+
+        BulkEmbeddingLoader.BulkLoad load = mock(BulkEmbeddingLoader.BulkLoad.class);
+        when(bulkEmbeddingLoader.open("Incident", false)).thenReturn(load);
+        when(load.merge()).thenThrow(new RuntimeException("COPY failed"));
+
+        // When
+        SyncResult result = syncService.forceFullSync("Incident", true, false);
+
+        // Then
+        assertFalse(result.isSuccess());
+        verify(syncStateRepository).markSyncFailed("Incident", "COPY failed");
+        verify(syncStateRepository, never()).updateSyncCompleted(eq("Incident"), anyLong(), eq(1));
+        verify(load).close();
+    }
+
+    @Test
+    void streamFullSync_fromScratch_upsertsEachPageAndRemovesUnseenRecords() {
+        // Given - Two pages streamed from Remedy; INC000003 is stored but no longer in Remedy
+        when(syncStateRepository.tryAcquireLock("Incident")).thenReturn(1);
+        when(vectorStoreService.getSourceIds("Incident")).thenReturn(Set.of("INC000001", "INC000003"));
+        when(syncStateRepository.getLastSyncTimestamp("Incident")).thenReturn(Optional.of(0L));
+        when(workLogExtractor.batchExtractIncidentWorkLogs(anyList())).thenReturn(Map.of());
+        IncidentRecord first = createMockIncident("INC000001");
+        IncidentRecord second = createMockIncident("INC000002");
+        when(incidentChunkStrategy.chunk(first)).thenReturn(List.of(createMockChunk("INC000001_0", "First")));
+        when(incidentChunkStrategy.chunk(second)).thenReturn(List.of(createMockChunk("INC000002_0", "Second")));
+        when(embeddingService.embedChunks(anyList())).thenAnswer(inv -> inv.<List<TextChunk>>getArgument(0).stream()
+            .map(chunk -> new EmbeddedChunk(chunk, mockEmbedding)).toList());
+        ExtractionCheckpoint afterFirst = new ExtractionCheckpoint("000000000000001", 1700000100L, 1);
+        ExtractionCheckpoint afterSecond = new ExtractionCheckpoint("000000000000002", 1700000200L, 2);
+        when(incidentExtractor.streamWithQualification(isNull(), isNull(), any())).thenAnswer(inv -> {
+            PageConsumer<IncidentRecord> consumer = inv.getArgument(2);
+            consumer.accept(List.of(first), afterFirst);
+            consumer.accept(List.of(second), afterSecond);
+            return afterSecond;
+        });
+
+        // When
+        SyncResult result = syncService.streamFullSync("Incident", false);
+
+        // Then
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.recordsProcessed());
+        assertEquals(2, result.chunksCreated());
+        verify(vectorStoreService, never()).deleteBySourceType(anyString());
+        verify(vectorStoreService, times(2)).syncSourceRecords(eq("Incident"), anyList(), anyList(), anyList());
+        verify(vectorStoreService).deleteBySourceRecord("Incident", "INC000003");
+        verify(vectorStoreService, never()).deleteBySourceRecord("Incident", "INC000001");
+        verify(incidentExtractor, never()).checkExistence(anyList());
+        verify(syncStateRepository).saveCheckpoint("Incident", "000000000000001", 1700000100L, 1);
+        verify(syncStateRepository).saveCheckpoint("Incident", "000000000000002", 1700000200L, 2);
+        verify(syncStateRepository).updateSyncCompleted("Incident", 1700000200L, 2);
+        verify(syncStateRepository, times(2)).clearCheckpoint("Incident");
+        verify(incidentExtractor, never()).streamModifiedSince(anyLong(), any(), any());
+    }
+
+    @Test
+    void streamFullSync_resume_continuesAfterCheckpointAndOnlyRemovesRecordsGoneFromRemedy() {
+        // Given - An earlier run stopped after 41 records; WO000002 has since been deleted in Remedy
+        when(syncStateRepository.tryAcquireLock("WorkOrder")).thenReturn(1);
+        when(vectorStoreService.getSourceIds("WorkOrder")).thenReturn(Set.of("WO000001", "WO000002"));
+        when(workOrderExtractor.checkExistence(anyList())).thenReturn(Set.of("WO000001"));
+        when(syncStateRepository.getLastSyncTimestamp("WorkOrder")).thenReturn(Optional.of(1700000000L));
+        when(syncStateRepository.findBySourceType("WorkOrder")).thenReturn(Optional.of(SyncStateEntity.builder()
+            .sourceType("WorkOrder")
+            .checkpointEntryId("000000000000041")
+            .checkpointLastModified(1690000000L)
+            .checkpointRecords(41)
+            .build()));
+        ExtractionCheckpoint resumeFrom = new ExtractionCheckpoint("000000000000041", 1690000000L, 41);
+        when(workOrderExtractor.streamWithQualification(isNull(), eq(resumeFrom), any()))
+            .thenReturn(new ExtractionCheckpoint("000000000000041", 1690000000L, 41));
+
+        // When
+        SyncResult result = syncService.streamFullSync("WorkOrder", true);
+
+        // Then - Data is kept and the sync timestamp does not move backwards
+        assertTrue(result.isSuccess());
+        assertEquals(41, result.recordsProcessed());
+        verify(vectorStoreService, never()).deleteBySourceType(anyString());
+        verify(vectorStoreService).deleteBySourceRecord("WorkOrder", "WO000002");
+        verify(vectorStoreService, never()).deleteBySourceRecord("WorkOrder", "WO000001");
+        verify(syncStateRepository).updateSyncCompleted("WorkOrder", 1700000000L, 41);
+        verify(syncStateRepository).clearCheckpoint("WorkOrder");
+    }
+
+    @Test
+    void streamFullSync_pageFails_keepsCheckpointAndReleasesLock() {
+        // Given
+        when(syncStateRepository.tryAcquireLock("KnowledgeArticle")).thenReturn(1);
+        when(knowledgeExtractor.streamPublishedArticles(eq(0L), isNull(), any()))
+            .thenThrow(new RuntimeException("Remedy unavailable"));
+
+        // When
+        SyncResult result = syncService.streamFullSync("KnowledgeArticle", false);
+
+        // Then
+        assertFalse(result.isSuccess());
+        verify(syncStateRepository).markSyncFailed("KnowledgeArticle", "Remedy unavailable");
+        verify(syncStateRepository, never()).updateSyncCompleted(eq("KnowledgeArticle"), anyLong(), anyInt());
+        verify(syncStateRepository).releaseLock("KnowledgeArticle");
+    }
+
     @Test
     void forceFullSync_unknownSourceType_throwsException() {
         // When & Then
@@ -456,6 +800,18 @@ class IncrementalSyncServiceTest {
         assertFalse(result.isSuccess());
     }
 
+    /**
+     * Helper: Answer for a stream method that hands out the records as a single page.
+     */
+    private static <R> Answer<ExtractionCheckpoint> streamsPage(List<R> records) {
+        return inv -> {
+            PageConsumer<R> consumer = inv.getArgument(2);
+            ExtractionCheckpoint checkpoint = new ExtractionCheckpoint("000000000000001", 2000L, records.size());
+            consumer.accept(records, checkpoint);
+            return checkpoint;
+        };
+    }
+
     /**
      * Helper: Create mock incident.
      */
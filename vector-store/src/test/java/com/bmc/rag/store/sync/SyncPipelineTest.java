@@ -0,0 +1,344 @@
+package com.bmc.rag.store.sync;
+
+import com.bmc.rag.connector.connection.ThreadLocalARContext;
+import com.bmc.rag.connector.extractor.ExtractionCheckpoint;
+import com.bmc.rag.store.sync.SyncPipeline.PipelineResult;
+import com.bmc.rag.store.sync.SyncPipeline.SourceSpec;
+import com.bmc.rag.vectorization.chunking.TextChunk;
+import com.bmc.rag.vectorization.embedding.LocalEmbeddingService.EmbeddedChunk;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SyncPipeline.
+ */
+class SyncPipelineTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ThreadLocalARContext arContext;
+    private SyncPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        arContext = mock(ThreadLocalARContext.class);
+        pipeline = new SyncPipeline(new SyncPipelineMetrics(meterRegistry), arContext);
+        ReflectionTestUtils.setField(pipeline, "pageSize", 3);
+        ReflectionTestUtils.setField(pipeline, "embedBatchSize", 4);
+        ReflectionTestUtils.setField(pipeline, "embedWorkers", 3);
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", 1);
+    }
+
+    @Test
+    void run_emptyRecords_returnsZeroWithoutCallingWriter() {
+        // Given
+        ChunkWriter writer = mock(ChunkWriter.class);
+
+        // When
+        PipelineResult result = pipeline.run("Incident", List.of(), spec(id -> 1, EMBED), writer);
+
+        // Then
+        assertEquals(new PipelineResult(0, 0, 0, 0L, null), result);
+        verifyNoInteractions(writer);
+    }
+
+    @Test
+    void run_manyRecords_writesEveryRecordExactlyOnceWithAllItsChunks() {
+        // Given
+        List<Rec> records = records(25);
+        Map<String, List<String>> written = new ConcurrentHashMap<>();
+        List<String> writerThreads = new CopyOnWriteArrayList<>();
+        ChunkWriter writer = (sourceType, sourceIds, chunks, embedded) -> {
+            writerThreads.add(Thread.currentThread().getName());
+            for (String id : sourceIds) {
+                assertNull(written.put(id, new ArrayList<>()), "record written twice: " + id);
+            }
+            for (EmbeddedChunk ec : embedded) {
+                assertTrue(sourceIds.contains(ec.chunk().getSourceId()), "chunk split from its record");
+                written.get(ec.chunk().getSourceId()).add(ec.chunk().getChunkId());
+            }
+        };
+
+        // When - record i has i % 3 chunks, so some records have none
+        PipelineResult result = pipeline.run("Incident", records, spec(id -> id % 3, EMBED), writer);
+
+        // Then
+        assertEquals(25, result.recordsProcessed());
+        assertEquals(IntStream.range(0, 25).map(i -> i % 3).sum(), result.chunksCreated());
+        assertEquals(result.chunksCreated(), result.chunksEmbedded());
+        assertEquals(2024L, result.maxLastModified());
+        assertEquals(25, written.size());
+        for (int i = 0; i < 25; i++) {
+            assertEquals(i % 3, written.get("ID" + i).size());
+        }
+        String caller = Thread.currentThread().getName();
+        assertTrue(writerThreads.stream().allMatch(caller::equals), "store stage must run on the calling thread");
+        verify(arContext).closeContext();
+    }
+
+    @Test
+    void run_writerSelectsChunks_embedsOnlySelectedAndPassesAllChunksToWriter() {
+        // Given - the writer skips the first chunk of every record
+        List<Integer> embeddedCounts = new CopyOnWriteArrayList<>();
+        Function<List<TextChunk>, List<EmbeddedChunk>> counting = chunks -> {
+            embeddedCounts.add(chunks.size());
+            return EMBED.apply(chunks);
+        };
+        Map<String, Integer> allChunks = new ConcurrentHashMap<>();
+        List<String> embeddedIds = new CopyOnWriteArrayList<>();
+        ChunkWriter writer = new ChunkWriter() {
+            @Override
+            public List<TextChunk> selectForEmbedding(String sourceType, List<String> sourceIds,
+                                                      List<TextChunk> chunks) {
+                return chunks.stream().filter(c -> !c.getChunkId().endsWith("-0")).toList();
+            }
+
+            @Override
+            public void write(String sourceType, List<String> sourceIds, List<TextChunk> chunks,
+                              List<EmbeddedChunk> embedded) {
+                chunks.forEach(c -> allChunks.merge(c.getSourceId(), 1, Integer::sum));
+                embedded.forEach(ec -> embeddedIds.add(ec.chunk().getChunkId()));
+            }
+        };
+
+        // When - every record has 2 chunks
+        PipelineResult result = pipeline.run("Incident", records(10), spec(id -> 2, counting), writer);
+
+        // Then
+        assertEquals(20, result.chunksCreated());
+        assertEquals(10, result.chunksEmbedded());
+        assertEquals(10, embeddedCounts.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(10, allChunks.size());
+        assertTrue(allChunks.values().stream().allMatch(n -> n == 2));
+        assertTrue(embeddedIds.stream().allMatch(id -> id.endsWith("-1")), embeddedIds.toString());
+    }
+
+    @Test
+    void run_nothingSelected_neverCallsEmbedder() {
+        // Given
+        Function<List<TextChunk>, List<EmbeddedChunk>> failing = chunks -> {
+            throw new AssertionError("embedder called");
+        };
+        ChunkWriter writer = new ChunkWriter() {
+            @Override
+            public List<TextChunk> selectForEmbedding(String sourceType, List<String> sourceIds,
+                                                      List<TextChunk> chunks) {
+                return List.of();
+            }
+
+            @Override
+            public void write(String sourceType, List<String> sourceIds, List<TextChunk> chunks,
+                              List<EmbeddedChunk> embedded) {
+                assertTrue(embedded.isEmpty());
+            }
+        };
+
+        // When
+        PipelineResult result = pipeline.run("Incident", records(5), spec(id -> 1, failing), writer);
+
+        // Then
+        assertEquals(5, result.chunksCreated());
+        assertEquals(0, result.chunksEmbedded());
+    }
+
+    @Test
+    void run_enrichesEachPageBeforeChunking() {
+        // Given
+        List<Rec> records = records(7);
+        List<Integer> pageSizes = new CopyOnWriteArrayList<>();
+        SourceSpec<Rec> spec = new SourceSpec<>(
+            Rec::id, Rec::modified,
+            page -> {
+                pageSizes.add(page.size());
+                page.forEach(r -> r.enriched = true);
+            },
+            r -> {
+                assertTrue(r.enriched, "record chunked before its page was enriched");
+                return chunks(r, 1);
+            },
+            EMBED);
+
+        // When
+        pipeline.run("Incident", records, spec, (type, ids, chunks, embedded) -> { });
+
+        // Then
+        assertEquals(List.of(3, 3, 1), pageSizes);
+    }
+
+    @Test
+    void run_embedderFails_propagatesOriginalException() {
+        // Given
+        Function<List<TextChunk>, List<EmbeddedChunk>> failing = chunks -> {
+            throw new IllegalStateException("ONNX session closed");
+        };
+
+        // When & Then
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+            () -> pipeline.run("Incident", records(20), spec(id -> 2, failing), (type, ids, chunks, embedded) -> { }));
+        assertEquals("ONNX session closed", e.getMessage());
+    }
+
+    @Test
+    void run_writerFails_stopsUpstreamStages() {
+        // Given
+        ChunkWriter failing = (type, ids, chunks, embedded) -> {
+            throw new RuntimeException("DB down");
+        };
+
+        // When & Then - must not hang on full queues
+        RuntimeException e = assertThrows(RuntimeException.class,
+            () -> pipeline.run("Incident", records(200), spec(id -> 2, EMBED), failing));
+        assertEquals("DB down", e.getMessage());
+    }
+
+    @Test
+    void run_pageSource_checkpointsEachPageOnceItsRecordsAreWritten() {
+        // Given - 4 source pages of 5 records; pipeline pages of 3 split them unevenly
+        List<Rec> records = records(20);
+        Set<String> written = ConcurrentHashMap.newKeySet();
+        List<ExtractionCheckpoint> stored = new ArrayList<>();
+        List<String> sourceThreads = new CopyOnWriteArrayList<>();
+        SyncPipeline.PageSource<Rec> source = consumer -> {
+            sourceThreads.add(Thread.currentThread().getName());
+            ExtractionCheckpoint checkpoint = ExtractionCheckpoint.START;
+            for (int i = 0; i < records.size(); i += 5) {
+                checkpoint = new ExtractionCheckpoint("ID" + (i + 4), 2000L + i + 4, i + 5);
+                consumer.accept(records.subList(i, i + 5), checkpoint);
+            }
+            return checkpoint;
+        };
+        ChunkWriter writer = (type, ids, chunks, embedded) -> written.addAll(ids);
+
+        // When
+        PipelineResult result = pipeline.run("Incident", source, spec(id -> 2, EMBED), writer, checkpoint -> {
+            for (int i = 0; i < checkpoint.recordsExtracted(); i++) {
+                assertTrue(written.contains("ID" + i), "checkpoint " + checkpoint + " before ID" + i + " was written");
+            }
+            stored.add(checkpoint);
+        });
+
+        // Then
+        assertEquals(List.of(5, 10, 15, 20),
+            stored.stream().map(ExtractionCheckpoint::recordsExtracted).toList());
+        assertEquals(20, result.recordsProcessed());
+        assertEquals(new ExtractionCheckpoint("ID19", 2019L, 20), result.checkpoint());
+        assertFalse(sourceThreads.contains(Thread.currentThread().getName()), "source must be read on the pipeline");
+        verify(arContext).closeContext();
+    }
+
+    @Test
+    void run_pageSourceWithEmptyPage_stillReportsItsCheckpoint() {
+        // Given - a page whose entries all failed to map
+        ExtractionCheckpoint empty = new ExtractionCheckpoint("ID9", 2009L, 0);
+        ExtractionCheckpoint last = new ExtractionCheckpoint("ID12", 2012L, 3);
+        List<ExtractionCheckpoint> stored = new ArrayList<>();
+        SyncPipeline.PageSource<Rec> source = consumer -> {
+            consumer.accept(List.of(), empty);
+            consumer.accept(records(3), last);
+            return last;
+        };
+
+        // When
+        PipelineResult result = pipeline.run("Incident", source, spec(id -> 1, EMBED),
+            (type, ids, chunks, embedded) -> { }, stored::add);
+
+        // Then
+        assertEquals(List.of(empty, last), stored);
+        assertEquals(3, result.recordsProcessed());
+    }
+
+    @Test
+    void run_pageSourceFails_propagatesWithoutCheckpointingLaterPages() {
+        // Given
+        List<ExtractionCheckpoint> stored = new CopyOnWriteArrayList<>();
+        ExtractionCheckpoint first = new ExtractionCheckpoint("ID2", 2002L, 3);
+        SyncPipeline.PageSource<Rec> source = consumer -> {
+            consumer.accept(records(3), first);
+            throw new RuntimeException("ARERR 93: Timeout");
+        };
+
+        // When & Then
+        RuntimeException e = assertThrows(RuntimeException.class, () -> pipeline.run("Incident", source,
+            spec(id -> 1, EMBED), (type, ids, chunks, embedded) -> { }, stored::add));
+        assertEquals("ARERR 93: Timeout", e.getMessage());
+        assertTrue(stored.stream().allMatch(first::equals));
+    }
+
+    @Test
+    void run_recordsPerStageMetrics() {
+        // When
+        pipeline.run("Incident", records(10), spec(id -> 2, EMBED), (type, ids, chunks, embedded) -> { });
+
+        // Then
+        assertEquals(10.0, itemCount("extract"));
+        assertEquals(10.0, itemCount("chunk"));
+        assertEquals(20.0, itemCount("embed"));
+        assertEquals(20.0, itemCount("store"));
+        assertEquals(0.0, meterRegistry.get("rag.sync.pipeline.queue.depth")
+            .tag("source_type", "Incident").tag("queue", "embed").gauge().value());
+    }
+
+    private double itemCount(String stage) {
+        return meterRegistry.get("rag.sync.pipeline.items")
+            .tag("source_type", "Incident").tag("stage", stage).counter().count();
+    }
+
+    private static final Function<List<TextChunk>, List<EmbeddedChunk>> EMBED = chunks ->
+        chunks.stream().map(c -> new EmbeddedChunk(c, new float[]{1f})).toList();
+
+    private static SourceSpec<Rec> spec(Function<Integer, Integer> chunkCount,
+                                        Function<List<TextChunk>, List<EmbeddedChunk>> embedder) {
+        return new SourceSpec<>(Rec::id, Rec::modified, page -> { },
+            r -> chunks(r, chunkCount.apply(r.index)), embedder);
+    }
+
+    private static List<Rec> records(int count) {
+        List<Rec> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            records.add(new Rec(i));
+        }
+        return records;
+    }
+
+    private static List<TextChunk> chunks(Rec record, int count) {
+        List<TextChunk> chunks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            chunks.add(TextChunk.builder()
+                .chunkId(record.id() + "-" + i)
+                .content("content " + i)
+                .sourceType("Incident")
+                .sourceId(record.id())
+                .build());
+        }
+        return chunks;
+    }
+
+    private static final class Rec {
+        private final int index;
+        private volatile boolean enriched;
+
+        private Rec(int index) {
+            this.index = index;
+        }
+
+        String id() {
+            return "ID" + index;
+        }
+
+        Instant modified() {
+            return Instant.ofEpochSecond(2000L + index);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.bmc.rag.vectorization.embedding;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Coalesces embedding requests from many callers into full model batches.
+ *
+ * Callers submit one or more texts and get a future back. A dispatcher thread
+ * takes the first pending text, then keeps collecting texts (from any caller) until
+ * the batch is full or the batch window has elapsed, runs one model call for the
+ * whole batch and completes each caller's future with its own slice of the results.
+ *
+ * A request larger than the batch size is spread over several consecutive batches.
+ * If a mixed batch fails, each caller's texts are retried on their own so a bad input
+ * only fails the request it came from.
+ * The pending queue is bounded, so producers block once it is full. With several
+ * dispatchers, that many batches can be embedded concurrently.
+ */
+@Slf4j
+public class EmbeddingBatcher implements AutoCloseable {
+
+    private final Function<List<String>, List<float[]>> batchEmbedder;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final BlockingQueue<PendingText> queue;
+    private final List<Thread> dispatchers = new ArrayList<>();
+
+    private volatile boolean closed;
+
+    /**
+     * @param batchEmbedder Embeds a batch of texts, returning one vector per text in order
+     * @param maxBatchSize Maximum number of texts per model call
+     * @param windowMicros How long to wait for more texts once the first one arrived
+     * @param queueCapacity Maximum number of texts waiting to be batched
+     */
+    public EmbeddingBatcher(Function<List<String>, List<float[]>> batchEmbedder,
+                            int maxBatchSize, long windowMicros, int queueCapacity) {
+        this(batchEmbedder, maxBatchSize, windowMicros, queueCapacity, 1, "embedding-batcher");
+    }
+
+    /**
+     * @param batchEmbedder Embeds a batch of texts, returning one vector per text in order
+     * @param maxBatchSize Maximum number of texts per model call
+     * @param windowMicros How long to wait for more texts once the first one arrived
+     * @param queueCapacity Maximum number of texts waiting to be batched
+     * @param dispatcherCount Number of batches that may be in flight at once
+     * @param name Thread name prefix for the dispatchers
+     */
+    public EmbeddingBatcher(Function<List<String>, List<float[]>> batchEmbedder,
+                            int maxBatchSize, long windowMicros, int queueCapacity,
+                            int dispatcherCount, String name) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1");
+        }
+        this.batchEmbedder = batchEmbedder;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, windowMicros));
+        this.queue = new LinkedBlockingQueue<>(Math.max(maxBatchSize, queueCapacity));
+        for (int i = 0; i < Math.max(1, dispatcherCount); i++) {
+            Thread dispatcher = new Thread(this::dispatchLoop, name + "-" + i);
+            dispatcher.setDaemon(true);
+            dispatchers.add(dispatcher);
+        }
+        dispatchers.forEach(Thread::start);
+    }
+
+    /**
+     * Submit a single text.
+     */
+    public CompletableFuture<float[]> submit(String text) {
+        return submitAll(List.of(text)).thenApply(vectors -> vectors.get(0));
+    }
+
+    /**
+     * Submit several texts; the future completes once all of them are embedded.
+     * Blocks while the pending queue is full.
+     */
+    public CompletableFuture<List<float[]>> submitAll(List<String> texts) {
+        if (texts.isEmpty()) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        if (closed) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Embedding batcher is closed"));
+        }
+
+        Request request = new Request(texts.size());
+        try {
+            for (int i = 0; i < texts.size(); i++) {
+                queue.put(new PendingText(request, i, texts.get(i)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            request.future.completeExceptionally(e);
+        }
+        if (closed) {
+            // Raced with close(): nothing will dispatch these texts any more
+            failAll(drain(), new RejectedExecutionException("Embedding batcher is closed"));
+        }
+        return request.future;
+    }
+
+    /**
+     * Number of texts waiting to be batched.
+     */
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * Stop the dispatchers. Texts still waiting are failed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        dispatchers.forEach(Thread::interrupt);
+        try {
+            for (Thread dispatcher : dispatchers) {
+                dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failAll(drain(), new RejectedExecutionException("Embedding batcher is closed"));
+    }
+
+    private void dispatchLoop() {
+        while (!closed) {
+            List<PendingText> batch;
+            try {
+                batch = nextBatch();
+            } catch (InterruptedException e) {
+                break;
+            }
+            dispatch(batch);
+        }
+    }
+
+    /**
+     * Block for the first text, then gather more until the batch is full or the window closes.
+     */
+    private List<PendingText> nextBatch() throws InterruptedException {
+        List<PendingText> batch = new ArrayList<>(maxBatchSize);
+        batch.add(queue.take());
+
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatchSize) {
+            // Take whatever is already queued without waiting
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            if (batch.size() >= maxBatchSize) {
+                break;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            PendingText next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void dispatch(List<PendingText> batch) {
+        List<String> texts = new ArrayList<>(batch.size());
+        for (PendingText pending : batch) {
+            texts.add(pending.text());
+        }
+
+        List<float[]> vectors;
+        try {
+            vectors = batchEmbedder.apply(texts);
+            if (vectors.size() != texts.size()) {
+                throw new IllegalStateException(
+                    "Embedder returned " + vectors.size() + " vectors for " + texts.size() + " texts");
+            }
+        } catch (Throwable t) {
+            Map<Request, List<PendingText>> byRequest = new LinkedHashMap<>();
+            for (PendingText pending : batch) {
+                byRequest.computeIfAbsent(pending.request(), r -> new ArrayList<>()).add(pending);
+            }
+            if (byRequest.size() > 1) {
+                // Retry each caller on its own so one bad input does not fail the others
+                log.debug("Embedding batch of {} texts failed, retrying {} requests separately: {}",
+                    texts.size(), byRequest.size(), t.getMessage());
+                byRequest.values().forEach(this::dispatch);
+                return;
+            }
+            log.warn("Embedding batch of {} texts failed: {}", texts.size(), t.getMessage());
+            failAll(batch, t);
+            return;
+        }
+
+        log.debug("Embedded batch of {} texts", texts.size());
+        for (int i = 0; i < batch.size(); i++) {
+            PendingText pending = batch.get(i);
+            pending.request().complete(pending.index(), vectors.get(i));
+        }
+    }
+
+    private List<PendingText> drain() {
+        List<PendingText> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        return remaining;
+    }
+
+    private static void failAll(List<PendingText> batch, Throwable error) {
+        for (PendingText pending : batch) {
+            pending.request().future.completeExceptionally(error);
+        }
+    }
+
+    private record PendingText(Request request, int index, String text) {
+    }
+
+    /**
+     * One caller's submission; completes when every text has its vector.
+     */
+    private static final class Request {
+        private final float[][] vectors;
+        private final AtomicInteger remaining;
+        private final CompletableFuture<List<float[]>> future = new CompletableFuture<>();
+
+        Request(int size) {
+            this.vectors = new float[size][];
+            this.remaining = new AtomicInteger(size);
+        }
+
+        void complete(int index, float[] vector) {
+            vectors[index] = vector;
+            if (remaining.decrementAndGet() == 0) {
+                future.complete(new ArrayList<>(Arrays.asList(vectors)));
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.bmc.rag.vectorization.embedding;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool of embedding worker lanes with separate interactive and bulk queues.
+ *
+ * Each engine is driven by its own worker thread, so up to N batches are embedded
+ * concurrently instead of every caller queueing behind one model call. When a lane frees
+ * up it always takes pending interactive work first, and bulk work may only occupy
+ * {@code maxBulkEngines} lanes at a time, so with N > 1 a query batch never waits for a
+ * bulk batch to finish before it starts. The engines may share one underlying model and
+ * its threads (the all-minilm-l6-v2 engines do), in which case running batches still
+ * compete for the same cores.
+ */
+@Slf4j
+public class EmbeddingEnginePool implements AutoCloseable {
+
+    private final int maxBulkEngines;
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workAvailable = lock.newCondition();
+    private final Deque<Job> interactive = new ArrayDeque<>();
+    private final Deque<Job> bulk = new ArrayDeque<>();
+    private int runningBulk;
+    private boolean closed;
+
+    /**
+     * @param engines Engines; each gets a dedicated worker thread
+     * @param maxBulkEngines Maximum number of engines bulk work may use at once
+     */
+    public EmbeddingEnginePool(List<EmbeddingModel> engines, int maxBulkEngines) {
+        if (engines.isEmpty()) {
+            throw new IllegalArgumentException("At least one embedding engine is required");
+        }
+        this.maxBulkEngines = Math.max(1, Math.min(maxBulkEngines, engines.size()));
+
+        for (int i = 0; i < engines.size(); i++) {
+            EmbeddingModel engine = engines.get(i);
+            Thread worker = new Thread(() -> workerLoop(engine), "embedding-engine-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+        workers.forEach(Thread::start);
+    }
+
+    /**
+     * Queue a batch of texts on the given lane.
+     *
+     * @return Future completing with one vector per text, in order
+     */
+    public CompletableFuture<List<float[]>> submit(EmbeddingPriority priority, List<String> texts) {
+        Job job = new Job(priority, texts, new CompletableFuture<>());
+        lock.lock();
+        try {
+            if (closed) {
+                return CompletableFuture.failedFuture(new RejectedExecutionException("Embedding engine pool is closed"));
+            }
+            (priority == EmbeddingPriority.INTERACTIVE ? interactive : bulk).add(job);
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+        return job.future();
+    }
+
+    /**
+     * Number of engines (lanes) in the pool.
+     */
+    public int size() {
+        return workers.size();
+    }
+
+    /**
+     * Maximum number of engines bulk work may use at once.
+     */
+    public int getMaxBulkEngines() {
+        return maxBulkEngines;
+    }
+
+    /**
+     * Number of batches waiting on a lane.
+     */
+    public int queuedCount(EmbeddingPriority priority) {
+        lock.lock();
+        try {
+            return (priority == EmbeddingPriority.INTERACTIVE ? interactive : bulk).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop the workers. Batches still waiting are failed; running batches finish.
+     */
+    @Override
+    public void close() {
+        List<Job> pending = new ArrayList<>();
+        lock.lock();
+        try {
+            closed = true;
+            pending.addAll(interactive);
+            pending.addAll(bulk);
+            interactive.clear();
+            bulk.clear();
+            workAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        RejectedExecutionException error = new RejectedExecutionException("Embedding engine pool is closed");
+        pending.forEach(job -> job.future().completeExceptionally(error));
+
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void workerLoop(EmbeddingModel engine) {
+        while (true) {
+            Job job;
+            lock.lock();
+            try {
+                while ((job = nextJob()) == null) {
+                    if (closed) {
+                        return;
+                    }
+                    workAvailable.await();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                job.future().complete(embed(engine, job.texts()));
+            } catch (Throwable t) {
+                job.future().completeExceptionally(t);
+            } finally {
+                if (job.priority() == EmbeddingPriority.BULK) {
+                    releaseBulkSlot();
+                }
+            }
+        }
+    }
+
+    /**
+     * Pick the next job for a free instance. Must be called with the lock held.
+     */
+    private Job nextJob() {
+        if (!interactive.isEmpty()) {
+            return interactive.poll();
+        }
+        if (!bulk.isEmpty() && runningBulk < maxBulkEngines) {
+            runningBulk++;
+            return bulk.poll();
+        }
+        return null;
+    }
+
+    private void releaseBulkSlot() {
+        lock.lock();
+        try {
+            runningBulk--;
+            // A worker may be idle only because the bulk limit was reached
+            workAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static List<float[]> embed(EmbeddingModel engine, List<String> texts) {
+        List<TextSegment> segments = texts.stream()
+            .map(TextSegment::from)
+            .toList();
+
+        List<Embedding> embeddings = engine.embedAll(segments).content();
+
+        List<float[]> vectors = new ArrayList<>(embeddings.size());
+        for (Embedding embedding : embeddings) {
+            vectors.add(embedding.vector());
+        }
+        return vectors;
+    }
+
+    private record Job(EmbeddingPriority priority, List<String> texts, CompletableFuture<List<float[]>> future) {
+    }
+}
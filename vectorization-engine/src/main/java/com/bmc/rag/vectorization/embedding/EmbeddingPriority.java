@@ -0,0 +1,17 @@
+package com.bmc.rag.vectorization.embedding;
+
+/**
+ * Lane an embedding request is served from.
+ */
+public enum EmbeddingPriority {
+
+    /**
+     * User-facing work (chat queries, searches). Always served first.
+     */
+    INTERACTIVE,
+
+    /**
+     * Background work (sync, ingestion, embedding refresh). Never allowed to occupy every engine.
+     */
+    BULK
+}
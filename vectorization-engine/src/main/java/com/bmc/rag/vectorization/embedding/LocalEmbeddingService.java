@@ -1,107 +1,209 @@
 package com.bmc.rag.vectorization.embedding;
 
 import com.bmc.rag.vectorization.chunking.TextChunk;
-import dev.langchain4j.data.embedding.Embedding;
-import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.model.embedding.EmbeddingModel;
 import dev.langchain4j.model.embedding.onnx.allminilml6v2.AllMiniLmL6V2EmbeddingModel;
-import dev.langchain4j.model.output.Response;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Local embedding service using all-minilm-l6-v2 model.
  * Runs entirely in-process via ONNX runtime (no external API calls).
  * Produces 384-dimensional embeddings.
+ *
+ * Texts are embedded by an {@link EmbeddingEnginePool} of worker lanes. Each lane wraps an
+ * {@code AllMiniLmL6V2EmbeddingModel} with its own executor for splitting a batch, but
+ * langchain4j loads the ONNX model once per JVM, so every lane runs on one shared ONNX
+ * session and its intra-op thread pool. Lanes bound how many batches run at once and let
+ * interactive batches go first; they do not reserve cores for queries while a sync runs.
+ * Each {@link EmbeddingPriority} has its own {@link EmbeddingBatcher}, so small concurrent
+ * requests are coalesced into full batches.
  */
 @Slf4j
 @Service
 public class LocalEmbeddingService {
 
-    private EmbeddingModel embeddingModel;
-
     // Embedding dimensions for all-minilm-l6-v2
     public static final int EMBEDDING_DIMENSION = 384;
 
     // Batch size for embedding multiple texts
     private static final int BATCH_SIZE = 32;
 
+    @Value("${embedding.batch.max-size:32}")
+    private int maxBatchSize = BATCH_SIZE;
+
+    @Value("${embedding.batch.window-micros:2000}")
+    private long batchWindowMicros = 2000;
+
+    @Value("${embedding.batch.interactive-window-micros:500}")
+    private long interactiveWindowMicros = 500;
+
+    @Value("${embedding.batch.queue-capacity:4096}")
+    private int batchQueueCapacity = 4096;
+
+    @Value("${embedding.pool.lanes:2}")
+    private int lanes = 2;
+
+    // Java threads each lane uses to split one batch across ONNX calls (0 = cores / lanes)
+    @Value("${embedding.pool.executor-threads:0}")
+    private int executorThreads = 0;
+
+    // Lanes bulk work may occupy at once (0 = all but one)
+    @Value("${embedding.pool.max-bulk-lanes:0}")
+    private int maxBulkLanes = 0;
+
+    private final List<ExecutorService> engineExecutors = new ArrayList<>();
+    private EmbeddingEnginePool enginePool;
+    private EmbeddingBatcher interactiveBatcher;
+    private EmbeddingBatcher bulkBatcher;
+
     @PostConstruct
     public void init() {
-        log.info("Initializing local embedding model (all-minilm-l6-v2)...");
-        this.embeddingModel = new AllMiniLmL6V2EmbeddingModel();
-        log.info("Embedding model initialized. Dimension: {}", EMBEDDING_DIMENSION);
+        int laneCount = Math.max(1, lanes);
+        int threads = executorThreads > 0
+            ? executorThreads
+            : Math.max(1, Runtime.getRuntime().availableProcessors() / laneCount);
+        int bulkLanes = maxBulkLanes > 0 ? maxBulkLanes : Math.max(1, laneCount - 1);
+
+        log.info("Initializing local embedding model (all-minilm-l6-v2), {} lanes x {} executor threads on one shared ONNX session...",
+            laneCount, threads);
+        List<EmbeddingModel> engines = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads, engineThreadFactory(i));
+            engineExecutors.add(executor);
+            engines.add(new AllMiniLmL6V2EmbeddingModel(executor));
+        }
+        this.enginePool = new EmbeddingEnginePool(engines, bulkLanes);
+
+        this.interactiveBatcher = new EmbeddingBatcher(
+            texts -> await(enginePool.submit(EmbeddingPriority.INTERACTIVE, texts)),
+            maxBatchSize, interactiveWindowMicros, batchQueueCapacity, laneCount, "embedding-interactive");
+        this.bulkBatcher = new EmbeddingBatcher(
+            texts -> await(enginePool.submit(EmbeddingPriority.BULK, texts)),
+            maxBatchSize, batchWindowMicros, batchQueueCapacity, enginePool.getMaxBulkEngines(), "embedding-bulk");
+
+        log.info("Embedding model initialized. Dimension: {}, batch size: {}, bulk lanes: {}/{}",
+            EMBEDDING_DIMENSION, maxBatchSize, enginePool.getMaxBulkEngines(), laneCount);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (interactiveBatcher != null) {
+            interactiveBatcher.close();
+        }
+        if (bulkBatcher != null) {
+            bulkBatcher.close();
+        }
+        if (enginePool != null) {
+            enginePool.close();
+        }
+        engineExecutors.forEach(ExecutorService::shutdownNow);
     }
 
     /**
-     * Embed a single text.
+     * Embed a single text on the interactive lane.
      *
      * @param text The text to embed
      * @return Embedding vector (384 dimensions)
      */
     public float[] embed(String text) {
+        return embed(text, EmbeddingPriority.INTERACTIVE);
+    }
+
+    /**
+     * Embed a single text.
+     *
+     * @param text The text to embed
+     * @param priority Lane to serve the request from
+     * @return Embedding vector (384 dimensions)
+     */
+    public float[] embed(String text, EmbeddingPriority priority) {
         if (text == null || text.isEmpty()) {
             return new float[EMBEDDING_DIMENSION];
         }
 
-        Response<Embedding> response = embeddingModel.embed(text);
-        return response.content().vector();
+        return await(batcher(priority).submit(text));
     }
 
     /**
-     * Embed a text chunk.
+     * Embed a text chunk on the bulk lane.
      *
      * @param chunk The text chunk to embed
      * @return EmbeddedChunk containing the chunk and its embedding
      */
     public EmbeddedChunk embed(TextChunk chunk) {
-        float[] embedding = embed(chunk.getContent());
+        float[] embedding = embed(chunk.getContent(), EmbeddingPriority.BULK);
         return new EmbeddedChunk(chunk, embedding);
     }
 
     /**
-     * Embed multiple texts in batches.
+     * Embed multiple texts in batches on the bulk lane.
+     * Texts are queued with those of concurrent callers and split into batches of
+     * at most {@code embedding.batch.max-size}.
      *
      * @param texts The texts to embed
      * @return List of embedding vectors
      */
     public List<float[]> embedBatch(List<String> texts) {
+        return embedBatch(texts, EmbeddingPriority.BULK);
+    }
+
+    /**
+     * Embed multiple texts in batches.
+     *
+     * @param texts The texts to embed
+     * @param priority Lane to serve the request from
+     * @return List of embedding vectors
+     */
+    public List<float[]> embedBatch(List<String> texts, EmbeddingPriority priority) {
         if (texts == null || texts.isEmpty()) {
             return new ArrayList<>();
         }
 
-        List<float[]> embeddings = new ArrayList<>(texts.size());
-        AtomicInteger processed = new AtomicInteger(0);
-
-        // Process in batches
-        for (int i = 0; i < texts.size(); i += BATCH_SIZE) {
-            int end = Math.min(i + BATCH_SIZE, texts.size());
-            List<String> batch = texts.subList(i, end);
-
-            List<TextSegment> segments = batch.stream()
-                .map(TextSegment::from)
-                .toList();
+        return await(batcher(priority).submitAll(texts));
+    }
 
-            Response<List<Embedding>> response = embeddingModel.embedAll(segments);
+    private EmbeddingBatcher batcher(EmbeddingPriority priority) {
+        return priority == EmbeddingPriority.INTERACTIVE ? interactiveBatcher : bulkBatcher;
+    }
 
-            for (Embedding embedding : response.content()) {
-                embeddings.add(embedding.vector());
+    /**
+     * Wait for a batched result, rethrowing the model failure as-is.
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
-
-            processed.addAndGet(batch.size());
-            log.debug("Embedded {}/{} texts", processed.get(), texts.size());
+            throw new IllegalStateException("Embedding failed: " + e.getCause().getMessage(), e.getCause());
         }
+    }
 
-        return embeddings;
+    private static ThreadFactory engineThreadFactory(int instance) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "embedding-engine-" + instance + "-op-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
     }
 
     /**
-     * Embed multiple text chunks in batches.
+     * Embed multiple text chunks in batches on the bulk lane.
      *
      * @param chunks The chunks to embed
      * @return List of EmbeddedChunk objects
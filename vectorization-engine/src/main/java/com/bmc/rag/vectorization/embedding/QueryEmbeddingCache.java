@@ -0,0 +1,97 @@
+package com.bmc.rag.vectorization.embedding;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded in-process cache of query embeddings, shared by every component that embeds
+ * user queries (vector search, hybrid search, semantic cache, service matching), so a
+ * chat turn embeds its query at most once.
+ *
+ * Keys are the query text after the optional {@link QueryTextNormalizer}, whitespace
+ * collapsing and lower-casing (all-minilm-l6-v2 is uncased). Normalization only picks the
+ * key: a miss embeds the query as given, because documents are embedded without Arabic
+ * normalization. Concurrent lookups of the same key wait for a single embedding call.
+ * Returned vectors are shared and must not be modified.
+ */
+@Slf4j
+@Service
+public class QueryEmbeddingCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final LocalEmbeddingService embeddingService;
+    private final QueryTextNormalizer normalizer;
+    private final Cache<String, float[]> cache;
+
+    public QueryEmbeddingCache(
+            LocalEmbeddingService embeddingService,
+            @Autowired(required = false) QueryTextNormalizer normalizer,
+            @Value("${embedding.query-cache.max-size:10000}") long maxSize,
+            @Value("${embedding.query-cache.ttl-minutes:60}") long ttlMinutes) {
+        this.embeddingService = embeddingService;
+        this.normalizer = normalizer;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+            .recordStats()
+            .build();
+        log.info("Query embedding cache initialized: maxSize={}, ttl={}min, normalizer={}",
+            maxSize, ttlMinutes, normalizer != null ? normalizer.getClass().getSimpleName() : "none");
+    }
+
+    /**
+     * Get the embedding of a query, embedding it on the interactive lane on a miss.
+     *
+     * @param query The query text
+     * @return Embedding vector (384 dimensions)
+     */
+    public float[] embed(String query) {
+        if (query == null || query.isBlank()) {
+            return embeddingService.embed(query);
+        }
+        return cache.get(key(query), k -> embeddingService.embed(query));
+    }
+
+    /**
+     * Cache key for a query.
+     */
+    String key(String query) {
+        String text = normalizer != null ? normalizer.normalize(query) : query;
+        return WHITESPACE.matcher(text.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Drop all cached embeddings (e.g. after the embedding model changed).
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    /**
+     * Hit rate (0-1), 1.0 before the first lookup.
+     */
+    public double hitRate() {
+        return cache.stats().hitRate();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,17 @@
+package com.bmc.rag.vectorization.embedding;
+
+/**
+ * Language-aware normalization applied to query text before it is used as a
+ * {@link QueryEmbeddingCache} key, so spelling variants of the same query share an entry.
+ */
+@FunctionalInterface
+public interface QueryTextNormalizer {
+
+    /**
+     * Normalize query text for cache lookups.
+     *
+     * @param text The query text (never null)
+     * @return The normalized text
+     */
+    String normalize(String text);
+}
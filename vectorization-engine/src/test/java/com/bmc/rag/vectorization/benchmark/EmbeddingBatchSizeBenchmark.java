@@ -0,0 +1,105 @@
+package com.bmc.rag.vectorization.benchmark;
+
+import com.bmc.rag.vectorization.embedding.EmbeddingBatcher;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.embedding.onnx.allminilml6v2.AllMiniLmL6V2EmbeddingModel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH measurement of all-minilm-l6-v2 embedding throughput (texts per second) against batch size.
+ *
+ * <ul>
+ *   <li>{@code directBatches} - one caller embedding {@value #TEXTS} texts in embedAll calls of
+ *       {@code batchSize} texts (the ceiling a full batch can reach)</li>
+ *   <li>{@code batchedSingleTexts} - 8 threads each embedding one text at a time through an
+ *       {@link EmbeddingBatcher} with max size {@code batchSize} (the query / per-record sync pattern)</li>
+ * </ul>
+ * Meant to be run on an 8-core box; batchSize=1 for {@code batchedSingleTexts} is the unbatched baseline.
+ *
+ * Run with:
+ * <pre>
+ * mvn -pl vectorization-engine -am test-compile
+ * java -cp "vectorization-engine/target/test-classes:vectorization-engine/target/classes:$(mvn -q \
+ *     -pl vectorization-engine dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     com.bmc.rag.vectorization.benchmark.EmbeddingBatchSizeBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmbeddingBatchSizeBenchmark {
+
+    private static final int TEXTS = 64;
+
+    @Param({"1", "4", "8", "16", "32", "64"})
+    private int batchSize;
+
+    private EmbeddingModel model;
+    private EmbeddingBatcher batcher;
+    private List<TextSegment> segments;
+
+    @Setup
+    public void setUp() {
+        model = new AllMiniLmL6V2EmbeddingModel();
+        batcher = new EmbeddingBatcher(this::embedAll, batchSize, 2000, 4096);
+
+        segments = new ArrayList<>(TEXTS);
+        for (int i = 0; i < TEXTS; i++) {
+            segments.add(TextSegment.from("Incident " + i + ": VPN connection drops every few minutes after "
+                + "the latest client update, users on floor " + (i % 7) + " cannot reach the file server"));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        batcher.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TEXTS)
+    public int directBatches() {
+        int dims = 0;
+        for (int i = 0; i < TEXTS; i += batchSize) {
+            List<TextSegment> batch = segments.subList(i, Math.min(i + batchSize, TEXTS));
+            for (Embedding embedding : model.embedAll(batch).content()) {
+                dims += embedding.dimension();
+            }
+        }
+        return dims;
+    }
+
+    @Benchmark
+    @Threads(8)
+    public float[] batchedSingleTexts() {
+        int i = (int) (Thread.currentThread().getId() % TEXTS);
+        return batcher.submit(segments.get(i).text()).join();
+    }
+
+    private List<float[]> embedAll(List<String> texts) {
+        List<float[]> vectors = new ArrayList<>(texts.size());
+        for (Embedding embedding : model.embedAll(texts.stream().map(TextSegment::from).toList()).content()) {
+            vectors.add(embedding.vector());
+        }
+        return vectors;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(EmbeddingBatchSizeBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
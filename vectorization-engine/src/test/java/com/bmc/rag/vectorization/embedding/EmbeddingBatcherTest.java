@@ -0,0 +1,197 @@
+package com.bmc.rag.vectorization.embedding;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for EmbeddingBatcher using a fake embedder.
+ */
+class EmbeddingBatcherTest {
+
+    private final List<List<String>> modelCalls = new CopyOnWriteArrayList<>();
+    private EmbeddingBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
+
+    @Test
+    void submit_singleText_returnsItsVector() {
+        // Given
+        batcher = new EmbeddingBatcher(recording(this::lengthVectors), 8, 1000, 64);
+
+        // When
+        float[] vector = batcher.submit("abc").join();
+
+        // Then
+        assertThat(vector).containsExactly(3f);
+    }
+
+    @Test
+    void submitAll_emptyList_completesWithoutModelCall() {
+        // Given
+        batcher = new EmbeddingBatcher(recording(this::lengthVectors), 8, 1000, 64);
+
+        // When
+        List<float[]> vectors = batcher.submitAll(List.of()).join();
+
+        // Then
+        assertThat(vectors).isEmpty();
+        assertThat(modelCalls).isEmpty();
+    }
+
+    @Test
+    void submitAll_largerThanBatchSize_splitsAndKeepsOrder() {
+        // Given
+        batcher = new EmbeddingBatcher(recording(this::lengthVectors), 4, 1000, 64);
+        List<String> texts = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            texts.add("x".repeat(i));
+        }
+
+        // When
+        List<float[]> vectors = batcher.submitAll(texts).join();
+
+        // Then
+        assertThat(vectors).hasSize(10);
+        for (int i = 0; i < 10; i++) {
+            assertThat(vectors.get(i)).containsExactly(i + 1f);
+        }
+        assertThat(modelCalls).allSatisfy(call -> assertThat(call).hasSizeLessThanOrEqualTo(4));
+        assertThat(modelCalls.stream().mapToInt(List::size).sum()).isEqualTo(10);
+    }
+
+    @Test
+    void submit_concurrentCallers_coalescedIntoSharedBatches() throws Exception {
+        // Given - a long window so all callers land in the same batch
+        batcher = new EmbeddingBatcher(recording(this::lengthVectors), 16, 500_000, 64);
+        int callers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<float[]>> futures = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            String text = "t".repeat(i + 1);
+            Thread thread = new Thread(() -> {
+                awaitQuietly(start);
+                futures.add(batcher.submit(text));
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        // When
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        List<Float> results = new ArrayList<>();
+        for (CompletableFuture<float[]> future : futures) {
+            results.add(future.get(5, TimeUnit.SECONDS)[0]);
+        }
+
+        // Then - every caller got its own vector, from fewer model calls than callers
+        assertThat(results).containsExactlyInAnyOrder(1f, 2f, 3f, 4f, 5f, 6f, 7f, 8f);
+        assertThat(modelCalls.size()).isLessThan(callers);
+    }
+
+    @Test
+    void submit_modelFailure_failsTheCaller() {
+        // Given
+        batcher = new EmbeddingBatcher(recording(texts -> {
+            throw new IllegalStateException("model down");
+        }), 8, 1000, 64);
+
+        // When/Then
+        assertThatThrownBy(() -> batcher.submit("abc").join())
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class)
+            .hasRootCauseMessage("model down");
+    }
+
+    @Test
+    void submit_badInputInMixedBatch_onlyFailsItsOwnCaller() throws Exception {
+        // Given - the model rejects blank text, like TextSegment.from does
+        batcher = new EmbeddingBatcher(recording(texts -> {
+            if (texts.stream().anyMatch(String::isBlank)) {
+                throw new IllegalArgumentException("text cannot be blank");
+            }
+            return lengthVectors(texts);
+        }), 16, 500_000, 64);
+
+        // When
+        CompletableFuture<List<float[]>> good = batcher.submitAll(List.of("ab", "abcd"));
+        CompletableFuture<float[]> bad = batcher.submit(" ");
+
+        // Then
+        List<float[]> vectors = good.get(5, TimeUnit.SECONDS);
+        assertThat(vectors.get(0)).containsExactly(2f);
+        assertThat(vectors.get(1)).containsExactly(4f);
+        assertThatThrownBy(bad::join).hasCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void submit_wrongVectorCount_failsTheCaller() {
+        // Given
+        batcher = new EmbeddingBatcher(recording(texts -> List.of()), 8, 1000, 64);
+
+        // When/Then
+        assertThatThrownBy(() -> batcher.submit("abc").join())
+            .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void submit_afterClose_isRejected() {
+        // Given
+        batcher = new EmbeddingBatcher(recording(this::lengthVectors), 8, 1000, 64);
+        batcher.close();
+
+        // When/Then
+        assertThatThrownBy(() -> batcher.submit("abc").join())
+            .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void constructor_zeroBatchSize_throws() {
+        assertThatThrownBy(() -> new EmbeddingBatcher(this::lengthVectors, 0, 1000, 64))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Function<List<String>, List<float[]>> recording(Function<List<String>, List<float[]>> embedder) {
+        return texts -> {
+            modelCalls.add(List.copyOf(texts));
+            return embedder.apply(texts);
+        };
+    }
+
+    private List<float[]> lengthVectors(List<String> texts) {
+        List<float[]> vectors = new ArrayList<>();
+        for (String text : texts) {
+            vectors.add(new float[]{text.length()});
+        }
+        return vectors;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
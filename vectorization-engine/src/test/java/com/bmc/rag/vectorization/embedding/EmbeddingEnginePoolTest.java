@@ -0,0 +1,166 @@
+package com.bmc.rag.vectorization.embedding;
+
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for EmbeddingEnginePool using mocked models.
+ */
+class EmbeddingEnginePoolTest {
+
+    private final List<String> embeddedTexts = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private EmbeddingEnginePool pool;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void submit_returnsOneVectorPerTextInOrder() throws Exception {
+        // Given
+        pool = new EmbeddingEnginePool(List.of(engine()), 1);
+
+        // When
+        List<float[]> vectors = pool.submit(EmbeddingPriority.BULK, List.of("a", "abc")).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(vectors).hasSize(2);
+        assertThat(vectors.get(0)).containsExactly(1f);
+        assertThat(vectors.get(1)).containsExactly(3f);
+    }
+
+    @Test
+    void submit_bulkSaturated_interactiveStillServedByReservedEngine() throws Exception {
+        // Given - two engines, bulk work may only use one of them
+        pool = new EmbeddingEnginePool(List.of(engine(), engine()), 1);
+        List<CompletableFuture<List<float[]>>> bulkJobs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            bulkJobs.add(pool.submit(EmbeddingPriority.BULK, List.of("block")));
+        }
+
+        // When
+        List<float[]> interactive = pool.submit(EmbeddingPriority.INTERACTIVE, List.of("query"))
+            .get(5, TimeUnit.SECONDS);
+
+        // Then - the query finished while every bulk job is still blocked or queued
+        assertThat(interactive.get(0)).containsExactly(5f);
+        assertThat(bulkJobs).noneMatch(CompletableFuture::isDone);
+        awaitEmbedded("block");
+        assertThat(pool.queuedCount(EmbeddingPriority.BULK)).isEqualTo(2);
+
+        release.countDown();
+        for (CompletableFuture<List<float[]>> job : bulkJobs) {
+            job.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void submit_busyEngine_takesInteractiveBeforeEarlierBulk() throws Exception {
+        // Given - the only engine is busy with a blocked job
+        pool = new EmbeddingEnginePool(List.of(engine()), 1);
+        CompletableFuture<List<float[]>> blocker = pool.submit(EmbeddingPriority.INTERACTIVE, List.of("block"));
+        awaitEmbedded("block");
+        CompletableFuture<List<float[]>> bulk = pool.submit(EmbeddingPriority.BULK, List.of("bulk"));
+        CompletableFuture<List<float[]>> interactive = pool.submit(EmbeddingPriority.INTERACTIVE, List.of("query"));
+
+        // When
+        release.countDown();
+        CompletableFuture.allOf(blocker, bulk, interactive).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(embeddedTexts).containsExactly("block", "query", "bulk");
+    }
+
+    @Test
+    void submit_modelFailure_failsOnlyThatBatch() throws Exception {
+        // Given
+        EmbeddingModel failing = mock(EmbeddingModel.class);
+        when(failing.embedAll(anyList())).thenThrow(new IllegalStateException("onnx error"));
+        pool = new EmbeddingEnginePool(List.of(failing), 1);
+
+        // When
+        CompletableFuture<List<float[]>> future = pool.submit(EmbeddingPriority.INTERACTIVE, List.of("query"));
+
+        // Then
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(pool.queuedCount(EmbeddingPriority.INTERACTIVE)).isZero();
+    }
+
+    @Test
+    void maxBulkEngines_clampedToPoolSize() {
+        // Given/When
+        pool = new EmbeddingEnginePool(List.of(engine(), engine()), 10);
+
+        // Then
+        assertThat(pool.size()).isEqualTo(2);
+        assertThat(pool.getMaxBulkEngines()).isEqualTo(2);
+    }
+
+    @Test
+    void submit_afterClose_isRejected() {
+        // Given
+        pool = new EmbeddingEnginePool(List.of(engine()), 1);
+        pool.close();
+
+        // When/Then
+        assertThatThrownBy(() -> pool.submit(EmbeddingPriority.INTERACTIVE, List.of("query")).join())
+            .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void constructor_noEngines_throws() {
+        assertThatThrownBy(() -> new EmbeddingEnginePool(List.of(), 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Fake model: vector = [text length]; the text "block" waits until the test releases it.
+     */
+    private EmbeddingModel engine() {
+        EmbeddingModel model = mock(EmbeddingModel.class);
+        when(model.embedAll(anyList())).thenAnswer(invocation -> {
+            List<TextSegment> segments = invocation.getArgument(0);
+            List<Embedding> embeddings = new ArrayList<>();
+            for (TextSegment segment : segments) {
+                embeddedTexts.add(segment.text());
+                if (segment.text().equals("block")) {
+                    release.await(5, TimeUnit.SECONDS);
+                }
+                embeddings.add(Embedding.from(new float[]{segment.text().length()}));
+            }
+            return Response.from(embeddings);
+        });
+        return model;
+    }
+
+    private void awaitEmbedded(String text) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!embeddedTexts.contains(text) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.bmc.rag.vectorization.embedding;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for QueryEmbeddingCache with a mocked embedding service.
+ */
+class QueryEmbeddingCacheTest {
+
+    private LocalEmbeddingService embeddingService;
+    private QueryEmbeddingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        embeddingService = mock(LocalEmbeddingService.class);
+        when(embeddingService.embed(anyString())).thenAnswer(inv -> new float[]{inv.<String>getArgument(0).length()});
+        cache = new QueryEmbeddingCache(embeddingService, null, 100, 60);
+    }
+
+    @Test
+    void embed_sameQueryTwice_embedsOnce() {
+        // When
+        float[] first = cache.embed("VPN not connecting");
+        float[] second = cache.embed("VPN not connecting");
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(embeddingService, times(1)).embed("VPN not connecting");
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitRate()).isEqualTo(0.5);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void embed_caseAndWhitespaceVariants_shareEntry() {
+        // When
+        cache.embed("VPN not connecting");
+        cache.embed("  vpn   NOT connecting ");
+
+        // Then
+        verify(embeddingService, times(1)).embed(anyString());
+        verify(embeddingService).embed("VPN not connecting");
+    }
+
+    @Test
+    void embed_withNormalizer_variantsShareEntry() {
+        // Given - normalizer folding Alef forms, as ArabicTextProcessor does
+        cache = new QueryEmbeddingCache(embeddingService, text -> text.replace('أ', 'ا'), 100, 60);
+
+        // When
+        cache.embed("أين البريد");
+        cache.embed("اين البريد");
+
+        // Then - The query is embedded as given, not in its normalized key form
+        verify(embeddingService, times(1)).embed(anyString());
+        verify(embeddingService).embed("أين البريد");
+        assertThat(cache.key("أين البريد")).isEqualTo("اين البريد");
+    }
+
+    @Test
+    void embed_differentQueries_embedsEach() {
+        // When
+        cache.embed("VPN");
+        cache.embed("Email");
+
+        // Then
+        verify(embeddingService).embed("VPN");
+        verify(embeddingService).embed("Email");
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void embed_blankQuery_bypassesCache() {
+        // Given
+        when(embeddingService.embed("")).thenReturn(new float[384]);
+
+        // When
+        cache.embed("");
+        cache.embed("");
+
+        // Then
+        verify(embeddingService, times(2)).embed("");
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void embed_concurrentSameQuery_embedsOnce() throws Exception {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        when(embeddingService.embed("slow query")).thenAnswer(inv -> {
+            calls.incrementAndGet();
+            Thread.sleep(50);
+            return new float[]{1f};
+        });
+
+        // When
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread t = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                cache.embed("slow query");
+            });
+            t.start();
+            threads.add(t);
+        }
+        start.countDown();
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        // Then
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidateAll_forcesReembedding() {
+        // Given
+        cache.embed("VPN");
+
+        // When
+        cache.invalidateAll();
+        cache.embed("VPN");
+
+        // Then
+        verify(embeddingService, times(2)).embed("VPN");
+    }
+}